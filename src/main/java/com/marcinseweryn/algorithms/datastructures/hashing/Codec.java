@@ -0,0 +1,127 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A binary codec used by {@link HashTableSnapshot} and the LSM tree store to encode keys and values.
+ * A codec must consume exactly {@link #encodedSize(Object)} bytes when decoding
+ * what it has encoded, so records can be framed without extra copying.
+ *
+ * @param <T> the type of values handled by this codec
+ */
+public interface Codec<T> {
+
+    /**
+     * Codec for {@link Integer} values stored as 4 big-endian bytes.
+     */
+    Codec<Integer> INT = new Codec<>() {
+        @Override
+        public int encodedSize(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer value, ByteBuffer buffer) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Codec for {@link Long} values stored as 8 big-endian bytes.
+     */
+    Codec<Long> LONG = new Codec<>() {
+        @Override
+        public int encodedSize(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long value, ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Codec for {@link String} values stored as a length prefix followed by UTF-8 bytes.
+     */
+    Codec<String> STRING = new Codec<>() {
+        @Override
+        public int encodedSize(String value) {
+            return Integer.BYTES + utf8Length(value);
+        }
+
+        @Override
+        public void encode(String value, ByteBuffer buffer) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+            int length = buffer.getInt();
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Computes the UTF-8 length of a string without encoding it.
+         */
+        private int utf8Length(String value) {
+            int length = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    length += 1;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;  // Surrogate pair encodes a single 4-byte code point
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    length += 1;  // Unpaired surrogates are replaced with a single '?'
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+    };
+
+    /**
+     * Returns the number of bytes {@link #encode(Object, ByteBuffer)} will write for the value.
+     *
+     * @param value the value to measure
+     * @return the encoded size in bytes
+     */
+    int encodedSize(T value);
+
+    /**
+     * Writes the value into the buffer at its current position.
+     *
+     * @param value  the value to encode
+     * @param buffer the buffer with at least {@link #encodedSize(Object)} bytes remaining
+     */
+    void encode(T value, ByteBuffer buffer);
+
+    /**
+     * Reads a value from the buffer at its current position.
+     *
+     * @param buffer the buffer holding the encoded value
+     * @return the decoded value
+     */
+    T decode(ByteBuffer buffer);
+}
@@ -1,5 +1,6 @@
 package com.marcinseweryn.algorithms.datastructures.hashing;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -19,14 +20,25 @@ public class DoubleHashing<K, V> implements HashTable<K, V> {
     private int size;  // Number of key-value pairs in the hash table
     private int capacity;  // Current capacity of the hash table
     private Entry<K, V>[] hashTable;  // Array to store key-value pairs
+    private final Hasher<? super K> hasher;  // Strategy used to hash keys
 
     /**
-     * Constructs an empty hash table with an initial capacity of 16.
+     * Constructs an empty hash table with an initial capacity of 16 using the legacy hasher.
      */
     public DoubleHashing() {
+        this(Hasher.legacy());
+    }
+
+    /**
+     * Constructs an empty hash table with an initial capacity of 16.
+     *
+     * @param hasher the strategy used to hash keys
+     */
+    public DoubleHashing(Hasher<? super K> hasher) {
         this.capacity = INITIAL_CAPACITY;
         this.size = 0;
         this.hashTable = new Entry[this.capacity];
+        this.hasher = hasher;
     }
 
     /**
@@ -86,28 +98,28 @@ public class DoubleHashing<K, V> implements HashTable<K, V> {
     }
 
     /**
-     * Primary hash function using a bit-mixing algorithm.
-     * The hash code is computed using the key's hashCode() method.
+     * Primary hash function.
+     * The hash is computed by the table's {@link Hasher}.
      *
      * @param key the key to hash
      * @return the computed hash index
      */
     private int hash1(K key) {
-        int h = key.hashCode();
-        return (h ^ (h >>> 16)) & (capacity - 1);
+        return this.hasher.hash(key) & (capacity - 1);
     }
 
     /**
      * Secondary hash function to determine the step size in double hashing.
-     * Ensures a non-zero step size for probing.
+     * Ensures a non-zero, odd step size, so that probing visits every slot
+     * of the power-of-two sized table.
      *
      * @param key the key to hash
      * @return the step size for double hashing
      */
     private int hash2(K key) {
-        int h = key.hashCode();
+        int h = this.hasher.hash(key);
         int prime = largestPrimeLessThan(capacity);
-        return prime - (h % prime);
+        return (prime - (h % prime)) | 1;
     }
 
     /**
@@ -234,6 +246,56 @@ public class DoubleHashing<K, V> implements HashTable<K, V> {
         return this.size == 0;
     }
 
+    /**
+     * Exposes the slot layout of this table to {@link HashTableSnapshot}.
+     *
+     * @return a view over the slots of this table
+     */
+    SlotAccess<K, V> slotAccess() {
+        return new SlotAccess<>() {
+            @Override
+            public int capacity() {
+                return capacity;
+            }
+
+            @Override
+            public String hasherId() {
+                return hasher.id();
+            }
+
+            @Override
+            public int hash(K key) {
+                return hasher.hash(key);
+            }
+
+            @Override
+            public void forEachSlot(SlotVisitor<K, V> visitor) throws IOException {
+                for (int i = 0; i < capacity; i++) {
+                    if (hashTable[i] != null) {
+                        visitor.visit(i, hashTable[i]);
+                    }
+                }
+            }
+
+            @Override
+            public void reset(int newCapacity) {
+                capacity = newCapacity;
+                size = 0;
+                hashTable = new Entry[newCapacity];
+            }
+
+            @Override
+            public boolean putAt(int slot, int hash, K key, V value) {
+                if (hashTable[slot] != null) {
+                    return false;  // Taken by an earlier record
+                }
+                hashTable[slot] = new Entry<>(key, value);
+                size++;
+                return true;
+            }
+        };
+    }
+
     @Override
     public Iterator<Entry<K, V>> iterator() {
         return new HashTableIterator();
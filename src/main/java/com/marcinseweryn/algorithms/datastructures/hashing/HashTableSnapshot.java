@@ -0,0 +1,337 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Versioned binary snapshot format for {@link HashTable} implementations.
+ *
+ * <p>A snapshot is streamed through a {@link FileChannel} using a large direct buffer
+ * and has the following layout (all integers big-endian):
+ * <pre>
+ *   magic    int     'HTSN'
+ *   version  int     format version, currently 3
+ *   layout   short + UTF-8 bytes    class name of the table that was written
+ *   hasher   short + UTF-8 bytes    {@link Hasher#id()} of the table (since version 2)
+ *   capacity int     number of slots of the table, or -1 if unknown
+ *   size     int     number of records that follow
+ *   records  size x [slot int][hash int][length int][key bytes][value bytes]
+ * </pre>
+ * The hash of a record, written since version 3, is the one {@link Hasher#hash} gave its key.
+ * Keys and values are encoded with pluggable {@link Codec}s.
+ *
+ * <p>Every record keeps the slot its entry occupied. When a snapshot is read back into an
+ * empty table of the same class and with the same hasher id, the table is allocated with the recorded capacity and every
+ * entry is placed directly into its slot, so reloading performs no probing or resizing.
+ * Otherwise, entries are inserted with {@link HashTable#put(Object, Object)}.
+ *
+ * <p>Every key is still hashed on reload: a hasher with the same id gives other hashes in another JVM for keys
+ * whose {@code hashCode()} is not based on their value, such as enums. If a hash differs from the recorded one,
+ * or a slot cannot hold its record, as in a corrupted file, the entries placed so far are inserted again with
+ * {@link HashTable#put(Object, Object)}, and so are the remaining ones.
+ */
+public final class HashTableSnapshot {
+
+    static final int MAGIC = 0x4854534E;  // "HTSN"
+    static final int VERSION = 3;
+    private static final int VERSION_WITHOUT_HASHER = 1;
+    private static final int VERSION_WITHOUT_HASHES = 2;
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;  // 1 MiB
+    private static final int NO_SLOT = -1;
+
+    private HashTableSnapshot() {
+        // No instantiate
+    }
+
+    /**
+     * Writes a snapshot of the table to the given file using the default buffer size.
+     *
+     * @param table      the table to persist
+     * @param path       the destination file, created or truncated
+     * @param keyCodec   the codec used for keys
+     * @param valueCodec the codec used for values
+     * @throws IOException if writing fails
+     */
+    public static <K, V> void write(HashTable<K, V> table, Path path,
+                                    Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        write(table, path, keyCodec, valueCodec, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a snapshot of the table to the given file.
+     *
+     * @param table      the table to persist
+     * @param path       the destination file, created or truncated
+     * @param keyCodec   the codec used for keys
+     * @param valueCodec the codec used for values
+     * @param bufferSize the size of the I/O buffer in bytes
+     * @throws IOException if writing fails
+     */
+    public static <K, V> void write(HashTable<K, V> table, Path path,
+                                    Codec<K> keyCodec, Codec<V> valueCodec,
+                                    int bufferSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChannelWriter writer = new ChannelWriter(channel, bufferSize);
+            SlotAccess<K, V> slots = slotAccess(table);
+
+            // Header
+            byte[] layout = table.getClass().getName().getBytes(StandardCharsets.UTF_8);
+            byte[] hasher = (slots != null ? slots.hasherId() : "").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer header = writer.reserve(Integer.BYTES * 4 + Short.BYTES * 2 + layout.length + hasher.length);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putShort((short) layout.length);
+            header.put(layout);
+            header.putShort((short) hasher.length);
+            header.put(hasher);
+            header.putInt(slots != null ? slots.capacity() : NO_SLOT);
+            header.putInt(table.size());
+
+            // Records, in slot order when the layout is known
+            if (slots != null) {
+                SlotAccess<K, V> layoutSlots = slots;
+                slots.forEachSlot((slot, entry) ->
+                        writeRecord(writer, slot, layoutSlots.hash(entry.key), entry, keyCodec, valueCodec));
+            } else {
+                for (Entry<K, V> entry : table) {
+                    writeRecord(writer, NO_SLOT, 0, entry, keyCodec, valueCodec);
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * Writes a single framed record.
+     */
+    private static <K, V> void writeRecord(ChannelWriter writer, int slot, int hash, Entry<K, V> entry,
+                                           Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        int length = keyCodec.encodedSize(entry.key) + valueCodec.encodedSize(entry.value);
+        ByteBuffer buffer = writer.reserve(Integer.BYTES * 3 + length);
+        buffer.putInt(slot);
+        buffer.putInt(hash);
+        buffer.putInt(length);
+        keyCodec.encode(entry.key, buffer);
+        valueCodec.encode(entry.value, buffer);
+    }
+
+    /**
+     * Reads a snapshot into a table obtained from the factory using the default buffer size.
+     *
+     * @param path       the snapshot file
+     * @param factory    supplies the table to load into
+     * @param keyCodec   the codec used for keys
+     * @param valueCodec the codec used for values
+     * @return the populated table
+     * @throws IOException if reading fails or the file is not a valid snapshot
+     */
+    public static <K, V, T extends HashTable<K, V>> T read(Path path, Supplier<T> factory,
+                                                           Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        return read(path, factory, keyCodec, valueCodec, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads a snapshot into a table obtained from the factory.
+     *
+     * @param path       the snapshot file
+     * @param factory    supplies the table to load into
+     * @param keyCodec   the codec used for keys
+     * @param valueCodec the codec used for values
+     * @param bufferSize the size of the I/O buffer in bytes
+     * @return the populated table
+     * @throws IOException if reading fails or the file is not a valid snapshot
+     */
+    public static <K, V, T extends HashTable<K, V>> T read(Path path, Supplier<T> factory,
+                                                           Codec<K> keyCodec, Codec<V> valueCodec,
+                                                           int bufferSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ChannelReader reader = new ChannelReader(channel, bufferSize);
+
+            // Header
+            ByteBuffer header = reader.require(Integer.BYTES * 2 + Short.BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a hash table snapshot: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION && version != VERSION_WITHOUT_HASHES && version != VERSION_WITHOUT_HASHER) {
+                throw new IOException("Unsupported snapshot version: " + version);
+            }
+            String layout = readString(reader, header.getShort() & 0xFFFF);
+            // Version 1 snapshots predate pluggable hashers, so their slots are never reused
+            String hasher = version == VERSION_WITHOUT_HASHER
+                    ? null
+                    : readString(reader, reader.require(Short.BYTES).getShort() & 0xFFFF);
+            header = reader.require(Integer.BYTES * 2);
+            int capacity = header.getInt();
+            int size = header.getInt();
+            if (size < 0) {
+                throw new IOException("Corrupted snapshot size: " + size);
+            }
+
+            T table = factory.get();
+
+            // Place entries directly into their slots when the layout matches and the hashes can be checked
+            SlotAccess<K, V> slots = null;
+            boolean hashed = version == VERSION;
+            if (hashed && table.isEmpty() && table.getClass().getName().equals(layout)
+                    && capacity > 0 && Integer.bitCount(capacity) == 1) {
+                slots = slotAccess(table);
+                if (slots != null && slots.hasherId().equals(hasher)) {
+                    slots.reset(capacity);
+                } else {
+                    slots = null;
+                }
+            }
+
+            for (int i = 0; i < size; i++) {
+                ByteBuffer record = reader.require(Integer.BYTES * (hashed ? 3 : 2));
+                int slot = record.getInt();
+                int hash = hashed ? record.getInt() : 0;
+                int length = record.getInt();
+                record = reader.require(length);
+                int start = record.position();
+                K key = keyCodec.decode(record);
+                V value = valueCodec.decode(record);
+                if (record.position() - start != length) {
+                    throw new IOException("Codecs consumed " + (record.position() - start)
+                            + " bytes of a " + length + " byte record");
+                }
+
+                if (slots != null && !(slot >= 0 && slot < capacity && slots.hash(key) == hash
+                        && slots.putAt(slot, hash, key, value))) {
+                    reinsert(table, slots);
+                    slots = null;
+                }
+                if (slots == null) {
+                    table.put(key, value);
+                }
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Inserts the entries placed into their slots so far again with {@link HashTable#put(Object, Object)},
+     * once a record shows that the recorded slots cannot be trusted.
+     */
+    private static <K, V> void reinsert(HashTable<K, V> table, SlotAccess<K, V> slots) throws IOException {
+        List<Entry<K, V>> placed = new ArrayList<>(table.size());
+        slots.forEachSlot((slot, entry) -> placed.add(entry));
+        slots.reset(slots.capacity());
+        for (Entry<K, V> entry : placed) {
+            table.put(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * Reads a UTF-8 string of the given length.
+     */
+    private static String readString(ChannelReader reader, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        reader.require(length).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the slot view of one of the bundled tables, or {@code null} for other implementations.
+     */
+    private static <K, V> SlotAccess<K, V> slotAccess(HashTable<K, V> table) {
+        if (table instanceof LinearProbing<K, V> linearProbing) {
+            return linearProbing.slotAccess();
+        } else if (table instanceof QuadraticProbing<K, V> quadraticProbing) {
+            return quadraticProbing.slotAccess();
+        } else if (table instanceof DoubleHashing<K, V> doubleHashing) {
+            return doubleHashing.slotAccess();
+        } else if (table instanceof SeparateChaining<K, V> separateChaining) {
+            return separateChaining.slotAccess();
+        }
+        return null;
+    }
+
+    /**
+     * Buffered writer draining a byte buffer into a channel.
+     */
+    private static final class ChannelWriter {
+
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+
+        ChannelWriter(FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        /**
+         * Returns the buffer with at least {@code bytes} bytes remaining, flushing or growing it first if needed.
+         */
+        ByteBuffer reserve(int bytes) throws IOException {
+            if (this.buffer.remaining() < bytes) {
+                this.flush();
+                if (this.buffer.capacity() < bytes) {
+                    this.buffer = ByteBuffer.allocateDirect(bytes);
+                }
+            }
+            return this.buffer;
+        }
+
+        void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+    }
+
+    /**
+     * Buffered reader filling a byte buffer from a channel.
+     */
+    private static final class ChannelReader {
+
+        private final FileChannel channel;
+        private ByteBuffer buffer;
+
+        ChannelReader(FileChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.buffer.flip();  // Start in read mode with nothing buffered
+        }
+
+        /**
+         * Returns the buffer with at least {@code bytes} bytes available, refilling or growing it first if needed.
+         */
+        ByteBuffer require(int bytes) throws IOException {
+            if (bytes < 0) {
+                throw new IOException("Corrupted snapshot record length: " + bytes);
+            }
+            if (this.buffer.remaining() >= bytes) {
+                return this.buffer;
+            }
+
+            if (this.buffer.capacity() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocateDirect(bytes);
+                larger.put(this.buffer);
+                this.buffer = larger;
+            } else {
+                this.buffer.compact();
+            }
+
+            while (this.buffer.position() < bytes) {
+                if (this.channel.read(this.buffer) < 0) {
+                    throw new EOFException("Unexpected end of snapshot");
+                }
+            }
+            this.buffer.flip();
+            return this.buffer;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+/**
+ * Strategy used by the hash tables to turn a key into a 32-bit hash.
+ * The returned value must be well mixed in its low bits, because the tables
+ * compute the bucket index with {@code hash & (capacity - 1)}.
+ *
+ * @param <K> the type of keys hashed by this strategy
+ */
+public interface Hasher<K> {
+
+    /**
+     * Computes the hash of a key.
+     *
+     * @param key the key to hash, never null
+     * @return the 32-bit hash of the key
+     */
+    int hash(K key);
+
+    /**
+     * Identifies the hash function and its seed. The id must be stable across runs
+     * and distinct for hashers producing different hashes: two hashers with the same
+     * id must produce the same hash for every key, which lets {@link HashTableSnapshot}
+     * restore entries into their recorded slots.
+     *
+     * @return the identifier of this hasher
+     */
+    String id();
+
+    /**
+     * Returns the hasher used by the tables by default: the key's {@code hashCode()}
+     * with its high bits folded into the low bits by {@code h ^ (h >>> 16)}.
+     *
+     * @param <K> the type of keys
+     * @return the legacy hasher
+     */
+    static <K> Hasher<K> legacy() {
+        return new Hasher<>() {
+            @Override
+            public int hash(K key) {
+                int h = key.hashCode();
+                return h ^ (h >>> 16);
+            }
+
+            @Override
+            public String id() {
+                return "legacy";
+            }
+        };
+    }
+
+    /**
+     * Returns a hasher with a fresh random seed, protecting a table against
+     * hash-flooding and clustering of low-entropy keys.
+     *
+     * @param <K> the type of keys
+     * @return a randomly seeded hasher
+     * @see SeededHasher
+     */
+    static <K> Hasher<K> seeded() {
+        return new SeededHasher<>();
+    }
+
+    /**
+     * Returns a hasher with a fixed seed, producing the same hashes across runs.
+     *
+     * @param seed the seed of the hash function
+     * @param <K>  the type of keys
+     * @return a seeded hasher
+     * @see SeededHasher
+     */
+    static <K> Hasher<K> seeded(long seed) {
+        return new SeededHasher<>(seed);
+    }
+}
@@ -0,0 +1,74 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import java.io.IOException;
+import java.util.function.IntFunction;
+
+import static java.lang.System.out;
+
+/**
+ * Compares the legacy and the seeded {@link Hasher} on {@link LinearProbing}, the table most
+ * sensitive to clustering. For every key set it reports the average and maximum probe length
+ * (number of slots inspected by a successful lookup) and the time taken to insert and look up
+ * all keys.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.hashing.HasherBenchmark"
+ * </pre>
+ */
+public class HasherBenchmark {
+
+    private static final int KEYS = 1 << 16;
+    private static final int ROUNDS = 3;
+
+    private HasherBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) throws IOException {
+        out.printf("%-28s %-8s %12s %12s %12s%n", "keys", "hasher", "avg probes", "max probes", "ns/op");
+        run("sequential longs", i -> (long) i);
+        run("longs i * 0x10001", i -> i * 0x10001L);
+        run("longs with stride 2^32", i -> (long) i << 32);
+        run("structured strings", i -> "user:" + (i / 1000) + ":session:" + (i % 1000));
+        run("numeric strings", String::valueOf);
+    }
+
+    private static <K> void run(String name, IntFunction<K> keys) throws IOException {
+        Object[] data = new Object[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            data[i] = keys.apply(i);
+        }
+        report(name, "legacy", Hasher.legacy(), data);
+        report(name, "seeded", Hasher.seeded(), data);
+    }
+
+    private static void report(String name, String label, Hasher<Object> hasher, Object[] keys) throws IOException {
+        LinearProbing<Object, Integer> table = null;
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            table = new LinearProbing<>(hasher);
+            for (int i = 0; i < keys.length; i++) {
+                table.put(keys[i], i);
+            }
+            for (Object key : keys) {
+                table.get(key);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        // Probe length of an entry is its distance from its home slot plus one
+        SlotAccess<Object, Integer> slots = table.slotAccess();
+        int mask = slots.capacity() - 1;
+        long[] stats = new long[2];
+        slots.forEachSlot((slot, entry) -> {
+            long probes = ((slot - (hasher.hash(entry.key) & mask)) & mask) + 1;
+            stats[0] += probes;
+            stats[1] = Math.max(stats[1], probes);
+        });
+
+        out.printf("%-28s %-8s %12.2f %12d %12.1f%n", name, label,
+                (double) stats[0] / table.size(), stats[1], (double) best / (2L * keys.length));
+    }
+}
@@ -1,13 +1,14 @@
 package com.marcinseweryn.algorithms.datastructures.hashing;
 
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
  * The QuadraticProbing class represents a hash table implemented using quadratic probing.
  * This hash table allows for inserting, searching, and deleting key-value pairs.
- * It uses a hash function that leverages the hashCode() method of the key objects
- * to compute the bucket index. When the load factor of the hash table exceeds 0.75,
+ * It uses a pluggable {@link Hasher}, by default the key's hashCode() with its high
+ * bits folded into the low bits, to compute the bucket index. When the load factor of the hash table exceeds 0.75,
  * the hash table is rehashed to double its original size.
  *
  * @param <K> the type of keys maintained by this hash table
@@ -22,14 +23,25 @@ public class QuadraticProbing<K, V> implements HashTable<K, V> {
     private int size;  // Number of key-value pairs in the hash table
     private int capacity;  // Current capacity of the hash table
     private Entry<K, V>[] hashTable;  // Array to store key-value pairs
+    private final Hasher<? super K> hasher;  // Strategy used to hash keys
 
     /**
-     * Constructs an empty hash table with an initial capacity of 16.
+     * Constructs an empty hash table with an initial capacity of 16 using the legacy hasher.
      */
     public QuadraticProbing() {
+        this(Hasher.legacy());
+    }
+
+    /**
+     * Constructs an empty hash table with an initial capacity of 16.
+     *
+     * @param hasher the strategy used to hash keys
+     */
+    public QuadraticProbing(Hasher<? super K> hasher) {
         this.capacity = INITIAL_CAPACITY;
         this.size = 0;
         this.hashTable = new Entry[this.capacity];
+        this.hasher = hasher;
     }
 
     /**
@@ -88,17 +100,16 @@ public class QuadraticProbing<K, V> implements HashTable<K, V> {
     }
 
     /**
-     * Computes the hash index for a given key using a bit-mixing algorithm.
-     * The hash code is computed using the key's hashCode() method.
-     * The high bits are mixed into the low bits to ensure a more uniform distribution.
+     * Computes the hash index for a given key.
+     * The hash is computed by the table's {@link Hasher}, which mixes the key's bits
+     * so that the low bits are uniformly distributed.
      *
      * @param key the key to hash
      * @return the computed hash index
      */
     private int hash(K key) {
-        int h = key.hashCode();  // Get the hash code from the key
-        // Mix the hash bits and use bitwise AND to keep index within the capacity
-        return (h ^ (h >>> 16)) & (capacity - 1);
+        // The hasher mixes the bits; bitwise AND keeps the index within the capacity
+        return this.hasher.hash(key) & (capacity - 1);
     }
 
     /**
@@ -191,6 +202,56 @@ public class QuadraticProbing<K, V> implements HashTable<K, V> {
         return this.size == 0;
     }
 
+    /**
+     * Exposes the slot layout of this table to {@link HashTableSnapshot}.
+     *
+     * @return a view over the slots of this table
+     */
+    SlotAccess<K, V> slotAccess() {
+        return new SlotAccess<>() {
+            @Override
+            public int capacity() {
+                return capacity;
+            }
+
+            @Override
+            public String hasherId() {
+                return hasher.id();
+            }
+
+            @Override
+            public int hash(K key) {
+                return hasher.hash(key);
+            }
+
+            @Override
+            public void forEachSlot(SlotVisitor<K, V> visitor) throws IOException {
+                for (int i = 0; i < capacity; i++) {
+                    if (hashTable[i] != null) {
+                        visitor.visit(i, hashTable[i]);
+                    }
+                }
+            }
+
+            @Override
+            public void reset(int newCapacity) {
+                capacity = newCapacity;
+                size = 0;
+                hashTable = new Entry[newCapacity];
+            }
+
+            @Override
+            public boolean putAt(int slot, int hash, K key, V value) {
+                if (hashTable[slot] != null) {
+                    return false;  // Taken by an earlier record
+                }
+                hashTable[slot] = new Entry<>(key, value);
+                size++;
+                return true;
+            }
+        };
+    }
+
     @Override
     public Iterator<Entry<K, V>> iterator() {
         return new HashTableIterator();
@@ -0,0 +1,213 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+
+/**
+ * A seeded, high-quality {@link Hasher}.
+ *
+ * <p>The key type decides the mixing function:
+ * <ul>
+ *   <li>{@code String} and {@code byte[]} are hashed over their contents 8 bytes at a time
+ *       with a wyhash-style folded 64x64-bit multiply.</li>
+ *   <li>{@code Long}, {@code Integer}, {@code Short}, {@code Byte}, {@code Character} and
+ *       {@code Double} are finalized with the murmur3 {@code fmix64} avalanche.</li>
+ *   <li>Any other key has its {@code hashCode()} finalized with {@code fmix64}.</li>
+ * </ul>
+ * The seed is mixed into every hash, so sequential or structured keys are spread uniformly
+ * and an attacker who does not know the seed cannot craft colliding {@code String},
+ * {@code byte[]} or primitive keys. Keys of other types are only as strong as their
+ * {@code hashCode()}.
+ *
+ * @param <K> the type of keys hashed by this hasher
+ */
+public final class SeededHasher<K> implements Hasher<K> {
+
+    private static final SecureRandom SEEDS = new SecureRandom();
+
+    // wyhash secret primes
+    private static final long P0 = 0xa0761d6478bd642fL;
+    private static final long P1 = 0xe7037ed1a0b428dbL;
+    private static final long P2 = 0x8ebc6af09c88c6e3L;
+
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long seed;
+
+    /**
+     * Creates a hasher with a random seed drawn from a {@link SecureRandom}.
+     */
+    public SeededHasher() {
+        this(SEEDS.nextLong());
+    }
+
+    /**
+     * Creates a hasher with the given seed.
+     *
+     * @param seed the seed mixed into every hash
+     */
+    public SeededHasher(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the seed of this hasher.
+     *
+     * @return the seed
+     */
+    public long seed() {
+        return this.seed;
+    }
+
+    @Override
+    public int hash(K key) {
+        return fold(this.hash64(key));
+    }
+
+    @Override
+    public String id() {
+        return "seeded:" + this.seed;
+    }
+
+    /**
+     * Computes the full 64-bit hash of a key.
+     *
+     * @param key the key to hash
+     * @return the 64-bit hash
+     */
+    public long hash64(Object key) {
+        if (key instanceof String string) {
+            return hashString(string, this.seed);
+        } else if (key instanceof byte[] bytes) {
+            return hashBytes(bytes, this.seed);
+        } else if (key instanceof Long value) {
+            return hashLong(value, this.seed);
+        } else if (key instanceof Integer value) {
+            return hashLong(value, this.seed);
+        } else if (key instanceof Double value) {
+            return hashLong(Double.doubleToLongBits(value), this.seed);
+        } else if (key instanceof Character value) {
+            return hashLong(value, this.seed);
+        } else if (key instanceof Short value) {
+            return hashLong(value, this.seed);
+        } else if (key instanceof Byte value) {
+            return hashLong(value, this.seed);
+        }
+        return hashLong(key.hashCode(), this.seed);
+    }
+
+    /**
+     * Hashes a primitive value with the murmur3 {@code fmix64} finalizer.
+     *
+     * @param value the value to hash
+     * @param seed  the seed
+     * @return the 64-bit hash
+     */
+    public static long hashLong(long value, long seed) {
+        return fmix64(value ^ seed ^ P0);
+    }
+
+    /**
+     * Hashes the contents of a byte array, reading 8 bytes at a time.
+     *
+     * @param bytes the bytes to hash
+     * @param seed  the seed
+     * @return the 64-bit hash
+     */
+    public static long hashBytes(byte[] bytes, long seed) {
+        int length = bytes.length;
+        long h = seed ^ mix(seed ^ P0, P1);
+        int i = 0;
+
+        // Bulk: two 64-bit words per round
+        for (; i + 16 <= length; i += 16) {
+            h = mix((long) LONG_LE.get(bytes, i) ^ P1, (long) LONG_LE.get(bytes, i + 8) ^ h);
+        }
+
+        // Tail: up to 15 bytes, read as (possibly overlapping) words
+        long a = 0;
+        long b = 0;
+        int remaining = length - i;
+        if (remaining >= 8) {
+            a = (long) LONG_LE.get(bytes, i);
+            b = (long) LONG_LE.get(bytes, length - 8);
+        } else {
+            for (int j = 0; j < remaining; j++) {
+                a |= (bytes[i + j] & 0xFFL) << (j * 8);
+            }
+        }
+        return mix(P2 ^ length, mix(a ^ P1, b ^ h));
+    }
+
+    /**
+     * Hashes the UTF-16 code units of a string, packing 4 characters into each 64-bit word.
+     * No intermediate byte array is allocated.
+     *
+     * @param string the string to hash
+     * @param seed   the seed
+     * @return the 64-bit hash
+     */
+    public static long hashString(String string, long seed) {
+        int length = string.length();
+        long h = seed ^ mix(seed ^ P0, P1);
+        int i = 0;
+
+        // Bulk: 8 characters (two 64-bit words) per round
+        for (; i + 8 <= length; i += 8) {
+            h = mix(chars(string, i) ^ P1, chars(string, i + 4) ^ h);
+        }
+
+        // Tail: up to 7 characters
+        long a = 0;
+        long b = 0;
+        int remaining = length - i;
+        for (int j = 0; j < remaining; j++) {
+            long c = string.charAt(i + j);
+            if (j < 4) {
+                a |= c << (j * 16);
+            } else {
+                b |= c << ((j - 4) * 16);
+            }
+        }
+        return mix(P2 ^ length, mix(a ^ P1, b ^ h));
+    }
+
+    /**
+     * Packs 4 characters starting at the index into a 64-bit word.
+     */
+    private static long chars(String string, int index) {
+        return string.charAt(index)
+                | (long) string.charAt(index + 1) << 16
+                | (long) string.charAt(index + 2) << 32
+                | (long) string.charAt(index + 3) << 48;
+    }
+
+    /**
+     * wyhash mixing step: multiplies to 128 bits and folds the halves together.
+     */
+    static long mix(long a, long b) {
+        return Math.multiplyHigh(a, b) ^ (a * b);
+    }
+
+    /**
+     * murmur3 64-bit finalizer, a bijection with full avalanche.
+     */
+    static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * Folds a 64-bit hash into 32 bits.
+     */
+    static int fold(long h) {
+        return (int) (h ^ (h >>> 32));
+    }
+}
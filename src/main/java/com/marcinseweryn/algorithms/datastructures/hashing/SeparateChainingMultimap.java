@@ -0,0 +1,473 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A multimap implemented with separate chaining, mapping each key to a list of values.
+ *
+ * <p>Unlike {@code SeparateChaining<K, SinglyLinkedList<V>>}, every key is stored in a single
+ * group node that is at the same time the link of the bucket chain and the list of values:
+ * <ul>
+ *   <li>a group holding one value keeps it inline in a field, without allocating an array,</li>
+ *   <li>from the second value on, values are kept in a growable array that doubles when full.</li>
+ * </ul>
+ * A lookup therefore costs one hop per chained key and reading the values is a plain array access.
+ * {@link #getAll(Object)} returns the group itself as a live, read-only view, so no values are copied,
+ * and iterating the multimap visits the groups in place, grouped by key.
+ *
+ * @param <K> the type of keys maintained by this multimap
+ * @param <V> the type of mapped values
+ */
+public class SeparateChainingMultimap<K, V> implements Iterable<SeparateChainingMultimap.Group<K, V>> {
+
+    private static final int INITIAL_CAPACITY = 16;  // Initial number of buckets
+    private static final double LOAD_FACTOR_THRESHOLD = 0.75;  // Threshold for resizing
+    private static final int INITIAL_VALUES_CAPACITY = 4;  // Array size allocated for the second value
+
+    private static final Group<?, ?> EMPTY = new ValueGroup<>(null, 0, null);
+
+    private final Hasher<? super K> hasher;  // Strategy used to hash keys
+    private ValueGroup<K, V>[] hashTable;  // Array of group chains
+    private int capacity;  // Current number of buckets
+    private int keyCount;  // Number of distinct keys
+    private int size;  // Number of key-value pairs
+
+    /**
+     * Constructs an empty multimap with an initial capacity of 16 using the legacy hasher.
+     */
+    public SeparateChainingMultimap() {
+        this(Hasher.legacy());
+    }
+
+    /**
+     * Constructs an empty multimap with an initial capacity of 16.
+     *
+     * @param hasher the strategy used to hash keys
+     */
+    public SeparateChainingMultimap(Hasher<? super K> hasher) {
+        this.hasher = hasher;
+        this.capacity = INITIAL_CAPACITY;
+        this.hashTable = new ValueGroup[this.capacity];
+    }
+
+    /**
+     * Appends a value to the list of values associated with the key.
+     * Duplicated values are kept, in insertion order.
+     *
+     * @param key   the key
+     * @param value the value to append
+     * @throws IllegalArgumentException if the key is null
+     */
+    public void putMulti(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        int hash = this.hasher.hash(key);
+        ValueGroup<K, V> group = this.find(key, hash);
+        if (group == null) {
+            // Resize the table if the load factor exceeds the threshold
+            if (this.keyCount >= this.capacity * LOAD_FACTOR_THRESHOLD) {
+                this.resize();
+            }
+            int index = hash & (this.capacity - 1);
+            group = new ValueGroup<>(key, hash, this.hashTable[index]);
+            this.hashTable[index] = group;
+            this.keyCount++;
+        }
+        group.add(value);
+        this.size++;
+    }
+
+    /**
+     * Returns a live, read-only view of the values associated with the key.
+     * The view is the internal group itself, so it reflects later modifications.
+     *
+     * @param key the key
+     * @return the values of the key, or an empty group if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public Group<K, V> getAll(K key) {
+        if (key == null) {
+            return (Group<K, V>) EMPTY;
+        }
+        ValueGroup<K, V> group = this.find(key, this.hasher.hash(key));
+        return group != null ? group : (Group<K, V>) EMPTY;
+    }
+
+    /**
+     * Removes the first occurrence of the value from the values of the key.
+     * The key is removed once its last value is removed.
+     *
+     * @param key   the key
+     * @param value the value to remove
+     * @return true if the value was found and removed, false otherwise
+     */
+    public boolean removeValue(K key, V value) {
+        if (key == null) {
+            return false;
+        }
+
+        int hash = this.hasher.hash(key);
+        int index = hash & (this.capacity - 1);
+        ValueGroup<K, V> previous = null;
+        for (ValueGroup<K, V> group = this.hashTable[index]; group != null; group = group.next) {
+            if (group.hash == hash && group.key.equals(key)) {
+                if (!group.remove(value)) {
+                    return false;
+                }
+                this.size--;
+                if (group.count == 0) {
+                    this.unlink(index, previous, group);
+                }
+                return true;
+            }
+            previous = group;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the key together with all its values.
+     *
+     * @param key the key to remove
+     * @return the number of values removed
+     */
+    public int removeAll(K key) {
+        if (key == null) {
+            return 0;
+        }
+
+        int hash = this.hasher.hash(key);
+        int index = hash & (this.capacity - 1);
+        ValueGroup<K, V> previous = null;
+        for (ValueGroup<K, V> group = this.hashTable[index]; group != null; group = group.next) {
+            if (group.hash == hash && group.key.equals(key)) {
+                this.size -= group.count;
+                this.unlink(index, previous, group);
+                return group.count;
+            }
+            previous = group;
+        }
+        return 0;
+    }
+
+    /**
+     * Checks whether the key has at least one value.
+     *
+     * @param key the key
+     * @return true if the key is present, false otherwise
+     */
+    public boolean containsKey(K key) {
+        return key != null && this.find(key, this.hasher.hash(key)) != null;
+    }
+
+    /**
+     * Checks whether the value is associated with the key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return true if the pair is present, false otherwise
+     */
+    public boolean containsEntry(K key, V value) {
+        return this.getAll(key).contains(value);
+    }
+
+    /**
+     * Returns the number of key-value pairs in the multimap.
+     *
+     * @return the number of values over all keys
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of distinct keys in the multimap.
+     *
+     * @return the number of keys
+     */
+    public int keyCount() {
+        return this.keyCount;
+    }
+
+    /**
+     * Returns true if the multimap contains no values.
+     *
+     * @return true if the multimap is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Passes every key with its values to the action, grouped by key, without allocating.
+     *
+     * @param action the action receiving each key and the view of its values
+     */
+    public void forEachGroup(BiConsumer<? super K, ? super Group<K, V>> action) {
+        for (int i = 0; i < this.capacity; i++) {
+            for (ValueGroup<K, V> group = this.hashTable[i]; group != null; group = group.next) {
+                action.accept(group.key, group);
+            }
+        }
+    }
+
+    /**
+     * Finds the group of a key.
+     *
+     * @param key  the key
+     * @param hash the hash of the key
+     * @return the group, or null if the key is absent
+     */
+    private ValueGroup<K, V> find(K key, int hash) {
+        for (ValueGroup<K, V> group = this.hashTable[hash & (this.capacity - 1)]; group != null; group = group.next) {
+            if (group.hash == hash && group.key.equals(key)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a group from its bucket chain.
+     */
+    private void unlink(int index, ValueGroup<K, V> previous, ValueGroup<K, V> group) {
+        if (previous == null) {
+            this.hashTable[index] = group.next;
+        } else {
+            previous.next = group.next;
+        }
+        group.next = null;
+        this.keyCount--;
+    }
+
+    /**
+     * Resizes the table to double its current capacity.
+     * Groups are relinked using their cached hashes, so no key is rehashed.
+     */
+    private void resize() {
+        ValueGroup<K, V>[] oldTable = this.hashTable;
+        this.capacity *= 2;
+        this.hashTable = new ValueGroup[this.capacity];
+
+        for (ValueGroup<K, V> head : oldTable) {
+            ValueGroup<K, V> group = head;
+            while (group != null) {
+                ValueGroup<K, V> next = group.next;
+                int index = group.hash & (this.capacity - 1);
+                group.next = this.hashTable[index];
+                this.hashTable[index] = group;
+                group = next;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Group<K, V>> iterator() {
+        return new GroupIterator();
+    }
+
+    /**
+     * A read-only view over the values associated with one key.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the values
+     */
+    public interface Group<K, V> extends Iterable<V> {
+
+        /**
+         * Returns the key of this group.
+         *
+         * @return the key, or null for the empty group
+         */
+        K key();
+
+        /**
+         * Returns the number of values in this group.
+         *
+         * @return the number of values
+         */
+        int size();
+
+        /**
+         * Returns true if this group contains no values.
+         *
+         * @return true if the group is empty
+         */
+        boolean isEmpty();
+
+        /**
+         * Returns the value at the given position, in insertion order.
+         *
+         * @param index the position of the value
+         * @return the value
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        V get(int index);
+
+        /**
+         * Checks whether the group contains the value.
+         *
+         * @param value the value
+         * @return true if the value is present
+         */
+        boolean contains(V value);
+    }
+
+    /**
+     * A key with its values, linked into the bucket chain.
+     */
+    private static final class ValueGroup<K, V> implements Group<K, V> {
+
+        private final K key;
+        private final int hash;  // Cached hash of the key
+        private ValueGroup<K, V> next;  // Next group in the same bucket
+        private Object single;  // The only value, while no array is allocated
+        private Object[] values;  // Values, once a second value was added
+        private int count;  // Number of values
+
+        ValueGroup(K key, int hash, ValueGroup<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.next = next;
+        }
+
+        /**
+         * Appends a value, allocating or growing the array only when needed.
+         */
+        void add(V value) {
+            if (this.values == null) {
+                if (this.count == 0) {
+                    this.single = value;  // Small-size optimization: keep the first value inline
+                    this.count = 1;
+                    return;
+                }
+                this.values = new Object[INITIAL_VALUES_CAPACITY];
+                this.values[0] = this.single;
+                this.single = null;
+            } else if (this.count == this.values.length) {
+                Object[] grown = new Object[this.count * 2];
+                System.arraycopy(this.values, 0, grown, 0, this.count);
+                this.values = grown;
+            }
+            this.values[this.count++] = value;
+        }
+
+        /**
+         * Removes the first occurrence of the value, shifting the following values left.
+         */
+        boolean remove(V value) {
+            int index = this.indexOf(value);
+            if (index == -1) {
+                return false;
+            }
+            if (this.values == null) {
+                this.single = null;
+            } else {
+                System.arraycopy(this.values, index + 1, this.values, index, this.count - index - 1);
+                this.values[this.count - 1] = null;
+            }
+            this.count--;
+            return true;
+        }
+
+        private int indexOf(V value) {
+            for (int i = 0; i < this.count; i++) {
+                if (Objects.equals(this.get(i), value)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public K key() {
+            return this.key;
+        }
+
+        @Override
+        public int size() {
+            return this.count;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return this.count == 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(int index) {
+            if (index < 0 || index >= this.count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.count);
+            }
+            return (V) (this.values == null ? this.single : this.values[index]);
+        }
+
+        @Override
+        public boolean contains(V value) {
+            return this.indexOf(value) != -1;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < count;
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("No more values in the group");
+                    }
+                    return get(index++);
+                }
+            };
+        }
+    }
+
+    private class GroupIterator implements Iterator<Group<K, V>> {
+        private int currentIndex = 0;  // Current bucket index
+        private ValueGroup<K, V> current;  // Next group to return
+
+        GroupIterator() {
+            moveToNextGroup();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public Group<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more groups in the multimap");
+            }
+            ValueGroup<K, V> group = current;
+            current = current.next;
+            if (current == null) {
+                currentIndex++;
+                moveToNextGroup();
+            }
+            return group;
+        }
+
+        private void moveToNextGroup() {
+            while (current == null && currentIndex < capacity) {
+                current = hashTable[currentIndex];
+                if (current == null) {
+                    currentIndex++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import java.io.IOException;
+
+/**
+ * Package-private view over the physical slot layout of a hash table.
+ * It lets {@link HashTableSnapshot} record the bucket of every entry and
+ * place entries straight back into those buckets, skipping the hash
+ * computation and probing when a snapshot is reloaded into a table with
+ * the same layout, hasher and capacity.
+ *
+ * @param <K> the type of keys maintained by the hash table
+ * @param <V> the type of mapped values
+ */
+interface SlotAccess<K, V> {
+
+    /**
+     * Returns the current number of slots (buckets) of the table.
+     *
+     * @return the capacity of the table
+     */
+    int capacity();
+
+    /**
+     * Returns the id of the hasher of the table; slots are only reusable between equal ids.
+     *
+     * @return the id of the table's {@link Hasher}
+     */
+    String hasherId();
+
+    /**
+     * Computes the hash of a key with the hasher of the table, before it is reduced to a slot.
+     *
+     * @param key the key to hash
+     * @return the 32-bit hash of the key
+     */
+    int hash(K key);
+
+    /**
+     * Visits every entry together with the slot it is stored in, in slot order.
+     *
+     * @param visitor the visitor receiving slot indexes and entries
+     * @throws IOException if the visitor fails to write the entry
+     */
+    void forEachSlot(SlotVisitor<K, V> visitor) throws IOException;
+
+    /**
+     * Discards all entries and allocates an empty table with the given capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    void reset(int capacity);
+
+    /**
+     * Stores an entry directly into a slot without probing, unless the slot cannot hold it: a slot of an
+     * open-addressing table that is already taken, or a bucket that is not the key's or already holds it.
+     * The table is left unchanged in that case.
+     *
+     * @param slot  the slot index, within the capacity
+     * @param hash  the hash of the key, as computed by {@link #hash}
+     * @param key   the key to store
+     * @param value the value associated with the key
+     * @return true if the entry was stored, false if the slot cannot hold it
+     */
+    boolean putAt(int slot, int hash, K key, V value);
+
+    /**
+     * Callback receiving slot indexes and the entries stored in them.
+     */
+    @FunctionalInterface
+    interface SlotVisitor<K, V> {
+        void visit(int slot, Entry<K, V> entry) throws IOException;
+    }
+}
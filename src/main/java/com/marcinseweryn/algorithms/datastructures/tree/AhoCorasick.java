@@ -0,0 +1,304 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick multi-pattern matcher.
+ * The automaton finds every occurrence of a set of patterns in a single pass over the text, in time linear in
+ * the text plus the number of matches, whatever the number of patterns. Its states are the nodes of a
+ * {@link Trie} of the patterns. The failure link of a state leads to the state of its longest proper suffix
+ * in the trie, and its output link to the nearest such suffix that ends a pattern.
+ *
+ * <p>The automaton is compiled into a deterministic one held in a flat {@code int[]}: the failure links are
+ * followed once, at construction, so the scan takes exactly one table lookup per character. Characters are
+ * first mapped to classes, one per distinct character of the patterns plus one for all the others, which
+ * keeps the rows of the table short. A transition holds the row offset of the next state rather than its
+ * number, negated when that state reports matches, so the hot loop needs neither a multiplication nor a
+ * second lookup.
+ *
+ * <p>Text is fed through a {@link Matcher}, in as many chunks as needed: matches spanning chunks are found,
+ * and are reported to a {@link MatchListener} without allocating. Bytes are read as ISO-8859-1 characters,
+ * so they match the patterns made of characters up to U+00FF, which covers ASCII keywords in UTF-8 text.
+ */
+public class AhoCorasick {
+
+    private static final int MAX_TABLE_SIZE = Integer.MAX_VALUE - 8;  // The largest array most VMs allocate
+
+    private final String[] patterns;
+    private final int classCount;
+    private final char[] charClasses = new char[Character.MAX_VALUE + 1];  // Class of each character, 0 if in no pattern
+    private final int[] byteClasses = new int[256];
+    private final int[] transitions;  // Row offset of the next state, bitwise negated if it reports matches
+    private final int[] outputs;  // First pattern ending at each state, -1 if none
+    private final int[] outputLinks;  // Nearest suffix state ending a pattern, -1 if none
+    private final int[] nextPatterns;  // Next pattern equal to each pattern, -1 if none
+
+    /**
+     * Builds the automaton of a set of patterns. Patterns are identified by their position in the
+     * collection's iteration order.
+     *
+     * @param patterns the patterns to find
+     * @throws IllegalArgumentException if a pattern is null or empty, or if the transition table, one row of
+     *                                  character classes per state, would not fit in an array
+     */
+    public AhoCorasick(Collection<String> patterns) {
+        this.patterns = patterns.toArray(new String[0]);
+        Trie trie = new Trie();
+        for (String pattern : this.patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("Pattern cannot be null or empty");
+            }
+            trie.insert(pattern);
+        }
+
+        // Number the states in breadth-first order, so that every failure link leads to an earlier state
+        List<Trie.TrieNode> states = new ArrayList<>();
+        Map<Trie.TrieNode, Integer> numbers = new IdentityHashMap<>();
+        Deque<Trie.TrieNode> queue = new ArrayDeque<>();
+        queue.add(trie.root());
+        numbers.put(trie.root(), 0);
+        char[] classChars = new char[1];
+        while (!queue.isEmpty()) {
+            Trie.TrieNode node = queue.poll();
+            states.add(node);
+            for (Map.Entry<Character, Trie.TrieNode> child : node.children().entrySet()) {
+                char character = child.getKey();
+                if (this.charClasses[character] == 0) {
+                    classChars = Arrays.copyOf(classChars, classChars.length + 1);
+                    classChars[classChars.length - 1] = character;
+                    this.charClasses[character] = (char) (classChars.length - 1);
+                }
+                numbers.put(child.getValue(), numbers.size());
+                queue.add(child.getValue());
+            }
+        }
+        this.classCount = classChars.length;
+        for (int b = 0; b < 256; b++) {
+            this.byteClasses[b] = this.charClasses[b];
+        }
+
+        int stateCount = states.size();
+        if ((long) stateCount * this.classCount > MAX_TABLE_SIZE) {
+            throw new IllegalArgumentException("Too many states and character classes for one transition table");
+        }
+        this.outputs = new int[stateCount];
+        this.outputLinks = new int[stateCount];
+        this.nextPatterns = new int[this.patterns.length];
+        Arrays.fill(this.outputs, -1);
+        for (int id = this.patterns.length - 1; id >= 0; id--) {
+            Trie.TrieNode node = trie.root();
+            for (int i = 0; i < this.patterns[id].length(); i++) {
+                node = node.children().get(this.patterns[id].charAt(i));
+            }
+            int state = numbers.get(node);
+            this.nextPatterns[id] = this.outputs[state];
+            this.outputs[state] = id;
+        }
+
+        int[] failures = new int[stateCount];
+        int[] next = new int[stateCount * this.classCount];  // Next state numbers, before encoding
+        for (int state = 0; state < stateCount; state++) {
+            Map<Character, Trie.TrieNode> children = states.get(state).children();
+            int failure = failures[state];
+            for (int c = 1; c < this.classCount; c++) {
+                Trie.TrieNode child = children.get(classChars[c]);
+                int fallback = state == 0 ? 0 : next[failure * this.classCount + c];
+                if (child == null) {
+                    next[state * this.classCount + c] = fallback;
+                } else {
+                    int target = numbers.get(child);
+                    next[state * this.classCount + c] = target;
+                    failures[target] = fallback;
+                }
+            }
+            if (state != 0) {
+                this.outputLinks[state] = this.outputs[failure] >= 0 ? failure : this.outputLinks[failure];
+            } else {
+                this.outputLinks[state] = -1;
+            }
+        }
+
+        this.transitions = new int[next.length];
+        for (int i = 0; i < next.length; i++) {
+            int target = next[i];
+            boolean reports = this.outputs[target] >= 0 || this.outputLinks[target] >= 0;
+            this.transitions[i] = reports ? ~(target * this.classCount) : target * this.classCount;
+        }
+    }
+
+    /**
+     * Returns the number of patterns.
+     *
+     * @return the number of patterns
+     */
+    public int patternCount() {
+        return this.patterns.length;
+    }
+
+    /**
+     * Returns a pattern.
+     *
+     * @param id the identifier of the pattern, its position among the patterns
+     * @return the pattern
+     */
+    public String pattern(int id) {
+        return this.patterns[id];
+    }
+
+    /**
+     * Returns the number of states of the automaton.
+     *
+     * @return the number of states
+     */
+    public int stateCount() {
+        return this.outputs.length;
+    }
+
+    /**
+     * Returns a new matcher reporting to a listener, at the start of a stream.
+     *
+     * @param listener the listener of the matches
+     * @return the matcher
+     */
+    public Matcher matcher(MatchListener listener) {
+        return new Matcher(listener);
+    }
+
+    /**
+     * Finds all the occurrences of the patterns in a text.
+     *
+     * @param text     the text
+     * @param listener the listener of the matches
+     */
+    public void search(CharSequence text, MatchListener listener) {
+        this.matcher(listener).feed(text);
+    }
+
+    /**
+     * Receives the matches of a {@link Matcher}.
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+
+        /**
+         * Called for every occurrence of a pattern, in the order of their ends, the longest first among those
+         * ending together.
+         *
+         * @param pattern the identifier of the pattern
+         * @param end     the position in the stream after the last character of the occurrence
+         */
+        void onMatch(int pattern, long end);
+    }
+
+    /**
+     * Scans a stream fed in chunks, keeping the state of the automaton between them. Not thread-safe.
+     */
+    public final class Matcher {
+        private final MatchListener listener;
+        private int state;  // Row offset of the current state
+        private long position;  // Characters consumed so far
+
+        private Matcher(MatchListener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Returns the number of characters and bytes consumed since the start of the stream.
+         *
+         * @return the position in the stream
+         */
+        public long position() {
+            return this.position;
+        }
+
+        /**
+         * Restarts the matcher at the start of a new stream.
+         */
+        public void reset() {
+            this.state = 0;
+            this.position = 0;
+        }
+
+        /**
+         * Scans the next chunk of characters of the stream.
+         *
+         * @param chunk the characters
+         */
+        public void feed(CharSequence chunk) {
+            int[] transitions = AhoCorasick.this.transitions;
+            char[] classes = AhoCorasick.this.charClasses;
+            int state = this.state;
+            int length = chunk.length();
+            for (int i = 0; i < length; i++) {
+                state = transitions[state + classes[chunk.charAt(i)]];
+                if (state < 0) {
+                    state = ~state;
+                    this.report(state, this.position + i + 1);
+                }
+            }
+            this.state = state;
+            this.position += length;
+        }
+
+        /**
+         * Scans the remaining bytes of a buffer as the next chunk of the stream, leaving the buffer at its limit.
+         *
+         * @param chunk the bytes
+         */
+        public void feed(ByteBuffer chunk) {
+            int[] transitions = AhoCorasick.this.transitions;
+            int[] classes = AhoCorasick.this.byteClasses;
+            int state = this.state;
+            int from = chunk.position();
+            int to = chunk.limit();
+            if (chunk.hasArray()) {
+                byte[] bytes = chunk.array();
+                int offset = chunk.arrayOffset();
+                for (int i = from; i < to; i++) {
+                    state = transitions[state + classes[bytes[offset + i] & 0xFF]];
+                    if (state < 0) {
+                        state = ~state;
+                        this.report(state, this.position + i - from + 1);
+                    }
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    state = transitions[state + classes[chunk.get(i) & 0xFF]];
+                    if (state < 0) {
+                        state = ~state;
+                        this.report(state, this.position + i - from + 1);
+                    }
+                }
+            }
+            chunk.position(to);
+            this.state = state;
+            this.position += to - from;
+        }
+
+        /**
+         * Reports the patterns ending at a state and at its suffixes, longest first.
+         */
+        private void report(int offset, long end) {
+            int[] outputs = AhoCorasick.this.outputs;
+            int[] outputLinks = AhoCorasick.this.outputLinks;
+            int state = offset / AhoCorasick.this.classCount;
+            if (outputs[state] < 0) {
+                state = outputLinks[state];
+            }
+            while (state >= 0) {
+                for (int id = outputs[state]; id >= 0; id = AhoCorasick.this.nextPatterns[id]) {
+                    this.listener.onMatch(id, end);
+                }
+                state = outputLinks[state];
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static java.lang.System.out;
+
+/**
+ * Measures the single-core throughput of {@link AhoCorasick} scanning synthetic log lines for 20,000 keywords,
+ * fed as heap and direct {@link ByteBuffer} chunks and as {@link String} chunks, and compares it with
+ * searching the keywords one by one with {@link String#indexOf(String)}.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.AhoCorasickBenchmark"
+ * </pre>
+ */
+public class AhoCorasickBenchmark {
+
+    private static final int KEYWORDS = 20_000;
+    private static final int TEXT_BYTES = 64 << 20;
+    private static final int CHUNK_BYTES = 64 << 10;
+    private static final int NAIVE_BYTES = 1 << 20;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private AhoCorasickBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(6);
+        List<String> keywords = new ArrayList<>(KEYWORDS);
+        for (int i = 0; i < KEYWORDS; i++) {
+            keywords.add(word(5 + random.nextInt(8), random));
+        }
+        long start = System.nanoTime();
+        AhoCorasick automaton = new AhoCorasick(keywords);
+        out.printf("%d keywords, %d states, built in %.0f ms%n", KEYWORDS, automaton.stateCount(),
+                (System.nanoTime() - start) / 1e6);
+
+        // Log lines of random words, about one in twenty lines holding a keyword
+        StringBuilder text = new StringBuilder(TEXT_BYTES + 200);
+        while (text.length() < TEXT_BYTES) {
+            text.append("2024-05-01T12:00:00Z INFO ");
+            for (int i = 0; i < 8; i++) {
+                text.append(random.nextInt(20) == 0 && i == 4 ? keywords.get(random.nextInt(KEYWORDS)) : word(3 + random.nextInt(7), random));
+                text.append(' ');
+            }
+            text.append('\n');
+        }
+        text.setLength(TEXT_BYTES);
+        byte[] bytes = text.toString().getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        String[] chunks = new String[TEXT_BYTES / CHUNK_BYTES];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = text.substring(i * CHUNK_BYTES, (i + 1) * CHUNK_BYTES);
+        }
+
+        long[] matches = new long[1];
+        AhoCorasick.Matcher matcher = automaton.matcher((pattern, end) -> matches[0] += pattern);
+        for (int round = 0; round < 3; round++) {
+            // The first round warms up
+            matcher.reset();
+            start = System.nanoTime();
+            for (int from = 0; from < bytes.length; from += CHUNK_BYTES) {
+                matcher.feed(ByteBuffer.wrap(bytes, from, CHUNK_BYTES));
+            }
+            double heap = TEXT_BYTES / (double) (System.nanoTime() - start);
+
+            matcher.reset();
+            start = System.nanoTime();
+            for (int from = 0; from < bytes.length; from += CHUNK_BYTES) {
+                matcher.feed(direct.limit(from + CHUNK_BYTES).position(from));
+            }
+            double offHeap = TEXT_BYTES / (double) (System.nanoTime() - start);
+
+            matcher.reset();
+            start = System.nanoTime();
+            for (String chunk : chunks) {
+                matcher.feed(chunk);
+            }
+            double chars = TEXT_BYTES / (double) (System.nanoTime() - start);
+            if (round == 2) {
+                out.printf("%-24s %8.2f GB/s%n", "heap ByteBuffer", heap);
+                out.printf("%-24s %8.2f GB/s%n", "direct ByteBuffer", offHeap);
+                out.printf("%-24s %8.2f G chars/s%n", "String chunks", chars);
+            }
+        }
+
+        // One keyword at a time over a small part of the text, then scaled
+        String sample = text.substring(0, NAIVE_BYTES);
+        long found = 0;
+        start = System.nanoTime();
+        for (String keyword : keywords) {
+            for (int at = sample.indexOf(keyword); at >= 0; at = sample.indexOf(keyword, at + 1)) {
+                found++;
+            }
+        }
+        out.printf("%-24s %8.4f GB/s%n", "indexOf per keyword", NAIVE_BYTES / (double) (System.nanoTime() - start));
+        sink = matches[0] + found;
+    }
+
+    private static String word(int length, SplittableRandom random) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
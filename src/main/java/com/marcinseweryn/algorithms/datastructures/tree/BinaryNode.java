@@ -6,6 +6,7 @@ public class BinaryNode<T> {
     public BinaryNode<T> left;
     public BinaryNode<T> right;
     public int height;
+    public int size;  // Number of nodes in the subtree, maintained by the AVL trees
 
     public BinaryNode(T element) {
         this.element = element;
@@ -1,6 +1,10 @@
 package com.marcinseweryn.algorithms.datastructures.tree;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 // level order iterator
 public interface BinaryTree <T> {
@@ -25,4 +29,33 @@ public interface BinaryTree <T> {
 
     Iterator<T> preOrderIterator();
 
+    /**
+     * Returns a spliterator over the elements of the tree. The default one follows the in-order iterator and
+     * splits by copying batches of its elements into arrays; implementations that can split on their own
+     * structure, subtrees or index ranges, override it. The tree must not be modified during the traversal.
+     *
+     * @return a spliterator over the elements
+     */
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.inOrderIterator(), this.size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential stream over the elements of the tree, in the encounter order of {@link #spliterator()}.
+     *
+     * @return a sequential stream over the elements
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements of the tree, split as {@link #spliterator()} splits.
+     *
+     * @return a parallel stream over the elements
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
 }
@@ -0,0 +1,441 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.util.Arrays;
+
+/**
+ * A memory-compact Trie (prefix tree) with the same operations as {@link Trie}.
+ *
+ * <p>Where a {@link Trie} node holds a {@code HashMap<Character, TrieNode>}, with its table, an entry
+ * object per child and boxed characters, the nodes of this trie pick one of three array layouts
+ * according to their fan-out, and switch layout as children are added and removed:
+ * <ul>
+ *     <li>small nodes, up to {@value #SMALL_MAX} children: a sorted {@code char[]} of keys and an exactly
+ *     sized array of children, searched with a binary search. Leaves share empty arrays;</li>
+ *     <li>bitmap nodes, up to {@value #BITMAP_MAX} children with keys below 256: a 256-bit bitmap of the
+ *     keys present and a packed array of children, the child of a key being at the number of bits set
+ *     before the key's bit;</li>
+ *     <li>dense nodes, with keys below 256: a direct 256-way array of children.</li>
+ * </ul>
+ * Nodes with a key of 256 or above, outside of ASCII and Latin-1, stay small nodes whatever their fan-out.
+ */
+public class CompactTrie {
+
+    static final int SMALL_MAX = 8;
+    static final int BITMAP_MAX = 48;
+    private static final int BITMAP_SHRINK = 6;  // A bitmap node this small becomes a small node again
+    private static final int DENSE_SHRINK = 36;  // A dense node this small becomes a bitmap node again
+    private static final int DENSE_RANGE = 256;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private Node root;
+
+    /**
+     * Initializes a new CompactTrie with an empty root node.
+     */
+    public CompactTrie() {
+        this.root = new SmallNode(NO_KEYS, NO_CHILDREN);
+    }
+
+    /**
+     * Inserts a word into the trie.
+     *
+     * @param word the word to be inserted into the trie
+     */
+    public void insert(String word) {
+        Node parent = null;
+        char parentKey = 0;
+        Node current = this.root;
+        for (int i = 0; i < word.length(); i++) {
+            char character = word.charAt(i);
+            Node next = current.get(character);
+
+            // If the character is not present, add it, which may change the layout of the node
+            if (next == null) {
+                next = new SmallNode(NO_KEYS, NO_CHILDREN);
+                Node grown = current.put(character, next);
+                if (grown != current) {
+                    this.relink(parent, parentKey, grown);
+                    current = grown;
+                }
+            }
+            parent = current;
+            parentKey = character;
+            current = next;
+        }
+        current.endOfString = true;
+    }
+
+    /**
+     * Points the parent, or the root if there is none, to the new version of a node.
+     */
+    private void relink(Node parent, char key, Node node) {
+        if (parent == null) {
+            this.root = node;
+        } else {
+            parent.replace(key, node);
+        }
+    }
+
+    /**
+     * Searches for a word in the trie.
+     *
+     * @param word the word to search for
+     * @return true if the word exists in the trie, false otherwise
+     */
+    public boolean search(String word) {
+        Node current = this.root;
+        for (int i = 0; i < word.length() && current != null; i++) {
+            current = current.get(word.charAt(i));
+        }
+        return current != null && current.endOfString;
+    }
+
+    /**
+     * Deletes a word from the trie, removing the nodes no other word needs.
+     *
+     * @param word the word to be deleted
+     * @return true if the word was deleted, false if the word was not found
+     */
+    public boolean delete(String word) {
+        if (!this.search(word)) {
+            return false;
+        }
+        Node root = this.delete(this.root, word, 0);
+        this.root = root != null ? root : new SmallNode(NO_KEYS, NO_CHILDREN);
+        return true;
+    }
+
+    /**
+     * Recursively deletes the rest of a word below a node.
+     *
+     * @param node  the node reached by the first {@code index} characters
+     * @param word  the word to be deleted
+     * @param index the current index in the word being processed
+     * @return the node to keep in place of the given one, or null if it is no longer needed
+     */
+    private Node delete(Node node, String word, int index) {
+        if (index == word.length()) {
+            node.endOfString = false;
+        } else {
+            char character = word.charAt(index);
+            Node child = node.get(character);
+            Node kept = this.delete(child, word, index + 1);
+            if (kept == null) {
+                node = node.remove(character);
+            } else if (kept != child) {
+                node.replace(character, kept);
+            }
+        }
+        return node.endOfString || node.childCount() > 0 ? node : null;
+    }
+
+    /**
+     * Builds the most compact node holding the given children, sorted by key.
+     */
+    private static Node of(char[] keys, Node[] children, boolean endOfString) {
+        int count = keys.length;
+        Node node;
+        if (count <= SMALL_MAX || keys[count - 1] >= DENSE_RANGE) {
+            node = count == 0 ? new SmallNode(NO_KEYS, NO_CHILDREN) : new SmallNode(keys, children);
+        } else if (count <= BITMAP_MAX) {
+            node = new BitmapNode(keys, children);
+        } else {
+            node = new DenseNode(keys, children);
+        }
+        node.endOfString = endOfString;
+        return node;
+    }
+
+    /**
+     * Represents a node in the trie.
+     */
+    abstract static class Node {
+
+        boolean endOfString;
+
+        /**
+         * Returns the child of a key, or null if there is none.
+         */
+        abstract Node get(char key);
+
+        /**
+         * Adds the child of a key not yet present.
+         *
+         * @return this node, or the node of another layout that replaces it
+         */
+        abstract Node put(char key, Node child);
+
+        /**
+         * Replaces the child of a key already present.
+         */
+        abstract void replace(char key, Node child);
+
+        /**
+         * Removes the child of a key present.
+         *
+         * @return this node, or the node of another layout that replaces it
+         */
+        abstract Node remove(char key);
+
+        abstract int childCount();
+
+        /**
+         * Copies the keys and children, sorted by key, into arrays of {@link #childCount()} elements.
+         */
+        abstract void export(char[] keys, Node[] children);
+
+        /**
+         * Rebuilds the node with one child added or removed, in the layout that fits the new fan-out.
+         */
+        Node rebuild(char key, Node child) {
+            int count = this.childCount();
+            char[] oldKeys = new char[count];
+            Node[] oldChildren = new Node[count];
+            this.export(oldKeys, oldChildren);
+
+            int position = Arrays.binarySearch(oldKeys, key);
+            char[] keys;
+            Node[] children;
+            if (child != null) {
+                int insertion = -position - 1;
+                keys = new char[count + 1];
+                children = new Node[count + 1];
+                System.arraycopy(oldKeys, 0, keys, 0, insertion);
+                System.arraycopy(oldChildren, 0, children, 0, insertion);
+                keys[insertion] = key;
+                children[insertion] = child;
+                System.arraycopy(oldKeys, insertion, keys, insertion + 1, count - insertion);
+                System.arraycopy(oldChildren, insertion, children, insertion + 1, count - insertion);
+            } else {
+                keys = new char[count - 1];
+                children = new Node[count - 1];
+                System.arraycopy(oldKeys, 0, keys, 0, position);
+                System.arraycopy(oldChildren, 0, children, 0, position);
+                System.arraycopy(oldKeys, position + 1, keys, position, count - position - 1);
+                System.arraycopy(oldChildren, position + 1, children, position, count - position - 1);
+            }
+            return of(keys, children, this.endOfString);
+        }
+    }
+
+    /**
+     * Node with a sorted array of keys and an array of children of the same length.
+     */
+    static final class SmallNode extends Node {
+
+        private char[] keys;
+        private Node[] children;
+
+        SmallNode(char[] keys, Node[] children) {
+            this.keys = keys;
+            this.children = children;
+        }
+
+        @Override
+        Node get(char key) {
+            int position = Arrays.binarySearch(this.keys, key);
+            return position >= 0 ? this.children[position] : null;
+        }
+
+        @Override
+        Node put(char key, Node child) {
+            int count = this.keys.length;
+            if (count >= SMALL_MAX && Math.max(key, this.keys[count - 1]) < DENSE_RANGE) {
+                return this.rebuild(key, child);
+            }
+            // Grow the arrays by exactly one slot
+            int insertion = -Arrays.binarySearch(this.keys, key) - 1;
+            char[] keys = new char[count + 1];
+            Node[] children = new Node[count + 1];
+            System.arraycopy(this.keys, 0, keys, 0, insertion);
+            System.arraycopy(this.children, 0, children, 0, insertion);
+            keys[insertion] = key;
+            children[insertion] = child;
+            System.arraycopy(this.keys, insertion, keys, insertion + 1, count - insertion);
+            System.arraycopy(this.children, insertion, children, insertion + 1, count - insertion);
+            this.keys = keys;
+            this.children = children;
+            return this;
+        }
+
+        @Override
+        void replace(char key, Node child) {
+            this.children[Arrays.binarySearch(this.keys, key)] = child;
+        }
+
+        @Override
+        Node remove(char key) {
+            Node node = this.rebuild(key, null);
+            if (node instanceof SmallNode small) {
+                // Keep the identity of the node, so the parent needs no update
+                this.keys = small.keys;
+                this.children = small.children;
+                return this;
+            }
+            return node;
+        }
+
+        @Override
+        int childCount() {
+            return this.keys.length;
+        }
+
+        @Override
+        void export(char[] keys, Node[] children) {
+            System.arraycopy(this.keys, 0, keys, 0, this.keys.length);
+            System.arraycopy(this.children, 0, children, 0, this.children.length);
+        }
+    }
+
+    /**
+     * Node with a 256-bit bitmap of its keys and a packed array of children in key order.
+     */
+    static final class BitmapNode extends Node {
+
+        private final long[] bitmap = new long[DENSE_RANGE / 64];
+        private Node[] children;
+
+        BitmapNode(char[] keys, Node[] children) {
+            for (char key : keys) {
+                this.bitmap[key >>> 6] |= 1L << key;
+            }
+            this.children = children;
+        }
+
+        /**
+         * Returns the position of a key's child: the number of keys below it.
+         */
+        private int rank(char key) {
+            int word = key >>> 6;
+            int rank = Long.bitCount(this.bitmap[word] & ((1L << key) - 1));
+            for (int i = 0; i < word; i++) {
+                rank += Long.bitCount(this.bitmap[i]);
+            }
+            return rank;
+        }
+
+        private boolean contains(char key) {
+            return key < DENSE_RANGE && (this.bitmap[key >>> 6] & (1L << key)) != 0;
+        }
+
+        @Override
+        Node get(char key) {
+            return this.contains(key) ? this.children[this.rank(key)] : null;
+        }
+
+        @Override
+        Node put(char key, Node child) {
+            if (key >= DENSE_RANGE || this.children.length >= BITMAP_MAX) {
+                return this.rebuild(key, child);
+            }
+            int position = this.rank(key);
+            Node[] children = new Node[this.children.length + 1];
+            System.arraycopy(this.children, 0, children, 0, position);
+            children[position] = child;
+            System.arraycopy(this.children, position, children, position + 1, this.children.length - position);
+            this.children = children;
+            this.bitmap[key >>> 6] |= 1L << key;
+            return this;
+        }
+
+        @Override
+        void replace(char key, Node child) {
+            this.children[this.rank(key)] = child;
+        }
+
+        @Override
+        Node remove(char key) {
+            if (this.children.length <= BITMAP_SHRINK + 1) {
+                return this.rebuild(key, null);
+            }
+            int position = this.rank(key);
+            Node[] children = new Node[this.children.length - 1];
+            System.arraycopy(this.children, 0, children, 0, position);
+            System.arraycopy(this.children, position + 1, children, position, children.length - position);
+            this.children = children;
+            this.bitmap[key >>> 6] &= ~(1L << key);
+            return this;
+        }
+
+        @Override
+        int childCount() {
+            return this.children.length;
+        }
+
+        @Override
+        void export(char[] keys, Node[] children) {
+            int position = 0;
+            for (int word = 0; word < this.bitmap.length; word++) {
+                for (long bits = this.bitmap[word]; bits != 0; bits &= bits - 1) {
+                    keys[position] = (char) (word * 64 + Long.numberOfTrailingZeros(bits));
+                    children[position] = this.children[position];
+                    position++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Node with a direct array of 256 children, indexed by key.
+     */
+    static final class DenseNode extends Node {
+
+        private final Node[] children = new Node[DENSE_RANGE];
+        private int count;
+
+        DenseNode(char[] keys, Node[] children) {
+            for (int i = 0; i < keys.length; i++) {
+                this.children[keys[i]] = children[i];
+            }
+            this.count = keys.length;
+        }
+
+        @Override
+        Node get(char key) {
+            return key < DENSE_RANGE ? this.children[key] : null;
+        }
+
+        @Override
+        Node put(char key, Node child) {
+            if (key >= DENSE_RANGE) {
+                return this.rebuild(key, child);
+            }
+            this.children[key] = child;
+            this.count++;
+            return this;
+        }
+
+        @Override
+        void replace(char key, Node child) {
+            this.children[key] = child;
+        }
+
+        @Override
+        Node remove(char key) {
+            if (this.count <= DENSE_SHRINK + 1) {
+                return this.rebuild(key, null);
+            }
+            this.children[key] = null;
+            this.count--;
+            return this;
+        }
+
+        @Override
+        int childCount() {
+            return this.count;
+        }
+
+        @Override
+        void export(char[] keys, Node[] children) {
+            int position = 0;
+            for (int key = 0; key < DENSE_RANGE; key++) {
+                if (this.children[key] != null) {
+                    keys[position] = (char) key;
+                    children[position++] = this.children[key];
+                }
+            }
+        }
+    }
+}
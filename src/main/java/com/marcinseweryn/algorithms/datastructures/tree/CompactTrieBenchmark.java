@@ -0,0 +1,119 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.util.SplittableRandom;
+
+import static java.lang.System.out;
+
+/**
+ * Compares the heap footprint and the lookup time of {@link Trie} and {@link CompactTrie} holding the same
+ * synthetic words: lowercase words of 4 to 12 letters with shared prefixes, as in a dictionary.
+ *
+ * <p>The footprint is the growth of the used heap after a garbage collection, so it is approximate; run
+ * with a fixed heap, for instance {@code -Xms2g -Xmx2g}, for stable figures:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.CompactTrieBenchmark"
+ * </pre>
+ */
+public class CompactTrieBenchmark {
+
+    private static final int WORDS = 500_000;
+    private static final int LOOKUPS = 2_000_000;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private CompactTrieBenchmark() {
+        // No instantiate
+    }
+
+    private interface Target {
+        void insert(String word);
+
+        boolean search(String word);
+    }
+
+    public static void main(String[] args) {
+        String[] words = words(WORDS, new SplittableRandom(7));
+        out.printf("%d words%n", WORDS);
+        out.printf("%-14s %12s %14s %14s%n", "trie", "MB", "bytes/word", "ns/lookup");
+
+        Trie trie = new Trie();
+        measure("hash map", words, new Target() {
+            @Override
+            public void insert(String word) {
+                trie.insert(word);
+            }
+
+            @Override
+            public boolean search(String word) {
+                return trie.search(word);
+            }
+        });
+
+        CompactTrie compact = new CompactTrie();
+        measure("compact", words, new Target() {
+            @Override
+            public void insert(String word) {
+                compact.insert(word);
+            }
+
+            @Override
+            public boolean search(String word) {
+                return compact.search(word);
+            }
+        });
+    }
+
+    private static void measure(String name, String[] words, Target target) {
+        long before = usedMemory();
+        for (String word : words) {
+            target.insert(word);
+        }
+        long footprint = usedMemory() - before;
+
+        SplittableRandom random = new SplittableRandom(9);
+        long found = 0;
+        long start = 0;
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                found += target.search(words[random.nextInt(words.length)]) ? 1 : 0;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = found;
+        out.printf("%-14s %12.1f %14.1f %14.1f%n", name, footprint / 1e6, (double) footprint / words.length,
+                (double) elapsed / LOOKUPS);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Builds words from a few thousand stems, so the upper levels of the trie are wide and the lower ones narrow.
+     */
+    private static String[] words(int count, SplittableRandom random) {
+        String[] stems = new String[4000];
+        for (int i = 0; i < stems.length; i++) {
+            stems[i] = letters(2 + random.nextInt(4), random);
+        }
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = stems[random.nextInt(stems.length)] + letters(2 + random.nextInt(7), random);
+        }
+        return words;
+    }
+
+    private static String letters(int length, SplittableRandom random) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,312 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Read-only double-array trie, compiled from a {@link Trie} with the weights of its words as values.
+ * A double-array trie encodes the transitions of a trie in two integer arrays: the child of state {@code s}
+ * on character code {@code c} is state {@code t = base[s] + c}, and exists if {@code check[t] == s}. The bases
+ * are chosen at compilation so that the children of different states never collide, which packs the whole
+ * trie into flat arrays with one array read per character instead of a hash map lookup per node.
+ *
+ * <p>A word ends at a state that has a child on the reserved code 0; the base of that child holds the index
+ * of the word's value, negated. Characters are numbered from 1 in the order of their values, only those
+ * used by the words getting a code.
+ *
+ * <p>The compiled trie lives in a single buffer laid out exactly as its file, all numbers big-endian:
+ * <pre>
+ *   header  magic "DATR", version, state count, word count, value count, reserved (6 ints)
+ *   codes   the code of each of the 65536 characters, 0 if unused (chars)
+ *   base    base of each state (ints)
+ *   check   parent of each state, -1 if the slot is free (ints)
+ *   values  value of each word (longs)
+ * </pre>
+ * {@link #load(Path)} maps the file read-only, so a lookup runs directly on the mapped pages: loading takes
+ * no time whatever the size of the dictionary, and the operating system shares and caches the pages.
+ */
+public class DoubleArrayTrie {
+
+    private static final int MAGIC = 0x44415452;  // "DATR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+    private static final int CODES_SIZE = (Character.MAX_VALUE + 1) * Character.BYTES;
+    private static final int MAX_ATTEMPTS = 64;  // Free slots tried before the search for bases skips past them
+
+    private final ByteBuffer buffer;
+    private final int states;
+    private final int words;
+    private final int baseOffset;
+    private final int checkOffset;
+    private final int valueOffset;
+
+    private DoubleArrayTrie(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE + CODES_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a double-array trie file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported version: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.states = buffer.getInt(8);
+        this.words = buffer.getInt(12);
+        int values = buffer.getInt(16);
+        this.baseOffset = HEADER_SIZE + CODES_SIZE;
+        this.checkOffset = this.baseOffset + this.states * Integer.BYTES;
+        this.valueOffset = this.checkOffset + this.states * Integer.BYTES;
+        if (buffer.capacity() != this.valueOffset + (long) values * Long.BYTES) {
+            throw new IOException("Truncated double-array trie file");
+        }
+    }
+
+    /**
+     * Compiles a trie, the weight of each word becoming its value.
+     *
+     * @param trie the trie
+     * @return the compiled trie, held in memory
+     */
+    public static DoubleArrayTrie compile(Trie trie) {
+        // Number the characters used, in the order of their values
+        char[] codes = new char[Character.MAX_VALUE + 1];
+        Deque<Trie.TrieNode> nodes = new ArrayDeque<>();
+        nodes.push(trie.root());
+        int words = 0;
+        while (!nodes.isEmpty()) {
+            Trie.TrieNode node = nodes.pop();
+            words += node.isEndOfString() ? 1 : 0;
+            for (Map.Entry<Character, Trie.TrieNode> child : node.children().entrySet()) {
+                codes[child.getKey()] = 1;
+                nodes.push(child.getValue());
+            }
+        }
+        char code = 0;
+        for (int c = 0; c < codes.length; c++) {
+            if (codes[c] != 0) {
+                codes[c] = ++code;
+            }
+        }
+
+        Builder builder = new Builder(codes, words);
+        builder.place(trie.root());
+        return builder.build();
+    }
+
+    /**
+     * Lays the states out in the arrays, choosing the bases.
+     */
+    private static final class Builder {
+        private final char[] codes;
+        private final char[] characters = new char[Character.MAX_VALUE + 1];  // Character of each code
+        private int[] base = new int[1024];
+        private int[] check = new int[1024];
+        private final long[] values;
+        private int valueCount;
+        private final BitSet used = new BitSet();
+        private int firstFree = 1;
+
+        Builder(char[] codes, int words) {
+            this.codes = codes;
+            for (int c = 0; c < codes.length; c++) {
+                if (codes[c] != 0) {
+                    this.characters[codes[c]] = (char) c;
+                }
+            }
+            this.values = new long[words];
+            Arrays.fill(this.check, -1);
+            this.used.set(0);  // The root
+        }
+
+        /**
+         * Places the children of every node below a root, depth first.
+         */
+        void place(Trie.TrieNode root) {
+            Deque<Trie.TrieNode> nodes = new ArrayDeque<>();
+            Deque<Integer> states = new ArrayDeque<>();
+            nodes.push(root);
+            states.push(0);
+            while (!nodes.isEmpty()) {
+                Trie.TrieNode node = nodes.pop();
+                int state = states.pop();
+
+                int count = node.children().size() + (node.isEndOfString() ? 1 : 0);
+                int[] childCodes = new int[count];
+                int i = node.isEndOfString() ? 1 : 0;
+                for (char character : node.children().keySet()) {
+                    childCodes[i++] = this.codes[character];
+                }
+                if (count == 0) {
+                    continue;  // The root of an empty trie
+                }
+                Arrays.sort(childCodes);
+
+                int base = this.findBase(childCodes);
+                this.base[state] = base;
+                for (int code : childCodes) {
+                    int target = base + code;
+                    this.used.set(target);
+                    this.check[target] = state;
+                    if (code == 0) {
+                        this.values[this.valueCount] = node.weight();
+                        this.base[target] = -++this.valueCount;
+                    } else {
+                        nodes.push(node.children().get(this.characters[code]));
+                        states.push(target);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finds a base at least 1 for which the slots of all the codes are free, growing the arrays to hold them.
+         */
+        private int findBase(int[] codes) {
+            this.firstFree = this.used.nextClearBit(this.firstFree);
+            int slot = Math.max(this.firstFree, codes[0] + 1);
+            int attempts = 0;
+            while (true) {
+                slot = this.used.nextClearBit(slot);
+                int base = slot - codes[0];
+                boolean free = true;
+                for (int i = 1; i < codes.length && free; i++) {
+                    free = !this.used.get(base + codes[i]);
+                }
+                if (free) {
+                    this.ensureCapacity(base + codes[codes.length - 1] + 1);
+                    return base;
+                }
+                // Holes too scattered to fit the nodes are skipped by the next searches
+                if (++attempts == MAX_ATTEMPTS) {
+                    this.firstFree = slot;
+                }
+                slot++;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > this.base.length) {
+                int length = Math.max(capacity, this.base.length * 2);
+                int old = this.check.length;
+                this.base = Arrays.copyOf(this.base, length);
+                this.check = Arrays.copyOf(this.check, length);
+                Arrays.fill(this.check, old, length, -1);
+            }
+        }
+
+        DoubleArrayTrie build() {
+            int states = Math.max(1, this.used.length());
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + CODES_SIZE
+                    + states * 2 * Integer.BYTES + this.valueCount * Long.BYTES);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(states).putInt(this.valueCount).putInt(this.valueCount).putInt(0);
+            buffer.asCharBuffer().put(this.codes);
+            buffer.position(HEADER_SIZE + CODES_SIZE);
+            buffer.asIntBuffer().put(this.base, 0, states).put(this.check, 0, states);
+            buffer.position(buffer.position() + states * 2 * Integer.BYTES);
+            buffer.asLongBuffer().put(this.values, 0, this.valueCount);
+            try {
+                return new DoubleArrayTrie(buffer.clear());
+            } catch (IOException e) {
+                throw new IllegalStateException("Compiled an invalid trie", e);
+            }
+        }
+    }
+
+    /**
+     * Writes the compiled trie to a file, replacing it if it exists.
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = this.buffer.duplicate().clear();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Maps a file written by {@link #write(Path)} read-only. The mapping stays valid after the file is closed,
+     * until the trie is garbage collected.
+     *
+     * @param file the file
+     * @return the trie, reading the mapped file
+     * @throws IOException if the file cannot be read or is not a double-array trie
+     */
+    public static DoubleArrayTrie load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new DoubleArrayTrie(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the number of words.
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return this.words;
+    }
+
+    /**
+     * Returns the number of bytes of the compiled trie, which is also the size of its file.
+     *
+     * @return the size in bytes
+     */
+    public long byteSize() {
+        return this.buffer.capacity();
+    }
+
+    /**
+     * Checks if the trie contains a word.
+     *
+     * @param word the word
+     * @return true if the trie contains the word
+     */
+    public boolean contains(String word) {
+        return this.valueIndex(word) >= 0;
+    }
+
+    /**
+     * Returns the value of a word.
+     *
+     * @param word    the word
+     * @param missing the value returned if the trie does not contain the word
+     * @return the value of the word, or {@code missing} if the trie does not contain it
+     */
+    public long get(String word, long missing) {
+        int index = this.valueIndex(word);
+        return index < 0 ? missing : this.buffer.getLong(this.valueOffset + index * Long.BYTES);
+    }
+
+    /**
+     * Returns the index of the value of a word, or -1 if the trie does not contain it.
+     */
+    private int valueIndex(String word) {
+        int state = 0;
+        for (int i = 0; i <= word.length(); i++) {
+            // After the last character, follow the end of word code 0
+            int code = i < word.length() ? this.buffer.getChar(HEADER_SIZE + word.charAt(i) * Character.BYTES) : 0;
+            if (code == 0 && i < word.length()) {
+                return -1;
+            }
+            int target = this.buffer.getInt(this.baseOffset + state * Integer.BYTES) + code;
+            if (target <= 0 || target >= this.states
+                    || this.buffer.getInt(this.checkOffset + target * Integer.BYTES) != state) {
+                return -1;
+            }
+            state = target;
+        }
+        return -this.buffer.getInt(this.baseOffset + state * Integer.BYTES) - 1;
+    }
+}
@@ -0,0 +1,101 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static java.lang.System.out;
+
+/**
+ * Compares the start-up cost and the lookups of a dictionary rebuilt as a {@link Trie} on every start with
+ * the same dictionary compiled once to a {@link DoubleArrayTrie} file and mapped at start-up.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.DoubleArrayTrieBenchmark"
+ * </pre>
+ */
+public class DoubleArrayTrieBenchmark {
+
+    private static final int WORDS = 500_000;
+    private static final int LOOKUPS = 2_000_000;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private DoubleArrayTrieBenchmark() {
+        // No instantiate
+    }
+
+    private interface Lookup {
+        long get(String word);
+    }
+
+    public static void main(String[] args) throws IOException {
+        SplittableRandom random = new SplittableRandom(2);
+        String[] words = new String[WORDS];
+        long[] weights = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            char[] letters = new char[4 + random.nextInt(9)];
+            for (int j = 0; j < letters.length; j++) {
+                letters[j] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(letters);
+            weights[i] = random.nextInt(1_000_000);
+        }
+
+        long start = System.nanoTime();
+        Trie trie = new Trie();
+        for (int i = 0; i < WORDS; i++) {
+            trie.insert(words[i], weights[i]);
+        }
+        out.printf("%-28s %10.0f ms%n", "trie build", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        DoubleArrayTrie compiled = DoubleArrayTrie.compile(trie);
+        out.printf("%-28s %10.0f ms, %.1f MB%n", "compile", (System.nanoTime() - start) / 1e6, compiled.byteSize() / 1e6);
+
+        Path file = Files.createTempFile("dictionary", ".dat");
+        try {
+            start = System.nanoTime();
+            compiled.write(file);
+            out.printf("%-28s %10.0f ms%n", "write", (System.nanoTime() - start) / 1e6);
+
+            start = System.nanoTime();
+            DoubleArrayTrie mapped = DoubleArrayTrie.load(file);
+            out.printf("%-28s %10.3f ms%n", "load (mmap)", (System.nanoTime() - start) / 1e6);
+
+            int[] probes = new int[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                probes[i] = random.nextInt(WORDS);
+            }
+            for (int round = 0; round < 2; round++) {
+                // The first round warms up
+                double onTrie = time(probes, words, word -> trie.search(word) ? trie.weight(word) : -1);
+                double onHeap = time(probes, words, word -> compiled.get(word, -1));
+                double onMapped = time(probes, words, word -> mapped.get(word, -1));
+                if (round == 1) {
+                    out.printf("%-28s %10.1f ns%n", "trie lookup", onTrie);
+                    out.printf("%-28s %10.1f ns%n", "double-array lookup, heap", onHeap);
+                    out.printf("%-28s %10.1f ns%n", "double-array lookup, mapped", onMapped);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * @return the nanoseconds per lookup
+     */
+    private static double time(int[] probes, String[] words, Lookup lookup) {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int probe : probes) {
+            sum += lookup.get(words[probe]);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = sum;
+        return (double) elapsed / probes.length;
+    }
+}
@@ -1,9 +1,23 @@
 package com.marcinseweryn.algorithms.datastructures.tree;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 public interface OrderedBinaryTree<T extends Comparable<T>> extends BinaryTree<T> {
 
     T min();
 
     T max();
 
+    /**
+     * Returns a spliterator over the elements in ascending order.
+     *
+     * @return a sorted spliterator over the elements
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.inOrderIterator(), this.size(),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
 }
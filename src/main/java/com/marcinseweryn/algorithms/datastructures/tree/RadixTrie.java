@@ -0,0 +1,317 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Radix trie (Patricia trie) implementation.
+ * A radix trie is a {@link Trie} whose non-branching paths are compressed into single edges labelled with
+ * substrings: every node other than the root either ends a word or has at least two children. Long keys
+ * sharing few branch points, such as URLs or the bit strings of IP prefixes, then take a handful of nodes
+ * instead of one node per character, and a lookup compares whole labels instead of chasing a pointer per
+ * character.
+ *
+ * <p>The children of a node are kept in a sorted array keyed by the first character of their labels,
+ * which no two children share, so iteration yields the words in lexicographic order.
+ */
+public class RadixTrie implements Iterable<String> {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("", false);
+    private int size;
+
+    /**
+     * Returns the number of words in the trie.
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Inserts a word into the trie.
+     *
+     * @param word the word to be inserted into the trie
+     */
+    public void insert(String word) {
+        Node node = this.root;
+        int index = 0;
+        while (index < word.length()) {
+            char character = word.charAt(index);
+            Node child = node.get(character);
+            if (child == null) {
+                node.add(new Node(word.substring(index), true));
+                this.size++;
+                return;
+            }
+
+            int common = commonPrefix(child.label, word, index);
+            if (common < child.label.length()) {
+                // The word leaves the edge midway: split it at the point of divergence
+                Node middle = new Node(child.label.substring(0, common), false);
+                child.label = child.label.substring(common);
+                middle.add(child);
+                node.replace(character, middle);
+                child = middle;
+            }
+            node = child;
+            index += common;
+        }
+        if (!node.endOfString) {
+            node.endOfString = true;
+            this.size++;
+        }
+    }
+
+    /**
+     * Returns the length of the common prefix of a label and the rest of a word.
+     */
+    private static int commonPrefix(String label, String word, int index) {
+        int length = Math.min(label.length(), word.length() - index);
+        int common = 0;
+        while (common < length && label.charAt(common) == word.charAt(index + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * Searches for a word in the trie.
+     *
+     * @param word the word to search for
+     * @return true if the word exists in the trie, false otherwise
+     */
+    public boolean search(String word) {
+        Node node = this.root;
+        int index = 0;
+        while (index < word.length()) {
+            node = node.get(word.charAt(index));
+            if (node == null || !word.startsWith(node.label, index)) {
+                return false;
+            }
+            index += node.label.length();
+        }
+        return node.endOfString;
+    }
+
+    /**
+     * Deletes a word from the trie, merging the edges that no longer branch.
+     *
+     * @param word the word to be deleted
+     * @return true if the word was deleted, false if the word was not found
+     */
+    public boolean delete(String word) {
+        if (!this.search(word)) {
+            return false;
+        }
+        this.delete(this.root, word, 0);
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Recursively deletes the rest of a word below a node.
+     *
+     * @param node  the node reached by the first {@code index} characters
+     * @param word  the word to be deleted
+     * @param index the current index in the word being processed
+     * @return the node to keep in place of the given one, or null if it is no longer needed
+     */
+    private Node delete(Node node, String word, int index) {
+        if (index == word.length()) {
+            node.endOfString = false;
+        } else {
+            char character = word.charAt(index);
+            Node child = node.get(character);
+            Node kept = this.delete(child, word, index + child.label.length());
+            if (kept == null) {
+                node.remove(character);
+            } else if (kept != child) {
+                node.replace(character, kept);
+            }
+        }
+
+        if (node == this.root || node.endOfString || node.keys.length > 1) {
+            return node;
+        }
+        if (node.keys.length == 0) {
+            return null;
+        }
+        // A node left with a single child and no word is merged into the child's edge
+        Node child = node.children[0];
+        child.label = node.label + child.label;
+        return child;
+    }
+
+    /**
+     * Finds the longest word in the trie that is a prefix of a query, as a routing table matches an address.
+     *
+     * @param query the string to match
+     * @return the longest word that is a prefix of the query, or null if there is none
+     */
+    public String longestPrefixOf(String query) {
+        Node node = this.root;
+        int index = 0;
+        int longest = node.endOfString ? 0 : -1;
+        while (index < query.length()) {
+            node = node.get(query.charAt(index));
+            if (node == null || !query.startsWith(node.label, index)) {
+                break;
+            }
+            index += node.label.length();
+            if (node.endOfString) {
+                longest = index;
+            }
+        }
+        return longest < 0 ? null : query.substring(0, longest);
+    }
+
+    /**
+     * Returns an iterator over the words starting with a prefix, in lexicographic order. The words are
+     * found lazily, as the iterator advances.
+     *
+     * @param prefix the prefix of the words
+     * @return an iterator over the words with the prefix
+     */
+    public Iterator<String> keysWithPrefix(String prefix) {
+        Node node = this.root;
+        int index = 0;
+        while (index < prefix.length()) {
+            Node child = node.get(prefix.charAt(index));
+            if (child == null) {
+                return Collections.emptyIterator();
+            }
+            int remaining = prefix.length() - index;
+            if (remaining <= child.label.length()) {
+                // The prefix ends on the child's edge, so every word below the child has it
+                if (!child.label.startsWith(prefix.substring(index))) {
+                    return Collections.emptyIterator();
+                }
+                return new KeyIterator(child, prefix.substring(0, index) + child.label);
+            }
+            if (!prefix.startsWith(child.label, index)) {
+                return Collections.emptyIterator();
+            }
+            node = child;
+            index += child.label.length();
+        }
+        return new KeyIterator(node, prefix);
+    }
+
+    /**
+     * Returns an iterator over all the words, in lexicographic order.
+     *
+     * @return an iterator over the words
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return this.keysWithPrefix("");
+    }
+
+    /**
+     * Iterates the words below a node in pre-order, which is lexicographic order since a word precedes
+     * its extensions and the children are sorted.
+     */
+    private static class KeyIterator implements Iterator<String> {
+        private final Deque<Node> nodes = new ArrayDeque<>();
+        private final Deque<String> keys = new ArrayDeque<>();
+        private String next;
+
+        KeyIterator(Node node, String key) {
+            this.nodes.push(node);
+            this.keys.push(key);
+            this.advance();
+        }
+
+        private void advance() {
+            this.next = null;
+            while (this.next == null && !this.nodes.isEmpty()) {
+                Node node = this.nodes.pop();
+                String key = this.keys.pop();
+                // Push the children in reverse, so the smallest is visited first
+                for (int i = node.children.length - 1; i >= 0; i--) {
+                    this.nodes.push(node.children[i]);
+                    this.keys.push(key + node.children[i].label);
+                }
+                if (node.endOfString) {
+                    this.next = key;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public String next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+            String result = this.next;
+            this.advance();
+            return result;
+        }
+    }
+
+    /**
+     * Represents a node in the trie, with the label of the edge leading to it.
+     */
+    private static class Node {
+        String label;
+        boolean endOfString;
+        char[] keys = NO_KEYS;  // First character of each child's label, sorted
+        Node[] children = NO_CHILDREN;
+
+        Node(String label, boolean endOfString) {
+            this.label = label;
+            this.endOfString = endOfString;
+        }
+
+        Node get(char key) {
+            int position = Arrays.binarySearch(this.keys, key);
+            return position >= 0 ? this.children[position] : null;
+        }
+
+        void add(Node child) {
+            char key = child.label.charAt(0);
+            int count = this.keys.length;
+            int insertion = -Arrays.binarySearch(this.keys, key) - 1;
+            char[] keys = new char[count + 1];
+            Node[] children = new Node[count + 1];
+            System.arraycopy(this.keys, 0, keys, 0, insertion);
+            System.arraycopy(this.children, 0, children, 0, insertion);
+            keys[insertion] = key;
+            children[insertion] = child;
+            System.arraycopy(this.keys, insertion, keys, insertion + 1, count - insertion);
+            System.arraycopy(this.children, insertion, children, insertion + 1, count - insertion);
+            this.keys = keys;
+            this.children = children;
+        }
+
+        void replace(char key, Node child) {
+            this.children[Arrays.binarySearch(this.keys, key)] = child;
+        }
+
+        void remove(char key) {
+            int position = Arrays.binarySearch(this.keys, key);
+            int count = this.keys.length;
+            char[] keys = new char[count - 1];
+            Node[] children = new Node[count - 1];
+            System.arraycopy(this.keys, 0, keys, 0, position);
+            System.arraycopy(this.children, 0, children, 0, position);
+            System.arraycopy(this.keys, position + 1, keys, position, count - position - 1);
+            System.arraycopy(this.children, position + 1, children, position, count - position - 1);
+            this.keys = keys.length == 0 ? NO_KEYS : keys;
+            this.children = children.length == 0 ? NO_CHILDREN : children;
+        }
+    }
+}
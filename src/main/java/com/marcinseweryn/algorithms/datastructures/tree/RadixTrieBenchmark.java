@@ -0,0 +1,182 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.util.SplittableRandom;
+
+import static java.lang.System.out;
+
+/**
+ * Compares {@link Trie} and {@link RadixTrie} on keys with long non-branching paths: URLs, and IPv4 route
+ * prefixes written as bit strings. Reports the heap footprint, the insertion and lookup times, and for the
+ * routes the longest-prefix match of addresses, which only the radix trie supports.
+ *
+ * <p>The footprint is the growth of the used heap after a garbage collection, so it is approximate.
+ * Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.RadixTrieBenchmark"
+ * </pre>
+ */
+public class RadixTrieBenchmark {
+
+    private static final int URLS = 100_000;
+    private static final int ROUTES = 500_000;
+    private static final int LOOKUPS = 1_000_000;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private RadixTrieBenchmark() {
+        // No instantiate
+    }
+
+    private interface Target {
+        void insert(String word);
+
+        boolean search(String word);
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(3);
+        out.printf("%-20s %10s %12s %12s%n", "", "MB", "ns/insert", "ns/lookup");
+
+        String[] urls = urls(URLS, random);
+        Trie trie = new Trie();
+        measure("trie, urls", urls, target(trie));
+        trie = null;
+        measure("radix, urls", urls, target(new RadixTrie()));
+        urls = null;
+
+        String[] routes = routes(ROUTES, random);
+        trie = new Trie();
+        measure("trie, routes", routes, target(trie));
+        trie = null;
+        RadixTrie radix = new RadixTrie();
+        measure("radix, routes", routes, target(radix));
+
+        String[] addresses = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            addresses[i] = bits(random.nextInt(), 32);
+        }
+        long matched = 0;
+        long start = 0;
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up
+            start = System.nanoTime();
+            for (String address : addresses) {
+                String route = radix.longestPrefixOf(address);
+                matched += route == null ? 0 : route.length();
+            }
+        }
+        sink = matched;
+        out.printf("%-20s %10s %12s %12.1f%n", "radix, route match", "", "", (double) (System.nanoTime() - start) / LOOKUPS);
+    }
+
+    private static Target target(Trie trie) {
+        return new Target() {
+            @Override
+            public void insert(String word) {
+                trie.insert(word);
+            }
+
+            @Override
+            public boolean search(String word) {
+                return trie.search(word);
+            }
+        };
+    }
+
+    private static Target target(RadixTrie trie) {
+        return new Target() {
+            @Override
+            public void insert(String word) {
+                trie.insert(word);
+            }
+
+            @Override
+            public boolean search(String word) {
+                return trie.search(word);
+            }
+        };
+    }
+
+    private static void measure(String name, String[] words, Target target) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        for (String word : words) {
+            target.insert(word);
+        }
+        double insert = (double) (System.nanoTime() - start) / words.length;
+        long footprint = usedMemory() - before;
+
+        SplittableRandom random = new SplittableRandom(9);
+        long found = 0;
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                found += target.search(words[random.nextInt(words.length)]) ? 1 : 0;
+            }
+        }
+        double lookup = (double) (System.nanoTime() - start) / LOOKUPS;
+        sink = found;
+        out.printf("%-20s %10.1f %12.1f %12.1f%n", name, footprint / 1e6, insert, lookup);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Builds URLs over a few hundred hosts, with paths of two to four segments.
+     */
+    private static String[] urls(int count, SplittableRandom random) {
+        String[] hosts = new String[300];
+        for (int i = 0; i < hosts.length; i++) {
+            hosts[i] = "https://" + letters(5 + random.nextInt(10), random) + (i % 3 == 0 ? ".com" : ".org");
+        }
+        String[] segments = new String[2000];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = "/" + letters(3 + random.nextInt(10), random);
+        }
+        String[] urls = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder url = new StringBuilder(hosts[random.nextInt(hosts.length)]);
+            int depth = 2 + random.nextInt(3);
+            for (int j = 0; j < depth; j++) {
+                url.append(segments[random.nextInt(segments.length)]);
+            }
+            urls[i] = url.append("?id=").append(random.nextInt(1_000_000)).toString();
+        }
+        return urls;
+    }
+
+    /**
+     * Builds route prefixes of 8 to 32 bits, mostly /16 to /24 as in a routing table.
+     */
+    private static String[] routes(int count, SplittableRandom random) {
+        String[] routes = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = random.nextInt(4) == 0 ? 8 + random.nextInt(25) : 16 + random.nextInt(9);
+            routes[i] = bits(random.nextInt(), length);
+        }
+        return routes;
+    }
+
+    private static String bits(int address, int length) {
+        char[] bits = new char[length];
+        for (int i = 0; i < length; i++) {
+            bits[i] = (address >>> (31 - i) & 1) == 0 ? '0' : '1';
+        }
+        return new String(bits);
+    }
+
+    private static String letters(int length, SplittableRandom random) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -1,10 +1,19 @@
 package com.marcinseweryn.algorithms.datastructures.tree;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * A Trie (prefix tree) data structure implementation.
  * Tries are used for storing a dynamic set of strings where keys are usually strings.
+ *
+ * <p>Words may carry a weight, such as a search frequency, for autocompletion: every node caches the
+ * greatest weight below it, so {@link #topK(String, int)} walks best-first towards the heaviest completions
+ * instead of visiting the whole subtree of the prefix. The cache is updated along the path of a word when
+ * the word is inserted, reweighted or deleted.
  */
 public class Trie {
 
@@ -18,11 +27,62 @@ public class Trie {
     }
 
     /**
-     * Inserts a word into the Trie.
+     * Returns the root node, for the structures built on the nodes of the Trie.
+     *
+     * @return the root node
+     */
+    TrieNode root() {
+        return this.root;
+    }
+
+    /**
+     * Inserts a word into the Trie. A new word has a weight of 0, an existing word keeps its weight.
      *
      * @param word the word to be inserted into the Trie
      */
     public void insert(String word) {
+        TrieNode current = this.insertPath(word);
+        if (!current.endOfString) {
+            current.endOfString = true; // Mark the end of the word
+            current.weight = 0;
+            this.updateBest(word);
+        }
+    }
+
+    /**
+     * Inserts a word into the Trie with a weight, or sets the weight of an existing word.
+     *
+     * @param word   the word to be inserted into the Trie
+     * @param weight the weight of the word
+     */
+    public void insert(String word, long weight) {
+        TrieNode current = this.insertPath(word);
+        current.endOfString = true;
+        current.weight = weight;
+        this.updateBest(word);
+    }
+
+    /**
+     * Returns the weight of a word.
+     *
+     * @param word the word
+     * @return the weight of the word
+     * @throws IllegalArgumentException if the word is not in the Trie
+     */
+    public long weight(String word) {
+        TrieNode node = this.find(word);
+        if (node == null || !node.endOfString) {
+            throw new IllegalArgumentException("Word not found");
+        }
+        return node.weight;
+    }
+
+    /**
+     * Creates the missing nodes on the path of a word.
+     *
+     * @return the node of the last character of the word
+     */
+    private TrieNode insertPath(String word) {
         TrieNode current = this.root;
         // Iterate through each character of the word
         for (int i = 0; i < word.length(); i++) {
@@ -36,7 +96,36 @@ public class Trie {
             }
             current = node; // Move to the next node in the path
         }
-        current.endOfString = true; // Mark the end of the word
+        return current;
+    }
+
+    /**
+     * Recomputes the greatest weight below the nodes on the path of a word, from the deepest up.
+     * Only the nodes on the path can have changed, so the other caches stay valid.
+     */
+    private void updateBest(String word) {
+        List<TrieNode> path = new ArrayList<>(word.length() + 1);
+        TrieNode current = this.root;
+        path.add(current);
+        for (int i = 0; i < word.length(); i++) {
+            current = current.children.get(word.charAt(i));
+            if (current == null) break; // The rest of the path was deleted
+            path.add(current);
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            TrieNode node = path.get(i);
+            long best = node.endOfString ? node.weight : Long.MIN_VALUE;
+            boolean hasWords = node.endOfString;
+            for (TrieNode child : node.children.values()) {
+                best = Math.max(best, child.best);
+                hasWords |= child.hasWords;
+            }
+            if (best == node.best && hasWords == node.hasWords && i < path.size() - 1) {
+                break; // The nodes above are unaffected
+            }
+            node.best = best;
+            node.hasWords = hasWords;
+        }
     }
 
     /**
@@ -46,15 +135,88 @@ public class Trie {
      * @return true if the word exists in the Trie, false otherwise
      */
     public boolean search(String word) {
+        TrieNode current = this.find(word);
+        return current != null && current.endOfString; // Check if the end of the word is reached
+    }
+
+    /**
+     * Returns the node of the last character of a word, or null if the path of the word is missing.
+     */
+    private TrieNode find(String word) {
         TrieNode current = this.root;
         // Iterate through each character of the word
         for (int i = 0; i < word.length(); i++) {
             char character = word.charAt(i);
             TrieNode next = current.children.get(character);
-            if (next == null) return false; // Character not found, word does not exist
+            if (next == null) return null; // Character not found, word does not exist
             current = next; // Move to the next node
         }
-        return current.endOfString; // Check if the end of the word is reached
+        return current;
+    }
+
+    /**
+     * Returns the k words of greatest weight starting with a prefix, heaviest first, words of equal weight
+     * in lexicographic order.
+     * The walk is best-first: a priority queue holds the words and the subtrees found so far, a subtree
+     * ranked by the greatest weight below it, so that only the nodes on the paths to the k results and
+     * their children are visited, in O(prefix + k * depth * fanout * log(k * fanout)).
+     *
+     * @param prefix the prefix of the words
+     * @param k      the maximum number of words
+     * @return the heaviest words with the prefix, at most k
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public List<String> topK(String prefix, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        List<String> result = new ArrayList<>(k);
+        TrieNode start = this.find(prefix);
+        if (start == null || !start.hasWords) return result;
+
+        PriorityQueue<Completion> queue = new PriorityQueue<>();
+        queue.add(new Completion(prefix, start, start.best));
+        while (!queue.isEmpty() && result.size() < k) {
+            Completion completion = queue.poll();
+            if (completion.node == null) {
+                result.add(completion.key); // A word outranks every candidate left
+                continue;
+            }
+            TrieNode node = completion.node;
+            if (node.endOfString) {
+                queue.add(new Completion(completion.key, null, node.weight));
+            }
+            for (var child : node.children.entrySet()) {
+                if (!child.getValue().hasWords) continue;
+                queue.add(new Completion(completion.key + child.getKey(), child.getValue(), child.getValue().best));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A word, or a subtree still to expand, found by {@link #topK(String, int)}. Heavier completions come
+     * first, then smaller keys, which puts a subtree before any other completion its words would precede.
+     */
+    private static final class Completion implements Comparable<Completion> {
+        private final String key;
+        private final TrieNode node; // Subtree of the key, or null for the word itself
+        private final long weight;
+
+        Completion(String key, TrieNode node, long weight) {
+            this.key = key;
+            this.node = node;
+            this.weight = weight;
+        }
+
+        @Override
+        public int compareTo(Completion other) {
+            int byWeight = Long.compare(other.weight, this.weight);
+            if (byWeight != 0) return byWeight;
+            int byKey = this.key.compareTo(other.key);
+            if (byKey != 0) return byKey;
+            return Boolean.compare(this.node == null, other.node == null); // The subtree of a word expands before the word is taken
+        }
     }
 
     /**
@@ -67,7 +229,12 @@ public class Trie {
         // Check if the word exists in the Trie
         if(this.search(word)) {
             // Start the recursive deletion process
-            this.delete(this.root, word, 0);
+            if (word.isEmpty()) {
+                this.root.endOfString = false;
+            } else {
+                this.delete(this.root, word, 0);
+            }
+            this.updateBest(word);
             return true;
         }
         return false;
@@ -85,13 +252,6 @@ public class Trie {
         char character = word.charAt(index);
         TrieNode current = parent.children.get(character);
 
-        // If the current node has more than one child, we cannot delete it yet
-        if (current.children.size() > 1) {
-            // Recur to delete the next character in the word
-            this.delete(current, word, index + 1);
-            return false; // Do not delete this node
-        }
-
         // If the end of the word is reached
         if (index == word.length() - 1) {
             // If the current node is not a leaf, just unset the endOfString flag
@@ -105,6 +265,13 @@ public class Trie {
             }
         }
 
+        // If the current node has more than one child, we cannot delete it yet
+        if (current.children.size() > 1) {
+            // Recur to delete the next character in the word
+            this.delete(current, word, index + 1);
+            return false; // Do not delete this node
+        }
+
         // If the current node marks the end of another word, do not delete it
         if(current.endOfString) {
             this.delete(current, word, index + 1); // check if further node can be removed
@@ -129,6 +296,9 @@ public class Trie {
 
         private final HashMap<Character, TrieNode> children;
         private boolean endOfString = false;
+        private long weight; // Weight of the word ending here
+        private long best = Long.MIN_VALUE; // Greatest weight of the words below, MIN_VALUE if there are none
+        private boolean hasWords; // Whether a word ends here or below, as a word may weigh MIN_VALUE too
 
         /**
          * Initializes a new TrieNode with an empty map of children.
@@ -137,6 +307,19 @@ public class Trie {
             this.children = new HashMap<>();
         }
 
+        Map<Character, TrieNode> children() {
+            return this.children;
+        }
+
+        // Read by DoubleArrayTrie, which stores the words and their weights of the nodes it compiles
+        boolean isEndOfString() {
+            return this.endOfString;
+        }
+
+        long weight() {
+            return this.weight;
+        }
+
     }
 
 }
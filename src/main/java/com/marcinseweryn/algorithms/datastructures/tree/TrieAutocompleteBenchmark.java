@@ -0,0 +1,100 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static java.lang.System.out;
+
+/**
+ * Compares {@link Trie#topK(String, int)} with gathering every completion of the prefix and sorting them by
+ * weight, as a search box does per keystroke, for prefixes of 1 to 4 letters over words with Zipf-like
+ * weights. The gathering is done on a {@link TreeMap} range, which visits the same completions as a DFS
+ * of the trie. Also reports the cost of reweighting a word.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.TrieAutocompleteBenchmark"
+ * </pre>
+ */
+public class TrieAutocompleteBenchmark {
+
+    private static final int WORDS = 300_000;
+    private static final int QUERIES = 20_000;
+    private static final int K = 10;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private TrieAutocompleteBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(4);
+        Trie trie = new Trie();
+        TreeMap<String, Long> sorted = new TreeMap<>();
+        String[] words = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            char[] letters = new char[3 + random.nextInt(8)];
+            for (int j = 0; j < letters.length; j++) {
+                letters[j] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(letters);
+            long weight = 1_000_000 / (1 + random.nextInt(WORDS));
+            trie.insert(words[i], weight);
+            sorted.put(words[i], weight);
+        }
+
+        out.printf("%d words, top %d, us per query%n", WORDS, K);
+        out.printf("%-8s %12s %12s %12s%n", "prefix", "completions", "gather+sort", "topK");
+        for (int length = 1; length <= 4; length++) {
+            String[] prefixes = new String[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                String word = words[random.nextInt(WORDS)];
+                prefixes[i] = word.substring(0, Math.min(length, word.length()));
+            }
+            long completions = 0;
+            double gather = 0;
+            double topK = 0;
+            for (int round = 0; round < 2; round++) {
+                // The first round warms up
+                long start = System.nanoTime();
+                long found = 0;
+                for (String prefix : prefixes) {
+                    found += gatherAndSort(sorted, prefix).size();
+                }
+                gather = (System.nanoTime() - start) / 1e3 / QUERIES;
+                start = System.nanoTime();
+                for (String prefix : prefixes) {
+                    found += trie.topK(prefix, K).size();
+                }
+                topK = (System.nanoTime() - start) / 1e3 / QUERIES;
+                completions = 0;
+                for (int i = 0; i < 100; i++) {
+                    completions += sorted.subMap(prefixes[i], prefixes[i] + Character.MAX_VALUE).size();
+                }
+                sink = found;
+            }
+            out.printf("%-8d %12d %12.2f %12.2f%n", length, completions / 100, gather, topK);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            trie.insert(words[random.nextInt(WORDS)], random.nextInt(1_000_000));
+        }
+        out.printf("%-21s %12.2f us%n", "reweight", (System.nanoTime() - start) / 1e3 / QUERIES);
+    }
+
+    private static List<String> gatherAndSort(TreeMap<String, Long> sorted, String prefix) {
+        List<Map.Entry<String, Long>> completions =
+                new ArrayList<>(sorted.subMap(prefix, prefix + Character.MAX_VALUE).entrySet());
+        completions.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        List<String> result = new ArrayList<>(K);
+        for (int i = 0; i < Math.min(K, completions.size()); i++) {
+            result.add(completions.get(i).getKey());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,749 @@
+package com.marcinseweryn.algorithms.datastructures.tree.art;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Adaptive Radix Tree (ART) implementation, after Leis, Kemper and Neumann.
+ * An adaptive radix tree is a trie over the bytes of its keys whose inner nodes take one of four layouts
+ * according to their number of children, so that sparse nodes stay small and dense nodes are direct arrays:
+ * <ul>
+ *     <li>Node4 and Node16: sorted arrays of up to 4 and 16 key bytes, beside their children;</li>
+ *     <li>Node48: a 256-entry index from key byte to a slot among 48 children;</li>
+ *     <li>Node256: a direct array of 256 children.</li>
+ * </ul>
+ * Nodes grow and shrink between layouts as children are added and removed, shrinking a little later than
+ * they grow so that a node at a boundary does not flip back and forth.
+ *
+ * <p>Two techniques bound the height of the tree. Path compression stores the bytes of a chain of nodes
+ * with a single child as a prefix of the next branching node. Lazy expansion stores a key in a leaf as high
+ * in the tree as it is distinguishable from the others, splitting the leaf only when a key sharing its path
+ * arrives. A lookup therefore walks at most one node per distinguishing byte, and compares the whole key
+ * only once, at the leaf: the prefixes on the way are skipped rather than checked.
+ *
+ * <p>Keys are ordered by comparing their bytes as unsigned numbers, so the tree answers ordered range scans;
+ * {@link ArtKeys} encodes longs, ints and strings to bytes in their natural order. A key may be a prefix of
+ * another: it is then stored at the inner node where the shorter key ends. Keys are copied on insertion.
+ *
+ * @param <V> the type of the values
+ */
+public class AdaptiveRadixTree<V> implements Iterable<Map.Entry<byte[], V>> {
+
+    private Node root;
+    private int size;
+    private V previous;  // Value replaced or removed by the last update
+    private boolean found;  // Whether the last removal found its key
+
+    /**
+     * Returns the number of keys in the tree.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if the tree is empty.
+     *
+     * @return true if the tree holds no key
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @return the value of the key, or null if the tree does not contain it
+     * @throws IllegalArgumentException if the key is null
+     */
+    public V get(byte[] key) {
+        checkKey(key);
+        Node node = this.root;
+        int depth = 0;
+        while (node instanceof Inner inner) {
+            // The prefix is skipped, the leaf reached is compared with the whole key
+            depth += inner.prefix.length;
+            if (depth > key.length) {
+                return null;
+            }
+            if (depth == key.length) {
+                node = inner.terminal;
+                break;
+            }
+            node = inner.find(key[depth] & 0xFF);
+            depth++;
+        }
+        Leaf<V> leaf = this.leaf(node);
+        return leaf != null && Arrays.equals(leaf.key, key) ? leaf.value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Leaf<V> leaf(Node node) {
+        return (Leaf<V>) node;
+    }
+
+    /**
+     * Checks if the tree contains a key.
+     *
+     * @param key the key
+     * @return true if the tree contains the key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public boolean containsKey(byte[] key) {
+        return this.get(key) != null;
+    }
+
+    /**
+     * Maps a key to a value, replacing the previous value of the key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value of the key, or null if the tree did not contain it
+     * @throws IllegalArgumentException if the key or the value is null
+     */
+    public V put(byte[] key, V value) {
+        checkKey(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        this.previous = null;
+        this.root = this.put(this.root, key, 0, value);
+        return this.previous;
+    }
+
+    /**
+     * Inserts a key below a node reached by its first {@code depth} bytes.
+     *
+     * @return the node to keep in place of the given one
+     */
+    private Node put(Node node, byte[] key, int depth, V value) {
+        if (node == null) {
+            this.size++;
+            return new Leaf<>(key.clone(), value);
+        }
+        if (node instanceof Leaf) {
+            Leaf<V> leaf = this.leaf(node);
+            if (Arrays.equals(leaf.key, key)) {
+                this.previous = leaf.value;
+                leaf.value = value;
+                return leaf;
+            }
+            // Lazy expansion: the leaf is split into a node branching where the keys diverge
+            int common = mismatch(leaf.key, key, depth);
+            Inner inner = new Node4(Arrays.copyOfRange(key, depth, depth + common));
+            inner = attach(inner, leaf, depth + common);
+            this.size++;
+            return attach(inner, new Leaf<>(key.clone(), value), depth + common);
+        }
+
+        Inner inner = (Inner) node;
+        int matched = inner.matchPrefix(key, depth);
+        if (matched < inner.prefix.length) {
+            // Path compression: the prefix is split where the key leaves it
+            Inner parent = new Node4(Arrays.copyOf(inner.prefix, matched));
+            int branch = inner.prefix[matched] & 0xFF;
+            inner.prefix = Arrays.copyOfRange(inner.prefix, matched + 1, inner.prefix.length);
+            parent.add(branch, inner);
+            this.size++;
+            return attach(parent, new Leaf<>(key.clone(), value), depth + matched);
+        }
+
+        depth += matched;
+        if (depth == key.length) {
+            if (inner.terminal != null) {
+                Leaf<V> terminal = this.leaf(inner.terminal);
+                this.previous = terminal.value;
+                terminal.value = value;
+            } else {
+                inner.terminal = new Leaf<>(key.clone(), value);
+                this.size++;
+            }
+            return inner;
+        }
+        int branch = key[depth] & 0xFF;
+        Node child = inner.find(branch);
+        if (child == null) {
+            this.size++;
+            return inner.add(branch, new Leaf<>(key.clone(), value));
+        }
+        Node kept = this.put(child, key, depth + 1, value);
+        if (kept != child) {
+            inner.replace(branch, kept);
+        }
+        return inner;
+    }
+
+    /**
+     * Adds a leaf to a node whose path covers the first {@code depth} bytes of the leaf's key.
+     */
+    private static Inner attach(Inner inner, Leaf<?> leaf, int depth) {
+        if (leaf.key.length == depth) {
+            inner.terminal = leaf;
+            return inner;
+        }
+        return inner.add(leaf.key[depth] & 0xFF, leaf);
+    }
+
+    /**
+     * Returns the number of equal bytes of two keys from an offset.
+     */
+    private static int mismatch(byte[] first, byte[] second, int from) {
+        int length = Math.min(first.length, second.length);
+        int common = 0;
+        while (from + common < length && first[from + common] == second[from + common]) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return the value of the key, or null if the tree did not contain it
+     * @throws IllegalArgumentException if the key is null
+     */
+    public V remove(byte[] key) {
+        checkKey(key);
+        this.previous = null;
+        this.found = false;
+        this.root = this.remove(this.root, key, 0);
+        if (this.found) {
+            this.size--;
+        }
+        return this.previous;
+    }
+
+    /**
+     * Removes a key below a node reached by its first {@code depth} bytes.
+     *
+     * @return the node to keep in place of the given one, or null if it is no longer needed
+     */
+    private Node remove(Node node, byte[] key, int depth) {
+        if (node == null) {
+            return null;
+        }
+        if (node instanceof Leaf) {
+            Leaf<V> leaf = this.leaf(node);
+            if (!Arrays.equals(leaf.key, key)) {
+                return leaf;
+            }
+            this.found = true;
+            this.previous = leaf.value;
+            return null;
+        }
+
+        Inner inner = (Inner) node;
+        depth += inner.prefix.length;
+        if (depth > key.length) {
+            return inner;
+        }
+        if (depth == key.length) {
+            if (inner.terminal == null || !Arrays.equals(inner.terminal.key, key)) {
+                return inner;
+            }
+            this.found = true;
+            this.previous = this.leaf(inner.terminal).value;
+            inner.terminal = null;
+        } else {
+            int branch = key[depth] & 0xFF;
+            Node child = inner.find(branch);
+            if (child == null) {
+                return inner;
+            }
+            Node kept = this.remove(child, key, depth + 1);
+            if (kept == child) {
+                return inner;
+            }
+            if (kept == null) {
+                inner = inner.remove(branch);
+            } else {
+                inner.replace(branch, kept);
+            }
+        }
+        return collapse(inner);
+    }
+
+    /**
+     * Replaces a node that no longer branches by its only leaf or child, merging the prefixes.
+     */
+    private static Node collapse(Inner inner) {
+        if (inner.count == 0) {
+            return inner.terminal;
+        }
+        if (inner.count > 1 || inner.terminal != null) {
+            return inner;
+        }
+        int branch = inner.nextKey(0);
+        Node child = inner.find(branch);
+        if (child instanceof Inner only) {
+            byte[] prefix = Arrays.copyOf(inner.prefix, inner.prefix.length + 1 + only.prefix.length);
+            prefix[inner.prefix.length] = (byte) branch;
+            System.arraycopy(only.prefix, 0, prefix, inner.prefix.length + 1, only.prefix.length);
+            only.prefix = prefix;
+        }
+        return child;
+    }
+
+    /**
+     * Returns an iterator over all the entries, in ascending order of keys.
+     *
+     * @return an iterator over the entries
+     */
+    @Override
+    public Iterator<Map.Entry<byte[], V>> iterator() {
+        return this.range(null, null);
+    }
+
+    /**
+     * Returns an iterator over the entries whose keys are in the range {@code [from, to)}, in ascending order.
+     * The iterator first descends the path to the lower bound, then visits only the nodes in the range.
+     * The keys of the entries must not be modified.
+     *
+     * @param from the lower bound, inclusive, or {@code null} for no bound
+     * @param to   the upper bound, exclusive, or {@code null} for no bound
+     * @return an iterator over the range
+     */
+    public Iterator<Map.Entry<byte[], V>> range(byte[] from, byte[] to) {
+        return new RangeIterator(from, to);
+    }
+
+    private static void checkKey(byte[] key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+    }
+
+    /**
+     * Compares two keys as sequences of unsigned bytes.
+     */
+    static int compare(byte[] first, byte[] second) {
+        return Arrays.compareUnsigned(first, second);
+    }
+
+    /**
+     * Iterates the leaves in order, holding the path of inner nodes with the next key byte to visit in each.
+     */
+    private class RangeIterator implements Iterator<Map.Entry<byte[], V>> {
+        private static final int TERMINAL = -1;  // The terminal leaf of the node is still to be visited
+
+        private final byte[] to;
+        private final Deque<Inner> nodes = new ArrayDeque<>();
+        private final Deque<int[]> nextKeys = new ArrayDeque<>();
+        private Leaf<V> next;
+
+        RangeIterator(byte[] from, byte[] to) {
+            this.to = to;
+            Leaf<V> first = from == null ? this.descend(AdaptiveRadixTree.this.root) : this.seek(from);
+            this.next = first != null ? first : this.advance();
+            this.checkUpperBound();
+        }
+
+        /**
+         * Pushes the path to the smallest key at least {@code from}, returning it if it is a leaf reached on the way.
+         */
+        private Leaf<V> seek(byte[] from) {
+            Node node = AdaptiveRadixTree.this.root;
+            int depth = 0;
+            while (node instanceof Inner inner) {
+                for (int i = 0; i < inner.prefix.length; i++) {
+                    if (depth + i == from.length) {
+                        return this.descend(inner);  // Every key below extends the bound
+                    }
+                    int difference = (inner.prefix[i] & 0xFF) - (from[depth + i] & 0xFF);
+                    if (difference > 0) {
+                        return this.descend(inner);  // Every key below is greater
+                    }
+                    if (difference < 0) {
+                        return null;  // Every key below is smaller
+                    }
+                }
+                depth += inner.prefix.length;
+                if (depth == from.length) {
+                    return this.descend(inner);
+                }
+                // The terminal key is shorter than the bound, and the children before its byte are smaller
+                int branch = from[depth] & 0xFF;
+                this.push(inner, branch + 1);
+                node = inner.find(branch);
+                depth++;
+            }
+            Leaf<V> leaf = AdaptiveRadixTree.this.leaf(node);
+            return leaf != null && compare(leaf.key, from) >= 0 ? leaf : null;
+        }
+
+        /**
+         * Starts the visit of a whole subtree, returning its node if it is a leaf.
+         */
+        private Leaf<V> descend(Node node) {
+            if (node instanceof Inner inner) {
+                this.push(inner, TERMINAL);
+                return null;
+            }
+            return AdaptiveRadixTree.this.leaf(node);
+        }
+
+        private void push(Inner inner, int nextKey) {
+            this.nodes.push(inner);
+            this.nextKeys.push(new int[]{nextKey});
+        }
+
+        /**
+         * Returns the next leaf of the visit, or null when it is over.
+         */
+        private Leaf<V> advance() {
+            while (!this.nodes.isEmpty()) {
+                Inner inner = this.nodes.peek();
+                int[] nextKey = this.nextKeys.peek();
+                if (nextKey[0] == TERMINAL) {
+                    nextKey[0] = 0;
+                    if (inner.terminal != null) {
+                        return AdaptiveRadixTree.this.leaf(inner.terminal);
+                    }
+                }
+                int branch = inner.nextKey(nextKey[0]);
+                if (branch > 0xFF) {
+                    this.nodes.pop();
+                    this.nextKeys.pop();
+                    continue;
+                }
+                nextKey[0] = branch + 1;
+                Leaf<V> leaf = this.descend(inner.find(branch));
+                if (leaf != null) {
+                    return leaf;
+                }
+            }
+            return null;
+        }
+
+        private void checkUpperBound() {
+            if (this.next != null && this.to != null && compare(this.next.key, this.to) >= 0) {
+                this.next = null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public Map.Entry<byte[], V> next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+            Leaf<V> leaf = this.next;
+            this.next = this.advance();
+            this.checkUpperBound();
+            return new AbstractMap.SimpleImmutableEntry<>(leaf.key, leaf.value);
+        }
+    }
+
+    /**
+     * Represents a node of the tree.
+     */
+    private abstract static class Node {
+    }
+
+    /**
+     * Leaf holding a whole key and its value.
+     */
+    private static final class Leaf<V> extends Node {
+        final byte[] key;
+        V value;
+
+        Leaf(byte[] key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Inner node, with the compressed path leading to it and the leaf of the key ending at it, if any.
+     */
+    private abstract static class Inner extends Node {
+        byte[] prefix;
+        Leaf<?> terminal;
+        int count;  // Number of children
+
+        Inner(byte[] prefix) {
+            this.prefix = prefix;
+        }
+
+        /**
+         * Returns the number of leading bytes of the prefix matching a key from an offset.
+         */
+        int matchPrefix(byte[] key, int depth) {
+            int matched = 0;
+            while (matched < this.prefix.length && depth + matched < key.length
+                    && this.prefix[matched] == key[depth + matched]) {
+                matched++;
+            }
+            return matched;
+        }
+
+        /**
+         * Returns the child of a key byte, or null if there is none.
+         */
+        abstract Node find(int key);
+
+        /**
+         * Adds the child of a key byte not yet present.
+         *
+         * @return this node, or the larger node replacing it
+         */
+        abstract Inner add(int key, Node child);
+
+        /**
+         * Replaces the child of a key byte present.
+         */
+        abstract void replace(int key, Node child);
+
+        /**
+         * Removes the child of a key byte present.
+         *
+         * @return this node, or the smaller node replacing it
+         */
+        abstract Inner remove(int key);
+
+        /**
+         * Returns the smallest key byte of a child at least {@code from}, or 256 if there is none.
+         */
+        abstract int nextKey(int from);
+
+        /**
+         * Moves the prefix, the terminal leaf and the children into a node of another layout.
+         */
+        Inner copyTo(Inner target) {
+            target.prefix = this.prefix;
+            target.terminal = this.terminal;
+            for (int key = this.nextKey(0); key <= 0xFF; key = this.nextKey(key + 1)) {
+                target.add(key, this.find(key));
+            }
+            return target;
+        }
+    }
+
+    /**
+     * Inner node with the key bytes of its children in a sorted array.
+     */
+    private abstract static class SortedNode extends Inner {
+        final byte[] keys;
+        final Node[] children;
+
+        SortedNode(byte[] prefix, int capacity) {
+            super(prefix);
+            this.keys = new byte[capacity];
+            this.children = new Node[capacity];
+        }
+
+        private int position(int key) {
+            for (int i = 0; i < this.count; i++) {
+                int current = this.keys[i] & 0xFF;
+                if (current >= key) {
+                    return current == key ? i : -i - 1;
+                }
+            }
+            return -this.count - 1;
+        }
+
+        @Override
+        Node find(int key) {
+            int position = this.position(key);
+            return position >= 0 ? this.children[position] : null;
+        }
+
+        /**
+         * Returns the node of the next layout, for a node that is full.
+         */
+        abstract Inner grow();
+
+        @Override
+        Inner add(int key, Node child) {
+            if (this.count == this.keys.length) {
+                return this.copyTo(this.grow()).add(key, child);
+            }
+            int insertion = -this.position(key) - 1;
+            System.arraycopy(this.keys, insertion, this.keys, insertion + 1, this.count - insertion);
+            System.arraycopy(this.children, insertion, this.children, insertion + 1, this.count - insertion);
+            this.keys[insertion] = (byte) key;
+            this.children[insertion] = child;
+            this.count++;
+            return this;
+        }
+
+        @Override
+        void replace(int key, Node child) {
+            this.children[this.position(key)] = child;
+        }
+
+        @Override
+        Inner remove(int key) {
+            int position = this.position(key);
+            System.arraycopy(this.keys, position + 1, this.keys, position, this.count - position - 1);
+            System.arraycopy(this.children, position + 1, this.children, position, this.count - position - 1);
+            this.count--;
+            this.children[this.count] = null;
+            return this;
+        }
+
+        @Override
+        int nextKey(int from) {
+            for (int i = 0; i < this.count; i++) {
+                int key = this.keys[i] & 0xFF;
+                if (key >= from) {
+                    return key;
+                }
+            }
+            return 256;
+        }
+    }
+
+    /**
+     * Inner node of up to 4 children.
+     */
+    private static final class Node4 extends SortedNode {
+
+        Node4(byte[] prefix) {
+            super(prefix, 4);
+        }
+
+        @Override
+        Inner grow() {
+            return new Node16(null);
+        }
+    }
+
+    /**
+     * Inner node of up to 16 children.
+     */
+    private static final class Node16 extends SortedNode {
+        private static final int SHRINK = 3;
+
+        Node16(byte[] prefix) {
+            super(prefix, 16);
+        }
+
+        @Override
+        Inner grow() {
+            return new Node48(null);
+        }
+
+        @Override
+        Inner remove(int key) {
+            super.remove(key);
+            return this.count <= SHRINK ? this.copyTo(new Node4(null)) : this;
+        }
+    }
+
+    /**
+     * Inner node of up to 48 children, found through an index of 256 slot numbers.
+     */
+    private static final class Node48 extends Inner {
+        private static final int CAPACITY = 48;
+        private static final int SHRINK = 12;
+
+        private final byte[] index = new byte[256];  // Slot of the child of each key byte plus one, 0 if none
+        private final Node[] children = new Node[CAPACITY];
+
+        Node48(byte[] prefix) {
+            super(prefix);
+        }
+
+        @Override
+        Node find(int key) {
+            int slot = this.index[key];
+            return slot == 0 ? null : this.children[slot - 1];
+        }
+
+        @Override
+        Inner add(int key, Node child) {
+            if (this.count == CAPACITY) {
+                return this.copyTo(new Node256(null)).add(key, child);
+            }
+            // Removals leave free slots anywhere
+            int slot = 0;
+            while (this.children[slot] != null) {
+                slot++;
+            }
+            this.children[slot] = child;
+            this.index[key] = (byte) (slot + 1);
+            this.count++;
+            return this;
+        }
+
+        @Override
+        void replace(int key, Node child) {
+            this.children[this.index[key] - 1] = child;
+        }
+
+        @Override
+        Inner remove(int key) {
+            this.children[this.index[key] - 1] = null;
+            this.index[key] = 0;
+            this.count--;
+            return this.count <= SHRINK ? this.copyTo(new Node16(null)) : this;
+        }
+
+        @Override
+        int nextKey(int from) {
+            while (from <= 0xFF && this.index[from] == 0) {
+                from++;
+            }
+            return from;
+        }
+    }
+
+    /**
+     * Inner node with a direct array of 256 children.
+     */
+    private static final class Node256 extends Inner {
+        private static final int SHRINK = 40;
+
+        private final Node[] children = new Node[256];
+
+        Node256(byte[] prefix) {
+            super(prefix);
+        }
+
+        @Override
+        Node find(int key) {
+            return this.children[key];
+        }
+
+        @Override
+        Inner add(int key, Node child) {
+            this.children[key] = child;
+            this.count++;
+            return this;
+        }
+
+        @Override
+        void replace(int key, Node child) {
+            this.children[key] = child;
+        }
+
+        @Override
+        Inner remove(int key) {
+            this.children[key] = null;
+            this.count--;
+            return this.count <= SHRINK ? this.copyTo(new Node48(null)) : this;
+        }
+
+        @Override
+        int nextKey(int from) {
+            while (from <= 0xFF && this.children[from] == null) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
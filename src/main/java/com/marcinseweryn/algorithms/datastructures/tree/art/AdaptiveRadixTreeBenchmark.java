@@ -0,0 +1,147 @@
+package com.marcinseweryn.algorithms.datastructures.tree.art;
+
+import com.marcinseweryn.algorithms.datastructures.tree.Trie;
+import com.marcinseweryn.algorithms.datastructures.tree.binary.AVL;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+import static java.lang.System.out;
+
+/**
+ * Compares point lookups and range scans of {@link AdaptiveRadixTree} with {@link AVL}, with {@link Trie} over
+ * the decimal form of the keys and, for lookups, with a {@link HashMap}. Keys are random longs, either dense
+ * (a shuffled interval) or sparse (spread over the whole range).
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.art.AdaptiveRadixTreeBenchmark"
+ * </pre>
+ */
+public class AdaptiveRadixTreeBenchmark {
+
+    private static final int KEYS = 1_000_000;
+    private static final int LOOKUPS = 2_000_000;
+    private static final int SCANS = 20_000;
+    private static final int SCAN_LENGTH = 100;
+    private static final int TRIE_KEYS = 250_000;  // The trie of a hash map per node does not fit more sparse keys in 1.5 GB
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private AdaptiveRadixTreeBenchmark() {
+        // No instantiate
+    }
+
+    private interface Lookup {
+        boolean contains(int index);
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(13);
+        long[] dense = new long[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            dense[i] = i;
+        }
+        for (int i = KEYS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = dense[i];
+            dense[i] = dense[j];
+            dense[j] = swap;
+        }
+        long[] sparse = new long[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            sparse[i] = random.nextLong();
+        }
+        run("dense", dense);
+        run("sparse", sparse);
+    }
+
+    private static void run(String name, long[] keys) {
+        out.printf("%d %s keys, ns per operation%n", keys.length, name);
+        AdaptiveRadixTree<Long> art = new AdaptiveRadixTree<>();
+        AVL<Long> avl = new AVL<>();
+        HashMap<Long, Long> hash = new HashMap<>();
+        byte[][] encoded = new byte[keys.length][];
+        String[] decimal = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            encoded[i] = ArtKeys.encode(keys[i]);
+            decimal[i] = Long.toString(keys[i]);
+        }
+
+        out.printf("  %-18s %10.1f%n", "art insert", time(keys.length, i -> art.put(encoded[i], keys[i]) == null));
+        out.printf("  %-18s %10.1f%n", "avl insert", time(keys.length, i -> avl.add(keys[i])));
+        out.printf("  %-18s %10.1f%n", "hash insert", time(keys.length, i -> hash.put(keys[i], keys[i]) == null));
+
+        SplittableRandom random = new SplittableRandom(5);
+        int[] probes = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = random.nextInt(keys.length);
+        }
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up
+            double artGet = time(LOOKUPS, i -> art.get(encoded[probes[i]]) != null);
+            double avlGet = time(LOOKUPS, i -> avl.contains(keys[probes[i]]));
+            double hashGet = time(LOOKUPS, i -> hash.get(keys[probes[i]]) != null);
+            if (round == 1) {
+                out.printf("  %-18s %10.1f%n", "art lookup", artGet);
+                out.printf("  %-18s %10.1f%n", "avl lookup", avlGet);
+                out.printf("  %-18s %10.1f%n", "hash lookup", hashGet);
+            }
+        }
+        hash.clear();
+
+        // Scans of the next keys from a random stored key
+        for (int round = 0; round < 2; round++) {
+            double artScan = time(SCANS, i -> scan(art.range(encoded[probes[i]], null)));
+            double avlScan = time(SCANS, i -> scan(avl.subIterator(keys[probes[i]], null)));
+            if (round == 1) {
+                out.printf("  %-18s %10.1f%n", "art scan " + SCAN_LENGTH, artScan);
+                out.printf("  %-18s %10.1f%n", "avl scan " + SCAN_LENGTH, avlScan);
+            }
+        }
+        avl.clear();
+
+        // The trie holds the first keys only, and is compared with a tree of the same keys
+        AdaptiveRadixTree<Long> smallArt = new AdaptiveRadixTree<>();
+        Trie trie = new Trie();
+        for (int i = 0; i < TRIE_KEYS; i++) {
+            smallArt.put(encoded[i], keys[i]);
+        }
+        out.printf("  %-18s %10.1f%n", "trie insert", time(TRIE_KEYS, i -> {
+            trie.insert(decimal[i]);
+            return true;
+        }));
+        for (int round = 0; round < 2; round++) {
+            double artGet = time(LOOKUPS, i -> smallArt.get(encoded[probes[i] % TRIE_KEYS]) != null);
+            double trieGet = time(LOOKUPS, i -> trie.search(decimal[probes[i] % TRIE_KEYS]));
+            if (round == 1) {
+                out.printf("  %-18s %10.1f%n", "art lookup " + TRIE_KEYS / 1000 + "k", artGet);
+                out.printf("  %-18s %10.1f%n", "trie lookup " + TRIE_KEYS / 1000 + "k", trieGet);
+            }
+        }
+    }
+
+    private static boolean scan(Iterator<?> iterator) {
+        long count = 0;
+        for (int i = 0; i < SCAN_LENGTH && iterator.hasNext(); i++) {
+            iterator.next();
+            count++;
+        }
+        return count > 0;
+    }
+
+    /**
+     * @return the nanoseconds per operation
+     */
+    private static double time(int operations, Lookup operation) {
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            found += operation.contains(i) ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = found;
+        return (double) elapsed / operations;
+    }
+}
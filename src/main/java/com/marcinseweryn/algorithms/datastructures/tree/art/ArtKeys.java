@@ -0,0 +1,104 @@
+package com.marcinseweryn.algorithms.datastructures.tree.art;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Order-preserving encoders of keys for an {@link AdaptiveRadixTree}, which orders its {@code byte[]} keys by
+ * comparing their bytes as unsigned numbers, first to last. Each encoder maps keys to bytes so that this
+ * order is the natural order of the keys.
+ */
+public final class ArtKeys {
+
+    private ArtKeys() {
+        // No instantiate
+    }
+
+    /**
+     * Encodes a long in 8 big-endian bytes with the sign bit flipped, so negative numbers sort first.
+     *
+     * @param key the key
+     * @return the encoded key
+     */
+    public static byte[] encode(long key) {
+        long flipped = key ^ Long.MIN_VALUE;
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[i] = (byte) flipped;
+            flipped >>>= 8;
+        }
+        return bytes;
+    }
+
+    /**
+     * Encodes an int in 4 big-endian bytes with the sign bit flipped, so negative numbers sort first.
+     *
+     * @param key the key
+     * @return the encoded key
+     */
+    public static byte[] encode(int key) {
+        int flipped = key ^ Integer.MIN_VALUE;
+        return new byte[]{(byte) (flipped >>> 24), (byte) (flipped >>> 16), (byte) (flipped >>> 8), (byte) flipped};
+    }
+
+    /**
+     * Encodes a string in UTF-8, whose byte order is the order of the code points. It matches
+     * {@link String#compareTo} except between supplementary characters and those from U+E000 to U+FFFF,
+     * which {@code compareTo} orders by UTF-16 code units.
+     *
+     * @param key the key
+     * @return the encoded key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public static byte[] encode(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a long encoded by {@link #encode(long)}.
+     *
+     * @param bytes the encoded key
+     * @return the key
+     * @throws IllegalArgumentException if the bytes are not 8 long
+     */
+    public static long decodeLong(byte[] bytes) {
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException("Encoded long must be 8 bytes long");
+        }
+        long key = 0;
+        for (byte b : bytes) {
+            key = key << 8 | (b & 0xFF);
+        }
+        return key ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Decodes an int encoded by {@link #encode(int)}.
+     *
+     * @param bytes the encoded key
+     * @return the key
+     * @throws IllegalArgumentException if the bytes are not 4 long
+     */
+    public static int decodeInt(byte[] bytes) {
+        if (bytes.length != Integer.BYTES) {
+            throw new IllegalArgumentException("Encoded int must be 4 bytes long");
+        }
+        int key = 0;
+        for (byte b : bytes) {
+            key = key << 8 | (b & 0xFF);
+        }
+        return key ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Decodes a string encoded by {@link #encode(String)}.
+     *
+     * @param bytes the encoded key
+     * @return the key
+     */
+    public static String decodeString(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
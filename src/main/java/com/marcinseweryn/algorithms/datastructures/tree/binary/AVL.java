@@ -4,11 +4,15 @@ import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
 import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
 
 /**
  * AVL Tree implementation.
  * An AVL tree is a self-balancing binary search tree where the height of two child subtrees of any node differ by at most one.
  * If at any time during insertion or deletion, the height difference becomes greater than one, the tree is rebalanced through rotations.
+ * Every node also caches the size of its subtree, which answers rank and select queries in O(log n).
+ * Split, join and the parallel set operations are built on {@link AVLSetOperations}.
  *
  * @param <T> the type of elements maintained by this AVL tree, which must be comparable
  */
@@ -119,8 +123,9 @@ public class AVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
     private BinaryNode<T> add(BinaryNode<T> node, T element) {
         // If the current node is null, we've found the insertion point
         if (node == null) {
-            node = new BinaryNode<>(element);  // Create a new node with the element
+            node = this.newNode(element);  // Create a new node with the element
             node.height = 1;  // Initialize the node height
+            node.size = 1;  // A leaf is a subtree of one node
             return node;  // Return the newly created node
         } else if (element.compareTo(node.element) < 0) {
             // If the element is smaller than the current node, insert into the left subtree
@@ -130,8 +135,8 @@ public class AVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
             node.right = this.add(node.right, element);
         }
 
-        // Update the height of the current node
-        node.height = this.height(node);
+        // Update the height and the subtree size of the current node
+        this.updateNode(node);
         // Calculate the balance factor of the current node
         int balance = this.balance(node);
 
@@ -212,8 +217,8 @@ public class AVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
             }
         }
 
-        // Update the height of the current node
-        node.height = this.height(node);
+        // Update the height and the subtree size of the current node
+        this.updateNode(node);
         // Calculate the balance factor of the current node
         int balance = this.balance(node);
 
@@ -250,19 +255,60 @@ public class AVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
     }
 
     /**
-     * Calculates the height of a node.
+     * Returns the height of a node, as cached in the node.
      *
-     * @param node the node to calculate the height for
-     * @return the height of the node
+     * @param node the node to return the height for
+     * @return the height of the node, or 0 for a null node
      */
     private int height(BinaryNode<T> node) {
         // Base case: the height of a null node is 0
-        if (node == null) {
-            return 0;
-        }
+        return node == null ? 0 : node.height;
+    }
 
+    /**
+     * Returns the number of nodes in the subtree of a node, as cached in the node.
+     *
+     * @param node the root of the subtree
+     * @return the size of the subtree, or 0 for a null node
+     */
+    private int size(BinaryNode<T> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Creates the node of a newly added element. Subclasses override it to return nodes carrying
+     * additional data, which they keep up to date in {@link #updateNode}.
+     *
+     * @param element the element of the node
+     * @return a new node holding the element
+     */
+    protected BinaryNode<T> newNode(T element) {
+        return new BinaryNode<>(element);
+    }
+
+    /**
+     * Creates an empty tree of the same kind, to hold the result of {@link #split}, {@link #join} and the
+     * set operations. Subclasses that override {@link #newNode} override it to return their own type.
+     *
+     * @return a new, empty tree
+     */
+    protected AVL<T> newTree() {
+        return new AVL<>();
+    }
+
+    /**
+     * Recomputes the cached height and subtree size of a node from those of its children,
+     * so rebalancing costs O(1) per node instead of a walk over the whole subtree.
+     * It is called bottom-up on every node whose subtree changed, so subclasses can override it
+     * to maintain further augmentations.
+     *
+     * @param node the node whose children are up to date
+     */
+    protected void updateNode(BinaryNode<T> node) {
         // Height is 1 + the maximum height of the left and right subtrees
-        return 1 + Math.max(this.height(node.left), this.height(node.right));
+        node.height = 1 + Math.max(this.height(node.left), this.height(node.right));
+        // Size is 1 + the sizes of the left and right subtrees
+        node.size = 1 + this.size(node.left) + this.size(node.right);
     }
 
     /**
@@ -277,9 +323,9 @@ public class AVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
         unbalancedNode.left = newRoot.right;
         newRoot.right = unbalancedNode;
 
-        // Update the heights of the nodes involved in the rotation
-        unbalancedNode.height = this.height(unbalancedNode);
-        newRoot.height = this.height(newRoot);
+        // Update the heights and subtree sizes of the nodes involved in the rotation
+        this.updateNode(unbalancedNode);
+        this.updateNode(newRoot);
 
         // Return the new root of the subtree
         return newRoot;
@@ -297,9 +343,9 @@ public class AVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
         unbalancedNode.right = newRoot.left;
         newRoot.left = unbalancedNode;
 
-        // Update the heights of the nodes involved in the rotation
-        unbalancedNode.height = this.height(unbalancedNode);
-        newRoot.height = this.height(newRoot);
+        // Update the heights and subtree sizes of the nodes involved in the rotation
+        this.updateNode(unbalancedNode);
+        this.updateNode(newRoot);
 
         // Return the new root of the subtree
         return newRoot;
@@ -340,6 +386,144 @@ public class AVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
         return true;
     }
 
+    /**
+     * Returns the number of elements strictly less than the given one.
+     *
+     * @param element the element to rank
+     * @return the rank of the element, between 0 and {@link #size()}
+     */
+    public int rank(T element) {
+        return this.countBelow(element, false);
+    }
+
+    /**
+     * Returns the element with the given rank, i.e. the element at that position in sorted order.
+     *
+     * @param rank the position in sorted order
+     * @return the element at that position
+     * @throws IndexOutOfBoundsException if the rank is out of range
+     */
+    public T select(int rank) {
+        if (rank < 0 || rank >= this.size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of range for size " + this.size);
+        }
+        BinaryNode<T> node = this.root;
+        while (true) {
+            int leftSize = this.size(node.left);
+            if (rank < leftSize) {
+                // The element is in the left subtree
+                node = node.left;
+            } else if (rank > leftSize) {
+                // Skip the left subtree and the node itself
+                rank -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.element;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements in the range {@code [low, high)}.
+     *
+     * @param low  the lower bound, inclusive
+     * @param high the upper bound, exclusive
+     * @return the number of elements in the range, or 0 if the range is empty
+     */
+    public int countInRange(T low, T high) {
+        if (low.compareTo(high) >= 0) return 0;
+        return this.countBelow(high, false) - this.countBelow(low, false);
+    }
+
+    /**
+     * Returns the number of elements less than (or equal to, if inclusive) the given one,
+     * i.e. the size of the corresponding head set.
+     *
+     * @param toElement the upper bound
+     * @param inclusive whether an element equal to the bound is counted
+     * @return the size of the head set
+     */
+    public int headSetSize(T toElement, boolean inclusive) {
+        return this.countBelow(toElement, inclusive);
+    }
+
+    /**
+     * Returns the number of elements greater than (or equal to, if inclusive) the given one,
+     * i.e. the size of the corresponding tail set.
+     *
+     * @param fromElement the lower bound
+     * @param inclusive   whether an element equal to the bound is counted
+     * @return the size of the tail set
+     */
+    public int tailSetSize(T fromElement, boolean inclusive) {
+        return this.size - this.countBelow(fromElement, !inclusive);
+    }
+
+    /**
+     * Counts the elements less than (or equal to) the given one along a single root-to-leaf path,
+     * adding the size of every left subtree passed on the way.
+     *
+     * @param element   the bound
+     * @param inclusive whether an element equal to the bound is counted
+     * @return the number of elements below the bound
+     */
+    private int countBelow(T element, boolean inclusive) {
+        int count = 0;
+        BinaryNode<T> node = this.root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison < 0 || comparison == 0 && !inclusive) {
+                // The node and its right subtree are not below the bound
+                node = node.left;
+            } else {
+                // The node and its left subtree are below the bound
+                count += this.size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the greatest element less than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the floor element, or {@code null} if there is none
+     */
+    public T floor(T element) {
+        return NavigableSearch.below(this.root, element, true);
+    }
+
+    /**
+     * Returns the greatest element strictly less than the given one.
+     *
+     * @param element the element to search for
+     * @return the lower element, or {@code null} if there is none
+     */
+    public T lower(T element) {
+        return NavigableSearch.below(this.root, element, false);
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the ceiling element, or {@code null} if there is none
+     */
+    public T ceiling(T element) {
+        return NavigableSearch.above(this.root, element, true);
+    }
+
+    /**
+     * Returns the smallest element strictly greater than the given one.
+     *
+     * @param element the element to search for
+     * @return the higher element, or {@code null} if there is none
+     */
+    public T higher(T element) {
+        return NavigableSearch.above(this.root, element, false);
+    }
+
     /**
      * Clears the AVL tree, removing all elements.
      */
@@ -394,4 +578,241 @@ public class AVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
         // Use the factory to create a pre-order iterator
         return BinaryTreeIteratorFactory.preOrderIterator(this.root);
     }
+
+    /**
+     * Returns an iterator over the elements in the range {@code [low, high)} in ascending order.
+     * Only the O(log n) nodes on the path to the lower bound and the k nodes in the range are visited.
+     *
+     * @param low  the lower bound, inclusive, or {@code null} for no bound
+     * @param high the upper bound, exclusive, or {@code null} for no bound
+     * @return an iterator over the range
+     */
+    public Iterator<T> subIterator(T low, T high) {
+        return BinaryTreeIteratorFactory.subIterator(this.root, low, high);
+    }
+
+    /**
+     * Returns an iterator over the elements of the AVL tree in descending order.
+     *
+     * @return an iterator for descending traversal
+     */
+    public Iterator<T> descendingIterator() {
+        return BinaryTreeIteratorFactory.descendingIterator(this.root);
+    }
+
+    /**
+     * Returns an iterator over the elements of the AVL tree in ascending order that uses no stack, threading
+     * the tree while it runs. The AVL tree must not be read or modified until the iterator is exhausted or closed.
+     *
+     * @return an iterator for in-order traversal by Morris threading
+     * @see BinaryTreeIteratorFactory#morrisInOrderIterator(BinaryNode)
+     */
+    public BinaryTreeIteratorFactory.MorrisInOrderIterator<T> morrisInOrderIterator() {
+        return BinaryTreeIteratorFactory.morrisInOrderIterator(this.root);
+    }
+
+    /**
+     * Visits the elements of the AVL tree in ascending order until the visitor returns false, without allocating.
+     * The visitor must not access the AVL tree.
+     *
+     * @param visitor the visitor, returning false to stop the traversal
+     * @return true if every element was visited, false if the visitor stopped the traversal
+     */
+    public boolean forEachInOrder(Predicate<? super T> visitor) {
+        return BinaryTreeIteratorFactory.forEachInOrder(this.root, visitor);
+    }
+
+    /**
+     * Builds an AVL tree from elements sorted in strictly ascending order in O(n), rooting every subtree
+     * at the middle element of its range, without any comparison or rotation.
+     *
+     * @param sorted the elements, sorted and without duplicates
+     * @param <T>    the type of elements
+     * @return a new AVL tree containing the elements
+     * @throws IllegalArgumentException if the elements are not strictly ascending or contain null
+     */
+    public static <T extends Comparable<T>> AVL<T> bulkLoad(T[] sorted) {
+        AVL<T> tree = new AVL<>();
+        tree.load(sorted);
+        return tree;
+    }
+
+    /**
+     * Replaces the content of the tree with elements sorted in strictly ascending order, in O(n).
+     * The nodes are created with {@link #newNode} and updated with {@link #updateNode}, so subclasses
+     * get their augmentations built too.
+     *
+     * @param sorted the elements, sorted and without duplicates
+     * @throws IllegalArgumentException if the elements are not strictly ascending or contain null
+     */
+    protected void load(T[] sorted) {
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] == null) {
+                throw new IllegalArgumentException("Element cannot be null");
+            }
+            if (i > 0 && sorted[i - 1].compareTo(sorted[i]) >= 0) {
+                throw new IllegalArgumentException("Elements must be sorted in strictly ascending order");
+            }
+        }
+        this.root = this.build(sorted, 0, sorted.length);
+        this.size = sorted.length;
+    }
+
+    /**
+     * Builds a perfectly balanced subtree from a range of sorted elements, rooted at its middle element.
+     *
+     * @param sorted the elements, sorted and without duplicates
+     * @param from   the first index of the range, inclusive
+     * @param to     the last index of the range, exclusive
+     * @return the root of the subtree
+     */
+    private BinaryNode<T> build(T[] sorted, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        BinaryNode<T> node = this.newNode(sorted[middle]);
+        node.left = this.build(sorted, from, middle);
+        node.right = this.build(sorted, middle + 1, to);
+        this.updateNode(node);
+        return node;
+    }
+
+    /**
+     * Splits the tree around an element in O(log n): this tree keeps the elements less than the given one,
+     * and the others move to the returned tree.
+     *
+     * @param element the element to split at
+     * @return a new AVL tree with the elements greater than or equal to the given one
+     */
+    public AVL<T> split(T element) {
+        AVLSetOperations<T> operations = new AVLSetOperations<>(this);
+        AVLSetOperations.Split<T> split = operations.split(this.root, element);
+        this.root = split.left;
+        this.size = AVLSetOperations.size(split.left);
+        if (split.node == null) {
+            return this.of(split.right);
+        }
+        // The node holding the element becomes the minimum of the upper tree
+        return this.of(operations.join(null, split.node, split.right));
+    }
+
+    /**
+     * Joins two trees and an element that separates them in O(log n), or rather in O(1 + |h1 - h2|)
+     * for trees of heights h1 and h2. Both trees are emptied, their nodes being moved to the result.
+     *
+     * @param left    the tree of elements less than the given one
+     * @param element the element between the two trees
+     * @param right   the tree of elements greater than the given one
+     * @param <T>     the type of elements
+     * @return a new AVL tree, of the same class as the given ones, containing the elements of both trees
+     * and the given one
+     * @throws IllegalArgumentException if the element is null or does not separate the trees, or if the
+     *                                  trees are of different classes
+     */
+    public static <T extends Comparable<T>> AVL<T> join(AVL<T> left, T element, AVL<T> right) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        checkSameClass(left, right);
+        if (!left.isEmpty() && left.max().compareTo(element) >= 0
+                || !right.isEmpty() && right.min().compareTo(element) <= 0) {
+            throw new IllegalArgumentException("Element must be greater than the left tree and less than the right tree");
+        }
+        BinaryNode<T> joined = new AVLSetOperations<>(left).join(left.root, left.newNode(element), right.root);
+        left.clear();
+        right.clear();
+        return left.of(joined);
+    }
+
+    /**
+     * Computes the union of two trees with fork-join parallelism, in O(m log(n/m + 1)) work for trees
+     * of sizes m &lt;= n and O(log^2 n) span. The tasks run in the pool of the calling thread if it is
+     * a fork-join worker, and in the common pool otherwise.
+     * Both trees are emptied, their nodes being reused by the result.
+     *
+     * @param first  the first tree
+     * @param second the second tree
+     * @param <T>    the type of elements
+     * @return a new AVL tree containing the elements of either tree
+     * @throws IllegalArgumentException if the trees are of different classes
+     */
+    public static <T extends Comparable<T>> AVL<T> union(AVL<T> first, AVL<T> second) {
+        return combine(AVLSetOperations.Operation.UNION, first, second);
+    }
+
+    /**
+     * Computes the intersection of two trees with fork-join parallelism, with the same bounds as
+     * {@link #union}. Both trees are emptied, their nodes being reused by the result.
+     *
+     * @param first  the first tree
+     * @param second the second tree
+     * @param <T>    the type of elements
+     * @return a new AVL tree containing the elements of both trees
+     * @throws IllegalArgumentException if the trees are of different classes
+     */
+    public static <T extends Comparable<T>> AVL<T> intersection(AVL<T> first, AVL<T> second) {
+        return combine(AVLSetOperations.Operation.INTERSECTION, first, second);
+    }
+
+    /**
+     * Computes the difference of two trees with fork-join parallelism, with the same bounds as
+     * {@link #union}. Both trees are emptied, their nodes being reused by the result.
+     *
+     * @param first  the tree to remove elements from
+     * @param second the tree of elements to remove
+     * @param <T>    the type of elements
+     * @return a new AVL tree containing the elements of the first tree that are not in the second
+     * @throws IllegalArgumentException if the trees are of different classes
+     */
+    public static <T extends Comparable<T>> AVL<T> difference(AVL<T> first, AVL<T> second) {
+        return combine(AVLSetOperations.Operation.DIFFERENCE, first, second);
+    }
+
+    private static <T extends Comparable<T>> AVL<T> combine(AVLSetOperations.Operation operation,
+                                                           AVL<T> first, AVL<T> second) {
+        checkSameClass(first, second);
+        BinaryNode<T> combined;
+        if (first == second) {
+            // Splitting a tree by its own nodes would tear it apart, and the result is known anyway
+            combined = operation == AVLSetOperations.Operation.DIFFERENCE ? null : first.root;
+        } else {
+            combined = new AVLSetOperations.SetOperationTask<>(new AVLSetOperations<>(first), operation,
+                    first.root, second.root).invoke();
+        }
+        first.clear();
+        second.clear();
+        return first.of(combined);
+    }
+
+    /**
+     * Checks that two trees build and refresh their nodes alike, so their nodes can be mixed.
+     */
+    private static void checkSameClass(AVL<?> first, AVL<?> second) {
+        if (first.getClass() != second.getClass()) {
+            throw new IllegalArgumentException("Trees must be of the same class");
+        }
+    }
+
+    /**
+     * Wraps a subtree whose nodes are up to date in a new tree of the same kind as this one.
+     */
+    private AVL<T> of(BinaryNode<T> root) {
+        AVL<T> tree = this.newTree();
+        tree.root = root;
+        tree.size = AVLSetOperations.size(root);
+        return tree;
+    }
+
+    /**
+     * Returns a spliterator over the elements of the AVL tree in ascending order, splitting on subtrees.
+     * The cached subtree sizes keep every split exactly sized.
+     *
+     * @return a spliterator for in-order traversal
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return BinaryTreeIteratorFactory.inOrderSpliterator(this.root, this.size, Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL
+                | Spliterator.SUBSIZED);
+    }
 }
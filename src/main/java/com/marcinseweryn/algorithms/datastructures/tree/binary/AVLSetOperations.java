@@ -0,0 +1,266 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Join-based algorithms on AVL subtrees, after Blelloch, Ferizovic and Sun, "Just Join for Parallel
+ * Ordered Sets". Every operation is expressed with {@link #join}, which concatenates two trees around
+ * a middle node in time proportional to the difference of their heights, and {@link #split}, which
+ * cuts a tree around an element in O(log n). Union, intersection and difference split one tree by
+ * the root of the other and recurse on both halves independently, which is where the fork-join
+ * parallelism comes from; they take O(m log(n/m + 1)) work for trees of sizes m &lt;= n.
+ *
+ * <p>The operations reuse the nodes of their inputs and refresh every relinked node with
+ * {@link AVL#updateNode} of the tree they work for, so subclasses keep their augmentations.
+ *
+ * @param <T> the type of elements
+ */
+final class AVLSetOperations<T extends Comparable<T>> {
+
+    // Below this combined size the recursion runs sequentially, where forking costs more than it saves
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 12;
+
+    private final AVL<T> tree;
+
+    /**
+     * @param tree the tree whose {@link AVL#updateNode} refreshes the relinked nodes
+     */
+    AVLSetOperations(AVL<T> tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * Result of a split: the trees of the elements below and above the key, and the node holding
+     * the key, or {@code null} if it was absent.
+     */
+    static final class Split<T> {
+        final BinaryNode<T> left;
+        final BinaryNode<T> node;
+        final BinaryNode<T> right;
+
+        Split(BinaryNode<T> left, BinaryNode<T> node, BinaryNode<T> right) {
+            this.left = left;
+            this.node = node;
+            this.right = right;
+        }
+    }
+
+    static int height(BinaryNode<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    static int size(BinaryNode<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private BinaryNode<T> update(BinaryNode<T> node) {
+        this.tree.updateNode(node);
+        return node;
+    }
+
+    private BinaryNode<T> link(BinaryNode<T> left, BinaryNode<T> node, BinaryNode<T> right) {
+        node.left = left;
+        node.right = right;
+        return this.update(node);
+    }
+
+    private BinaryNode<T> rotateRight(BinaryNode<T> node) {
+        BinaryNode<T> newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = this.update(node);
+        return this.update(newRoot);
+    }
+
+    private BinaryNode<T> rotateLeft(BinaryNode<T> node) {
+        BinaryNode<T> newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = this.update(node);
+        return this.update(newRoot);
+    }
+
+    /**
+     * Joins two trees and a middle node, every element of {@code left} being smaller than the node's
+     * and every element of {@code right} greater. Takes O(|height(left) - height(right)| + 1) time.
+     *
+     * @param left  the tree of smaller elements
+     * @param node  the middle node, whose links are overwritten
+     * @param right the tree of greater elements
+     * @return the root of the joined tree
+     */
+    BinaryNode<T> join(BinaryNode<T> left, BinaryNode<T> node, BinaryNode<T> right) {
+        if (height(left) > height(right) + 1) {
+            return this.joinRight(left, node, right);
+        }
+        if (height(right) > height(left) + 1) {
+            return this.joinLeft(left, node, right);
+        }
+        return this.link(left, node, right);
+    }
+
+    /**
+     * Descends the right spine of the taller left tree to a subtree as high as the right tree,
+     * links them there and rebalances on the way back up.
+     */
+    private BinaryNode<T> joinRight(BinaryNode<T> left, BinaryNode<T> node, BinaryNode<T> right) {
+        BinaryNode<T> child = left.right;
+        if (height(child) <= height(right) + 1) {
+            BinaryNode<T> joined = this.link(child, node, right);
+            if (height(joined) <= height(left.left) + 1) {
+                return this.link(left.left, left, joined);
+            }
+            // Double rotation: the joined subtree is two levels higher than its sibling
+            left.right = this.rotateRight(joined);
+            return this.rotateLeft(this.update(left));
+        }
+        left.right = this.joinRight(child, node, right);
+        this.update(left);
+        if (height(left.right) <= height(left.left) + 1) {
+            return left;
+        }
+        return this.rotateLeft(left);
+    }
+
+    /**
+     * Mirror image of {@link #joinRight}, for a taller right tree.
+     */
+    private BinaryNode<T> joinLeft(BinaryNode<T> left, BinaryNode<T> node, BinaryNode<T> right) {
+        BinaryNode<T> child = right.left;
+        if (height(child) <= height(left) + 1) {
+            BinaryNode<T> joined = this.link(left, node, child);
+            if (height(joined) <= height(right.right) + 1) {
+                return this.link(joined, right, right.right);
+            }
+            right.left = this.rotateLeft(joined);
+            return this.rotateRight(this.update(right));
+        }
+        right.left = this.joinLeft(left, node, child);
+        this.update(right);
+        if (height(right.left) <= height(right.right) + 1) {
+            return right;
+        }
+        return this.rotateRight(right);
+    }
+
+    /**
+     * Joins two trees, every element of {@code left} being smaller than every element of {@code right},
+     * using the maximum of the left tree as the middle node.
+     */
+    BinaryNode<T> join2(BinaryNode<T> left, BinaryNode<T> right) {
+        if (left == null) {
+            return right;
+        }
+        Split<T> last = this.splitLast(left);
+        return this.join(last.left, last.node, right);
+    }
+
+    /**
+     * Detaches the maximum node of a non-empty tree.
+     *
+     * @return the remaining tree as {@code left} and the maximum as {@code node}
+     */
+    private Split<T> splitLast(BinaryNode<T> node) {
+        if (node.right == null) {
+            return new Split<>(node.left, node, null);
+        }
+        Split<T> last = this.splitLast(node.right);
+        return new Split<>(this.join(node.left, node, last.left), last.node, null);
+    }
+
+    /**
+     * Splits a tree into the elements smaller and greater than a key, in O(log n).
+     *
+     * @param node the root of the tree, which is taken apart
+     * @param key  the key to split around
+     * @return the two trees and the node holding the key, if any
+     */
+    Split<T> split(BinaryNode<T> node, T key) {
+        if (node == null) {
+            return new Split<>(null, null, null);
+        }
+        int comparison = key.compareTo(node.element);
+        if (comparison == 0) {
+            return new Split<>(node.left, node, node.right);
+        }
+        if (comparison < 0) {
+            Split<T> split = this.split(node.left, key);
+            return new Split<>(split.left, split.node, this.join(split.right, node, node.right));
+        }
+        Split<T> split = this.split(node.right, key);
+        return new Split<>(this.join(node.left, node, split.left), split.node, split.right);
+    }
+
+    /**
+     * The kind of set operation computed by a {@link SetOperationTask}.
+     */
+    enum Operation {
+        UNION, INTERSECTION, DIFFERENCE
+    }
+
+    /**
+     * Combines two trees by splitting the first around the root of the second and recursing on the
+     * smaller and greater halves, the first half in a forked task while large enough.
+     */
+    static final class SetOperationTask<T extends Comparable<T>> extends RecursiveTask<BinaryNode<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final AVLSetOperations<T> operations;
+        private final Operation operation;
+        private final BinaryNode<T> first;
+        private final BinaryNode<T> second;
+
+        SetOperationTask(AVLSetOperations<T> operations, Operation operation, BinaryNode<T> first,
+                         BinaryNode<T> second) {
+            this.operations = operations;
+            this.operation = operation;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        protected BinaryNode<T> compute() {
+            return this.compute(this.first, this.second);
+        }
+
+        private BinaryNode<T> compute(BinaryNode<T> first, BinaryNode<T> second) {
+            if (first == null) {
+                return this.operation == Operation.UNION ? second : null;
+            }
+            if (second == null) {
+                return this.operation == Operation.INTERSECTION ? null : first;
+            }
+
+            // Measured before the split, which relinks the nodes of the first tree
+            boolean sequential = size(first) + size(second) < SEQUENTIAL_THRESHOLD;
+            BinaryNode<T> pivot = second;
+            BinaryNode<T> secondLeft = second.left;
+            BinaryNode<T> secondRight = second.right;
+            Split<T> split = this.operations.split(first, pivot.element);
+
+            BinaryNode<T> left;
+            BinaryNode<T> right;
+            if (sequential) {
+                left = this.compute(split.left, secondLeft);
+                right = this.compute(split.right, secondRight);
+            } else {
+                SetOperationTask<T> leftTask =
+                        new SetOperationTask<>(this.operations, this.operation, split.left, secondLeft);
+                leftTask.fork();
+                right = this.compute(split.right, secondRight);
+                left = leftTask.join();
+            }
+
+            switch (this.operation) {
+                case UNION:
+                    // The pivot stands for the element whichever tree held it
+                    return this.operations.join(left, pivot, right);
+                case INTERSECTION:
+                    return split.node != null ? this.operations.join(left, pivot, right)
+                            : this.operations.join2(left, right);
+                default:
+                    return this.operations.join2(left, right);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.lang.System.out;
+
+/**
+ * Measures {@link AVL#bulkLoad} against repeated insertions, and {@link AVL#union} and
+ * {@link AVL#difference} against inserting or removing the elements of one tree into the other,
+ * in fork-join pools of increasing parallelism. The merges combine a large tree with a tree of
+ * the same size and with a batch of 1% of its size.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.binary.AVLSetOperationsBenchmark"
+ * </pre>
+ */
+public class AVLSetOperationsBenchmark {
+
+    private static final int SIZE = 1 << 20;
+    private static final int ROUNDS = 5;
+    private static final int[] PARALLELISM = {1, 2, 4, 8};
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private AVLSetOperationsBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        Integer[] large = randomSorted(SIZE, 1);
+        Integer[] equal = randomSorted(SIZE, 2);
+        Integer[] batch = randomSorted(SIZE / 100, 3);
+
+        out.printf("%d elements, ms per operation, %d cores%n", SIZE, Runtime.getRuntime().availableProcessors());
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up
+            boolean print = round == 1;
+            double adds = time(() -> {
+                AVL<Integer> tree = new AVL<>();
+                for (Integer element : large) {
+                    tree.add(element);
+                }
+                sink = tree.size();
+            });
+            double bulk = time(() -> sink = AVL.bulkLoad(large).size());
+            if (print) {
+                out.printf("%-32s %10.1f%n", "build by add", adds);
+                out.printf("%-32s %10.1f%n", "build by bulkLoad", bulk);
+            }
+
+            merge(print, "union equal", large, equal, false);
+            merge(print, "union 1% batch", large, batch, false);
+            merge(print, "difference 1% batch", large, batch, true);
+        }
+    }
+
+    /**
+     * Times the merge of two trees by insertions or removals and by the set operation in every pool.
+     */
+    private static void merge(boolean print, String name, Integer[] first, Integer[] second, boolean difference)
+            throws InterruptedException, ExecutionException {
+        double loop = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            AVL<Integer> tree = AVL.bulkLoad(first);
+            AVL<Integer> other = AVL.bulkLoad(second);
+            long start = System.nanoTime();
+            for (Integer element : second) {
+                if (difference) {
+                    tree.remove(element);
+                } else {
+                    tree.add(element);
+                }
+            }
+            loop += System.nanoTime() - start;
+            sink = tree.size() + other.size();
+        }
+        if (print) {
+            out.printf("%-32s %10.1f%n", name + " by " + (difference ? "remove" : "add"), loop / ROUNDS / 1e6);
+        }
+
+        for (int parallelism : PARALLELISM) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            double elapsed = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                AVL<Integer> tree = AVL.bulkLoad(first);
+                AVL<Integer> other = AVL.bulkLoad(second);
+                long start = System.nanoTime();
+                AVL<Integer> result = pool.submit(
+                        () -> difference ? AVL.difference(tree, other) : AVL.union(tree, other)).get();
+                elapsed += System.nanoTime() - start;
+                sink = result.size();
+            }
+            pool.shutdown();
+            if (print) {
+                out.printf("%-32s %10.1f%n", name + " in " + parallelism + " threads", elapsed / ROUNDS / 1e6);
+            }
+        }
+    }
+
+    private static double time(Runnable task) {
+        double elapsed = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            elapsed += System.nanoTime() - start;
+        }
+        return elapsed / ROUNDS / 1e6;
+    }
+
+    /**
+     * Draws distinct random elements and sorts them.
+     */
+    private static Integer[] randomSorted(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return random.ints(4L * count, 0, 8 * SIZE).distinct().limit(count).sorted()
+                .boxed().toArray(Integer[]::new);
+    }
+}
@@ -4,6 +4,8 @@ import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
 import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
 
 /**
  * A binary search tree (BST) implementation that stores elements in an ordered fashion.
@@ -240,6 +242,46 @@ public class BST<T extends Comparable<T>> implements OrderedBinaryTree<T> {
         }
     }
 
+    /**
+     * Returns the greatest element less than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the floor element, or {@code null} if there is none
+     */
+    public T floor(T element) {
+        return NavigableSearch.below(this.root, element, true);
+    }
+
+    /**
+     * Returns the greatest element strictly less than the given one.
+     *
+     * @param element the element to search for
+     * @return the lower element, or {@code null} if there is none
+     */
+    public T lower(T element) {
+        return NavigableSearch.below(this.root, element, false);
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the ceiling element, or {@code null} if there is none
+     */
+    public T ceiling(T element) {
+        return NavigableSearch.above(this.root, element, true);
+    }
+
+    /**
+     * Returns the smallest element strictly greater than the given one.
+     *
+     * @param element the element to search for
+     * @return the higher element, or {@code null} if there is none
+     */
+    public T higher(T element) {
+        return NavigableSearch.above(this.root, element, false);
+    }
+
     /**
      * Clears the BST, removing all elements.
      */
@@ -268,4 +310,57 @@ public class BST<T extends Comparable<T>> implements OrderedBinaryTree<T> {
     public Iterator<T> preOrderIterator() {
         return BinaryTreeIteratorFactory.preOrderIterator(this.root);
     }
+
+    /**
+     * Returns an iterator over the elements in the range {@code [low, high)} in ascending order.
+     * Only the nodes on the path to the lower bound and the k nodes in the range are visited.
+     *
+     * @param low  the lower bound, inclusive, or {@code null} for no bound
+     * @param high the upper bound, exclusive, or {@code null} for no bound
+     * @return an iterator over the range
+     */
+    public Iterator<T> subIterator(T low, T high) {
+        return BinaryTreeIteratorFactory.subIterator(this.root, low, high);
+    }
+
+    /**
+     * Returns an iterator over the elements of the BST in descending order.
+     *
+     * @return an iterator for descending traversal
+     */
+    public Iterator<T> descendingIterator() {
+        return BinaryTreeIteratorFactory.descendingIterator(this.root);
+    }
+
+    /**
+     * Returns an iterator over the elements of the BST in ascending order that uses no stack, threading
+     * the tree while it runs. The BST must not be read or modified until the iterator is exhausted or closed.
+     *
+     * @return an iterator for in-order traversal by Morris threading
+     * @see BinaryTreeIteratorFactory#morrisInOrderIterator(BinaryNode)
+     */
+    public BinaryTreeIteratorFactory.MorrisInOrderIterator<T> morrisInOrderIterator() {
+        return BinaryTreeIteratorFactory.morrisInOrderIterator(this.root);
+    }
+
+    /**
+     * Visits the elements of the BST in ascending order until the visitor returns false, without allocating.
+     * The visitor must not access the BST.
+     *
+     * @param visitor the visitor, returning false to stop the traversal
+     * @return true if every element was visited, false if the visitor stopped the traversal
+     */
+    public boolean forEachInOrder(Predicate<? super T> visitor) {
+        return BinaryTreeIteratorFactory.forEachInOrder(this.root, visitor);
+    }
+
+    /**
+     * Returns a spliterator over the elements of the BST in ascending order, splitting on subtrees.
+     *
+     * @return a spliterator for in-order traversal
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return BinaryTreeIteratorFactory.inOrderSpliterator(this.root, this.size, Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
 }
@@ -0,0 +1,127 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static java.lang.System.out;
+
+/**
+ * Compares {@link BST}, {@link AVL}, {@link RedBlackTree} and {@link Treap} on three workloads:
+ * <ul>
+ *     <li>random: insertions of random elements, then a mix of 50% lookups, 25% insertions and 25% removals
+ *     of random elements;</li>
+ *     <li>sorted: insertions in ascending order, then lookups in ascending order;</li>
+ *     <li>Zipfian: the mix of the random workload with elements drawn from a Zipf distribution (theta 0.99),
+ *     whose most frequent elements are scattered over the key space.</li>
+ * </ul>
+ * The plain BST is left out of the sorted workload, where it degenerates to a linked list and its
+ * recursive insertion overflows the stack.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.binary.BalancedTreeBenchmark"
+ * </pre>
+ */
+public class BalancedTreeBenchmark {
+
+    private static final int SIZE = 1 << 20;
+    private static final int OPERATIONS = 2_000_000;
+    private static final double THETA = 0.99;
+
+    private static volatile long sink;  // Keeps the lookups from being optimized away
+
+    private BalancedTreeBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        String[] names = {"BST", "AVL", "red-black", "treap"};
+        @SuppressWarnings("unchecked")
+        Supplier<OrderedBinaryTree<Integer>>[] factories = new Supplier[]{
+                BST::new, AVL::new, RedBlackTree::new, () -> new Treap<>(42)
+        };
+
+        // Warm up every implementation on a small instance first
+        for (Supplier<OrderedBinaryTree<Integer>> factory : factories) {
+            randomWorkload(factory.get(), SIZE / 16, OPERATIONS / 16, false);
+        }
+
+        out.printf("%d elements, %d mixed operations, ns per operation%n", SIZE, OPERATIONS);
+        out.printf("%-10s %12s %12s %12s %12s %12s%n",
+                "tree", "rand insert", "rand mix", "sort insert", "sort lookup", "zipf mix");
+        for (int i = 0; i < names.length; i++) {
+            double[] random = randomWorkload(factories[i].get(), SIZE, OPERATIONS, false);
+            double[] sorted = i == 0 ? null : sortedWorkload(factories[i].get());
+            double[] zipfian = randomWorkload(factories[i].get(), SIZE, OPERATIONS, true);
+            out.printf("%-10s %12.0f %12.0f %12s %12s %12.0f%n", names[i], random[0], random[1],
+                    sorted == null ? "-" : String.format("%.0f", sorted[0]),
+                    sorted == null ? "-" : String.format("%.0f", sorted[1]), zipfian[1]);
+        }
+    }
+
+    /**
+     * Inserts random elements, then runs the mixed operations.
+     *
+     * @return the nanoseconds per insertion and per mixed operation
+     */
+    private static double[] randomWorkload(OrderedBinaryTree<Integer> tree, int size, int operations, boolean zipfian) {
+        SplittableRandom random = new SplittableRandom(7);
+        int range = 2 * size;
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            tree.add(random.nextInt(range));
+        }
+        long insert = System.nanoTime() - start;
+
+        // Draw the elements up front so generating them is not measured
+        int[] elements = new int[operations];
+        ZipfianGenerator zipf = zipfian ? new ZipfianGenerator(range, THETA, 11) : null;
+        for (int i = 0; i < operations; i++) {
+            // Multiplying by an odd constant permutes the items, scattering the hot ones
+            elements[i] = zipfian ? Math.floorMod(zipf.next() * 0x9E3779B1, range) : random.nextInt(range);
+        }
+
+        long hits = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            Integer element = elements[i];
+            int operation = i & 3;
+            if (operation == 0) {
+                tree.add(element);
+            } else if (operation == 1) {
+                tree.remove(element);
+            } else if (tree.contains(element)) {
+                hits++;
+            }
+        }
+        long mix = System.nanoTime() - start;
+        sink = hits;
+        return new double[]{(double) insert / size, (double) mix / operations};
+    }
+
+    /**
+     * Inserts ascending elements, then looks them all up in ascending order.
+     *
+     * @return the nanoseconds per insertion and per lookup
+     */
+    private static double[] sortedWorkload(OrderedBinaryTree<Integer> tree) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            tree.add(i);
+        }
+        long insert = System.nanoTime() - start;
+
+        long hits = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            if (tree.contains(i)) {
+                hits++;
+            }
+        }
+        long lookup = System.nanoTime() - start;
+        sink = hits;
+        return new double[]{(double) insert / SIZE, (double) lookup / SIZE};
+    }
+}
@@ -4,6 +4,8 @@ import com.marcinseweryn.algorithms.datastructures.tree.BinaryTree;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * A binary tree implementation using an array as the underlying data structure.
@@ -183,4 +185,14 @@ public class BinaryTreeArray<T extends Comparable<T>> implements BinaryTree<T> {
     public Iterator<T> preOrderIterator() {
         return BinaryTreeIteratorFactory.preOrderIterator(this.tree);
     }
+
+    /**
+     * Returns a spliterator over the elements of the tree in level order, splitting on index ranges.
+     *
+     * @return a spliterator for level-order traversal
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.tree, 0, this.size, Spliterator.ORDERED | Spliterator.DISTINCT);
+    }
 }
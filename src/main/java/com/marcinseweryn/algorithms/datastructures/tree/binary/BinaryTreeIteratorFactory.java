@@ -6,13 +6,21 @@ import com.marcinseweryn.algorithms.datastructures.stack.Stack;
 import com.marcinseweryn.algorithms.datastructures.stack.StackLinkedList;
 import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * A factory class that provides various iterators for binary trees. These iterators
  * include level-order (BFS), in-order (DFS), pre-order (DFS), and post-order (DFS) traversals.
  * The iterators are designed to work with both linked-list based binary trees and array-based binary trees.
+ * The array-based iterators move between indices by arithmetic and allocate nothing per element; for linked
+ * trees, {@link #morrisInOrderIterator(BinaryNode)} and {@link #forEachInOrder(BinaryNode, Predicate)} traverse
+ * in order without a stack by threading the tree.
  */
 public class BinaryTreeIteratorFactory {
 
@@ -62,6 +70,93 @@ public class BinaryTreeIteratorFactory {
         return new PreOrderLinkedListIterator<>(root);
     }
 
+    /**
+     * Returns an iterator for the in-order traversal of the elements in the range {@code [low, high)} of a
+     * binary search tree. Subtrees outside the range are never entered, so the iteration visits
+     * O(h + k) nodes for a tree of height h and k elements in the range.
+     *
+     * @param root the root node of the binary search tree
+     * @param low  the lower bound, inclusive, or null for no bound
+     * @param high the upper bound, exclusive, or null for no bound
+     * @param <T>  the type of elements held in the tree
+     * @return an iterator for the bounded in-order traversal
+     */
+    public static <T extends Comparable<T>> Iterator<T> subIterator(BinaryNode<T> root, T low, T high) {
+        return new BoundedInOrderLinkedListIterator<>(root, low, high);
+    }
+
+    /**
+     * Returns an iterator for the reverse in-order traversal of a binary search tree, from the greatest
+     * element to the smallest.
+     *
+     * @param root the root node of the binary search tree
+     * @param <T>  the type of elements held in the tree
+     * @return an iterator for descending traversal
+     */
+    public static <T> Iterator<T> descendingIterator(BinaryNode<T> root) {
+        return new DescendingLinkedListIterator<>(root);
+    }
+
+    /**
+     * Returns an iterator for in-order traversal of a linked-list based binary tree that uses no stack.
+     * It walks the tree by Morris threading: before descending into a left subtree, the right link of its
+     * rightmost node is pointed back at the subtree's root, and the link is cleared again on the way back up.
+     *
+     * <p>The tree is modified while the iteration is in progress, so it must be neither read nor modified
+     * by anything else until the iterator is exhausted or closed. An iteration stopped early must close the
+     * iterator, which removes the remaining threads.
+     *
+     * @param root the root node of the binary tree
+     * @param <T>  the type of elements held in the tree
+     * @return an iterator for in-order traversal
+     */
+    public static <T> MorrisInOrderIterator<T> morrisInOrderIterator(BinaryNode<T> root) {
+        return new MorrisInOrderIterator<>(root);
+    }
+
+    /**
+     * Visits the elements of a linked-list based binary tree in order until the visitor returns false. The
+     * traversal uses Morris threading like {@link #morrisInOrderIterator(BinaryNode)} and restores the tree
+     * before returning, also when the visitor stops it early or throws; the visitor must not access the tree.
+     *
+     * @param root    the root node of the binary tree
+     * @param visitor the visitor, returning false to stop the traversal
+     * @param <T>     the type of elements held in the tree
+     * @return true if every element was visited, false if the visitor stopped the traversal
+     */
+    public static <T> boolean forEachInOrder(BinaryNode<T> root, Predicate<? super T> visitor) {
+        try (MorrisInOrderIterator<T> iterator = new MorrisInOrderIterator<>(root)) {
+            while (iterator.hasNext()) {
+                if (!visitor.test(iterator.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns a spliterator for in-order traversal of a linked-list based binary tree that splits on subtrees:
+     * a split hands the left subtree and its root to the new spliterator and keeps the right subtree, so a
+     * balanced tree splits into halves down to single nodes.
+     *
+     * <p>The spliterator is always {@link Spliterator#ORDERED}. It is {@link Spliterator#SIZED} until it is
+     * first split, and stays so after splits if {@link Spliterator#SUBSIZED} is given, which states that
+     * {@link BinaryNode#size} holds the size of every subtree. The other characteristics given, such as
+     * {@link Spliterator#SORTED} for a search tree, are reported as they are.
+     *
+     * @param root            the root node of the binary tree
+     * @param size            the number of nodes of the tree
+     * @param characteristics the characteristics of the elements
+     * @param <T>             the type of elements held in the tree
+     * @return a spliterator for in-order traversal
+     */
+    public static <T> Spliterator<T> inOrderSpliterator(BinaryNode<T> root, int size, int characteristics) {
+        InOrderSpliterator<T> spliterator = new InOrderSpliterator<>(characteristics, size);
+        spliterator.push(root, true);
+        return spliterator;
+    }
+
     /**
      * Returns an iterator for level-order traversal (Breadth-First Search) for an array-based binary tree.
      *
@@ -222,22 +317,33 @@ public class BinaryTreeIteratorFactory {
     }
 
     /**
-     * Iterator for in-order traversal (DFS) of an array-based binary tree.
+     * Iterator for in-order traversal (DFS) of the elements of a binary search tree within bounds.
      */
-    static class InOrderArrayIterator<T> implements Iterator<T> {
+    static class BoundedInOrderLinkedListIterator<T extends Comparable<T>> implements Iterator<T> {
 
-        private final Stack<Integer> stack;
-        private final T[] tree;
+        private final Stack<BinaryNode<T>> stack;
+        private final T high;
 
-        InOrderArrayIterator(T[] tree) {
+        BoundedInOrderLinkedListIterator(BinaryNode<T> root, T low, T high) {
             this.stack = new StackLinkedList<>();
-            this.tree = tree;
-            pushLeftElements(0);
+            this.high = high;
+
+            // Push the path to the first element not less than the lower bound
+            BinaryNode<T> node = root;
+            while (node != null) {
+                if (low != null && node.element.compareTo(low) < 0) {
+                    node = node.right;  // The node and its left subtree are below the range
+                } else {
+                    this.stack.push(node);
+                    node = node.left;
+                }
+            }
         }
 
         @Override
         public boolean hasNext() {
-            return !stack.isEmpty();
+            // The next element is the smallest remaining one, so the iteration ends at the upper bound
+            return !this.stack.isEmpty() && (this.high == null || this.stack.peek().element.compareTo(this.high) < 0);
         }
 
         @Override
@@ -246,31 +352,300 @@ public class BinaryTreeIteratorFactory {
                 throw new NoSuchElementException("No more elements to iterate.");
             }
 
-            Integer current = this.stack.pop();
-            int right = current * 2 + 2;
+            // Pop the top node from the stack and push the leftmost nodes of its right subtree
+            BinaryNode<T> current = this.stack.pop();
+            BinaryNode<T> node = current.right;
+            while (node != null) {
+                this.stack.push(node);
+                node = node.left;
+            }
+            return current.element;
+        }
+    }
 
-            // Check if the right child index is within the bounds and if the right child exists
-            if (right < tree.length && tree[right] != null) {
-                pushLeftElements(right);
+    /**
+     * Iterator for in-order traversal (DFS) of a linked-list based binary tree by Morris threading,
+     * without a stack.
+     */
+    public static final class MorrisInOrderIterator<T> implements Iterator<T>, AutoCloseable {
+
+        private BinaryNode<T> current;  // Root of the part of the tree left to visit
+
+        MorrisInOrderIterator(BinaryNode<T> root) {
+            this.current = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.current != null;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No more elements to iterate.");
             }
 
-            return tree[current];
+            while (true) {
+                BinaryNode<T> node = this.current;
+                if (node.left == null) {
+                    // Nothing on the left, so the node is next; its right link may be a thread up the tree
+                    this.current = node.right;
+                    return node.element;
+                }
+
+                // Find the in-order predecessor, the rightmost node of the left subtree
+                BinaryNode<T> predecessor = node.left;
+                while (predecessor.right != null && predecessor.right != node) {
+                    predecessor = predecessor.right;
+                }
+
+                if (predecessor.right == null) {
+                    // First time here: thread the predecessor back to the node and descend left
+                    predecessor.right = node;
+                    this.current = node.left;
+                } else {
+                    // Back from the left subtree through the thread: remove it and visit the node
+                    predecessor.right = null;
+                    this.current = node.right;
+                    return node.element;
+                }
+            }
         }
 
         /**
-         * Helper method to push all leftmost nodes of a subtree to the stack.
+         * Removes the threads left in the tree by an iteration stopped early, by walking the rest of it
+         * without returning the elements. Does nothing once the iterator is exhausted.
+         */
+        @Override
+        public void close() {
+            while (this.hasNext()) {
+                this.next();
+            }
+        }
+    }
+
+    /**
+     * Spliterator for in-order traversal (DFS) of a linked-list based binary tree. The elements left are held
+     * as a stack of tasks, the task on top coming first: a task is either a single node or a whole subtree.
+     */
+    static final class InOrderSpliterator<T> implements Spliterator<T> {
+
+        private final int characteristics;
+        private final boolean subtreeSizes;
+        private BinaryNode<T>[] nodes = new BinaryNode[16];
+        private boolean[] whole = new boolean[16];  // Whether each task is the whole subtree of its node
+        private int top;
+        private long remaining;  // Exact while sized, estimated after an unsized split
+        private boolean sized = true;
+
+        InOrderSpliterator(int characteristics, long remaining) {
+            this.characteristics = characteristics | Spliterator.ORDERED;
+            this.subtreeSizes = (characteristics & Spliterator.SUBSIZED) != 0;
+            this.remaining = remaining;
+        }
+
+        /**
+         * Pushes a task, ignoring a missing subtree.
+         */
+        private void push(BinaryNode<T> node, boolean whole) {
+            if (node == null) {
+                return;
+            }
+            if (this.top == this.nodes.length) {
+                this.nodes = Arrays.copyOf(this.nodes, this.top * 2);
+                this.whole = Arrays.copyOf(this.whole, this.top * 2);
+            }
+            this.nodes[this.top] = node;
+            this.whole[this.top++] = whole;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (this.top == 0) {
+                return false;
+            }
+
+            BinaryNode<T> node = this.nodes[--this.top];
+            this.nodes[this.top] = null;
+            if (this.whole[this.top]) {
+                // Lay out the left spine: every node comes after its left subtree and before its right one
+                while (node.left != null) {
+                    this.push(node.right, true);
+                    this.push(node, false);
+                    node = node.left;
+                }
+                this.push(node.right, true);
+            }
+            if (this.remaining > 0) {
+                this.remaining--;  // An estimate may run out before the elements
+            }
+            action.accept(node.element);
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (this.top == 0) {
+                return null;
+            }
+
+            int front = this.top - 1;
+            BinaryNode<T> node = this.nodes[front];
+            InOrderSpliterator<T> prefix = new InOrderSpliterator<>(this.characteristics, 0);
+            if (this.whole[front] && (node.left != null || node.right != null)) {
+                // The left subtree and its root go to the prefix, the right subtree stays
+                prefix.push(node, false);
+                prefix.push(node.left, true);
+                prefix.remaining = this.subtreeSizes ? (node.left == null ? 0 : node.left.size) + 1 : this.remaining / 2;
+                this.nodes[front] = null;
+                this.top--;
+                this.push(node.right, true);
+            } else if (this.top > 1) {
+                // The tasks in front of the last one go to the prefix
+                prefix.nodes = Arrays.copyOfRange(this.nodes, 1, Math.max(this.top, 16));
+                prefix.whole = Arrays.copyOfRange(this.whole, 1, Math.max(this.top, 16));
+                prefix.top = this.top - 1;
+                if (this.subtreeSizes) {
+                    for (int i = 0; i < prefix.top; i++) {
+                        prefix.remaining += prefix.whole[i] ? prefix.nodes[i].size : 1;
+                    }
+                } else {
+                    prefix.remaining = this.remaining / 2;
+                }
+                Arrays.fill(this.nodes, 1, this.top, null);
+                this.top = 1;
+            } else {
+                return null;  // A single node
+            }
+
+            this.remaining -= prefix.remaining;
+            if (!this.subtreeSizes) {
+                this.sized = false;
+                prefix.sized = false;
+            }
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return this.sized ? this.characteristics | Spliterator.SIZED : this.characteristics & ~Spliterator.SUBSIZED;
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            if (this.hasCharacteristics(Spliterator.SORTED)) {
+                return null;  // Natural order
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Iterator for reverse in-order traversal (DFS) of a linked-list based binary tree.
+     */
+    static class DescendingLinkedListIterator<T> implements Iterator<T> {
+
+        private final Stack<BinaryNode<T>> stack;
+
+        DescendingLinkedListIterator(BinaryNode<T> root) {
+            this.stack = new StackLinkedList<>();
+            pushRightElements(root);  // Start by pushing all rightmost nodes from the root
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.stack.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No more elements to iterate.");
+            }
+
+            // Pop the top node from the stack and handle its left subtree
+            BinaryNode<T> current = this.stack.pop();
+            if (current.left != null) {
+                pushRightElements(current.left);
+            }
+            return current.element;
+        }
+
+        /**
+         * Helper method to push all rightmost nodes of a subtree to the stack.
          *
-         * @param index the starting index of the subtree in the array
+         * @param node the starting node of the subtree
          */
-        private void pushLeftElements(int index) {
-            // Traverse down the left subtree and push nodes onto the stack
-            while (index < tree.length && tree[index] != null) {
-                this.stack.push(index);
-                index = index * 2 + 1; // Move to the left child
+        private void pushRightElements(BinaryNode<T> node) {
+            while (node != null) {
+                this.stack.push(node);
+                node = node.right;
             }
         }
     }
 
+    /**
+     * Iterator for in-order traversal (DFS) of an array-based binary tree. The children of index {@code i}
+     * are at {@code 2i + 1} and {@code 2i + 2} and its parent at {@code (i - 1) / 2}, so the successor of an
+     * element is found by index arithmetic alone, without a stack.
+     */
+    static class InOrderArrayIterator<T> implements Iterator<T> {
+
+        private final T[] tree;
+        private int next;  // Index of the next element, -1 at the end
+
+        InOrderArrayIterator(T[] tree) {
+            this.tree = tree;
+            this.next = exists(tree, 0) ? leftmost(0) : -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next >= 0;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No more elements to iterate.");
+            }
+
+            int current = this.next;
+            if (exists(this.tree, current * 2 + 2)) {
+                // The successor is the leftmost node of the right subtree
+                this.next = leftmost(current * 2 + 2);
+            } else {
+                // Climb while coming up from a right child; the parent reached from a left child is next
+                int index = current;
+                while (index > 0 && index % 2 == 0) {
+                    index = (index - 1) / 2;
+                }
+                this.next = index == 0 ? -1 : (index - 1) / 2;
+            }
+            return this.tree[current];
+        }
+
+        /**
+         * Returns the index of the leftmost node of a subtree.
+         *
+         * @param index the index of the root of the subtree
+         */
+        private int leftmost(int index) {
+            while (exists(this.tree, index * 2 + 1)) {
+                index = index * 2 + 1;
+            }
+            return index;
+        }
+    }
     /**
      * Iterator for pre-order traversal (DFS) of a linked-list based binary tree.
      */
@@ -313,24 +688,21 @@ public class BinaryTreeIteratorFactory {
     }
 
     /**
-     * Iterator for pre-order traversal (DFS) of an array-based binary tree.
+     * Iterator for pre-order traversal (DFS) of an array-based binary tree, by index arithmetic.
      */
     static class PreOrderArrayIterator<T> implements Iterator<T> {
 
-        private final Stack<Integer> stack;
         private final T[] tree;
+        private int next;  // Index of the next element, -1 at the end
 
         PreOrderArrayIterator(T[] tree) {
-            this.stack = new StackLinkedList<>();
             this.tree = tree;
-            if (tree.length > 0 && tree[0] != null) {
-                this.stack.push(0);  // Start with the root element (index 0)
-            }
+            this.next = exists(tree, 0) ? 0 : -1;  // Start with the root element (index 0)
         }
 
         @Override
         public boolean hasNext() {
-            return !this.stack.isEmpty();
+            return this.next >= 0;
         }
 
         @Override
@@ -339,26 +711,26 @@ public class BinaryTreeIteratorFactory {
                 throw new NoSuchElementException("No more elements to iterate.");
             }
 
-            // Pop the current node index from the stack
-            Integer currentIndex = this.stack.pop();
-            T result = tree[currentIndex];
-
-            // Calculate the right and left child indices
-            int rightIndex = currentIndex * 2 + 2;
-            int leftIndex = currentIndex * 2 + 1;
-
-            // Push right child first so that left child is processed first
-            if (rightIndex < tree.length && tree[rightIndex] != null) {
-                this.stack.push(rightIndex);
-            }
-            if (leftIndex < tree.length && tree[leftIndex] != null) {
-                this.stack.push(leftIndex);
+            int current = this.next;
+            if (exists(this.tree, current * 2 + 1)) {
+                this.next = current * 2 + 1;
+            } else if (exists(this.tree, current * 2 + 2)) {
+                this.next = current * 2 + 2;
+            } else {
+                // Climb to the nearest left child whose right sibling exists; the sibling is next
+                int index = current;
+                this.next = -1;
+                while (index > 0) {
+                    if (index % 2 == 1 && exists(this.tree, index + 1)) {
+                        this.next = index + 1;
+                        break;
+                    }
+                    index = (index - 1) / 2;
+                }
             }
-
-            return result;
+            return this.tree[current];
         }
     }
-
     /**
      * Iterator for post-order traversal (DFS) of a linked-list based binary tree.
      */
@@ -403,43 +775,21 @@ public class BinaryTreeIteratorFactory {
     }
 
     /**
-     * Iterator for post-order traversal (DFS) of an array-based binary tree.
+     * Iterator for post-order traversal (DFS) of an array-based binary tree, by index arithmetic.
      */
     static class PostOrderArrayIterator<T> implements Iterator<T> {
 
-        private final Stack<Integer> stack1;
         private final T[] tree;
+        private int next;  // Index of the next element, -1 at the end
 
         PostOrderArrayIterator(T[] tree) {
             this.tree = tree;
-            this.stack1 = new StackLinkedList<>();
-            Stack<Integer> stack2 = new StackLinkedList<>();
-            if (tree.length > 0 && tree[0] != null) {
-                stack2.push(0);  // Start with the root element (index 0)
-
-                // Traverse the tree in reverse order (right -> left -> root)
-                while (!stack2.isEmpty()) {
-                    Integer currentIndex = stack2.pop();
-                    stack1.push(currentIndex);  // Push the current node index to stack1
-
-                    // Calculate the left and right child indices
-                    int leftIndex = currentIndex * 2 + 1;
-                    int rightIndex = currentIndex * 2 + 2;
-
-                    // Push left child first so that right child is processed first
-                    if (leftIndex < tree.length && tree[leftIndex] != null) {
-                        stack2.push(leftIndex);
-                    }
-                    if (rightIndex < tree.length && tree[rightIndex] != null) {
-                        stack2.push(rightIndex);
-                    }
-                }
-            }
+            this.next = exists(tree, 0) ? first(0) : -1;
         }
 
         @Override
         public boolean hasNext() {
-            return !stack1.isEmpty();
+            return this.next >= 0;
         }
 
         @Override
@@ -447,7 +797,42 @@ public class BinaryTreeIteratorFactory {
             if (!hasNext()) {
                 throw new NoSuchElementException("No more elements to iterate.");
             }
-            return this.tree[stack1.pop()];
+
+            int current = this.next;
+            if (current == 0) {
+                this.next = -1;  // The root comes last
+            } else if (current % 2 == 1 && exists(this.tree, current + 1)) {
+                // After a left subtree comes its right sibling's subtree
+                this.next = first(current + 1);
+            } else {
+                this.next = (current - 1) / 2;
+            }
+            return this.tree[current];
         }
+
+        /**
+         * Returns the index of the first node of a subtree in post-order, reached by going left whenever possible.
+         *
+         * @param index the index of the root of the subtree
+         */
+        private int first(int index) {
+            while (true) {
+                if (exists(this.tree, index * 2 + 1)) {
+                    index = index * 2 + 1;
+                } else if (exists(this.tree, index * 2 + 2)) {
+                    index = index * 2 + 2;
+                } else {
+                    return index;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if an index of an array-based binary tree holds a node. A child index past
+     * {@code Integer.MAX_VALUE} overflows to a negative one, which holds no node either.
+     */
+    private static boolean exists(Object[] tree, int index) {
+        return index >= 0 && index < tree.length && tree[index] != null;
     }
 }
@@ -6,6 +6,7 @@ import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
 import com.marcinseweryn.algorithms.datastructures.tree.BinaryTree;
 
 import java.util.Iterator;
+import java.util.Spliterator;
 
 /**
  * A class representing a binary tree implemented using linked nodes. The tree
@@ -220,5 +221,14 @@ public class BinaryTreeLinkedList<T extends Comparable<T>> implements BinaryTree
     public Iterator<T> preOrderIterator() {
         return BinaryTreeIteratorFactory.preOrderIterator(this.root);
     }
-}
 
+    /**
+     * Returns a spliterator for in-order traversal of the tree, splitting on subtrees.
+     *
+     * @return a spliterator for in-order traversal
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return BinaryTreeIteratorFactory.inOrderSpliterator(this.root, this.size, Spliterator.DISTINCT);
+    }
+}
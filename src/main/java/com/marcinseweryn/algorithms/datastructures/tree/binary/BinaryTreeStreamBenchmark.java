@@ -0,0 +1,115 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryTree;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.System.out;
+
+/**
+ * Measures sequential and parallel reductions over the streams of the binary trees: an {@link AVL} split on
+ * subtrees with exact sizes, a {@link BST} split on subtrees with estimated sizes, and a {@link BinaryTreeArray}
+ * split on index ranges, each compared with the stream of its in-order iterator split into batches. Two
+ * reductions are run: a plain sum, bound by the traversal, and a sum of hashes costly enough per element for
+ * the parallel speed-up to show.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.binary.BinaryTreeStreamBenchmark"
+ * </pre>
+ */
+public class BinaryTreeStreamBenchmark {
+
+    private static final int SIZE = 1 << 21;
+    private static final int ARRAY_SIZE = 50_000;  // BinaryTreeArray checks every element for duplicates on add
+    private static final int ROUNDS = 5;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private BinaryTreeStreamBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        out.printf("%d processors%n", Runtime.getRuntime().availableProcessors());
+        Integer[] elements = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            elements[i] = i;
+        }
+        AVL<Integer> avl = AVL.bulkLoad(elements);
+
+        BST<Integer> bst = new BST<>();
+        long seed = 1;
+        for (int i = 0; i < SIZE; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            bst.add((int) (seed >>> 33));
+        }
+
+        BinaryTreeArray<Integer> array = new BinaryTreeArray<>(ARRAY_SIZE);
+        for (int i = 0; i < ARRAY_SIZE; i++) {
+            array.add(elements[i]);
+        }
+
+        out.printf("%-12s %-20s %12s %12s %12s %12s%n", "tree", "spliterator",
+                "sum seq", "sum par", "hash seq", "hash par");
+        report("AVL", avl);
+        report("BST", bst);
+        report("array", array);
+    }
+
+    /**
+     * Prints the nanoseconds per element of the reductions, with the tree's own spliterator and with the
+     * batches of its in-order iterator.
+     */
+    private static void report(String name, BinaryTree<Integer> tree) {
+        double size = tree.size();
+        Supplier<Spliterator<Integer>> own = tree::spliterator;
+        Supplier<Spliterator<Integer>> batches = () ->
+                Spliterators.spliterator(tree.inOrderIterator(), tree.size(), Spliterator.ORDERED);
+        for (int i = 0; i < 2; i++) {
+            Supplier<Spliterator<Integer>> spliterator = i == 0 ? own : batches;
+            out.printf("%-12s %-20s %12.2f %12.2f %12.2f %12.2f%n", name, i == 0 ? "own" : "iterator batches",
+                    time(() -> stream(spliterator, false).mapToLong(Integer::longValue).sum()) / size,
+                    time(() -> stream(spliterator, true).mapToLong(Integer::longValue).sum()) / size,
+                    time(() -> stream(spliterator, false).mapToLong(BinaryTreeStreamBenchmark::hash).sum()) / size,
+                    time(() -> stream(spliterator, true).mapToLong(BinaryTreeStreamBenchmark::hash).sum()) / size);
+        }
+    }
+
+    private static Stream<Integer> stream(Supplier<Spliterator<Integer>> spliterator, boolean parallel) {
+        return StreamSupport.stream(spliterator.get(), parallel);
+    }
+
+    /**
+     * Runs a reduction several times.
+     *
+     * @return the nanoseconds of the fastest run
+     */
+    private static long time(Supplier<Long> reduction) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink = reduction.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * A few rounds of a 64-bit mixing function, as a stand-in for real work per element.
+     */
+    private static long hash(int element) {
+        long x = element;
+        for (int i = 0; i < 16; i++) {
+            x ^= x >>> 33;
+            x *= 0xff51afd7ed558ccdL;
+            x ^= x >>> 33;
+            x *= 0xc4ceb9fe1a85ec53L;
+        }
+        return x ^ (x >>> 33);
+    }
+}
@@ -0,0 +1,83 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import static java.lang.System.out;
+
+/**
+ * Measures the time and the heap allocated per element by the traversals of {@link BinaryTreeIteratorFactory}:
+ * the stack-based in-order iterator, the Morris iterator and the in-order visitor over an {@link AVL}, and
+ * the four iterators over an array-based tree. The allocation is read from the per-thread counter of the
+ * HotSpot {@link com.sun.management.ThreadMXBean}.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.binary.BinaryTreeTraversalBenchmark"
+ * </pre>
+ */
+public class BinaryTreeTraversalBenchmark {
+
+    private static final int SIZE = 1 << 20;
+    private static final int ROUNDS = 5;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private BinaryTreeTraversalBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        Integer[] elements = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            elements[i] = i;
+        }
+        AVL<Integer> avl = AVL.bulkLoad(elements);
+
+        out.printf("%-24s %12s %14s%n", "traversal", "ns/element", "bytes/element");
+        measure("AVL in-order, stack", () -> sum(avl.inOrderIterator()));
+        measure("AVL in-order, Morris", () -> sum(avl.morrisInOrderIterator()));
+        measure("AVL forEachInOrder", () -> {
+            long[] sum = new long[1];
+            avl.forEachInOrder(element -> {
+                sum[0] += element;
+                return true;
+            });
+            return sum[0];
+        });
+        measure("array level-order", () -> sum(BinaryTreeIteratorFactory.levelOrderIterator(elements)));
+        measure("array in-order", () -> sum(BinaryTreeIteratorFactory.inOrderIterator(elements)));
+        measure("array pre-order", () -> sum(BinaryTreeIteratorFactory.preOrderIterator(elements)));
+        measure("array post-order", () -> sum(BinaryTreeIteratorFactory.postOrderIterator(elements)));
+    }
+
+    private static long sum(Iterator<Integer> iterator) {
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+        return sum;
+    }
+
+    /**
+     * Runs a traversal several times and prints the time and allocation of the best round.
+     */
+    private static void measure(String name, Supplier<Long> traversal) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            long sum = traversal.get();
+            long elapsed = System.nanoTime() - start;
+            bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+            sink = sum;
+            bestNanos = Math.min(bestNanos, elapsed);
+            bestBytes = Math.min(bestBytes, bytes);
+        }
+        out.printf("%-24s %12.1f %14.2f%n", name, (double) bestNanos / SIZE, (double) bestBytes / SIZE);
+    }
+}
@@ -0,0 +1,264 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.util.Iterator;
+
+/**
+ * A static, read-only ordered set built from sorted input and stored in Eytzinger (BFS) order.
+ *
+ * <p>The elements form a complete binary search tree laid out level by level in an array, exactly
+ * like {@link BinaryTreeArray}: the children of the node at index {@code i} are at {@code 2i + 1}
+ * and {@code 2i + 2}. Compared with binary search over a sorted array this has two advantages:
+ * <ul>
+ *   <li>the top levels of the tree, touched by every search, share a few cache lines,</li>
+ *   <li>the children of a node are adjacent and its four grandchildren are contiguous, so the
+ *       memory accessed by the next steps of a search is predictable for the hardware prefetcher.</li>
+ * </ul>
+ * The descent has no data-dependent branch: each step only computes the next index from
+ * the result of one comparison, and the answer is recovered from the final index.
+ *
+ * <p>Internally searches use 1-based indexes {@code k}, with children {@code 2k} and {@code 2k + 1},
+ * mapped to the 0-based array by {@code tree[k - 1]}.
+ *
+ * @param <T> the type of elements stored in the set, which must be comparable
+ */
+public class EytzingerArray<T extends Comparable<T>> implements OrderedBinaryTree<T> {
+
+    private final T[] tree;  // Elements in Eytzinger order
+    private final int[] ranks;  // ranks[i] is the in-order position of tree[i]
+    private int nextRank;  // Next in-order position assigned while building
+
+    /**
+     * Builds the set from elements sorted in strictly ascending order.
+     *
+     * @param sorted the elements, sorted and without duplicates
+     * @throws IllegalArgumentException if the elements are not strictly ascending or contain null
+     */
+    public EytzingerArray(T[] sorted) {
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] == null) {
+                throw new IllegalArgumentException("Elements cannot be null");
+            }
+            if (i > 0 && sorted[i - 1].compareTo(sorted[i]) >= 0) {
+                throw new IllegalArgumentException("Elements must be sorted in strictly ascending order");
+            }
+        }
+
+        this.tree = (T[]) new Comparable[sorted.length];
+        this.ranks = new int[sorted.length];
+        this.build(sorted, 1);
+    }
+
+    /**
+     * Fills the subtree rooted at the 1-based index {@code k} with an in-order walk,
+     * taking the sorted elements one by one.
+     *
+     * @param sorted the sorted elements
+     * @param k      the 1-based index of the subtree root
+     */
+    private void build(T[] sorted, int k) {
+        if (k <= sorted.length) {
+            this.build(sorted, 2 * k);  // Left subtree takes the smaller elements
+            this.tree[k - 1] = sorted[this.nextRank];
+            this.ranks[k - 1] = this.nextRank++;
+            this.build(sorted, 2 * k + 1);  // Right subtree takes the larger elements
+        }
+    }
+
+    /**
+     * Finds the 1-based index of the smallest element greater than or equal to the given one.
+     *
+     * <p>The descent goes right whenever the node is smaller than the element, appending one bit per
+     * level to {@code k}. After falling off the tree, the bits of {@code k} record the path; the last
+     * left turn is the answer, so the trailing one-bits (right turns) plus one bit are shifted out.
+     *
+     * @param element the element to search for
+     * @return the 1-based index of the lower bound, or 0 if every element is smaller
+     */
+    private int lowerBound(T element) {
+        int n = this.tree.length;
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (this.tree[k - 1].compareTo(element) < 0 ? 1 : 0);
+        }
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * Finds the 1-based index of the smallest element strictly greater than the given one.
+     *
+     * @param element the element to search for
+     * @return the 1-based index of the upper bound, or 0 if no element is greater
+     */
+    private int upperBound(T element) {
+        int n = this.tree.length;
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (this.tree[k - 1].compareTo(element) <= 0 ? 1 : 0);
+        }
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * Checks if the set contains the given element.
+     *
+     * @param element the element to check for
+     * @return true if the element is present, false otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        int k = this.lowerBound(element);
+        return k != 0 && this.tree[k - 1].compareTo(element) == 0;
+    }
+
+    /**
+     * Returns the greatest element less than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the floor element, or null if there is none
+     */
+    public T floor(T element) {
+        int k = this.upperBound(element);
+        int rank = (k == 0 ? this.tree.length : this.ranks[k - 1]) - 1;
+        return rank < 0 ? null : this.select(rank);
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the ceiling element, or null if there is none
+     */
+    public T ceiling(T element) {
+        int k = this.lowerBound(element);
+        return k == 0 ? null : this.tree[k - 1];
+    }
+
+    /**
+     * Returns the number of elements strictly less than the given one.
+     *
+     * @param element the element to rank
+     * @return the rank of the element, between 0 and {@link #size()}
+     */
+    public int rank(T element) {
+        int k = this.lowerBound(element);
+        return k == 0 ? this.tree.length : this.ranks[k - 1];
+    }
+
+    /**
+     * Returns the element with the given rank, i.e. the element at that position in sorted order.
+     *
+     * <p>The 1-based index of the node with a given in-order position is found by descending from the
+     * root and comparing the position with the ranks stored in the nodes.
+     *
+     * @param rank the position in sorted order
+     * @return the element at that position
+     * @throws IndexOutOfBoundsException if the rank is out of range
+     */
+    public T select(int rank) {
+        if (rank < 0 || rank >= this.tree.length) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Size: " + this.tree.length);
+        }
+        int k = 1;
+        while (this.ranks[k - 1] != rank) {
+            k = 2 * k + (this.ranks[k - 1] < rank ? 1 : 0);
+        }
+        return this.tree[k - 1];
+    }
+
+    /**
+     * Retrieves the minimum element, the leftmost node of the tree.
+     *
+     * @return the minimum element, or null if the set is empty
+     */
+    @Override
+    public T min() {
+        if (this.isEmpty()) return null;
+        int k = 1;
+        while (2 * k <= this.tree.length) {
+            k = 2 * k;
+        }
+        return this.tree[k - 1];
+    }
+
+    /**
+     * Retrieves the maximum element, the rightmost node of the tree.
+     *
+     * @return the maximum element, or null if the set is empty
+     */
+    @Override
+    public T max() {
+        if (this.isEmpty()) return null;
+        int k = 1;
+        while (2 * k + 1 <= this.tree.length) {
+            k = 2 * k + 1;
+        }
+        return this.tree[k - 1];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.tree.length == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.tree.length;
+    }
+
+    /**
+     * Not supported, the set is static.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean add(T element) {
+        throw new UnsupportedOperationException("EytzingerArray is read-only");
+    }
+
+    /**
+     * Not supported, the set is static.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean remove(T element) {
+        throw new UnsupportedOperationException("EytzingerArray is read-only");
+    }
+
+    /**
+     * Not supported, the set is static.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("EytzingerArray is read-only");
+    }
+
+    @Override
+    public Iterator<T> levelOrderIterator() {
+        return BinaryTreeIteratorFactory.levelOrderIterator(this.tree);
+    }
+
+    /**
+     * Returns an iterator visiting the elements in ascending order.
+     *
+     * @return an iterator for in-order traversal
+     */
+    @Override
+    public Iterator<T> inOrderIterator() {
+        return BinaryTreeIteratorFactory.inOrderIterator(this.tree);
+    }
+
+    @Override
+    public Iterator<T> postOrderIterator() {
+        return BinaryTreeIteratorFactory.postOrderIterator(this.tree);
+    }
+
+    @Override
+    public Iterator<T> preOrderIterator() {
+        return BinaryTreeIteratorFactory.preOrderIterator(this.tree);
+    }
+}
@@ -0,0 +1,132 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.searching.BinarySearch;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.lang.System.out;
+
+/**
+ * Compares lookups in an {@link EytzingerArray} with binary search over the same sorted array,
+ * using {@link BinarySearch} and {@link Arrays#binarySearch(Object[], Object)}, and lookups in an
+ * {@link EytzingerLongArray} with {@link Arrays#binarySearch(long[], long)} over primitive keys.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.binary.EytzingerArrayBenchmark"
+ * </pre>
+ */
+public class EytzingerArrayBenchmark {
+
+    private static final int LOOKUPS = 2_000_000;
+    private static final int ROUNDS = 5;
+    private static final int[] SIZES = {1 << 10, 1 << 16, 1 << 20, 1 << 23};
+
+    private EytzingerArrayBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        out.printf("%12s %16s %16s %16s%n", "size", "BinarySearch", "Arrays.binary", "Eytzinger");
+        for (int size : SIZES) {
+            run(size);
+        }
+
+        out.printf("%n%12s %16s %16s%n", "size", "Arrays.binary", "EytzingerLong");
+        for (int size : SIZES) {
+            runLong(size);
+        }
+    }
+
+    private static void run(int size) {
+        Random random = new Random(size);
+
+        // Allocate the keys in random order and sort them afterwards, like a dictionary loaded from
+        // unsorted data, so that sorted order does not coincide with memory order
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i * 2;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = sorted[i];
+            sorted[i] = sorted[j];
+            sorted[j] = swap;
+        }
+        for (int i = 0; i < size; i++) {
+            sorted[i] = Integer.valueOf(sorted[i] + 0);
+        }
+        Arrays.sort(sorted);
+        EytzingerArray<Integer> eytzinger = new EytzingerArray<>(sorted);
+
+        // Query the stored instances, since BinarySearch compares by reference
+        Integer[] queries = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            queries[i] = sorted[random.nextInt(size)];
+        }
+
+        long binarySearch = Long.MAX_VALUE;
+        long arraysBinarySearch = Long.MAX_VALUE;
+        long eytzingerSearch = Long.MAX_VALUE;
+        int found = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (Integer query : queries) {
+                found += BinarySearch.search(sorted, query) ? 1 : 0;
+            }
+            binarySearch = Math.min(binarySearch, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (Integer query : queries) {
+                found += Arrays.binarySearch(sorted, query) >= 0 ? 1 : 0;
+            }
+            arraysBinarySearch = Math.min(arraysBinarySearch, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (Integer query : queries) {
+                found += eytzinger.contains(query) ? 1 : 0;
+            }
+            eytzingerSearch = Math.min(eytzingerSearch, System.nanoTime() - start);
+        }
+
+        out.printf("%12d %13.1f ns %13.1f ns %13.1f ns   (%d hits)%n", size,
+                (double) binarySearch / LOOKUPS, (double) arraysBinarySearch / LOOKUPS,
+                (double) eytzingerSearch / LOOKUPS, found);
+    }
+
+    private static void runLong(int size) {
+        Random random = new Random(size);
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i * 2L;
+        }
+        EytzingerLongArray eytzinger = new EytzingerLongArray(sorted);
+
+        // Half of the queries miss, falling between two keys
+        long[] queries = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            queries[i] = random.nextInt(2 * size);
+        }
+
+        long arraysBinarySearch = Long.MAX_VALUE;
+        long eytzingerSearch = Long.MAX_VALUE;
+        int found = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (long query : queries) {
+                found += Arrays.binarySearch(sorted, query) >= 0 ? 1 : 0;
+            }
+            arraysBinarySearch = Math.min(arraysBinarySearch, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (long query : queries) {
+                found += eytzinger.contains(query) ? 1 : 0;
+            }
+            eytzingerSearch = Math.min(eytzingerSearch, System.nanoTime() - start);
+        }
+
+        out.printf("%12d %13.1f ns %13.1f ns   (%d hits)%n", size,
+                (double) arraysBinarySearch / LOOKUPS, (double) eytzingerSearch / LOOKUPS, found);
+    }
+}
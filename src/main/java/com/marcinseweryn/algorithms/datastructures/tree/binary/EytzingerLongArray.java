@@ -0,0 +1,168 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A static, read-only ordered set of primitive {@code long} keys stored in Eytzinger (BFS) order.
+ *
+ * <p>This is the unboxed counterpart of {@link EytzingerArray}: the keys are kept in a {@code long[]},
+ * so every step of a search reads the array only and eight nodes share a cache line. The bottom levels
+ * of a large tree no longer fit in the cache, so each step also issues a load of the node four levels
+ * below the current one. Java exposes no prefetch instruction, but that load does not feed the
+ * comparison, which lets the CPU fetch the cache line in parallel with the remaining steps: the 16
+ * descendants four levels down are contiguous, so one of the two lines they span is warm by the time
+ * the search reaches them.
+ */
+public class EytzingerLongArray {
+
+    private static final int PREFETCH_STRIDE = 16;  // 2^4, the first node four levels below
+
+    private static volatile long prefetchSink;  // Keeps the prefetching loads from being eliminated
+
+    private final long[] tree;  // Keys in Eytzinger order
+    private final int[] ranks;  // ranks[i] is the in-order position of tree[i]
+    private int nextRank;  // Next in-order position assigned while building
+
+    /**
+     * Builds the set from keys sorted in strictly ascending order.
+     *
+     * @param sorted the keys, sorted and without duplicates
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     */
+    public EytzingerLongArray(long[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] >= sorted[i]) {
+                throw new IllegalArgumentException("Keys must be sorted in strictly ascending order");
+            }
+        }
+
+        this.tree = new long[sorted.length];
+        this.ranks = new int[sorted.length];
+        this.build(sorted, 1);
+    }
+
+    private void build(long[] sorted, int k) {
+        if (k <= sorted.length) {
+            this.build(sorted, 2 * k);
+            this.tree[k - 1] = sorted[this.nextRank];
+            this.ranks[k - 1] = this.nextRank++;
+            this.build(sorted, 2 * k + 1);
+        }
+    }
+
+    /**
+     * Finds the 1-based index of the smallest key greater than or equal to the given one,
+     * or strictly greater when {@code strict} is set.
+     *
+     * @param key    the key to search for
+     * @param strict whether equal keys are skipped
+     * @return the 1-based index of the bound, or 0 if there is none
+     */
+    private int bound(long key, boolean strict) {
+        long[] tree = this.tree;
+        int n = tree.length;
+        int k = 1;
+        long touched = 0;
+        int lastAhead = n / PREFETCH_STRIDE;  // Compared before multiplying, as PREFETCH_STRIDE * k overflows past 2^27
+        while (k <= n) {
+            if (k <= lastAhead) {
+                touched ^= tree[PREFETCH_STRIDE * k - 1];
+            }
+            long node = tree[k - 1];
+            k = 2 * k + (node < key || (strict && node == key) ? 1 : 0);
+        }
+        if (touched == Long.MIN_VALUE) {
+            prefetchSink = touched;  // Practically never written, only makes the loads observable
+        }
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * Checks if the set contains the given key.
+     *
+     * @param key the key to check for
+     * @return true if the key is present, false otherwise
+     */
+    public boolean contains(long key) {
+        int k = this.bound(key, false);
+        return k != 0 && this.tree[k - 1] == key;
+    }
+
+    /**
+     * Returns the greatest key less than or equal to the given one.
+     *
+     * @param key the key to search for
+     * @return the floor key
+     * @throws NoSuchElementException if every key is greater
+     */
+    public long floor(long key) {
+        int k = this.bound(key, true);
+        int rank = (k == 0 ? this.tree.length : this.ranks[k - 1]) - 1;
+        if (rank < 0) {
+            throw new NoSuchElementException("No key less than or equal to " + key);
+        }
+        return this.select(rank);
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given one.
+     *
+     * @param key the key to search for
+     * @return the ceiling key
+     * @throws NoSuchElementException if every key is smaller
+     */
+    public long ceiling(long key) {
+        int k = this.bound(key, false);
+        if (k == 0) {
+            throw new NoSuchElementException("No key greater than or equal to " + key);
+        }
+        return this.tree[k - 1];
+    }
+
+    /**
+     * Returns the number of keys strictly less than the given one.
+     *
+     * @param key the key to rank
+     * @return the rank of the key, between 0 and {@link #size()}
+     */
+    public int rank(long key) {
+        int k = this.bound(key, false);
+        return k == 0 ? this.tree.length : this.ranks[k - 1];
+    }
+
+    /**
+     * Returns the key at the given position in sorted order.
+     *
+     * @param rank the position in sorted order
+     * @return the key at that position
+     * @throws IndexOutOfBoundsException if the rank is out of range
+     */
+    public long select(int rank) {
+        if (rank < 0 || rank >= this.tree.length) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Size: " + this.tree.length);
+        }
+        int k = 1;
+        while (this.ranks[k - 1] != rank) {
+            k = 2 * k + (this.ranks[k - 1] < rank ? 1 : 0);
+        }
+        return this.tree[k - 1];
+    }
+
+    /**
+     * Returns the number of keys in the set.
+     *
+     * @return the size of the set
+     */
+    public int size() {
+        return this.tree.length;
+    }
+
+    /**
+     * Returns true if the set contains no keys.
+     *
+     * @return true if the set is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return this.tree.length == 0;
+    }
+}
@@ -0,0 +1,68 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
+
+/**
+ * Floor, lower, ceiling and higher searches shared by the binary search trees built on {@link BinaryNode}.
+ * Each search follows a single root-to-leaf path, remembering the closest qualifying element seen.
+ */
+final class NavigableSearch {
+
+    private NavigableSearch() {
+        // No instantiate
+    }
+
+    /**
+     * Finds the greatest element below the bound along a single root-to-leaf path.
+     *
+     * @param root      the root of the binary search tree
+     * @param element   the bound
+     * @param inclusive whether an element equal to the bound qualifies
+     * @param <T>       the type of elements
+     * @return the greatest element below the bound, or {@code null} if there is none
+     */
+    static <T extends Comparable<T>> T below(BinaryNode<T> root, T element, boolean inclusive) {
+        T candidate = null;
+        BinaryNode<T> node = root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison == 0 && inclusive) {
+                return node.element;
+            } else if (comparison > 0) {
+                // The node qualifies, a closer element can only be in its right subtree
+                candidate = node.element;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Finds the smallest element above the bound along a single root-to-leaf path.
+     *
+     * @param root      the root of the binary search tree
+     * @param element   the bound
+     * @param inclusive whether an element equal to the bound qualifies
+     * @param <T>       the type of elements
+     * @return the smallest element above the bound, or {@code null} if there is none
+     */
+    static <T extends Comparable<T>> T above(BinaryNode<T> root, T element, boolean inclusive) {
+        T candidate = null;
+        BinaryNode<T> node = root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison == 0 && inclusive) {
+                return node.element;
+            } else if (comparison < 0) {
+                // The node qualifies, a closer element can only be in its left subtree
+                candidate = node.element;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,368 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * Persistent (immutable) AVL tree.
+ *
+ * <p>Every version of the tree is immutable: {@link #add(Comparable)} and {@link #remove(Comparable)} return
+ * a new version and leave the receiver unchanged. Only the O(log n) nodes on the path from the root to the
+ * changed position are copied, and every other subtree is shared between the old and the new version, so
+ * keeping a version around (a snapshot) costs O(1). Versions that are no longer referenced are reclaimed
+ * by the garbage collector, together with the nodes no other version shares.
+ *
+ * <p>Nodes are never modified after they are created, so any number of threads may read a version without
+ * locking. {@link VersionedAVL} holds the latest version for concurrent writers.
+ *
+ * @param <T> the type of elements maintained by this tree, which must be comparable
+ */
+public final class PersistentAVL<T extends Comparable<T>> {
+
+    private static final PersistentAVL<?> EMPTY = new PersistentAVL<>(null);
+
+    private final BinaryNode<T> root;
+
+    private PersistentAVL(BinaryNode<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty tree.
+     *
+     * @param <T> the type of elements
+     * @return the empty tree
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<T>> PersistentAVL<T> empty() {
+        return (PersistentAVL<T>) EMPTY;
+    }
+
+    /**
+     * Checks if the tree is empty.
+     *
+     * @return {@code true} if the tree is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return this.root == null;
+    }
+
+    /**
+     * Returns the number of elements in the tree.
+     *
+     * @return the size of the tree
+     */
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * Returns a version of the tree containing the element.
+     *
+     * @param element the element to add
+     * @return the new version, or this version if the element is already present
+     * @throws IllegalArgumentException if the element is null
+     */
+    public PersistentAVL<T> add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        BinaryNode<T> newRoot = add(this.root, element);
+        return newRoot == this.root ? this : new PersistentAVL<>(newRoot);
+    }
+
+    /**
+     * Copies the path to the insertion point, rebalancing the copies on the way back up.
+     *
+     * @return the new subtree, or the same node if the element is already present
+     */
+    private static <T extends Comparable<T>> BinaryNode<T> add(BinaryNode<T> node, T element) {
+        if (node == null) {
+            return node(element, null, null);
+        }
+        int comparison = element.compareTo(node.element);
+        if (comparison < 0) {
+            BinaryNode<T> left = add(node.left, element);
+            return left == node.left ? node : balance(node.element, left, node.right);
+        } else if (comparison > 0) {
+            BinaryNode<T> right = add(node.right, element);
+            return right == node.right ? node : balance(node.element, node.left, right);
+        }
+        return node;  // Already present, share the whole tree
+    }
+
+    /**
+     * Returns a version of the tree without the element.
+     *
+     * @param element the element to remove
+     * @return the new version, or this version if the element is absent
+     */
+    public PersistentAVL<T> remove(T element) {
+        if (element == null) {
+            return this;
+        }
+        BinaryNode<T> newRoot = remove(this.root, element);
+        return newRoot == this.root ? this : new PersistentAVL<>(newRoot);
+    }
+
+    /**
+     * Copies the path to the removed node, rebalancing the copies on the way back up.
+     *
+     * @return the new subtree, or the same node if the element is absent
+     */
+    private static <T extends Comparable<T>> BinaryNode<T> remove(BinaryNode<T> node, T element) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = element.compareTo(node.element);
+        if (comparison < 0) {
+            BinaryNode<T> left = remove(node.left, element);
+            return left == node.left ? node : balance(node.element, left, node.right);
+        } else if (comparison > 0) {
+            BinaryNode<T> right = remove(node.right, element);
+            return right == node.right ? node : balance(node.element, node.left, right);
+        }
+
+        // Found the node to remove
+        if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        // Two children: the successor takes the place of the node
+        BinaryNode<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.element, node.left, removeMin(node.right));
+    }
+
+    private static <T extends Comparable<T>> BinaryNode<T> removeMin(BinaryNode<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.element, removeMin(node.left), node.right);
+    }
+
+    /**
+     * Checks if the tree contains the element.
+     *
+     * @param element the element to check for
+     * @return {@code true} if the element is found, {@code false} otherwise
+     */
+    public boolean contains(T element) {
+        BinaryNode<T> node = this.root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison == 0) {
+                return true;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the minimum element.
+     *
+     * @return the minimum element, or {@code null} if the tree is empty
+     */
+    public T min() {
+        BinaryNode<T> node = this.root;
+        if (node == null) return null;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.element;
+    }
+
+    /**
+     * Retrieves the maximum element.
+     *
+     * @return the maximum element, or {@code null} if the tree is empty
+     */
+    public T max() {
+        BinaryNode<T> node = this.root;
+        if (node == null) return null;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.element;
+    }
+
+    /**
+     * Returns the greatest element less than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the floor element, or {@code null} if there is none
+     */
+    public T floor(T element) {
+        T candidate = null;
+        BinaryNode<T> node = this.root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison == 0) {
+                return node.element;
+            } else if (comparison > 0) {
+                candidate = node.element;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the ceiling element, or {@code null} if there is none
+     */
+    public T ceiling(T element) {
+        T candidate = null;
+        BinaryNode<T> node = this.root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison == 0) {
+                return node.element;
+            } else if (comparison < 0) {
+                candidate = node.element;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Returns the number of elements strictly less than the given one.
+     *
+     * @param element the element to rank
+     * @return the rank of the element, between 0 and {@link #size()}
+     */
+    public int rank(T element) {
+        int count = 0;
+        BinaryNode<T> node = this.root;
+        while (node != null) {
+            if (element.compareTo(node.element) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns an iterator that performs an in-order traversal of this version.
+     *
+     * @return an iterator for in-order traversal
+     */
+    public Iterator<T> inOrderIterator() {
+        return BinaryTreeIteratorFactory.inOrderIterator(this.root);
+    }
+
+    /**
+     * Returns an iterator that performs a level-order traversal of this version.
+     *
+     * @return an iterator for level-order traversal
+     */
+    public Iterator<T> levelOrderIterator() {
+        return BinaryTreeIteratorFactory.levelOrderIterator(this.root);
+    }
+
+    /**
+     * Returns an iterator that performs a pre-order traversal of this version.
+     *
+     * @return an iterator for pre-order traversal
+     */
+    public Iterator<T> preOrderIterator() {
+        return BinaryTreeIteratorFactory.preOrderIterator(this.root);
+    }
+
+    /**
+     * Returns an iterator that performs a post-order traversal of this version.
+     *
+     * @return an iterator for post-order traversal
+     */
+    public Iterator<T> postOrderIterator() {
+        return BinaryTreeIteratorFactory.postOrderIterator(this.root);
+    }
+
+    /**
+     * Returns an iterator over the elements of this version in the range {@code [low, high)}, in ascending order.
+     *
+     * @param low  the lower bound, inclusive, or {@code null} for no bound
+     * @param high the upper bound, exclusive, or {@code null} for no bound
+     * @return an iterator over the range
+     */
+    public Iterator<T> subIterator(T low, T high) {
+        return BinaryTreeIteratorFactory.subIterator(this.root, low, high);
+    }
+
+    /**
+     * Returns the height of the tree, for tests.
+     */
+    int height() {
+        return height(this.root);
+    }
+
+    /**
+     * Creates a node over two balanced subtrees whose heights differ by at most two, rotating if needed.
+     * Rotations allocate new nodes instead of relinking, as the subtrees may be shared with other versions.
+     */
+    private static <T> BinaryNode<T> balance(T element, BinaryNode<T> left, BinaryNode<T> right) {
+        int balance = height(left) - height(right);
+        if (balance > 1) {
+            if (height(left.left) >= height(left.right)) {
+                // Left Left Case
+                return node(left.element, left.left, node(element, left.right, right));
+            }
+            // Left Right Case
+            return node(left.right.element, node(left.element, left.left, left.right.left),
+                    node(element, left.right.right, right));
+        } else if (balance < -1) {
+            if (height(right.right) >= height(right.left)) {
+                // Right Right Case
+                return node(right.element, node(element, left, right.left), right.right);
+            }
+            // Right Left Case
+            return node(right.left.element, node(element, left, right.left.left),
+                    node(right.element, right.left.right, right.right));
+        }
+        return node(element, left, right);
+    }
+
+    private static <T> BinaryNode<T> node(T element, BinaryNode<T> left, BinaryNode<T> right) {
+        BinaryNode<T> node = new BinaryNode<>(element);
+        node.left = left;
+        node.right = right;
+        node.height = 1 + Math.max(height(left), height(right));
+        node.size = 1 + size(left) + size(right);
+        return node;
+    }
+
+    private static int height(BinaryNode<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(BinaryNode<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Returns a spliterator over the elements of this version in ascending order, splitting on subtrees.
+     * A version never changes, so the spliterator is immutable and may run while the tree is updated.
+     *
+     * @return a spliterator for in-order traversal
+     */
+    public Spliterator<T> spliterator() {
+        return BinaryTreeIteratorFactory.inOrderSpliterator(this.root, this.size(), Spliterator.SORTED
+                | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.SUBSIZED | Spliterator.IMMUTABLE);
+    }
+}
@@ -0,0 +1,231 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.lang.System.out;
+
+/**
+ * Measures point-in-time reads of an ordered index under concurrent writes.
+ *
+ * <p>One writer thread keeps adding and removing random elements while reader threads repeatedly take
+ * a consistent view of the index and run a batch of lookups and a short range scan on it. Three ways
+ * of getting a consistent view are compared:
+ * <ul>
+ *     <li>copying an {@link AVL} under a lock, then reading the copy;</li>
+ *     <li>reading an {@link AVL} while holding the read lock of a read-write lock;</li>
+ *     <li>taking a {@link VersionedAVL#snapshot()} and reading it without any lock.</li>
+ * </ul>
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.binary.PersistentAVLBenchmark"
+ * </pre>
+ */
+public class PersistentAVLBenchmark {
+
+    private static final int SIZE = 1 << 18;
+    private static final int KEY_RANGE = 2 * SIZE;
+    private static final int LOOKUPS = 64;  // Lookups per consistent view
+    private static final int RANGE_LENGTH = 100;
+    private static final long DURATION_MILLIS = 3000;
+
+    private static volatile long sink;  // Keeps the reads from being optimized away
+
+    private PersistentAVLBenchmark() {
+        // No instantiate
+    }
+
+    /**
+     * A way of giving readers a consistent view of the index.
+     */
+    private interface Index {
+
+        void add(int element);
+
+        void remove(int element);
+
+        /**
+         * Runs the lookups and the range scan of one batch on a consistent view.
+         *
+         * @return a checksum of the results, to keep the work from being optimized away
+         */
+        long readBatch(SplittableRandom random);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+        out.printf("%d elements, 1 writer, %d readers, %d lookups and a %d-element scan per view%n",
+                SIZE, readers, LOOKUPS, RANGE_LENGTH);
+        out.printf("%-22s %16s %16s%n", "strategy", "views/s", "writes/s");
+
+        run("AVL copy under lock", new CopyingIndex(), readers);
+        run("AVL read-write lock", new LockedIndex(), readers);
+        run("persistent snapshot", new SnapshotIndex(), readers);
+    }
+
+    private static void run(String name, Index index, int readers) throws InterruptedException {
+        SplittableRandom seed = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            index.add(seed.nextInt(KEY_RANGE));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder views = new LongAdder();
+        LongAdder writes = new LongAdder();
+        LongAdder checksum = new LongAdder();
+        CountDownLatch done = new CountDownLatch(readers + 1);
+
+        SplittableRandom writerRandom = seed.split();
+        new Thread(() -> {
+            while (running.get()) {
+                int element = writerRandom.nextInt(KEY_RANGE);
+                if (writerRandom.nextBoolean()) {
+                    index.add(element);
+                } else {
+                    index.remove(element);
+                }
+                writes.increment();
+            }
+            done.countDown();
+        }).start();
+        for (int i = 0; i < readers; i++) {
+            SplittableRandom random = seed.split();
+            new Thread(() -> {
+                while (running.get()) {
+                    checksum.add(index.readBatch(random));
+                    views.increment();
+                }
+                done.countDown();
+            }).start();
+        }
+
+        Thread.sleep(DURATION_MILLIS);
+        running.set(false);
+        done.await();
+        double seconds = DURATION_MILLIS / 1000.0;
+        out.printf("%-22s %16.0f %16.0f%n", name, views.sum() / seconds, writes.sum() / seconds);
+        sink = checksum.sum();
+    }
+
+    private static long read(AVL<Integer> tree, SplittableRandom random) {
+        long checksum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            checksum += tree.contains(random.nextInt(KEY_RANGE)) ? 1 : 0;
+        }
+        checksum += scan(tree.subIterator(random.nextInt(KEY_RANGE), null));
+        return checksum;
+    }
+
+    private static long scan(Iterator<Integer> iterator) {
+        long sum = 0;
+        for (int i = 0; i < RANGE_LENGTH && iterator.hasNext(); i++) {
+            sum += iterator.next();
+        }
+        return sum;
+    }
+
+    /**
+     * Today's approach: readers copy the whole tree under the lock and read the copy.
+     */
+    private static final class CopyingIndex implements Index {
+
+        private final AVL<Integer> tree = new AVL<>();
+
+        @Override
+        public synchronized void add(int element) {
+            this.tree.add(element);
+        }
+
+        @Override
+        public synchronized void remove(int element) {
+            this.tree.remove(element);
+        }
+
+        @Override
+        public long readBatch(SplittableRandom random) {
+            AVL<Integer> copy = new AVL<>();
+            synchronized (this) {
+                // Level order re-inserts the elements without triggering rotations
+                Iterator<Integer> iterator = this.tree.levelOrderIterator();
+                while (iterator.hasNext()) {
+                    copy.add(iterator.next());
+                }
+            }
+            return read(copy, random);
+        }
+    }
+
+    /**
+     * Readers hold the read lock for the whole batch, blocking the writer meanwhile.
+     */
+    private static final class LockedIndex implements Index {
+
+        private final AVL<Integer> tree = new AVL<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        @Override
+        public void add(int element) {
+            this.lock.writeLock().lock();
+            try {
+                this.tree.add(element);
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public void remove(int element) {
+            this.lock.writeLock().lock();
+            try {
+                this.tree.remove(element);
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public long readBatch(SplittableRandom random) {
+            this.lock.readLock().lock();
+            try {
+                return read(this.tree, random);
+            } finally {
+                this.lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Readers take an O(1) snapshot and read it without locking.
+     */
+    private static final class SnapshotIndex implements Index {
+
+        private final VersionedAVL<Integer> tree = new VersionedAVL<>();
+
+        @Override
+        public void add(int element) {
+            this.tree.add(element);
+        }
+
+        @Override
+        public void remove(int element) {
+            this.tree.remove(element);
+        }
+
+        @Override
+        public long readBatch(SplittableRandom random) {
+            PersistentAVL<Integer> snapshot = this.tree.snapshot();
+            long checksum = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                checksum += snapshot.contains(random.nextInt(KEY_RANGE)) ? 1 : 0;
+            }
+            checksum += scan(snapshot.subIterator(random.nextInt(KEY_RANGE), null));
+            return checksum;
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * Red-black tree implementation.
+ * A red-black tree is a self-balancing binary search tree whose nodes are colored red or black so that
+ * no red node has a red child and every path from a node down to a missing child passes through the same
+ * number of black nodes. The longest path is therefore at most twice the shortest, a looser balance than
+ * the AVL tree's: an insertion needs at most two rotations and a removal at most three, most fixes being
+ * recolorings only, which makes it cheaper on write-heavy workloads at the price of slightly deeper searches.
+ *
+ * @param <T> the type of elements maintained by this red-black tree, which must be comparable
+ */
+public class RedBlackTree<T extends Comparable<T>> implements OrderedBinaryTree<T> {
+
+    private Node<T> root;
+    private int size;
+
+    /**
+     * Node with the color and the parent link the rebalancing walks up through.
+     */
+    private static final class Node<T> extends BinaryNode<T> {
+        Node<T> parent;
+        boolean red = true;  // New nodes are red, which keeps the black heights unchanged
+
+        Node(T element, Node<T> parent) {
+            super(element);
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Retrieves the minimum element in the tree.
+     *
+     * @return the minimum element, or {@code null} if the tree is empty
+     */
+    @Override
+    public T min() {
+        return this.root == null ? null : min(this.root).element;
+    }
+
+    /**
+     * Retrieves the maximum element in the tree.
+     *
+     * @return the maximum element, or {@code null} if the tree is empty
+     */
+    @Override
+    public T max() {
+        if (this.root == null) return null;
+        BinaryNode<T> node = this.root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.element;
+    }
+
+    private static <T> Node<T> min(Node<T> node) {
+        while (node.left != null) {
+            node = left(node);
+        }
+        return node;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an element to the tree.
+     *
+     * @param element the element to add
+     * @return {@code true} if the element was added successfully, {@code false} if the element already exists
+     */
+    @Override
+    public boolean add(T element) {
+        // Walk down to the insertion point
+        Node<T> parent = null;
+        BinaryNode<T> current = this.root;
+        int comparison = 0;
+        while (current != null) {
+            parent = (Node<T>) current;
+            comparison = element.compareTo(current.element);
+            if (comparison == 0) {
+                return false;
+            }
+            current = comparison < 0 ? current.left : current.right;
+        }
+
+        Node<T> node = new Node<>(element, parent);
+        if (parent == null) {
+            this.root = node;
+        } else if (comparison < 0) {
+            parent.left = node;
+        } else {
+            parent.right = node;
+        }
+        this.size++;
+        this.fixAfterInsert(node);
+        return true;
+    }
+
+    /**
+     * Restores the red rule after inserting a red node, walking up while its parent is red.
+     *
+     * @param node the inserted node
+     */
+    private void fixAfterInsert(Node<T> node) {
+        while (node != this.root && isRed(node.parent)) {
+            Node<T> parent = node.parent;
+            Node<T> grandparent = parent.parent;  // Exists, as a red parent is not the root
+            if (parent == grandparent.left) {
+                Node<T> uncle = right(grandparent);
+                if (isRed(uncle)) {
+                    // Red uncle: push the blackness of the grandparent down and continue above it
+                    parent.red = false;
+                    uncle.red = false;
+                    grandparent.red = true;
+                    node = grandparent;
+                } else {
+                    if (node == parent.right) {
+                        // Left Right Case, reduced to the Left Left Case
+                        node = parent;
+                        this.rotateLeft(node);
+                        parent = node.parent;
+                    }
+                    // Left Left Case
+                    parent.red = false;
+                    grandparent.red = true;
+                    this.rotateRight(grandparent);
+                }
+            } else {
+                Node<T> uncle = left(grandparent);
+                if (isRed(uncle)) {
+                    parent.red = false;
+                    uncle.red = false;
+                    grandparent.red = true;
+                    node = grandparent;
+                } else {
+                    if (node == parent.left) {
+                        // Right Left Case, reduced to the Right Right Case
+                        node = parent;
+                        this.rotateRight(node);
+                        parent = node.parent;
+                    }
+                    // Right Right Case
+                    parent.red = false;
+                    grandparent.red = true;
+                    this.rotateLeft(grandparent);
+                }
+            }
+        }
+        this.root.red = false;
+    }
+
+    /**
+     * Removes an element from the tree.
+     *
+     * @param element the element to remove
+     * @return {@code true} if the element was removed successfully, {@code false} if the element was not found
+     */
+    @Override
+    public boolean remove(T element) {
+        Node<T> node = this.find(element);
+        if (node == null) {
+            return false;
+        }
+        this.size--;
+
+        // A node with two children takes the element of its successor, which is removed instead
+        if (node.left != null && node.right != null) {
+            Node<T> successor = min(right(node));
+            node.element = successor.element;
+            node = successor;
+        }
+
+        Node<T> child = node.left != null ? left(node) : right(node);
+        if (child != null) {
+            // Splice the node out, then repair the black height of its path
+            child.parent = node.parent;
+            this.replace(node, child);
+            if (!node.red) {
+                this.fixAfterRemove(child);
+            }
+        } else if (node.parent == null) {
+            this.root = null;
+        } else {
+            // A leaf repairs the black height while still linked, standing in for its missing child
+            if (!node.red) {
+                this.fixAfterRemove(node);
+            }
+            this.replace(node, null);
+        }
+        return true;
+    }
+
+    /**
+     * Restores the black heights after removing a black node from the path of a node,
+     * treating the node as carrying an extra black.
+     *
+     * @param node the node that took the place of the removed one
+     */
+    private void fixAfterRemove(Node<T> node) {
+        while (node != this.root && !isRed(node)) {
+            Node<T> parent = node.parent;
+            if (node == parent.left) {
+                Node<T> sibling = right(parent);  // Exists, as the sibling's path has a black node more
+                if (isRed(sibling)) {
+                    sibling.red = false;
+                    parent.red = true;
+                    this.rotateLeft(parent);
+                    sibling = right(parent);
+                }
+                if (!isRed(left(sibling)) && !isRed(right(sibling))) {
+                    // Move the extra black up to the parent
+                    sibling.red = true;
+                    node = parent;
+                } else {
+                    if (!isRed(right(sibling))) {
+                        left(sibling).red = false;
+                        sibling.red = true;
+                        this.rotateRight(sibling);
+                        sibling = right(parent);
+                    }
+                    sibling.red = parent.red;
+                    parent.red = false;
+                    right(sibling).red = false;
+                    this.rotateLeft(parent);
+                    node = this.root;
+                }
+            } else {
+                Node<T> sibling = left(parent);
+                if (isRed(sibling)) {
+                    sibling.red = false;
+                    parent.red = true;
+                    this.rotateRight(parent);
+                    sibling = left(parent);
+                }
+                if (!isRed(left(sibling)) && !isRed(right(sibling))) {
+                    sibling.red = true;
+                    node = parent;
+                } else {
+                    if (!isRed(left(sibling))) {
+                        right(sibling).red = false;
+                        sibling.red = true;
+                        this.rotateLeft(sibling);
+                        sibling = left(parent);
+                    }
+                    sibling.red = parent.red;
+                    parent.red = false;
+                    left(sibling).red = false;
+                    this.rotateRight(parent);
+                    node = this.root;
+                }
+            }
+        }
+        node.red = false;
+    }
+
+    /**
+     * Performs a left rotation around a node, keeping the parent links consistent.
+     *
+     * @param node the node to rotate down
+     */
+    private void rotateLeft(Node<T> node) {
+        Node<T> newRoot = right(node);
+        node.right = newRoot.left;
+        if (newRoot.left != null) {
+            left(newRoot).parent = node;
+        }
+        newRoot.parent = node.parent;
+        this.replace(node, newRoot);
+        newRoot.left = node;
+        node.parent = newRoot;
+    }
+
+    /**
+     * Performs a right rotation around a node, keeping the parent links consistent.
+     *
+     * @param node the node to rotate down
+     */
+    private void rotateRight(Node<T> node) {
+        Node<T> newRoot = left(node);
+        node.left = newRoot.right;
+        if (newRoot.right != null) {
+            right(newRoot).parent = node;
+        }
+        newRoot.parent = node.parent;
+        this.replace(node, newRoot);
+        newRoot.right = node;
+        node.parent = newRoot;
+    }
+
+    /**
+     * Points the parent of a node, or the root, to another node.
+     */
+    private void replace(Node<T> node, Node<T> replacement) {
+        if (node.parent == null) {
+            this.root = replacement;
+        } else if (node == node.parent.left) {
+            node.parent.left = replacement;
+        } else {
+            node.parent.right = replacement;
+        }
+    }
+
+    private Node<T> find(T element) {
+        BinaryNode<T> node = this.root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison == 0) {
+                return (Node<T>) node;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static boolean isRed(Node<?> node) {
+        return node != null && node.red;
+    }
+
+    private static <T> Node<T> left(BinaryNode<T> node) {
+        return (Node<T>) node.left;
+    }
+
+    private static <T> Node<T> right(BinaryNode<T> node) {
+        return (Node<T>) node.right;
+    }
+
+    /**
+     * Checks if the tree contains a given element.
+     *
+     * @param element the element to check for
+     * @return {@code true} if the element is found, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        return this.find(element) != null;
+    }
+
+    /**
+     * Returns the number of nodes on the longest path from the root, for tests.
+     */
+    int height() {
+        return height(this.root);
+    }
+
+    private static int height(BinaryNode<?> node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    /**
+     * Checks the red-black invariants, for tests.
+     *
+     * @return the black height of the tree
+     * @throws IllegalStateException if an invariant is violated
+     */
+    int checkInvariants() {
+        if (isRed(this.root)) {
+            throw new IllegalStateException("Red root");
+        }
+        return blackHeight(this.root);
+    }
+
+    private static <T> int blackHeight(Node<T> node) {
+        if (node == null) {
+            return 1;
+        }
+        if (node.red && (isRed(left(node)) || isRed(right(node)))) {
+            throw new IllegalStateException("Red node " + node.element + " has a red child");
+        }
+        if (node.left != null && left(node).parent != node || node.right != null && right(node).parent != node) {
+            throw new IllegalStateException("Broken parent link below " + node.element);
+        }
+        int left = blackHeight(left(node));
+        if (left != blackHeight(right(node))) {
+            throw new IllegalStateException("Unequal black heights below " + node.element);
+        }
+        return left + (node.red ? 0 : 1);
+    }
+
+    /**
+     * Clears the tree, removing all elements.
+     */
+    @Override
+    public void clear() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    @Override
+    public Iterator<T> levelOrderIterator() {
+        return BinaryTreeIteratorFactory.levelOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> inOrderIterator() {
+        return BinaryTreeIteratorFactory.inOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> postOrderIterator() {
+        return BinaryTreeIteratorFactory.postOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> preOrderIterator() {
+        return BinaryTreeIteratorFactory.preOrderIterator(this.root);
+    }
+
+    /**
+     * Returns a spliterator over the elements of the red-black tree in ascending order, splitting on subtrees.
+     *
+     * @return a spliterator for in-order traversal
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return BinaryTreeIteratorFactory.inOrderSpliterator(this.root, this.size, Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+}
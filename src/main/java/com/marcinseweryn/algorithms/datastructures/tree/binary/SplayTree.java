@@ -0,0 +1,299 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * Splay tree implementation.
+ * A splay tree is a self-adjusting binary search tree: every access moves the accessed element to the root
+ * through a sequence of rotations (a splay), which also roughly halves the depth of the nodes on the path.
+ * It keeps no balance information, and its operations take O(log n) amortized time; on skewed access
+ * patterns the frequently accessed elements stay near the root, so they cost far less than O(log n).
+ *
+ * <p>The splay is done top-down (Sleator and Tarjan): a single pass from the root splits the tree into
+ * a left tree of smaller elements and a right tree of greater elements and reassembles them under the
+ * accessed node, without recursion or parent links.
+ *
+ * <p>Because every splay rewrites the links on the access path, lookups are writes too. With a splay
+ * interval {@code k > 1}, only every k-th lookup splays and the others search without restructuring,
+ * which trades some adaptivity for fewer memory writes. Insertions and removals always splay.
+ *
+ * @param <T> the type of elements maintained by this splay tree, which must be comparable
+ */
+public class SplayTree<T extends Comparable<T>> implements OrderedBinaryTree<T> {
+
+    private final int splayInterval;
+    private final BinaryNode<T> header = new BinaryNode<>(null);  // Holds the left and right trees of a splay
+    private BinaryNode<T> root;
+    private int size;
+    private long lookups;
+
+    /**
+     * Creates an empty splay tree that splays on every access.
+     */
+    public SplayTree() {
+        this(1);
+    }
+
+    /**
+     * Creates an empty splay tree whose lookups splay only on every k-th call.
+     *
+     * @param splayInterval the number of lookups per splay, at least 1
+     * @throws IllegalArgumentException if the interval is smaller than 1
+     */
+    public SplayTree(int splayInterval) {
+        if (splayInterval < 1) {
+            throw new IllegalArgumentException("Splay interval must be at least 1");
+        }
+        this.splayInterval = splayInterval;
+    }
+
+    /**
+     * Retrieves the minimum element in the tree, without splaying.
+     *
+     * @return the minimum element, or {@code null} if the tree is empty
+     */
+    @Override
+    public T min() {
+        if (this.root == null) return null;
+        BinaryNode<T> node = this.root;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.element;
+    }
+
+    /**
+     * Retrieves the maximum element in the tree, without splaying.
+     *
+     * @return the maximum element, or {@code null} if the tree is empty
+     */
+    @Override
+    public T max() {
+        if (this.root == null) return null;
+        BinaryNode<T> node = this.root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.element;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an element to the tree. The new element becomes the root.
+     *
+     * @param element the element to add
+     * @return {@code true} if the element was added successfully, {@code false} if the element already exists
+     */
+    @Override
+    public boolean add(T element) {
+        BinaryNode<T> node = new BinaryNode<>(element);
+        if (this.root == null) {
+            this.root = node;
+            this.size++;
+            return true;
+        }
+
+        // The splay brings the element, or its neighbour in sorted order, to the root
+        this.root = this.splay(this.root, element);
+        int comparison = element.compareTo(this.root.element);
+        if (comparison == 0) {
+            return false;
+        }
+        // Split the tree around the new node
+        if (comparison < 0) {
+            node.left = this.root.left;
+            node.right = this.root;
+            this.root.left = null;
+        } else {
+            node.right = this.root.right;
+            node.left = this.root;
+            this.root.right = null;
+        }
+        this.root = node;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Removes an element from the tree.
+     *
+     * @param element the element to remove
+     * @return {@code true} if the element was removed successfully, {@code false} if the element was not found
+     */
+    @Override
+    public boolean remove(T element) {
+        if (this.root == null) {
+            return false;
+        }
+        this.root = this.splay(this.root, element);
+        if (element.compareTo(this.root.element) != 0) {
+            return false;
+        }
+
+        if (this.root.left == null) {
+            this.root = this.root.right;
+        } else {
+            // Splaying the left subtree for the removed element brings its maximum to the top,
+            // which has no right child and can adopt the right subtree
+            BinaryNode<T> right = this.root.right;
+            this.root = this.splay(this.root.left, element);
+            this.root.right = right;
+        }
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Checks if the tree contains a given element, splaying the last node reached if this lookup is due.
+     *
+     * @param element the element to check for
+     * @return {@code true} if the element is found, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        if (this.root == null) {
+            return false;
+        }
+        if (++this.lookups % this.splayInterval == 0) {
+            this.root = this.splay(this.root, element);
+            return element.compareTo(this.root.element) == 0;
+        }
+
+        // Plain search, leaving the tree unchanged
+        BinaryNode<T> node = this.root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison == 0) {
+                return true;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Top-down splay: moves the node holding the element, or the last node on its search path, to the root.
+     *
+     * @param node    the root of the tree
+     * @param element the element to splay for
+     * @return the new root
+     */
+    private BinaryNode<T> splay(BinaryNode<T> node, T element) {
+        BinaryNode<T> left = this.header;  // Largest node of the left tree
+        BinaryNode<T> right = this.header;  // Smallest node of the right tree
+        this.header.left = null;
+        this.header.right = null;
+
+        while (true) {
+            int comparison = element.compareTo(node.element);
+            if (comparison < 0) {
+                if (node.left == null) break;
+                if (element.compareTo(node.left.element) < 0) {
+                    // Zig-zig: rotate right before descending
+                    BinaryNode<T> child = node.left;
+                    node.left = child.right;
+                    child.right = node;
+                    node = child;
+                    if (node.left == null) break;
+                }
+                // Link the node into the right tree
+                right.left = node;
+                right = node;
+                node = node.left;
+            } else if (comparison > 0) {
+                if (node.right == null) break;
+                if (element.compareTo(node.right.element) > 0) {
+                    // Zag-zag: rotate left before descending
+                    BinaryNode<T> child = node.right;
+                    node.right = child.left;
+                    child.left = node;
+                    node = child;
+                    if (node.right == null) break;
+                }
+                // Link the node into the left tree
+                left.right = node;
+                left = node;
+                node = node.right;
+            } else {
+                break;
+            }
+        }
+
+        // Reassemble the left and right trees under the node
+        left.right = node.left;
+        right.left = node.right;
+        node.left = this.header.right;
+        node.right = this.header.left;
+        return node;
+    }
+
+    /**
+     * Returns the number of nodes on the longest path from the root, for tests.
+     */
+    int height() {
+        return height(this.root);
+    }
+
+    private static int height(BinaryNode<?> node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    /**
+     * Returns the element at the root, for tests.
+     */
+    T rootElement() {
+        return this.root == null ? null : this.root.element;
+    }
+
+    /**
+     * Clears the tree, removing all elements.
+     */
+    @Override
+    public void clear() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    @Override
+    public Iterator<T> levelOrderIterator() {
+        return BinaryTreeIteratorFactory.levelOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> inOrderIterator() {
+        return BinaryTreeIteratorFactory.inOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> postOrderIterator() {
+        return BinaryTreeIteratorFactory.postOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> preOrderIterator() {
+        return BinaryTreeIteratorFactory.preOrderIterator(this.root);
+    }
+
+    /**
+     * Returns a spliterator over the elements of the splay tree in ascending order, splitting on subtrees.
+     *
+     * @return a spliterator for in-order traversal
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return BinaryTreeIteratorFactory.inOrderSpliterator(this.root, this.size, Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+}
@@ -0,0 +1,127 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import static java.lang.System.out;
+
+/**
+ * Compares {@link SplayTree} with several splay intervals against {@link AVL} and {@link BST} on lookups
+ * whose elements follow uniform and Zipf distributions of increasing skew, and on a Zipfian mix of 90%
+ * lookups and 10% insertions and removals. The most frequent elements are scattered over the key space,
+ * so their position in the tree does not depend on their rank.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.binary.SplayTreeBenchmark"
+ * </pre>
+ */
+public class SplayTreeBenchmark {
+
+    private static final int SIZE = 1 << 20;
+    private static final int OPERATIONS = 4_000_000;
+    private static final double[] THETAS = {0.8, 0.99, 1.2, 1.5};
+
+    private static volatile long sink;  // Keeps the lookups from being optimized away
+
+    private SplayTreeBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        String[] names = {"BST", "AVL", "splay", "splay k=4", "splay k=16"};
+        @SuppressWarnings("unchecked")
+        Supplier<OrderedBinaryTree<Integer>>[] factories = new Supplier[]{
+                BST::new, AVL::new, SplayTree::new, () -> new SplayTree<>(4), () -> new SplayTree<>(16)
+        };
+
+        int[] uniform = new int[OPERATIONS];
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < OPERATIONS; i++) {
+            uniform[i] = random.nextInt(SIZE);
+        }
+        int[][] skewed = new int[THETAS.length][];
+        for (int t = 0; t < THETAS.length; t++) {
+            skewed[t] = zipfian(THETAS[t]);
+        }
+
+        // Warm up every implementation first
+        for (Supplier<OrderedBinaryTree<Integer>> factory : factories) {
+            run(build(factory), uniform, 0);
+        }
+
+        out.printf("%d elements, %d operations, ns per operation%n", SIZE, OPERATIONS);
+        out.printf("%-11s %10s", "tree", "uniform");
+        for (double theta : THETAS) {
+            out.printf(" %10s", "zipf " + theta);
+        }
+        out.printf(" %12s%n", "zipf mix");
+        for (int i = 0; i < names.length; i++) {
+            out.printf("%-11s %10.0f", names[i], run(build(factories[i]), uniform, 0));
+            for (int[] elements : skewed) {
+                out.printf(" %10.0f", run(build(factories[i]), elements, 0));
+            }
+            out.printf(" %12.0f%n", run(build(factories[i]), skewed[skewed.length - 1], 10));
+        }
+    }
+
+    /**
+     * Builds a tree of the even numbers below {@code 2 * SIZE}, inserted in random order.
+     */
+    private static OrderedBinaryTree<Integer> build(Supplier<OrderedBinaryTree<Integer>> factory) {
+        int[] elements = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            elements[i] = 2 * i;
+        }
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = SIZE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = elements[i];
+            elements[i] = elements[j];
+            elements[j] = swap;
+        }
+        OrderedBinaryTree<Integer> tree = factory.get();
+        for (int element : elements) {
+            tree.add(element);
+        }
+        return tree;
+    }
+
+    /**
+     * Draws Zipf distributed elements of the tree, the hot ones scattered by an odd multiplier.
+     */
+    private static int[] zipfian(double theta) {
+        ZipfianGenerator zipf = new ZipfianGenerator(SIZE, theta, 7);
+        int[] elements = new int[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            elements[i] = 2 * ((zipf.next() * 0x9E3779B1) & (SIZE - 1));
+        }
+        return elements;
+    }
+
+    /**
+     * Looks the elements up, turning the given percentage of operations into insertions and removals
+     * of the odd neighbour of the element.
+     *
+     * @return the nanoseconds per operation
+     */
+    private static double run(OrderedBinaryTree<Integer> tree, int[] elements, int writePercent) {
+        long hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < elements.length; i++) {
+            int slot = i % 100;
+            if (slot < writePercent / 2) {
+                tree.add(elements[i] + 1);
+            } else if (slot < writePercent) {
+                tree.remove(elements[i] + 1);
+            } else if (tree.contains(elements[i])) {
+                hits++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = hits;
+        return (double) elapsed / elements.length;
+    }
+}
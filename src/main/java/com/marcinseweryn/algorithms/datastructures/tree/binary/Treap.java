@@ -0,0 +1,280 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+
+/**
+ * Treap implementation.
+ * A treap is a binary search tree on the elements and a max-heap on random priorities drawn for each node.
+ * Its shape is the one a binary search tree would get if the elements were inserted in random order,
+ * whatever the actual order, so its expected depth is O(log n). An insertion rotates the new node up
+ * until its priority fits, which takes fewer than two rotations on average, and a removal merges the two
+ * subtrees of the node; no balance information has to be maintained.
+ *
+ * @param <T> the type of elements maintained by this treap, which must be comparable
+ */
+public class Treap<T extends Comparable<T>> implements OrderedBinaryTree<T> {
+
+    private final SplittableRandom random;
+    private BinaryNode<T> root;
+    private int size;
+
+    /**
+     * Node with the random priority that orders it as a heap.
+     */
+    private static final class Node<T> extends BinaryNode<T> {
+        final int priority;
+
+        Node(T element, int priority) {
+            super(element);
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Creates an empty treap with randomly seeded priorities.
+     */
+    public Treap() {
+        this.random = new SplittableRandom();
+    }
+
+    /**
+     * Creates an empty treap whose priorities are drawn from a seeded generator, for reproducible shapes.
+     *
+     * @param seed the seed of the priorities
+     */
+    public Treap(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Retrieves the minimum element in the treap.
+     *
+     * @return the minimum element, or {@code null} if the treap is empty
+     */
+    @Override
+    public T min() {
+        if (this.root == null) return null;
+        BinaryNode<T> node = this.root;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.element;
+    }
+
+    /**
+     * Retrieves the maximum element in the treap.
+     *
+     * @return the maximum element, or {@code null} if the treap is empty
+     */
+    @Override
+    public T max() {
+        if (this.root == null) return null;
+        BinaryNode<T> node = this.root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.element;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an element to the treap.
+     *
+     * @param element the element to add
+     * @return {@code true} if the element was added successfully, {@code false} if the element already exists
+     */
+    @Override
+    public boolean add(T element) {
+        if (this.contains(element)) return false;
+        this.root = this.add(this.root, new Node<>(element, this.random.nextInt()));
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Inserts a node as a leaf, then rotates it up while its priority exceeds its parent's.
+     *
+     * @param node    the root of the subtree
+     * @param newNode the node to insert
+     * @return the root of the subtree after insertion
+     */
+    private BinaryNode<T> add(BinaryNode<T> node, Node<T> newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (newNode.element.compareTo(node.element) < 0) {
+            node.left = this.add(node.left, newNode);
+            if (priority(node.left) > priority(node)) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = this.add(node.right, newNode);
+            if (priority(node.right) > priority(node)) {
+                return rotateLeft(node);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Removes an element from the treap.
+     *
+     * @param element the element to remove
+     * @return {@code true} if the element was removed successfully, {@code false} if the element was not found
+     */
+    @Override
+    public boolean remove(T element) {
+        if (!this.contains(element)) return false;
+        this.root = this.remove(this.root, element);
+        this.size--;
+        return true;
+    }
+
+    private BinaryNode<T> remove(BinaryNode<T> node, T element) {
+        int comparison = element.compareTo(node.element);
+        if (comparison < 0) {
+            node.left = this.remove(node.left, element);
+        } else if (comparison > 0) {
+            node.right = this.remove(node.right, element);
+        } else {
+            // Replace the node by the merge of its subtrees
+            return merge(node.left, node.right);
+        }
+        return node;
+    }
+
+    /**
+     * Merges two treaps whose elements are all ordered between them, keeping the heap order.
+     *
+     * @param left  the treap with the smaller elements
+     * @param right the treap with the greater elements
+     * @return the root of the merged treap
+     */
+    private static <T> BinaryNode<T> merge(BinaryNode<T> left, BinaryNode<T> right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (priority(left) > priority(right)) {
+            left.right = merge(left.right, right);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        return right;
+    }
+
+    private static <T> BinaryNode<T> rotateRight(BinaryNode<T> node) {
+        BinaryNode<T> newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        return newRoot;
+    }
+
+    private static <T> BinaryNode<T> rotateLeft(BinaryNode<T> node) {
+        BinaryNode<T> newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        return newRoot;
+    }
+
+    private static int priority(BinaryNode<?> node) {
+        return ((Node<?>) node).priority;
+    }
+
+    /**
+     * Checks if the treap contains a given element.
+     *
+     * @param element the element to check for
+     * @return {@code true} if the element is found, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        BinaryNode<T> node = this.root;
+        while (node != null) {
+            int comparison = element.compareTo(node.element);
+            if (comparison == 0) {
+                return true;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of nodes on the longest path from the root, for tests.
+     */
+    int height() {
+        return height(this.root);
+    }
+
+    private static int height(BinaryNode<?> node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    /**
+     * Checks that every node's priority is at least its children's, for tests.
+     */
+    boolean isHeapOrdered() {
+        return isHeapOrdered(this.root);
+    }
+
+    private static boolean isHeapOrdered(BinaryNode<?> node) {
+        if (node == null) {
+            return true;
+        }
+        return (node.left == null || priority(node.left) <= priority(node))
+                && (node.right == null || priority(node.right) <= priority(node))
+                && isHeapOrdered(node.left) && isHeapOrdered(node.right);
+    }
+
+    /**
+     * Clears the treap, removing all elements.
+     */
+    @Override
+    public void clear() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    @Override
+    public Iterator<T> levelOrderIterator() {
+        return BinaryTreeIteratorFactory.levelOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> inOrderIterator() {
+        return BinaryTreeIteratorFactory.inOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> postOrderIterator() {
+        return BinaryTreeIteratorFactory.postOrderIterator(this.root);
+    }
+
+    @Override
+    public Iterator<T> preOrderIterator() {
+        return BinaryTreeIteratorFactory.preOrderIterator(this.root);
+    }
+
+    /**
+     * Returns a spliterator over the elements of the treap in ascending order, splitting on subtrees.
+     *
+     * @return a spliterator for in-order traversal
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return BinaryTreeIteratorFactory.inOrderSpliterator(this.root, this.size, Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+}
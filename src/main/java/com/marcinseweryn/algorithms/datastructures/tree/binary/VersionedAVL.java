@@ -0,0 +1,127 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * Thread-safe ordered set backed by a {@link PersistentAVL}, with O(1) snapshots.
+ *
+ * <p>The current version is held in a volatile field. Writers are serialized by the monitor of this object,
+ * build the next version by path copying and publish it with a single volatile write. Readers never lock:
+ * every read, and every iterator, works on the version that was current when it started, so it observes
+ * a consistent point-in-time view while writers keep going. {@link #snapshot()} hands out that version
+ * for any number of further reads.
+ *
+ * @param <T> the type of elements maintained by this set, which must be comparable
+ */
+public class VersionedAVL<T extends Comparable<T>> implements OrderedBinaryTree<T> {
+
+    private volatile PersistentAVL<T> current = PersistentAVL.empty();
+
+    /**
+     * Returns the current version, which later writes leave unchanged.
+     *
+     * @return the current version
+     */
+    public PersistentAVL<T> snapshot() {
+        return this.current;
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @param element the element to add
+     * @return {@code true} if the element was added, {@code false} if it was already present
+     * @throws IllegalArgumentException if the element is null
+     */
+    @Override
+    public synchronized boolean add(T element) {
+        PersistentAVL<T> version = this.current.add(element);
+        if (version == this.current) {
+            return false;
+        }
+        this.current = version;
+        return true;
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param element the element to remove
+     * @return {@code true} if the element was removed, {@code false} if it was not found
+     */
+    @Override
+    public synchronized boolean remove(T element) {
+        PersistentAVL<T> version = this.current.remove(element);
+        if (version == this.current) {
+            return false;
+        }
+        this.current = version;
+        return true;
+    }
+
+    /**
+     * Removes every element. Snapshots taken before keep their elements.
+     */
+    @Override
+    public synchronized void clear() {
+        this.current = PersistentAVL.empty();
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return this.current.contains(element);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.current.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return this.current.size();
+    }
+
+    @Override
+    public T min() {
+        return this.current.min();
+    }
+
+    @Override
+    public T max() {
+        return this.current.max();
+    }
+
+    @Override
+    public Iterator<T> levelOrderIterator() {
+        return this.current.levelOrderIterator();
+    }
+
+    @Override
+    public Iterator<T> inOrderIterator() {
+        return this.current.inOrderIterator();
+    }
+
+    @Override
+    public Iterator<T> postOrderIterator() {
+        return this.current.postOrderIterator();
+    }
+
+    @Override
+    public Iterator<T> preOrderIterator() {
+        return this.current.preOrderIterator();
+    }
+
+    /**
+     * Returns a spliterator over the current version, which later updates do not affect.
+     *
+     * @return a spliterator for in-order traversal of the current version
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return this.current.spliterator();
+    }
+}
@@ -0,0 +1,49 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates integers in {@code [0, n)} following a Zipf distribution, item {@code i} being drawn with
+ * probability proportional to {@code 1 / (i + 1)^theta}, for the skewed workloads of the benchmarks.
+ *
+ * <p>Draws invert the cumulative distribution, tabulated once in O(n) memory, with a binary search,
+ * which works for any skew including {@code theta >= 1}. Item 0 is the most frequent; callers scatter
+ * the items over the key space themselves.
+ */
+final class ZipfianGenerator {
+
+    private final SplittableRandom random;
+    private final double[] cumulative;  // Probability of drawing an item up to each index
+
+    /**
+     * Creates a generator.
+     *
+     * @param n     the number of items
+     * @param theta the skew, positive; 0.99 is the usual choice, higher values concentrate the draws further
+     * @param seed  the seed of the generator
+     */
+    ZipfianGenerator(int n, double theta, long seed) {
+        this.random = new SplittableRandom(seed);
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, theta);
+            this.cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            this.cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * Draws the next item.
+     *
+     * @return an item in {@code [0, n)}
+     */
+    int next() {
+        int index = Arrays.binarySearch(this.cumulative, this.random.nextDouble());
+        // A miss returns -(insertion point) - 1, the first item whose cumulative probability exceeds the draw
+        return Math.min(index < 0 ? -index - 1 : index, this.cumulative.length - 1);
+    }
+}
@@ -0,0 +1,705 @@
+package com.marcinseweryn.algorithms.datastructures.tree.bplus;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * In-memory B+ tree implementation.
+ * A B+ tree is a balanced search tree of high fanout: every node holds up to {@code fanout} keys in a sorted
+ * array, so a lookup touches about {@code log_fanout(n)} nodes and searches each with a binary search over
+ * contiguous memory, instead of chasing one pointer per key as {@link com.marcinseweryn.algorithms.datastructures.tree.binary.AVL}.
+ *
+ * <p>Elements are stored only in the leaves, which are all on the same level and linked in both directions,
+ * so in-order iteration and range scans walk the leaves without going back up the tree.
+ * Inner nodes only hold separator keys: the subtree at {@code children[i]} contains elements
+ * smaller than {@code keys[i]}, and the subtree at {@code children[i + 1]} elements greater or equal to it.
+ *
+ * @param <T> the type of elements maintained by this B+ tree, which must be comparable
+ */
+public class BPlusTree<T extends Comparable<T>> implements OrderedBinaryTree<T> {
+
+    private static final int DEFAULT_FANOUT = 64;  // Default maximum number of children of an inner node
+    private static final int MIN_FANOUT = 4;  // Smallest fanout keeping nodes at least half full after splits
+
+    private final int fanout;  // Maximum number of children of an inner node and of elements in a leaf
+    private Node root;
+    private Leaf head;  // Leftmost leaf, holding the minimum
+    private Leaf tail;  // Rightmost leaf, holding the maximum
+    private int size;
+    private T promoted;  // Separator promoted by the last split during an insertion
+
+    /**
+     * Constructs an empty B+ tree with a fanout of 64.
+     */
+    public BPlusTree() {
+        this(DEFAULT_FANOUT);
+    }
+
+    /**
+     * Constructs an empty B+ tree with the given fanout, typically between 32 and 256.
+     *
+     * @param fanout the maximum number of children of an inner node and of elements in a leaf
+     * @throws IllegalArgumentException if the fanout is smaller than 4
+     */
+    public BPlusTree(int fanout) {
+        if (fanout < MIN_FANOUT) {
+            throw new IllegalArgumentException("Fanout must be at least " + MIN_FANOUT);
+        }
+        this.fanout = fanout;
+        this.clear();
+    }
+
+    /**
+     * Builds a B+ tree from elements sorted in strictly ascending order in O(n), bottom-up,
+     * without any split. Leaves and inner nodes are packed as full as possible while keeping
+     * every node at least half full, so the tree is as shallow as the fanout allows.
+     *
+     * @param sorted the elements, sorted and without duplicates
+     * @param fanout the maximum number of children of an inner node and of elements in a leaf
+     * @param <T>    the type of elements
+     * @return a new B+ tree containing the elements
+     * @throws IllegalArgumentException if the elements are not strictly ascending or contain null
+     */
+    public static <T extends Comparable<T>> BPlusTree<T> bulkLoad(T[] sorted, int fanout) {
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] == null) {
+                throw new IllegalArgumentException("Element cannot be null");
+            }
+            if (i > 0 && sorted[i - 1].compareTo(sorted[i]) >= 0) {
+                throw new IllegalArgumentException("Elements must be sorted in strictly ascending order");
+            }
+        }
+
+        BPlusTree<T> tree = new BPlusTree<>(fanout);
+        if (sorted.length == 0) {
+            return tree;
+        }
+
+        // Fill the leaves left to right, spreading the elements evenly over the fewest leaves possible
+        int leafCount = (sorted.length + fanout - 1) / fanout;
+        BPlusTree<T>.Node[] level = new BPlusTree.Node[leafCount];
+        Object[] lows = new Object[leafCount];  // Smallest element under each node of the level
+        BPlusTree<T>.Leaf previous = null;
+        int from = 0;
+        for (int i = 0; i < leafCount; i++) {
+            int count = share(sorted.length, leafCount, i);
+            BPlusTree<T>.Leaf leaf = tree.new Leaf();
+            System.arraycopy(sorted, from, leaf.keys, 0, count);
+            leaf.count = count;
+            leaf.previous = previous;
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            level[i] = leaf;
+            lows[i] = sorted[from];
+            previous = leaf;
+            from += count;
+        }
+        tree.head = (BPlusTree<T>.Leaf) level[0];
+        tree.tail = previous;
+
+        // Group the nodes of each level under parents until a single root remains
+        while (level.length > 1) {
+            int parentCount = (level.length + fanout - 1) / fanout;
+            BPlusTree<T>.Node[] parents = new BPlusTree.Node[parentCount];
+            Object[] parentLows = new Object[parentCount];
+            int child = 0;
+            for (int i = 0; i < parentCount; i++) {
+                int count = share(level.length, parentCount, i);
+                BPlusTree<T>.Inner inner = tree.new Inner();
+                for (int j = 0; j < count; j++) {
+                    inner.children[j] = level[child + j];
+                    if (j > 0) {
+                        inner.keys[j - 1] = lows[child + j];  // Separator is the smallest element on its right
+                    }
+                }
+                inner.count = count - 1;
+                parents[i] = inner;
+                parentLows[i] = lows[child];
+                child += count;
+            }
+            level = parents;
+            lows = parentLows;
+        }
+
+        tree.root = level[0];
+        tree.size = sorted.length;
+        return tree;
+    }
+
+    /**
+     * Returns how many of {@code total} items go to the group at {@code index} when split
+     * as evenly as possible into {@code groups} groups.
+     */
+    private static int share(int total, int groups, int index) {
+        return total / groups + (index < total % groups ? 1 : 0);
+    }
+
+    /**
+     * Retrieves the minimum element, the first element of the leftmost leaf.
+     *
+     * @return the minimum element, or {@code null} if the tree is empty
+     */
+    @Override
+    public T min() {
+        return this.size == 0 ? null : this.head.key(0);
+    }
+
+    /**
+     * Retrieves the maximum element, the last element of the rightmost leaf.
+     *
+     * @return the maximum element, or {@code null} if the tree is empty
+     */
+    @Override
+    public T max() {
+        return this.size == 0 ? null : this.tail.key(this.tail.count - 1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an element to the B+ tree.
+     * A leaf that overflows is split in two halves and the smallest element of the right half
+     * is inserted into the parent, which may split in turn up to the root.
+     *
+     * @param element the element to add
+     * @return {@code true} if the element was added, {@code false} if it already exists
+     * @throws IllegalArgumentException if the element is null
+     */
+    @Override
+    public boolean add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+
+        int sizeBefore = this.size;
+        Node sibling = this.add(this.root, element);
+        if (sibling != null) {
+            // The root was split, grow the tree by one level
+            Inner newRoot = new Inner();
+            newRoot.keys[0] = this.promoted;
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = sibling;
+            newRoot.count = 1;
+            this.root = newRoot;
+        }
+        this.promoted = null;
+        return this.size != sizeBefore;
+    }
+
+    /**
+     * Helper method to add an element to the subtree of a node.
+     *
+     * @param node    the root of the subtree
+     * @param element the element to add
+     * @return the new right sibling if the node was split, with its separator in {@link #promoted}, or null
+     */
+    private Node add(Node node, T element) {
+        int position = node.search(element);
+        if (node instanceof Leaf leaf) {
+            if (position >= 0) {
+                return null;  // Duplicate
+            }
+            leaf.insertKey(-position - 1, element);
+            this.size++;
+            return leaf.count > this.fanout ? this.splitLeaf(leaf) : null;
+        }
+
+        Inner inner = (Inner) node;
+        int index = childIndex(position);
+        Node sibling = this.add(inner.children[index], element);
+        if (sibling == null) {
+            return null;
+        }
+        inner.insertChild(index, this.promoted, sibling);
+        return inner.count >= this.fanout ? this.splitInner(inner) : null;
+    }
+
+    /**
+     * Moves the upper half of an overflowing leaf to a new leaf linked after it.
+     */
+    private Node splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int keep = (leaf.count + 1) / 2;
+        right.count = leaf.count - keep;
+        System.arraycopy(leaf.keys, keep, right.keys, 0, right.count);
+        Arrays.fill(leaf.keys, keep, leaf.count, null);
+        leaf.count = keep;
+
+        right.next = leaf.next;
+        right.previous = leaf;
+        if (leaf.next != null) {
+            leaf.next.previous = right;
+        } else {
+            this.tail = right;
+        }
+        leaf.next = right;
+
+        this.promoted = right.key(0);  // Copied up, the element stays in the leaf
+        return right;
+    }
+
+    /**
+     * Moves the upper half of an overflowing inner node to a new inner node.
+     */
+    private Node splitInner(Inner inner) {
+        Inner right = new Inner();
+        int middle = inner.count / 2;
+        right.count = inner.count - middle - 1;
+        System.arraycopy(inner.keys, middle + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, middle + 1, right.children, 0, right.count + 1);
+
+        this.promoted = inner.key(middle);  // Moved up, separators are not duplicated between inner nodes
+        Arrays.fill(inner.keys, middle, inner.count, null);
+        Arrays.fill(inner.children, middle + 1, inner.count + 1, null);
+        inner.count = middle;
+        return right;
+    }
+
+    /**
+     * Removes an element from the B+ tree.
+     * A node left less than half full borrows an entry from a sibling, or is merged with it
+     * when both are at the minimum; merges may propagate up and shrink the tree by one level.
+     *
+     * @param element the element to remove
+     * @return {@code true} if the element was removed, {@code false} if it was not found
+     */
+    @Override
+    public boolean remove(T element) {
+        if (element == null || !this.remove(this.root, element)) {
+            return false;
+        }
+        if (this.root instanceof Inner inner && inner.count == 0) {
+            this.root = inner.children[0];  // The root has a single child left
+        }
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Helper method to remove an element from the subtree of a node.
+     *
+     * @return {@code true} if the element was found and removed
+     */
+    private boolean remove(Node node, T element) {
+        int position = node.search(element);
+        if (node instanceof Leaf leaf) {
+            if (position < 0) {
+                return false;
+            }
+            leaf.removeKey(position);
+            return true;
+        }
+
+        Inner inner = (Inner) node;
+        int index = childIndex(position);
+        Node child = inner.children[index];
+        if (!this.remove(child, element)) {
+            return false;
+        }
+        if (child.isUnderflowing()) {
+            this.rebalance(inner, index);
+        }
+        return true;
+    }
+
+    /**
+     * Restores the minimum occupancy of the child at the given index, borrowing from
+     * a sibling that has an entry to spare, or merging with a sibling otherwise.
+     */
+    private void rebalance(Inner parent, int index) {
+        Node child = parent.children[index];
+        Node left = index > 0 ? parent.children[index - 1] : null;
+        Node right = index < parent.count ? parent.children[index + 1] : null;
+
+        if (left != null && left.canLend()) {
+            if (child instanceof Leaf leaf) {
+                Leaf donor = (Leaf) left;
+                leaf.insertKey(0, donor.key(donor.count - 1));
+                donor.removeKey(donor.count - 1);
+                parent.keys[index - 1] = leaf.keys[0];
+            } else {
+                // Rotate through the parent: the separator comes down, the donor's last key goes up
+                Inner inner = (Inner) child;
+                Inner donor = (Inner) left;
+                inner.insertChildAtFront(parent.key(index - 1), donor.children[donor.count]);
+                parent.keys[index - 1] = donor.keys[donor.count - 1];
+                donor.keys[donor.count - 1] = null;
+                donor.children[donor.count] = null;
+                donor.count--;
+            }
+        } else if (right != null && right.canLend()) {
+            if (child instanceof Leaf leaf) {
+                Leaf donor = (Leaf) right;
+                leaf.insertKey(leaf.count, donor.key(0));
+                donor.removeKey(0);
+                parent.keys[index] = donor.keys[0];
+            } else {
+                Inner inner = (Inner) child;
+                Inner donor = (Inner) right;
+                inner.keys[inner.count] = parent.keys[index];
+                inner.children[inner.count + 1] = donor.children[0];
+                inner.count++;
+                parent.keys[index] = donor.keys[0];
+                donor.removeFirstChild();
+            }
+        } else if (left != null) {
+            this.merge(parent, index - 1);
+        } else {
+            this.merge(parent, index);
+        }
+    }
+
+    /**
+     * Merges the child at {@code index + 1} into the child at {@code index} and removes
+     * their separator from the parent.
+     */
+    private void merge(Inner parent, int index) {
+        Node left = parent.children[index];
+        Node right = parent.children[index + 1];
+        if (left instanceof Leaf leaf) {
+            Leaf absorbed = (Leaf) right;
+            System.arraycopy(absorbed.keys, 0, leaf.keys, leaf.count, absorbed.count);
+            leaf.count += absorbed.count;
+            leaf.next = absorbed.next;
+            if (absorbed.next != null) {
+                absorbed.next.previous = leaf;
+            } else {
+                this.tail = leaf;
+            }
+        } else {
+            // The separator comes down between the keys of both nodes
+            Inner inner = (Inner) left;
+            Inner absorbed = (Inner) right;
+            inner.keys[inner.count] = parent.keys[index];
+            System.arraycopy(absorbed.keys, 0, inner.keys, inner.count + 1, absorbed.count);
+            System.arraycopy(absorbed.children, 0, inner.children, inner.count + 1, absorbed.count + 1);
+            inner.count += absorbed.count + 1;
+        }
+        parent.removeChild(index + 1);
+    }
+
+    /**
+     * Checks if the B+ tree contains a given element.
+     *
+     * @param element the element to check for
+     * @return {@code true} if the element is found, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        if (element == null) {
+            return false;
+        }
+        Leaf leaf = this.findLeaf(element);
+        return leaf.search(element) >= 0;
+    }
+
+    /**
+     * Returns the greatest element less than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the floor element, or {@code null} if there is none
+     */
+    public T floor(T element) {
+        Leaf leaf = this.findLeaf(element);
+        int position = leaf.search(element);
+        if (position >= 0) {
+            return leaf.key(position);
+        }
+        int insertion = -position - 1;
+        if (insertion > 0) {
+            return leaf.key(insertion - 1);
+        }
+        // Every element of the leaf is greater, the floor is the last element of the previous leaf
+        Leaf previous = leaf.previous;
+        return previous == null ? null : previous.key(previous.count - 1);
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the ceiling element, or {@code null} if there is none
+     */
+    public T ceiling(T element) {
+        Leaf leaf = this.findLeaf(element);
+        int position = leaf.search(element);
+        int insertion = position >= 0 ? position : -position - 1;
+        if (insertion < leaf.count) {
+            return leaf.key(insertion);
+        }
+        // Every element of the leaf is smaller, the ceiling is the first element of the next leaf
+        Leaf next = leaf.next;
+        return next == null ? null : next.key(0);
+    }
+
+    /**
+     * Returns a lazy iterator over the elements in the range {@code [low, high)}, in ascending order.
+     * Only the leaf holding {@code low} is located by a descent, the following elements are read
+     * by walking the linked leaves.
+     *
+     * @param low  the lower bound, inclusive
+     * @param high the upper bound, exclusive
+     * @return an iterator over the elements in the range
+     * @throws IllegalArgumentException if a bound is null
+     */
+    public Iterator<T> rangeIterator(T low, T high) {
+        if (low == null || high == null) {
+            throw new IllegalArgumentException("Bounds cannot be null");
+        }
+        Leaf leaf = this.findLeaf(low);
+        int position = leaf.search(low);
+        return new LeafIterator(leaf, position >= 0 ? position : -position - 1, high);
+    }
+
+    /**
+     * Descends from the root to the leaf whose range covers the element.
+     */
+    private Leaf findLeaf(T element) {
+        Node node = this.root;
+        while (node instanceof Inner inner) {
+            node = inner.children[childIndex(inner.search(element))];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Converts the result of a binary search over separators to the index of the child to descend to.
+     * Elements equal to a separator belong to the child on its right.
+     */
+    private static int childIndex(int position) {
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    /**
+     * Clears the B+ tree, leaving a single empty leaf as root.
+     */
+    @Override
+    public void clear() {
+        Leaf leaf = new Leaf();
+        this.root = leaf;
+        this.head = leaf;
+        this.tail = leaf;
+        this.size = 0;
+    }
+
+    /**
+     * Returns an iterator over the elements in level order.
+     * Elements are stored only in the leaves, which all sit on the last level,
+     * so level order visits them from left to right, in ascending order.
+     *
+     * @return an iterator for level-order traversal
+     */
+    @Override
+    public Iterator<T> levelOrderIterator() {
+        return this.inOrderIterator();
+    }
+
+    /**
+     * Returns an iterator over the elements in ascending order, walking the linked leaves.
+     *
+     * @return an iterator for in-order traversal
+     */
+    @Override
+    public Iterator<T> inOrderIterator() {
+        return new LeafIterator(this.head, 0, null);
+    }
+
+    /**
+     * Returns an iterator over the elements in post-order.
+     * Inner nodes hold no elements, so post-order visits the leaves from left to right.
+     *
+     * @return an iterator for post-order traversal
+     */
+    @Override
+    public Iterator<T> postOrderIterator() {
+        return this.inOrderIterator();
+    }
+
+    /**
+     * Returns an iterator over the elements in pre-order.
+     * Inner nodes hold no elements, so pre-order visits the leaves from left to right.
+     *
+     * @return an iterator for pre-order traversal
+     */
+    @Override
+    public Iterator<T> preOrderIterator() {
+        return this.inOrderIterator();
+    }
+
+    /**
+     * A node holding its keys in a sorted array with one extra slot,
+     * so that an insertion can overflow it before it is split.
+     */
+    private abstract class Node {
+        final Object[] keys;
+        int count;  // Number of keys in use
+
+        Node(int capacity) {
+            this.keys = new Object[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        T key(int index) {
+            return (T) this.keys[index];
+        }
+
+        /**
+         * Binary search over the keys in use.
+         *
+         * @return the index of the key, or {@code -(insertion point) - 1} if absent
+         */
+        int search(T element) {
+            return Arrays.binarySearch(this.keys, 0, this.count, element);
+        }
+
+        abstract boolean isUnderflowing();
+
+        abstract boolean canLend();
+    }
+
+    /**
+     * A leaf holding up to {@code fanout} elements, linked to its neighbours.
+     */
+    private final class Leaf extends Node {
+        Leaf previous;
+        Leaf next;
+
+        Leaf() {
+            super(fanout + 1);
+        }
+
+        void insertKey(int index, T element) {
+            System.arraycopy(this.keys, index, this.keys, index + 1, this.count - index);
+            this.keys[index] = element;
+            this.count++;
+        }
+
+        void removeKey(int index) {
+            System.arraycopy(this.keys, index + 1, this.keys, index, this.count - index - 1);
+            this.keys[--this.count] = null;
+        }
+
+        @Override
+        boolean isUnderflowing() {
+            return this.count < fanout / 2;
+        }
+
+        @Override
+        boolean canLend() {
+            return this.count > fanout / 2;
+        }
+    }
+
+    /**
+     * An inner node holding {@code count} separators and {@code count + 1} children,
+     * with at most {@code fanout} children.
+     */
+    private final class Inner extends Node {
+        final Node[] children;
+
+        @SuppressWarnings("unchecked")
+        Inner() {
+            super(fanout);
+            this.children = new BPlusTree.Node[fanout + 1];
+        }
+
+        /**
+         * Inserts the separator and the new right sibling of the child at {@code index}.
+         */
+        void insertChild(int index, T separator, Node sibling) {
+            System.arraycopy(this.keys, index, this.keys, index + 1, this.count - index);
+            System.arraycopy(this.children, index + 1, this.children, index + 2, this.count - index);
+            this.keys[index] = separator;
+            this.children[index + 1] = sibling;
+            this.count++;
+        }
+
+        void insertChildAtFront(T separator, Node child) {
+            System.arraycopy(this.keys, 0, this.keys, 1, this.count);
+            System.arraycopy(this.children, 0, this.children, 1, this.count + 1);
+            this.keys[0] = separator;
+            this.children[0] = child;
+            this.count++;
+        }
+
+        void removeFirstChild() {
+            System.arraycopy(this.keys, 1, this.keys, 0, this.count - 1);
+            System.arraycopy(this.children, 1, this.children, 0, this.count);
+            this.keys[this.count - 1] = null;
+            this.children[this.count] = null;
+            this.count--;
+        }
+
+        /**
+         * Removes the child at {@code index} together with the separator on its left.
+         */
+        void removeChild(int index) {
+            System.arraycopy(this.keys, index, this.keys, index - 1, this.count - index);
+            System.arraycopy(this.children, index + 1, this.children, index, this.count - index);
+            this.keys[this.count - 1] = null;
+            this.children[this.count] = null;
+            this.count--;
+        }
+
+        @Override
+        boolean isUnderflowing() {
+            return this.count + 1 < (fanout + 1) / 2;
+        }
+
+        @Override
+        boolean canLend() {
+            return this.count + 1 > (fanout + 1) / 2;
+        }
+    }
+
+    /**
+     * Iterates the elements from a position in a leaf, following the leaf links,
+     * up to an exclusive upper bound.
+     */
+    private class LeafIterator implements Iterator<T> {
+        private Leaf leaf;
+        private int index;
+        private final T high;  // Exclusive upper bound, or null for no bound
+
+        LeafIterator(Leaf leaf, int index, T high) {
+            this.leaf = leaf;
+            this.index = index;
+            this.high = high;
+            this.skipExhaustedLeaves();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.leaf != null && (this.high == null || this.leaf.key(this.index).compareTo(this.high) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No more elements in the range");
+            }
+            T element = this.leaf.key(this.index++);
+            this.skipExhaustedLeaves();
+            return element;
+        }
+
+        private void skipExhaustedLeaves() {
+            while (this.leaf != null && this.index >= this.leaf.count) {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.marcinseweryn.algorithms.datastructures.tree.bplus;
+
+import com.marcinseweryn.algorithms.datastructures.tree.binary.AVL;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static java.lang.System.out;
+
+/**
+ * Compares a {@link BPlusTree} of several fanouts with an {@link AVL} tree for random insertions,
+ * random lookups and a full in-order scan, and measures B+ tree bulk loading and range scans.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.bplus.BPlusTreeBenchmark"
+ * </pre>
+ */
+public class BPlusTreeBenchmark {
+
+    private static final int SIZE = 1 << 21;
+    private static final int LOOKUPS = 2_000_000;
+    private static final int RANGES = 100_000;
+    private static final int RANGE_LENGTH = 100;
+
+    private BPlusTreeBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Integer[] keys = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = i;
+        }
+        for (int i = SIZE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Integer swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        Integer[] queries = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            queries[i] = random.nextInt(SIZE);
+        }
+
+        out.printf("%d random keys, %d lookups%n", SIZE, LOOKUPS);
+        out.printf("%-16s %14s %14s %14s%n", "structure", "insert", "lookup", "scan");
+
+        AVL<Integer> avl = new AVL<>();
+        long start = System.nanoTime();
+        for (Integer key : keys) {
+            avl.add(key);
+        }
+        long insert = System.nanoTime() - start;
+        report("AVL", insert, lookups(avl::contains, queries), scan(avl.inOrderIterator()));
+        avl = null;
+
+        for (int fanout : new int[]{32, 64, 128, 256}) {
+            BPlusTree<Integer> tree = new BPlusTree<>(fanout);
+            start = System.nanoTime();
+            for (Integer key : keys) {
+                tree.add(key);
+            }
+            insert = System.nanoTime() - start;
+            report("B+ tree (" + fanout + ")", insert, lookups(tree::contains, queries), scan(tree.inOrderIterator()));
+        }
+
+        Integer[] sorted = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            sorted[i] = i;
+        }
+        start = System.nanoTime();
+        BPlusTree<Integer> loaded = BPlusTree.bulkLoad(sorted, 128);
+        long bulkLoad = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long visited = 0;
+        for (int i = 0; i < RANGES; i++) {
+            int low = random.nextInt(SIZE);
+            Iterator<Integer> range = loaded.rangeIterator(low, low + RANGE_LENGTH);
+            while (range.hasNext()) {
+                visited += range.next();
+            }
+        }
+        long ranges = System.nanoTime() - start;
+
+        out.printf("%nbulk load (128): %d ms%n", bulkLoad / 1_000_000);
+        out.printf("%d range scans of %d elements: %.1f ns per range (checksum %d)%n",
+                RANGES, RANGE_LENGTH, (double) ranges / RANGES, visited);
+    }
+
+    private interface Lookup {
+        boolean contains(Integer key);
+    }
+
+    private static long lookups(Lookup lookup, Integer[] queries) {
+        long best = Long.MAX_VALUE;
+        int found = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (Integer query : queries) {
+                found += lookup.contains(query) ? 1 : 0;
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (found == 0) {
+            out.println("No key found");
+        }
+        return best;
+    }
+
+    private static long scan(Iterator<Integer> iterator) {
+        long start = System.nanoTime();
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sum == 0) {
+            out.println("Empty scan");
+        }
+        return elapsed;
+    }
+
+    private static void report(String name, long insert, long lookups, long scan) {
+        out.printf("%-16s %11d ms %11.1f ns %11d ms%n", name,
+                insert / 1_000_000, (double) lookups / LOOKUPS, scan / 1_000_000);
+    }
+}
@@ -0,0 +1,268 @@
+package com.marcinseweryn.algorithms.datastructures.tree.bplus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A fixed number of in-memory frames caching the pages of a file, with clock eviction.
+ *
+ * <p>Callers {@link #pin(long) pin} a page to get the frame holding it, and unpin it when done.
+ * Pinned frames are never evicted. The clock hand sweeps over the frames and gives every recently
+ * referenced frame a second chance before evicting it, which approximates LRU with one bit per frame.
+ *
+ * <p>Modified pages are only written back when evicted or flushed. A page changed by the current
+ * operation stays pinned until the operation is {@link #commit committed} to the write-ahead log, and
+ * the log is forced up to the last record of a page before the page is written back, so the data file
+ * never holds a change that the log cannot redo. If the operation fails before being logged, its pages are
+ * {@link #discardPending() discarded}: each one gets back the image it had before the operation, or is dropped
+ * from the pool and read again from the file.
+ */
+final class BufferPool {
+
+    private final FileChannel channel;
+    private final WriteAheadLog log;
+    private final int pageSize;
+
+    private final ByteBuffer[] frames;
+    private final long[] pageIds;  // Page held by each frame, -1 if free
+    private final int[] pins;  // Pin count of each frame
+    private final boolean[] dirty;  // Whether the frame differs from the page on disk
+    private final boolean[] referenced;  // Second-chance bit of the clock
+    private final long[] lsns;  // Last log record holding the image of the frame
+    private final Map<Long, Integer> pageTable = new HashMap<>();  // Page id -> frame
+    private int hand;  // Clock hand
+
+    private int[] pending = new int[8];  // Frames changed by the current operation
+    private byte[][] before = new byte[8][];  // Image of each pending frame before the operation
+    private boolean[] restorable = new boolean[8];  // Whether that image is newer than the file, and was kept
+    private int pendingCount;
+
+    private long hits;
+    private long misses;
+    private long writeBacks;
+
+    BufferPool(FileChannel channel, WriteAheadLog log, int pageSize, int capacity) {
+        this.channel = channel;
+        this.log = log;
+        this.pageSize = pageSize;
+        this.frames = new ByteBuffer[capacity];
+        this.pageIds = new long[capacity];
+        this.pins = new int[capacity];
+        this.dirty = new boolean[capacity];
+        this.referenced = new boolean[capacity];
+        this.lsns = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            this.frames[i] = ByteBuffer.allocate(pageSize);
+        }
+        Arrays.fill(this.pageIds, -1);
+    }
+
+    /**
+     * Pins a page, reading it from the file on a miss.
+     *
+     * @param pageId the page to pin
+     * @return the frame holding the page
+     * @throws IllegalStateException if every frame is pinned
+     */
+    int pin(long pageId) throws IOException {
+        Integer cached = this.pageTable.get(pageId);
+        if (cached != null) {
+            this.hits++;
+            this.pins[cached]++;
+            this.referenced[cached] = true;
+            return cached;
+        }
+
+        this.misses++;
+        int frame = this.victim();
+        ByteBuffer buffer = this.frames[frame].clear();
+        WriteAheadLog.readFully(this.channel, buffer, pageId * this.pageSize);
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);  // Page past the end of the file
+        }
+        this.install(frame, pageId);
+        return frame;
+    }
+
+    /**
+     * Pins a newly allocated page without reading it, filled with zeros.
+     */
+    int pinNew(long pageId) throws IOException {
+        int frame = this.victim();
+        Arrays.fill(this.frames[frame].array(), (byte) 0);
+        this.install(frame, pageId);
+        this.markDirty(frame);
+        return frame;
+    }
+
+    private void install(int frame, long pageId) {
+        this.pageIds[frame] = pageId;
+        this.pins[frame] = 1;
+        this.referenced[frame] = true;
+        this.dirty[frame] = false;
+        this.lsns[frame] = 0;
+        this.pageTable.put(pageId, frame);
+    }
+
+    void unpin(int frame) {
+        this.pins[frame]--;
+    }
+
+    ByteBuffer buffer(int frame) {
+        return this.frames[frame];
+    }
+
+    /**
+     * Marks a pinned frame as modified by the current operation, before it is modified.
+     */
+    void markDirty(int frame) {
+        if (this.dirty[frame] && this.isPending(frame)) {
+            return;
+        }
+        if (this.pendingCount == this.pending.length) {
+            this.pending = Arrays.copyOf(this.pending, this.pendingCount * 2);
+            this.before = Arrays.copyOf(this.before, this.pendingCount * 2);
+            this.restorable = Arrays.copyOf(this.restorable, this.pendingCount * 2);
+        }
+        // A clean page can be read again from the file, a dirty one only holds its last logged image here
+        this.restorable[this.pendingCount] = this.dirty[frame];
+        if (this.dirty[frame]) {
+            if (this.before[this.pendingCount] == null) {
+                this.before[this.pendingCount] = new byte[this.pageSize];
+            }
+            System.arraycopy(this.frames[frame].array(), 0, this.before[this.pendingCount], 0, this.pageSize);
+        }
+        this.dirty[frame] = true;
+        this.pending[this.pendingCount++] = frame;
+        this.pins[frame]++;  // Held until the operation is logged
+    }
+
+    private boolean isPending(int frame) {
+        for (int i = 0; i < this.pendingCount; i++) {
+            if (this.pending[i] == frame) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Logs the images of every frame changed by the current operation as one record,
+     * then releases them for eviction.
+     */
+    void commit(long root, long pageCount, long size) throws IOException {
+        if (this.pendingCount == 0) {
+            return;
+        }
+        long[] ids = new long[this.pendingCount];
+        ByteBuffer[] images = new ByteBuffer[this.pendingCount];
+        for (int i = 0; i < this.pendingCount; i++) {
+            ids[i] = this.pageIds[this.pending[i]];
+            images[i] = this.frames[this.pending[i]];
+        }
+        long lsn = this.log.append(root, pageCount, size, ids, images, this.pendingCount);
+        for (int i = 0; i < this.pendingCount; i++) {
+            this.lsns[this.pending[i]] = lsn;
+            this.pins[this.pending[i]]--;
+        }
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Releases the frames changed by the current operation without logging them,
+     * for bulk loads that are made durable by a checkpoint instead.
+     */
+    void releasePending() {
+        for (int i = 0; i < this.pendingCount; i++) {
+            this.pins[this.pending[i]]--;
+        }
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Undoes the changes of an operation that failed before being logged, so they are never written back.
+     * Frames that were dirty get back their last logged image, the others are dropped from the pool,
+     * including new pages. The frames stay pinned by their other holders.
+     */
+    void discardPending() {
+        for (int i = 0; i < this.pendingCount; i++) {
+            int frame = this.pending[i];
+            this.pins[frame]--;
+            if (this.restorable[i]) {
+                System.arraycopy(this.before[i], 0, this.frames[frame].array(), 0, this.pageSize);
+            } else {
+                this.pageTable.remove(this.pageIds[frame]);
+                this.pageIds[frame] = -1;
+                this.dirty[frame] = false;
+            }
+        }
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Writes every dirty frame back to the file.
+     */
+    void flushAll() throws IOException {
+        this.log.flush();
+        for (int frame = 0; frame < this.frames.length; frame++) {
+            if (this.pageIds[frame] != -1 && this.dirty[frame]) {
+                this.writeBack(frame);
+            }
+        }
+    }
+
+    /**
+     * Finds a frame to reuse with the clock algorithm, writing its page back if dirty.
+     */
+    private int victim() throws IOException {
+        // Two full sweeps clear every reference bit, a third would only find pinned frames
+        for (int step = 0; step < 2 * this.frames.length + 1; step++) {
+            int frame = this.hand;
+            this.hand = (this.hand + 1) % this.frames.length;
+            if (this.pageIds[frame] == -1) {
+                return frame;
+            }
+            if (this.pins[frame] > 0) {
+                continue;
+            }
+            if (this.referenced[frame]) {
+                this.referenced[frame] = false;  // Second chance
+                continue;
+            }
+            if (this.dirty[frame]) {
+                this.log.flush(this.lsns[frame]);  // Write-ahead rule
+                this.writeBack(frame);
+            }
+            this.pageTable.remove(this.pageIds[frame]);
+            this.pageIds[frame] = -1;
+            return frame;
+        }
+        throw new IllegalStateException("All buffer pool frames are pinned");
+    }
+
+    private void writeBack(int frame) throws IOException {
+        ByteBuffer buffer = this.frames[frame].duplicate().clear();
+        long position = this.pageIds[frame] * this.pageSize;
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer, position + buffer.position());
+        }
+        this.dirty[frame] = false;
+        this.writeBacks++;
+    }
+
+    long hits() {
+        return this.hits;
+    }
+
+    long misses() {
+        return this.misses;
+    }
+
+    long writeBacks() {
+        return this.writeBacks;
+    }
+}
@@ -0,0 +1,728 @@
+package com.marcinseweryn.algorithms.datastructures.tree.bplus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Disk-backed B+ tree index mapping {@code long} keys to {@code long} values, stored in fixed-size pages of a file.
+ *
+ * <p>Pages are accessed through a {@link BufferPool} with clock eviction, so the index can be much larger than
+ * the memory given to the pool. Page 0 holds the metadata (root page, page count, size), every other page is
+ * either a leaf or an inner node:
+ * <pre>
+ *   leaf:  [type byte][pad][count int][next leaf long] { [key long][value long] } * count
+ *   inner: [type byte][pad][count int][child 0 long]   { [key long][child i + 1 long] } * count
+ * </pre>
+ * Both layouts are arrays of 16-byte units after a 16-byte header, so insertions shift units the same way
+ * in leaves and inner nodes. Leaves are linked left to right for range scans.
+ *
+ * <p>Durability relies on a {@link WriteAheadLog} next to the data file. Each {@link #put} or {@link #remove}
+ * appends the images of the pages it changed as one record, and {@link #sync()} forces the log, making every
+ * previous operation durable at the cost of a single fsync (group commit). {@link #checkpoint()} writes the dirty
+ * pages back and empties the log. When the tree is opened, the records of the log are replayed, restoring
+ * the state of the last logged operation after a crash.
+ *
+ * <p>Like many disk-based B-trees, removal does not merge underfull pages: empty leaves stay in the chain and are
+ * skipped by scans, and the space is reclaimed by bulk loading into a new file. This class is not thread-safe.
+ */
+public class PagedBPlusTree implements Closeable {
+
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+    public static final int DEFAULT_POOL_PAGES = 256;
+
+    private static final int MAGIC = 0x42505446;  // "BPTF"
+    private static final int VERSION = 1;
+    private static final int MIN_PAGE_SIZE = 64;  // At least three entries per page
+
+    private static final byte LEAF = 1;
+    private static final byte INNER = 2;
+    private static final int TYPE_OFFSET = 0;
+    private static final int COUNT_OFFSET = 4;
+    private static final int LINK_OFFSET = 8;  // Next leaf, or first child of an inner node
+    private static final int UNITS_OFFSET = 16;
+    private static final int UNIT_SIZE = 16;
+
+    private final FileChannel data;
+    private final WriteAheadLog log;
+    private final BufferPool pool;
+    private final int pageSize;
+    private final int maxUnits;  // Maximum number of entries in a leaf and of keys in an inner node
+
+    private long root;
+    private long pageCount;
+    private long size;
+
+    private int[] held = new int[16];  // Frames pinned by the current operation
+    private int heldCount;
+    private long promoted;  // Separator promoted by the last split during an insertion
+    private boolean added;  // Whether the current insertion added a new key
+
+    private PagedBPlusTree(FileChannel data, WriteAheadLog log, int pageSize, int poolPages) {
+        this.data = data;
+        this.log = log;
+        this.pageSize = pageSize;
+        this.maxUnits = (pageSize - UNITS_OFFSET) / UNIT_SIZE;
+        this.pool = new BufferPool(data, log, pageSize, poolPages);
+    }
+
+    /**
+     * Opens or creates an index with 4 KiB pages and a pool of 256 pages.
+     *
+     * @param file the data file; the log is kept next to it, with the {@code .wal} suffix
+     * @return the opened index
+     * @throws IOException if an I/O error occurs or the file is not an index
+     */
+    public static PagedBPlusTree open(Path file) throws IOException {
+        return open(file, DEFAULT_PAGE_SIZE, DEFAULT_POOL_PAGES);
+    }
+
+    /**
+     * Opens or creates an index, replaying the write-ahead log left by a previous run.
+     *
+     * @param file      the data file; the log is kept next to it, with the {@code .wal} suffix
+     * @param pageSize  the size of a page in bytes, a multiple of 16 of at least 64; must match an existing file
+     * @param poolPages the number of pages cached in memory, at least {@link #minPoolPages(int)} for the page size
+     * @return the opened index
+     * @throws IOException              if an I/O error occurs or the file is not an index
+     * @throws IllegalArgumentException if the page size or the pool size is invalid
+     */
+    public static PagedBPlusTree open(Path file, int pageSize, int poolPages) throws IOException {
+        if (pageSize < MIN_PAGE_SIZE || pageSize % UNIT_SIZE != 0) {
+            throw new IllegalArgumentException("Page size must be a multiple of 16 of at least " + MIN_PAGE_SIZE);
+        }
+        if (poolPages < minPoolPages(pageSize)) {
+            throw new IllegalArgumentException("Pool must hold at least " + minPoolPages(pageSize) + " pages");
+        }
+
+        FileChannel data = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        WriteAheadLog log = new WriteAheadLog(file.resolveSibling(file.getFileName() + ".wal"), pageSize);
+        PagedBPlusTree tree = new PagedBPlusTree(data, log, pageSize, poolPages);
+        try {
+            if (data.size() == 0) {
+                tree.create();
+            } else {
+                tree.readMeta();
+                tree.recover();
+            }
+        } catch (IOException | RuntimeException e) {
+            tree.closeQuietly();
+            throw e;
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the smallest pool an index with the given page size accepts: enough frames for an insertion
+     * into the tallest tree the file can hold, as it pins every page on its path, the right half of every page
+     * it splits and a new root. 19 with 4 KiB pages, 115 with 64-byte pages.
+     *
+     * @param pageSize the size of a page in bytes
+     * @return the minimum number of pages in the pool
+     */
+    public static int minPoolPages(int pageSize) {
+        long maxPages = Long.MAX_VALUE / pageSize;  // Page offsets must fit in a long
+        int minChildren = (pageSize - UNITS_OFFSET) / UNIT_SIZE / 2 + 1;  // Of an inner page below the root, never merged
+        // A tree of height h >= 2 has a root with two children and at least 2 * minChildren^(h - 2) leaves
+        int height = 2;
+        long leaves = 2;
+        while (leaves <= maxPages / minChildren) {
+            leaves *= minChildren;
+            height++;
+        }
+        return 2 * height + 1;
+    }
+
+    /**
+     * Initializes an empty index: the metadata page and an empty leaf as root.
+     */
+    private void create() throws IOException {
+        ByteBuffer page = ByteBuffer.allocate(this.pageSize);
+        page.put(TYPE_OFFSET, LEAF);
+        writePage(this.data, page, 1, this.pageSize);
+        this.root = 1;
+        this.pageCount = 2;
+        this.size = 0;
+        this.writeMeta();
+        this.log.truncate();
+    }
+
+    private void readMeta() throws IOException {
+        ByteBuffer meta = ByteBuffer.allocate(36);
+        WriteAheadLog.readFully(this.data, meta, 0);
+        if (meta.getInt(0) != MAGIC) {
+            throw new IOException("Not a paged B+ tree file");
+        }
+        if (meta.getInt(4) != VERSION) {
+            throw new IOException("Unsupported version: " + meta.getInt(4));
+        }
+        if (meta.getInt(8) != this.pageSize) {
+            throw new IOException("Page size mismatch: file uses " + meta.getInt(8) + ", requested " + this.pageSize);
+        }
+        this.root = meta.getLong(12);
+        this.pageCount = meta.getLong(20);
+        this.size = meta.getLong(28);
+    }
+
+    private void writeMeta() throws IOException {
+        ByteBuffer page = ByteBuffer.allocate(this.pageSize);
+        page.putInt(MAGIC).putInt(VERSION).putInt(this.pageSize).putLong(this.root).putLong(this.pageCount).putLong(this.size);
+        writePage(this.data, page, 0, this.pageSize);
+        this.data.force(true);
+    }
+
+    /**
+     * Replays the log into the data file and adopts the metadata of its last valid record.
+     */
+    private void recover() throws IOException {
+        if (this.log.isEmpty()) {
+            return;
+        }
+        WriteAheadLog.State state = this.log.replay(this.data);
+        if (state != null) {
+            this.data.force(true);
+            this.root = state.root;
+            this.pageCount = state.pageCount;
+            this.size = state.size;
+            this.writeMeta();
+        }
+        this.log.truncate();
+    }
+
+    /**
+     * Returns the number of keys in the index.
+     *
+     * @return the number of keys
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Returns true if the index contains no keys.
+     *
+     * @return true if the index is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the value associated with the key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is absent
+     * @throws IOException if an I/O error occurs
+     */
+    public Long get(long key) throws IOException {
+        int frame = this.findLeaf(key);
+        try {
+            ByteBuffer page = this.pool.buffer(frame);
+            int position = search(page, key);
+            return position >= 0 ? page.getLong(valueOffset(position)) : null;
+        } finally {
+            this.pool.unpin(frame);
+        }
+    }
+
+    /**
+     * Checks if the index contains the key.
+     *
+     * @param key the key
+     * @return true if the key is present, false otherwise
+     * @throws IOException if an I/O error occurs
+     */
+    public boolean contains(long key) throws IOException {
+        return this.get(key) != null;
+    }
+
+    /**
+     * Visits the entries with keys in the range {@code [low, high)}, in ascending order,
+     * following the leaf links. The visitor must not modify the index.
+     *
+     * @param low     the lower bound, inclusive
+     * @param high    the upper bound, exclusive
+     * @param visitor the visitor, returning false to stop the scan
+     * @throws IOException if an I/O error occurs
+     */
+    public void scan(long low, long high, EntryVisitor visitor) throws IOException {
+        int frame = this.findLeaf(low);
+        int position = search(this.pool.buffer(frame), low);
+        int index = position >= 0 ? position : -position - 1;
+        while (true) {
+            ByteBuffer page = this.pool.buffer(frame);
+            int count = page.getInt(COUNT_OFFSET);
+            for (; index < count; index++) {
+                long key = page.getLong(keyOffset(index));
+                if (key >= high || !visitor.visit(key, page.getLong(valueOffset(index)))) {
+                    this.pool.unpin(frame);
+                    return;
+                }
+            }
+            long next = page.getLong(LINK_OFFSET);
+            this.pool.unpin(frame);
+            if (next == 0) {
+                return;
+            }
+            frame = this.pool.pin(next);
+            index = 0;
+        }
+    }
+
+    /**
+     * Descends from the root to the leaf whose range covers the key.
+     *
+     * @return the pinned frame of the leaf
+     */
+    private int findLeaf(long key) throws IOException {
+        int frame = this.pool.pin(this.root);
+        while (this.pool.buffer(frame).get(TYPE_OFFSET) == INNER) {
+            ByteBuffer page = this.pool.buffer(frame);
+            long child = childAt(page, childIndex(search(page, key)));
+            this.pool.unpin(frame);
+            frame = this.pool.pin(child);
+        }
+        return frame;
+    }
+
+    /**
+     * Associates the value with the key, replacing the previous value if any.
+     * The change is logged but only durable after the next {@link #sync()}.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return true if the key was added, false if its value was replaced
+     * @throws IOException if an I/O error occurs
+     */
+    public boolean put(long key, long value) throws IOException {
+        this.added = false;
+        long root = this.root;
+        long pageCount = this.pageCount;
+        try {
+            long sibling = this.insert(this.root, key, value);
+            if (sibling != 0) {
+                // The root was split, grow the tree by one level
+                long newRoot = this.pageCount;
+                ByteBuffer page = this.pool.buffer(this.allocate());
+                page.put(TYPE_OFFSET, INNER);
+                page.putLong(LINK_OFFSET, this.root);
+                insertUnit(page, 0, this.promoted, sibling);
+                this.root = newRoot;
+            }
+            // The size only changes once the record holding it is appended to the log
+            long size = this.added ? this.size + 1 : this.size;
+            this.pool.commit(this.root, this.pageCount, size);
+            this.size = size;
+        } catch (IOException | RuntimeException e) {
+            // The changed pages are discarded, so are the new ones
+            this.root = root;
+            this.pageCount = pageCount;
+            throw e;
+        } finally {
+            this.releaseHeld();
+        }
+        return this.added;
+    }
+
+    /**
+     * Helper method to insert into the subtree of a page.
+     *
+     * @return the id of the new right sibling if the page was split, with its separator in {@link #promoted}, or 0
+     */
+    private long insert(long pageId, long key, long value) throws IOException {
+        int frame = this.hold(pageId);
+        ByteBuffer page = this.pool.buffer(frame);
+        int count = page.getInt(COUNT_OFFSET);
+        int position = search(page, key);
+
+        if (page.get(TYPE_OFFSET) == LEAF) {
+            if (position >= 0) {
+                if (page.getLong(valueOffset(position)) != value) {
+                    this.pool.markDirty(frame);
+                    page.putLong(valueOffset(position), value);
+                }
+                return 0;
+            }
+            this.added = true;
+            return this.insertOrSplit(frame, count, -position - 1, key, value);
+        }
+
+        int index = childIndex(position);
+        long sibling = this.insert(childAt(page, index), key, value);
+        if (sibling == 0) {
+            return 0;
+        }
+        return this.insertOrSplit(frame, count, index, this.promoted, sibling);
+    }
+
+    /**
+     * Inserts a unit into a page, splitting the page in two if it is full.
+     *
+     * @return the id of the new right page, or 0 if the page was not split
+     */
+    private long insertOrSplit(int frame, int count, int index, long first, long second) throws IOException {
+        ByteBuffer page = this.pool.buffer(frame);
+        this.pool.markDirty(frame);
+        if (count < this.maxUnits) {
+            insertUnit(page, index, first, second);
+            return 0;
+        }
+
+        // Gather the units with the new one in place, then redistribute them over both pages
+        int total = count + 1;
+        long[] firsts = new long[total];
+        long[] seconds = new long[total];
+        for (int i = 0, source = 0; i < total; i++) {
+            if (i == index) {
+                firsts[i] = first;
+                seconds[i] = second;
+            } else {
+                firsts[i] = page.getLong(keyOffset(source));
+                seconds[i] = page.getLong(valueOffset(source));
+                source++;
+            }
+        }
+
+        long rightId = this.pageCount;
+        ByteBuffer right = this.pool.buffer(this.allocate());
+        if (page.get(TYPE_OFFSET) == LEAF) {
+            int keep = (total + 1) / 2;
+            writeUnits(page, firsts, seconds, 0, keep);
+            writeUnits(right, firsts, seconds, keep, total);
+            right.put(TYPE_OFFSET, LEAF);
+            right.putLong(LINK_OFFSET, page.getLong(LINK_OFFSET));
+            page.putLong(LINK_OFFSET, rightId);
+            this.promoted = firsts[keep];  // Copied up, the key stays in the leaf
+        } else {
+            int middle = total / 2;
+            writeUnits(page, firsts, seconds, 0, middle);
+            writeUnits(right, firsts, seconds, middle + 1, total);
+            right.put(TYPE_OFFSET, INNER);
+            right.putLong(LINK_OFFSET, seconds[middle]);  // The child right of the separator leads the new page
+            this.promoted = firsts[middle];  // Moved up
+        }
+        return rightId;
+    }
+
+    /**
+     * Removes the key and its value.
+     * The change is logged but only durable after the next {@link #sync()}.
+     *
+     * @param key the key to remove
+     * @return true if the key was removed, false if it was not found
+     * @throws IOException if an I/O error occurs
+     */
+    public boolean remove(long key) throws IOException {
+        try {
+            int frame = this.hold(this.root);
+            while (this.pool.buffer(frame).get(TYPE_OFFSET) == INNER) {
+                ByteBuffer page = this.pool.buffer(frame);
+                frame = this.hold(childAt(page, childIndex(search(page, key))));
+            }
+
+            ByteBuffer leaf = this.pool.buffer(frame);
+            int position = search(leaf, key);
+            if (position < 0) {
+                return false;
+            }
+            int count = leaf.getInt(COUNT_OFFSET);
+            this.pool.markDirty(frame);
+            byte[] bytes = leaf.array();
+            System.arraycopy(bytes, keyOffset(position + 1), bytes, keyOffset(position), (count - position - 1) * UNIT_SIZE);
+            leaf.putLong(keyOffset(count - 1), 0).putLong(valueOffset(count - 1), 0);
+            leaf.putInt(COUNT_OFFSET, count - 1);
+            this.pool.commit(this.root, this.pageCount, this.size - 1);
+            this.size--;
+            return true;
+        } finally {
+            this.releaseHeld();
+        }
+    }
+
+    /**
+     * Loads sorted entries into an empty index bottom-up, filling every page, then checkpoints.
+     * The pages are not logged: if the process stops before the load completes, the index is still empty
+     * when reopened.
+     *
+     * @param keys   the keys, sorted in strictly ascending order
+     * @param values the values, one per key
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalStateException    if the index is not empty
+     * @throws IllegalArgumentException if the keys are not strictly ascending or the lengths differ
+     */
+    public void bulkLoad(long[] keys, long[] values) throws IOException {
+        if (this.size != 0) {
+            throw new IllegalStateException("Bulk load requires an empty index");
+        }
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] >= keys[i]) {
+                throw new IllegalArgumentException("Keys must be sorted in strictly ascending order");
+            }
+        }
+        if (keys.length == 0) {
+            return;
+        }
+
+        // Leaves get consecutive pages, so each one links to the next page
+        int leafCount = (keys.length + this.maxUnits - 1) / this.maxUnits;
+        long[] ids = new long[leafCount];
+        long[] lows = new long[leafCount];  // Smallest key under each page of the level
+        int from = 0;
+        for (int i = 0; i < leafCount; i++) {
+            int count = share(keys.length, leafCount, i);
+            ids[i] = this.pageCount;
+            lows[i] = keys[from];
+            int frame = this.allocate();
+            ByteBuffer page = this.pool.buffer(frame);
+            page.put(TYPE_OFFSET, LEAF);
+            page.putLong(LINK_OFFSET, i + 1 < leafCount ? ids[i] + 1 : 0);
+            writeUnits(page, keys, values, from, from + count);
+            this.releaseBulkPage(frame);
+            from += count;
+        }
+
+        // Group the pages of each level under parents until a single root remains
+        while (ids.length > 1) {
+            int parentCount = (ids.length + this.maxUnits) / (this.maxUnits + 1);
+            long[] parentIds = new long[parentCount];
+            long[] parentLows = new long[parentCount];
+            int child = 0;
+            for (int i = 0; i < parentCount; i++) {
+                int count = share(ids.length, parentCount, i);
+                parentIds[i] = this.pageCount;
+                parentLows[i] = lows[child];
+                int frame = this.allocate();
+                ByteBuffer page = this.pool.buffer(frame);
+                page.put(TYPE_OFFSET, INNER);
+                page.putLong(LINK_OFFSET, ids[child]);
+                writeUnits(page, lows, ids, child + 1, child + count);
+                this.releaseBulkPage(frame);
+                child += count;
+            }
+            ids = parentIds;
+            lows = parentLows;
+        }
+
+        this.root = ids[0];
+        this.size = keys.length;
+        this.checkpoint();
+    }
+
+    private void releaseBulkPage(int frame) {
+        this.pool.releasePending();
+        this.pool.unpin(frame);
+        this.heldCount = 0;
+    }
+
+    private static int share(int total, int groups, int index) {
+        return total / groups + (index < total % groups ? 1 : 0);
+    }
+
+    /**
+     * Forces the log, making every previous operation durable.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void sync() throws IOException {
+        this.log.flush();
+    }
+
+    /**
+     * Writes every dirty page back to the data file, records the metadata and empties the log,
+     * bounding the work of the next recovery.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void checkpoint() throws IOException {
+        this.pool.flushAll();
+        this.data.force(true);
+        this.writeMeta();
+        this.log.truncate();
+    }
+
+    /**
+     * Checkpoints and closes the files.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.checkpoint();
+        } finally {
+            this.closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            this.log.close();
+        } catch (IOException ignored) {
+            // Closing the data file matters more
+        }
+        try {
+            this.data.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * Returns the number of page requests served from the buffer pool.
+     *
+     * @return the number of buffer pool hits
+     */
+    public long bufferPoolHits() {
+        return this.pool.hits();
+    }
+
+    /**
+     * Returns the number of page requests that had to read the data file.
+     *
+     * @return the number of buffer pool misses
+     */
+    public long bufferPoolMisses() {
+        return this.pool.misses();
+    }
+
+    /**
+     * Returns the number of dirty pages written back to the data file.
+     *
+     * @return the number of write-backs
+     */
+    public long pageWriteBacks() {
+        return this.pool.writeBacks();
+    }
+
+    /**
+     * Allocates a new zeroed page at the end of the file, pinned by the current operation.
+     *
+     * @return the frame of the new page
+     */
+    private int allocate() throws IOException {
+        int frame = this.pool.pinNew(this.pageCount++);
+        this.trackHeld(frame);
+        return frame;
+    }
+
+    /**
+     * Pins a page until the end of the current operation.
+     */
+    private int hold(long pageId) throws IOException {
+        int frame = this.pool.pin(pageId);
+        this.trackHeld(frame);
+        return frame;
+    }
+
+    private void trackHeld(int frame) {
+        if (this.heldCount == this.held.length) {
+            this.held = Arrays.copyOf(this.held, this.heldCount * 2);
+        }
+        this.held[this.heldCount++] = frame;
+    }
+
+    private void releaseHeld() {
+        this.pool.discardPending();  // Only left over if the operation failed before being logged
+        for (int i = 0; i < this.heldCount; i++) {
+            this.pool.unpin(this.held[i]);
+        }
+        this.heldCount = 0;
+    }
+
+    private static int keyOffset(int index) {
+        return UNITS_OFFSET + index * UNIT_SIZE;
+    }
+
+    private static int valueOffset(int index) {
+        return UNITS_OFFSET + index * UNIT_SIZE + 8;
+    }
+
+    /**
+     * Returns the child at the given index of an inner page. The first child is stored in the header and
+     * child {@code i + 1} right after key {@code i}, so every child is at {@code 8 + 16 * i}.
+     */
+    private static long childAt(ByteBuffer page, int index) {
+        return page.getLong(LINK_OFFSET + index * UNIT_SIZE);
+    }
+
+    /**
+     * Elements equal to a separator belong to the child on its right.
+     */
+    private static int childIndex(int position) {
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    /**
+     * Binary search over the keys of a page.
+     *
+     * @return the index of the key, or {@code -(insertion point) - 1} if absent
+     */
+    private static int search(ByteBuffer page, long key) {
+        int low = 0;
+        int high = page.getInt(COUNT_OFFSET) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long current = page.getLong(keyOffset(middle));
+            if (current < key) {
+                low = middle + 1;
+            } else if (current > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Inserts a unit at the given index, shifting the following units right.
+     */
+    private static void insertUnit(ByteBuffer page, int index, long first, long second) {
+        int count = page.getInt(COUNT_OFFSET);
+        byte[] bytes = page.array();
+        System.arraycopy(bytes, keyOffset(index), bytes, keyOffset(index + 1), (count - index) * UNIT_SIZE);
+        page.putLong(keyOffset(index), first).putLong(valueOffset(index), second);
+        page.putInt(COUNT_OFFSET, count + 1);
+    }
+
+    /**
+     * Replaces the units of a page with the given range, clearing the unused space.
+     */
+    private static void writeUnits(ByteBuffer page, long[] firsts, long[] seconds, int from, int to) {
+        for (int i = from; i < to; i++) {
+            page.putLong(keyOffset(i - from), firsts[i]).putLong(valueOffset(i - from), seconds[i]);
+        }
+        Arrays.fill(page.array(), keyOffset(to - from), page.capacity(), (byte) 0);
+        page.putInt(COUNT_OFFSET, to - from);
+    }
+
+    private static void writePage(FileChannel channel, ByteBuffer page, long pageId, int pageSize) throws IOException {
+        ByteBuffer buffer = page.duplicate().clear();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, pageId * pageSize + buffer.position());
+        }
+    }
+
+    /**
+     * Receives the entries of a range scan.
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+
+        /**
+         * Visits one entry.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return true to continue the scan, false to stop it
+         */
+        boolean visit(long key, long value);
+    }
+}
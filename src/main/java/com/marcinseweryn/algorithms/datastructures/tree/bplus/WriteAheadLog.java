@@ -0,0 +1,188 @@
+package com.marcinseweryn.algorithms.datastructures.tree.bplus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Redo-only write-ahead log of a {@link PagedBPlusTree}.
+ *
+ * <p>Every modifying operation appends one record holding the after-image of each page it changed
+ * together with the tree metadata (root, page count, size) as of the end of the operation:
+ * <pre>
+ *   [length int][crc int][lsn long][root long][page count long][size long][pages int]
+ *   { [page id long][page bytes] } * pages
+ * </pre>
+ * The CRC covers everything after itself, so a record torn by a crash is detected and ignored.
+ * Replaying the records in order rewrites every page to its latest logged image, which is idempotent
+ * and therefore safe to repeat if recovery itself is interrupted.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 8 + 4;
+
+    private final FileChannel channel;
+    private final int pageSize;
+    private ByteBuffer record;  // Reused buffer the records are assembled in
+    private long nextLsn = 1;  // Log sequence number of the next record
+    private long appendedLsn;  // Last appended record
+    private long flushedLsn;  // Last record known to be on stable storage
+    private long forces;  // Number of fsync calls, for metrics
+
+    WriteAheadLog(Path path, int pageSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.pageSize = pageSize;
+        this.record = ByteBuffer.allocate(HEADER_SIZE + 4 * (8 + pageSize));
+        this.channel.position(this.channel.size());
+    }
+
+    /**
+     * Appends a record with the images of the given pages. The record is handed to the operating
+     * system but not forced, see {@link #flush(long)}.
+     *
+     * @return the log sequence number of the record
+     */
+    long append(long root, long pageCount, long size, long[] pageIds, ByteBuffer[] images, int pages) throws IOException {
+        int length = HEADER_SIZE + pages * (8 + this.pageSize);
+        if (this.record.capacity() < length) {
+            this.record = ByteBuffer.allocate(Math.max(length, this.record.capacity() * 2));
+        }
+
+        long lsn = this.nextLsn++;
+        ByteBuffer buffer = this.record.clear();
+        buffer.putInt(length).putInt(0).putLong(lsn).putLong(root).putLong(pageCount).putLong(size).putInt(pages);
+        for (int i = 0; i < pages; i++) {
+            buffer.putLong(pageIds[i]);
+            buffer.put(images[i].duplicate().clear());
+        }
+        buffer.flip();
+        buffer.putInt(4, checksum(buffer, length));
+
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+        this.appendedLsn = lsn;
+        return lsn;
+    }
+
+    /**
+     * Forces the log to stable storage up to at least the given record.
+     * Does nothing if that record was already forced, so concurrent dirty pages share one fsync.
+     */
+    void flush(long lsn) throws IOException {
+        if (lsn > this.flushedLsn) {
+            this.channel.force(false);
+            this.forces++;
+            this.flushedLsn = this.appendedLsn;
+        }
+    }
+
+    /**
+     * Forces every appended record to stable storage.
+     */
+    void flush() throws IOException {
+        this.flush(this.appendedLsn);
+    }
+
+    /**
+     * Empties the log once all logged pages were written to the data file.
+     */
+    void truncate() throws IOException {
+        this.channel.truncate(0);
+        this.channel.position(0);
+        this.channel.force(false);
+        this.forces++;
+    }
+
+    boolean isEmpty() throws IOException {
+        return this.channel.size() == 0;
+    }
+
+    long forces() {
+        return this.forces;
+    }
+
+    /**
+     * Rewrites every logged page image into the data file, in log order, stopping at the first
+     * torn or corrupted record.
+     *
+     * @param data the data file
+     * @return the metadata of the last valid record, or null if the log holds none
+     */
+    State replay(FileChannel data) throws IOException {
+        State state = null;
+        ByteBuffer header = ByteBuffer.allocate(8);
+        long position = 0;
+        long size = this.channel.size();
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(this.channel, header, position);
+            int length = header.getInt(0);
+            if (length < HEADER_SIZE || position + length > size) {
+                break;  // Torn tail
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            readFully(this.channel, buffer, position);
+            buffer.flip();
+            if (buffer.getInt(4) != checksum(buffer, length)) {
+                break;  // Corrupted tail
+            }
+
+            buffer.position(8);
+            long lsn = buffer.getLong();
+            state = new State(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            int pages = buffer.getInt();
+            for (int i = 0; i < pages; i++) {
+                long pageId = buffer.getLong();
+                ByteBuffer image = buffer.slice(buffer.position(), this.pageSize);
+                while (image.hasRemaining()) {
+                    data.write(image, pageId * this.pageSize + image.position());
+                }
+                buffer.position(buffer.position() + this.pageSize);
+            }
+            this.nextLsn = lsn + 1;
+            position += length;
+        }
+        return state;
+    }
+
+    private static int checksum(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(8, length - 8));
+        return (int) crc.getValue();
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Tree metadata recorded with each log record.
+     */
+    static final class State {
+        final long root;
+        final long pageCount;
+        final long size;
+
+        State(long root, long pageCount, long size) {
+            this.root = root;
+            this.pageCount = pageCount;
+            this.size = size;
+        }
+    }
+}
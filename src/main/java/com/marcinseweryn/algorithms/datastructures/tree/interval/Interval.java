@@ -0,0 +1,107 @@
+package com.marcinseweryn.algorithms.datastructures.tree.interval;
+
+import java.util.Objects;
+
+/**
+ * A closed interval {@code [low, high]}, ordered by its low bound, then by its high bound and then by its id.
+ * The id tells apart intervals with the same bounds, so a tree can hold several copies of a range.
+ *
+ * @param <T> the type of the bounds, which must be comparable
+ */
+public final class Interval<T extends Comparable<T>> implements Comparable<Interval<T>> {
+
+    private final T low;
+    private final T high;
+    private final long id;
+
+    /**
+     * Creates the interval {@code [low, high]} with id 0.
+     *
+     * @param low  the low bound, inclusive
+     * @param high the high bound, inclusive
+     * @throws IllegalArgumentException if a bound is null or the low bound is greater than the high bound
+     */
+    public Interval(T low, T high) {
+        this(low, high, 0);
+    }
+
+    /**
+     * Creates the interval {@code [low, high]} with the given id.
+     *
+     * @param low  the low bound, inclusive
+     * @param high the high bound, inclusive
+     * @param id   the id telling apart the intervals with the same bounds
+     * @throws IllegalArgumentException if a bound is null or the low bound is greater than the high bound
+     */
+    public Interval(T low, T high, long id) {
+        if (low == null || high == null) {
+            throw new IllegalArgumentException("Bounds cannot be null");
+        }
+        if (low.compareTo(high) > 0) {
+            throw new IllegalArgumentException("Low bound cannot be greater than high bound");
+        }
+        this.low = low;
+        this.high = high;
+        this.id = id;
+    }
+
+    public T low() {
+        return this.low;
+    }
+
+    public T high() {
+        return this.high;
+    }
+
+    public long id() {
+        return this.id;
+    }
+
+    /**
+     * Checks if this interval has the bounds {@code [low, high]}, whatever its id.
+     *
+     * @param low  the low bound, inclusive
+     * @param high the high bound, inclusive
+     * @return {@code true} if both bounds are equal
+     */
+    public boolean hasBounds(T low, T high) {
+        return this.low.compareTo(low) == 0 && this.high.compareTo(high) == 0;
+    }
+
+    /**
+     * Checks if this interval shares at least one point with {@code [low, high]}.
+     *
+     * @param low  the low bound of the other interval, inclusive
+     * @param high the high bound of the other interval, inclusive
+     * @return {@code true} if the intervals overlap
+     */
+    public boolean overlaps(T low, T high) {
+        return this.low.compareTo(high) <= 0 && low.compareTo(this.high) <= 0;
+    }
+
+    @Override
+    public int compareTo(Interval<T> other) {
+        int comparison = this.low.compareTo(other.low);
+        if (comparison == 0) {
+            comparison = this.high.compareTo(other.high);
+        }
+        return comparison != 0 ? comparison : Long.compare(this.id, other.id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Interval<?> other)) return false;
+        return this.low.equals(other.low) && this.high.equals(other.high) && this.id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.low, this.high, this.id);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + this.low + ", " + this.high + "]";
+    }
+}
@@ -0,0 +1,216 @@
+package com.marcinseweryn.algorithms.datastructures.tree.interval;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
+import com.marcinseweryn.algorithms.datastructures.tree.binary.AVL;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Interval tree implementation.
+ * An interval tree is an {@link AVL} tree of intervals ordered by their low bound, where every node also
+ * caches the greatest high bound in its subtree. A search for the intervals overlapping a query skips
+ * every subtree whose greatest high bound is below the query, and stops at the first interval starting
+ * after it, so finding the k overlapping intervals takes O(min(n, k log n)) time instead of a scan over all n.
+ *
+ * <p>The intervals are closed. The tree holds several copies of a range as intervals with different ids,
+ * which {@link #add(Comparable, Comparable)} assigns in the order the copies are added.
+ * Split, join and the set operations of {@link AVL} keep the cached bounds up to date and return interval trees.
+ *
+ * @param <T> the type of the interval bounds, which must be comparable
+ */
+public class IntervalTree<T extends Comparable<T>> extends AVL<Interval<T>> {
+
+    /**
+     * Node caching the greatest high bound of its subtree.
+     */
+    private static final class Node<T extends Comparable<T>> extends BinaryNode<Interval<T>> {
+        T max;
+
+        Node(Interval<T> interval) {
+            super(interval);
+            this.max = interval.high();
+        }
+    }
+
+    /**
+     * Builds an interval tree from intervals sorted in strictly ascending order in O(n), rooting every
+     * subtree at the middle interval of its range.
+     *
+     * @param sorted the intervals, sorted by low bound, high bound and id, without duplicates
+     * @param <T>    the type of the interval bounds
+     * @return a new interval tree containing the intervals
+     * @throws IllegalArgumentException if the intervals are not strictly ascending or contain null
+     */
+    public static <T extends Comparable<T>> IntervalTree<T> bulkLoad(Interval<T>[] sorted) {
+        IntervalTree<T> tree = new IntervalTree<>();
+        tree.load(sorted);
+        return tree;
+    }
+
+    /**
+     * Adds a copy of the interval {@code [low, high]} to the tree, in O(log n). The copy gets the id following
+     * the greatest id among the intervals with the same bounds, or 0 if there is none.
+     *
+     * @param low  the low bound, inclusive
+     * @param high the high bound, inclusive
+     * @return {@code true}, as a new copy is always added
+     * @throws IllegalArgumentException if a bound is null or the low bound is greater than the high bound
+     */
+    public boolean add(T low, T high) {
+        Interval<T> last = this.floor(new Interval<>(low, high, Long.MAX_VALUE));
+        long id = last != null && last.hasBounds(low, high) ? Math.addExact(last.id(), 1) : 0;
+        return this.add(new Interval<>(low, high, id));
+    }
+
+    /**
+     * Removes the copy of the interval {@code [low, high]} with the smallest id from the tree, in O(log n).
+     *
+     * @param low  the low bound, inclusive
+     * @param high the high bound, inclusive
+     * @return {@code true} if a copy was removed, {@code false} if none was found
+     * @throws IllegalArgumentException if a bound is null or the low bound is greater than the high bound
+     */
+    public boolean remove(T low, T high) {
+        Interval<T> first = this.ceiling(new Interval<>(low, high, Long.MIN_VALUE));
+        return first != null && first.hasBounds(low, high) && this.remove(first);
+    }
+
+    /**
+     * Returns a lazy iterator over the intervals containing a point, in ascending order.
+     *
+     * @param point the point
+     * @return an iterator over the intervals containing the point
+     */
+    public Iterator<Interval<T>> stab(T point) {
+        return this.overlapping(point, point);
+    }
+
+    /**
+     * Returns a lazy iterator over the intervals sharing at least one point with {@code [low, high]},
+     * in ascending order. The intervals are found as the iterator advances, so stopping early saves the work.
+     *
+     * @param low  the low bound of the query, inclusive
+     * @param high the high bound of the query, inclusive
+     * @return an iterator over the overlapping intervals
+     * @throws IllegalArgumentException if a bound is null
+     */
+    public Iterator<Interval<T>> overlapping(T low, T high) {
+        if (low == null || high == null) {
+            throw new IllegalArgumentException("Bounds cannot be null");
+        }
+        return new OverlapIterator(low, high);
+    }
+
+    /**
+     * Checks if any interval shares at least one point with {@code [low, high]}, in O(log n).
+     *
+     * @param low  the low bound of the query, inclusive
+     * @param high the high bound of the query, inclusive
+     * @return {@code true} if an overlapping interval exists
+     */
+    public boolean overlapsAny(T low, T high) {
+        BinaryNode<Interval<T>> node = this.root;
+        while (node != null) {
+            if (node.element.overlaps(low, high)) {
+                return true;
+            }
+            // If the left subtree reaches the query, it holds an overlap or nothing to the right can
+            if (node.left != null && max(node.left).compareTo(low) >= 0) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected AVL<Interval<T>> newTree() {
+        return new IntervalTree<>();
+    }
+
+    @Override
+    protected BinaryNode<Interval<T>> newNode(Interval<T> element) {
+        return new Node<>(element);
+    }
+
+    @Override
+    protected void updateNode(BinaryNode<Interval<T>> node) {
+        super.updateNode(node);
+        T max = node.element.high();
+        if (node.left != null && max(node.left).compareTo(max) > 0) {
+            max = max(node.left);
+        }
+        if (node.right != null && max(node.right).compareTo(max) > 0) {
+            max = max(node.right);
+        }
+        ((Node<T>) node).max = max;
+    }
+
+    private static <T extends Comparable<T>> T max(BinaryNode<Interval<T>> node) {
+        return ((Node<T>) node).max;
+    }
+
+    /**
+     * In-order traversal that prunes the subtrees ending before the query and stops at the first
+     * interval starting after it.
+     */
+    private class OverlapIterator implements Iterator<Interval<T>> {
+        private final T low;
+        private final T high;
+        private final Deque<BinaryNode<Interval<T>>> stack = new ArrayDeque<>();
+        private Interval<T> next;
+
+        OverlapIterator(T low, T high) {
+            this.low = low;
+            this.high = high;
+            this.pushLeft(IntervalTree.this.root);
+            this.advance();
+        }
+
+        /**
+         * Pushes the left spine of a subtree, down to the first subtree that ends before the query.
+         */
+        private void pushLeft(BinaryNode<Interval<T>> node) {
+            while (node != null && max(node).compareTo(this.low) >= 0) {
+                this.stack.push(node);
+                node = node.left;
+            }
+        }
+
+        private void advance() {
+            this.next = null;
+            while (!this.stack.isEmpty()) {
+                BinaryNode<Interval<T>> node = this.stack.pop();
+                if (node.element.low().compareTo(this.high) > 0) {
+                    // This interval and all the following ones start after the query
+                    this.stack.clear();
+                    return;
+                }
+                this.pushLeft(node.right);
+                if (node.element.high().compareTo(this.low) >= 0) {
+                    this.next = node.element;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public Interval<T> next() {
+            if (this.next == null) {
+                throw new NoSuchElementException();
+            }
+            Interval<T> interval = this.next;
+            this.advance();
+            return interval;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.marcinseweryn.algorithms.datastructures.tree.interval;
+
+import com.marcinseweryn.algorithms.datastructures.linkedlist.DoublyLinkedList;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+import static java.lang.System.out;
+
+/**
+ * Compares stabbing and range overlap queries on an {@link IntervalTree} with a linear scan over a
+ * {@link DoublyLinkedList} of the same intervals, and the bulk load of the tree with insertions.
+ * The intervals model time ranges: random starts over a day in milliseconds, and durations that are
+ * mostly short with a few long ones.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.interval.IntervalTreeBenchmark"
+ * </pre>
+ */
+public class IntervalTreeBenchmark {
+
+    private static final int SIZE = 1 << 20;
+    private static final long DAY = 86_400_000L;
+    private static final int TREE_QUERIES = 200_000;
+    private static final int SCAN_QUERIES = 20;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private IntervalTreeBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(13);
+        @SuppressWarnings("unchecked")
+        Interval<Long>[] intervals = new Interval[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            long start = random.nextLong(DAY);
+            long duration = random.nextInt(100) == 0 ? random.nextLong(3_600_000L) : random.nextLong(1000);
+            intervals[i] = new Interval<>(start, start + duration);
+        }
+        Interval<Long>[] sorted = Arrays.stream(intervals).distinct().sorted().toArray(Interval[]::new);
+
+        long start = System.nanoTime();
+        IntervalTree<Long> inserted = new IntervalTree<>();
+        for (Interval<Long> interval : intervals) {
+            inserted.add(interval);
+        }
+        double insertMillis = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        IntervalTree<Long> tree = IntervalTree.bulkLoad(sorted);
+        double bulkMillis = (System.nanoTime() - start) / 1e6;
+        sink = inserted.size() + tree.size();
+
+        DoublyLinkedList<Interval<Long>> list = new DoublyLinkedList<>();
+        for (Interval<Long> interval : intervals) {
+            list.add(interval);
+        }
+
+        out.printf("%d intervals%n", sorted.length);
+        out.printf("%-24s %12.1f ms%n", "build by add", insertMillis);
+        out.printf("%-24s %12.1f ms%n", "build by bulkLoad", bulkMillis);
+        for (long width : new long[]{0, 60_000}) {
+            String name = width == 0 ? "stab" : "overlap 1 min";
+            // Warm up, then measure
+            treeQueries(tree, width, 13);
+            scanQueries(list, width, 13);
+            out.printf("%-24s %12.0f ns%n", name + " tree", treeQueries(tree, width, 17));
+            out.printf("%-24s %12.0f ns%n", name + " list scan", scanQueries(list, width, 17));
+        }
+    }
+
+    /**
+     * @return the nanoseconds per query
+     */
+    private static double treeQueries(IntervalTree<Long> tree, long width, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < TREE_QUERIES; i++) {
+            long low = random.nextLong(DAY);
+            Iterator<Interval<Long>> iterator = tree.overlapping(low, low + width);
+            while (iterator.hasNext()) {
+                iterator.next();
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = found;
+        return (double) elapsed / TREE_QUERIES;
+    }
+
+    /**
+     * @return the nanoseconds per query
+     */
+    private static double scanQueries(DoublyLinkedList<Interval<Long>> list, long width, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < SCAN_QUERIES; i++) {
+            long low = random.nextLong(DAY);
+            for (Interval<Long> interval : list) {
+                if (interval.overlaps(low, low + width)) {
+                    found++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = found;
+        return (double) elapsed / SCAN_QUERIES;
+    }
+}
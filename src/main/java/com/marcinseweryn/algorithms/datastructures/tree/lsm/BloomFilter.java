@@ -0,0 +1,86 @@
+package com.marcinseweryn.algorithms.datastructures.tree.lsm;
+
+import com.marcinseweryn.algorithms.datastructures.hashing.SeededHasher;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A Bloom filter over encoded keys, stored with each sorted run so that lookups of absent keys
+ * usually skip the run without reading a block.
+ *
+ * <p>The {@code k} bit positions are derived from two 64-bit hashes as {@code h1 + i * h2}
+ * (Kirsch and Mitzenmacher), which is as accurate as {@code k} independent hash functions.
+ * With 10 bits per key and 7 probes the false positive rate is about 1%.
+ */
+final class BloomFilter {
+
+    static final int BITS_PER_KEY = 10;
+    private static final int PROBES = 7;  // About BITS_PER_KEY * ln 2
+    private static final long SEED_1 = 0x2545F4914F6CDD1DL;
+    private static final long SEED_2 = 0x9E3779B97F4A7C15L;
+
+    private final long[] words;
+    private final long bits;
+
+    /**
+     * Creates an empty filter sized for the expected number of keys.
+     *
+     * @param expectedKeys the number of keys that will be added
+     */
+    BloomFilter(long expectedKeys) {
+        long bits = Math.max(64, expectedKeys * BITS_PER_KEY);
+        this.words = new long[(int) ((bits + 63) >>> 6)];
+        this.bits = (long) this.words.length << 6;
+    }
+
+    private BloomFilter(long[] words) {
+        this.words = words;
+        this.bits = (long) words.length << 6;
+    }
+
+    void add(byte[] key) {
+        long h1 = SeededHasher.hashBytes(key, SEED_1);
+        long h2 = SeededHasher.hashBytes(key, SEED_2) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, this.bits);
+            this.words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Checks whether the key may have been added.
+     *
+     * @param key the encoded key
+     * @return false if the key was certainly not added, true if it probably was
+     */
+    boolean mightContain(byte[] key) {
+        long h1 = SeededHasher.hashBytes(key, SEED_1);
+        long h2 = SeededHasher.hashBytes(key, SEED_2) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, this.bits);
+            if ((this.words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int encodedSize() {
+        return Integer.BYTES + this.words.length * Long.BYTES;
+    }
+
+    void encode(ByteBuffer buffer) {
+        buffer.putInt(this.words.length);
+        for (long word : this.words) {
+            buffer.putLong(word);
+        }
+    }
+
+    static BloomFilter decode(ByteBuffer buffer) {
+        long[] words = new long[buffer.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return new BloomFilter(words);
+    }
+}
@@ -0,0 +1,29 @@
+package com.marcinseweryn.algorithms.datastructures.tree.lsm;
+
+/**
+ * A key with its latest value in one component of an {@link LsmStore}, ordered by key only.
+ * A null value is a tombstone: it records a deletion that must shadow older values of the key
+ * until compaction reaches the oldest run.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class LsmEntry<K extends Comparable<K>, V> implements Comparable<LsmEntry<K, V>> {
+
+    final K key;
+    V value;  // Null for a tombstone, replaced in place by the memtable
+
+    LsmEntry(K key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    boolean isTombstone() {
+        return this.value == null;
+    }
+
+    @Override
+    public int compareTo(LsmEntry<K, V> other) {
+        return this.key.compareTo(other.key);
+    }
+}
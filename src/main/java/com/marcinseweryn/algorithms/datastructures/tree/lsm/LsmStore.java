@@ -0,0 +1,514 @@
+package com.marcinseweryn.algorithms.datastructures.tree.lsm;
+
+import com.marcinseweryn.algorithms.datastructures.hashing.Codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A log-structured merge (LSM) key-value store.
+ *
+ * <p>Writes never update data in place. They go to an in-memory {@link Memtable} (an AVL tree), and when it
+ * grows past a threshold it is written out sequentially as an immutable {@link SortedRun} file. Deletions
+ * write tombstones. A lookup checks the memtable and then the runs from the newest to the oldest, and each
+ * run answers from its Bloom filter and sparse index with at most one block read. Scans merge the memtable
+ * and every run with a {@link MergeIterator}.
+ *
+ * <p>Runs are merged in the background with size-tiered compaction: flushed runs enter tier 0, and once
+ * {@code tierFanout} runs share a tier they are merged into a single run of the next tier. Every entry is
+ * therefore rewritten about once per tier, and the number of runs a lookup may check stays logarithmic
+ * in the data size. Tombstones are dropped when a merge includes the oldest run, as nothing older remains
+ * to shadow. {@link #writeAmplification()} reports the bytes written to disk per byte written by the user.
+ *
+ * <p>Entries still in the memtable are not logged: {@link #flush()} or {@link #close()} make them durable.
+ * All operations are thread-safe; only the merge of a compaction runs outside of the store lock.
+ *
+ * @param <K> the type of keys, which must be comparable
+ * @param <V> the type of values
+ */
+public class LsmStore<K extends Comparable<K>, V> implements Closeable {
+
+    public static final long DEFAULT_MEMTABLE_BYTES = 4L << 20;
+    public static final int DEFAULT_TIER_FANOUT = 4;
+
+    private static final String RUN_SUFFIX = ".run";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final long memtableBytes;  // Flush threshold
+    private final int tierFanout;  // Number of runs of a tier merged together
+    private final ExecutorService compactor;
+
+    private Memtable<K, V> memtable = new Memtable<>();
+    private final List<SortedRun<K, V>> runs = new ArrayList<>();  // From the newest to the oldest
+    private long nextSequence;
+    private boolean closed;
+    private IOException compactionFailure;  // Reported by the next write
+
+    private long userBytes;  // Encoded bytes of every put and delete
+    private long flushedBytes;  // Bytes written by flushes
+    private long compactedBytes;  // Bytes written by compactions
+    private long compactions;
+
+    private LsmStore(Path directory, Codec<K> keyCodec, Codec<V> valueCodec, long memtableBytes, int tierFanout) {
+        this.directory = directory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.memtableBytes = memtableBytes;
+        this.tierFanout = tierFanout;
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "lsm-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens or creates a store with a 4 MiB memtable and a tier fanout of 4.
+     *
+     * @param directory  the directory holding the run files, created if needed
+     * @param keyCodec   the codec of keys
+     * @param valueCodec the codec of values
+     * @return the opened store
+     * @throws IOException if an I/O error occurs
+     */
+    public static <K extends Comparable<K>, V> LsmStore<K, V> open(Path directory, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        return open(directory, keyCodec, valueCodec, DEFAULT_MEMTABLE_BYTES, DEFAULT_TIER_FANOUT);
+    }
+
+    /**
+     * Opens or creates a store, loading the runs found in the directory.
+     *
+     * @param directory     the directory holding the run files, created if needed
+     * @param keyCodec      the codec of keys
+     * @param valueCodec    the codec of values
+     * @param memtableBytes the approximate memtable size that triggers a flush
+     * @param tierFanout    the number of runs of a tier merged together, at least 2
+     * @return the opened store
+     * @throws IOException              if an I/O error occurs
+     * @throws IllegalArgumentException if the memtable size is not positive or the fanout is smaller than 2
+     */
+    public static <K extends Comparable<K>, V> LsmStore<K, V> open(Path directory, Codec<K> keyCodec, Codec<V> valueCodec,
+                                                                   long memtableBytes, int tierFanout) throws IOException {
+        if (memtableBytes <= 0) {
+            throw new IllegalArgumentException("Memtable size must be positive");
+        }
+        if (tierFanout < 2) {
+            throw new IllegalArgumentException("Tier fanout must be at least 2");
+        }
+        Files.createDirectories(directory);
+        LsmStore<K, V> store = new LsmStore<>(directory, keyCodec, valueCodec, memtableBytes, tierFanout);
+        try {
+            store.loadRuns();
+        } catch (IOException | RuntimeException e) {
+            store.closeRuns();
+            store.compactor.shutdownNow();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Opens the run files of the directory, deleting temporary files and the inputs of a compaction
+     * that was interrupted after its output was installed.
+     */
+    private void loadRuns() throws IOException {
+        List<SortedRun<K, V>> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMPORARY_SUFFIX)) {
+                    Files.delete(file);
+                } else if (name.endsWith(RUN_SUFFIX)) {
+                    long sequence = Long.parseLong(name.substring(0, name.length() - RUN_SUFFIX.length()));
+                    found.add(SortedRun.open(file, sequence, this.keyCodec, this.valueCodec));
+                }
+            }
+        }
+        found.sort((first, second) -> Long.compare(second.sequence, first.sequence));
+
+        for (SortedRun<K, V> run : found) {
+            boolean obsolete = false;
+            for (SortedRun<K, V> other : found) {
+                obsolete |= other != run && other.firstSequence <= run.sequence && run.sequence < other.sequence;
+            }
+            if (obsolete) {
+                run.close();
+                Files.delete(run.path);
+            } else {
+                this.runs.add(run);
+            }
+            this.nextSequence = Math.max(this.nextSequence, run.sequence + 1);
+        }
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @throws IOException              if flushing the memtable fails or a background compaction failed
+     * @throws IllegalArgumentException if the key or the value is null
+     */
+    public synchronized void put(K key, V value) throws IOException {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        this.write(key, value, this.keyCodec.encodedSize(key) + this.valueCodec.encodedSize(value));
+    }
+
+    /**
+     * Deletes the key by writing a tombstone, which shadows the older values of the key.
+     *
+     * @param key the key
+     * @throws IOException              if flushing the memtable fails or a background compaction failed
+     * @throws IllegalArgumentException if the key is null
+     */
+    public synchronized void delete(K key) throws IOException {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        this.write(key, null, this.keyCodec.encodedSize(key));
+    }
+
+    private void write(K key, V value, int encodedBytes) throws IOException {
+        this.ensureOpen();
+        if (this.compactionFailure != null) {
+            throw new IOException("Background compaction failed", this.compactionFailure);
+        }
+        this.memtable.put(key, value, encodedBytes);
+        this.userBytes += encodedBytes;
+        if (this.memtable.bytes() >= this.memtableBytes) {
+            this.flushMemtable();
+        }
+    }
+
+    /**
+     * Returns the value associated with the key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is absent or deleted
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized V get(K key) throws IOException {
+        this.ensureOpen();
+        if (key == null) {
+            return null;
+        }
+        LsmEntry<K, V> entry = this.memtable.find(key);
+        for (int i = 0; entry == null && i < this.runs.size(); i++) {
+            entry = this.runs.get(i).get(key);
+        }
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Visits the live entries with keys in the range {@code [low, high)}, in ascending order, merging the
+     * memtable and the runs. The store is locked during the scan, so the visitor must not call the store.
+     *
+     * @param low     the lower bound, inclusive, or null for no bound
+     * @param high    the upper bound, exclusive, or null for no bound
+     * @param visitor the visitor, returning false to stop the scan
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized void scan(K low, K high, EntryVisitor<? super K, ? super V> visitor) throws IOException {
+        this.ensureOpen();
+        List<Iterator<LsmEntry<K, V>>> sources = new ArrayList<>();
+        sources.add(this.memtable.range(low, high).iterator());
+        for (SortedRun<K, V> run : this.runs) {
+            sources.add(run.iterator(low));
+        }
+        try {
+            Iterator<LsmEntry<K, V>> merged = new MergeIterator<>(sources, true, high);
+            while (merged.hasNext()) {
+                LsmEntry<K, V> entry = merged.next();
+                if (!visitor.visit(entry.key, entry.value)) {
+                    return;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes the memtable to a new run, even if it is below the flush threshold.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized void flush() throws IOException {
+        this.ensureOpen();
+        this.flushMemtable();
+    }
+
+    private void flushMemtable() throws IOException {
+        if (this.memtable.isEmpty()) {
+            return;
+        }
+        long sequence = this.nextSequence++;
+        Path path = this.runPath(sequence);
+        this.flushedBytes += SortedRun.write(path, this.memtable.inOrderIterator(), this.memtable.size(),
+                0, sequence, this.keyCodec, this.valueCodec);
+        this.runs.add(0, SortedRun.open(path, sequence, this.keyCodec, this.valueCodec));
+        this.memtable = new Memtable<>();
+        this.compactor.execute(this::compactTiers);
+    }
+
+    /**
+     * Flushes the memtable and merges every run into one, dropping tombstones and shadowed values.
+     * A single run is rewritten too, to drop its tombstones. Waits for the compaction, which runs on the background thread after any pending tier compaction.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void compact() throws IOException {
+        this.flush();
+        try {
+            this.compactor.submit(() -> {
+                List<SortedRun<K, V>> inputs;
+                synchronized (this) {
+                    if (this.runs.isEmpty()) {
+                        return null;
+                    }
+                    inputs = new ArrayList<>(this.runs);
+                }
+                this.merge(inputs, true);
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compacting", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException cause ? cause : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Background task merging full tiers until none is left.
+     */
+    private void compactTiers() {
+        try {
+            while (true) {
+                List<SortedRun<K, V>> inputs;
+                boolean includesOldest;
+                synchronized (this) {
+                    inputs = this.closed ? null : this.fullTier();
+                    if (inputs == null) {
+                        return;
+                    }
+                    includesOldest = inputs.get(inputs.size() - 1) == this.runs.get(this.runs.size() - 1);
+                }
+                this.merge(inputs, includesOldest);
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                this.compactionFailure = e;
+            }
+        }
+    }
+
+    /**
+     * Finds the lowest tier holding at least {@code tierFanout} runs. Flushes add runs of tier 0 in front
+     * and merges replace runs of a tier by one run of the next tier in place, so tiers never decrease from
+     * the newest to the oldest run and the runs of a tier are contiguous.
+     *
+     * @return the runs of the tier, from the newest to the oldest, or null if no tier is full
+     */
+    private List<SortedRun<K, V>> fullTier() {
+        int start = 0;
+        while (start < this.runs.size()) {
+            int tier = this.runs.get(start).tier;
+            int end = start;
+            while (end < this.runs.size() && this.runs.get(end).tier == tier) {
+                end++;
+            }
+            if (end - start >= this.tierFanout) {
+                return new ArrayList<>(this.runs.subList(start, end));
+            }
+            start = end;
+        }
+        return null;
+    }
+
+    /**
+     * Merges contiguous runs into one run, installed in their place. The merge itself runs without the lock,
+     * since runs are immutable and only compactions, which run one at a time, remove them.
+     *
+     * @param inputs         the runs, from the newest to the oldest
+     * @param dropTombstones whether the oldest run of the store is included, so tombstones can be dropped
+     */
+    private void merge(List<SortedRun<K, V>> inputs, boolean dropTombstones) throws IOException {
+        SortedRun<K, V> newest = inputs.get(0);
+        long firstSequence = inputs.get(inputs.size() - 1).firstSequence;
+        int tier = 0;
+        long expectedEntries = 0;
+        List<Iterator<LsmEntry<K, V>>> sources = new ArrayList<>();
+        for (SortedRun<K, V> run : inputs) {
+            tier = Math.max(tier, run.tier + 1);
+            expectedEntries += run.entries;
+            sources.add(run.iterator(null));
+        }
+
+        // The output takes the name of the newest input, replacing it atomically
+        Path temporary = this.directory.resolve(newest.sequence + TEMPORARY_SUFFIX);
+        long bytes;
+        try {
+            bytes = SortedRun.write(temporary, new MergeIterator<>(sources, dropTombstones, null), expectedEntries,
+                    tier, firstSequence, this.keyCodec, this.valueCodec);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temporary, newest.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        SortedRun<K, V> output = SortedRun.open(newest.path, newest.sequence, this.keyCodec, this.valueCodec);
+
+        synchronized (this) {
+            int index = this.runs.indexOf(newest);
+            this.runs.subList(index, index + inputs.size()).clear();
+            this.runs.add(index, output);
+            this.compactedBytes += bytes;
+            this.compactions++;
+            for (SortedRun<K, V> run : inputs) {
+                run.close();
+                if (run != newest) {
+                    Files.delete(run.path);
+                }
+            }
+        }
+    }
+
+    private Path runPath(long sequence) {
+        return this.directory.resolve(sequence + RUN_SUFFIX);
+    }
+
+    private void ensureOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Store is closed");
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to disk per byte of keys and values written by the user,
+     * counting both flushes and compactions.
+     *
+     * @return the write amplification, or 0 before the first write
+     */
+    public synchronized double writeAmplification() {
+        return this.userBytes == 0 ? 0 : (double) (this.flushedBytes + this.compactedBytes) / this.userBytes;
+    }
+
+    /**
+     * Returns the number of encoded key and value bytes written by puts and deletes.
+     *
+     * @return the number of user bytes
+     */
+    public synchronized long userBytes() {
+        return this.userBytes;
+    }
+
+    /**
+     * Returns the number of bytes written by memtable flushes.
+     *
+     * @return the number of flushed bytes
+     */
+    public synchronized long flushedBytes() {
+        return this.flushedBytes;
+    }
+
+    /**
+     * Returns the number of bytes written by compactions.
+     *
+     * @return the number of compacted bytes
+     */
+    public synchronized long compactedBytes() {
+        return this.compactedBytes;
+    }
+
+    /**
+     * Returns the number of compactions completed.
+     *
+     * @return the number of compactions
+     */
+    public synchronized long compactions() {
+        return this.compactions;
+    }
+
+    /**
+     * Returns the number of run files a lookup may have to check.
+     *
+     * @return the number of runs
+     */
+    public synchronized int runCount() {
+        return this.runs.size();
+    }
+
+    /**
+     * Flushes the memtable, waits for the background compactions and closes the runs.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.flushMemtable();
+        }
+        this.compactor.shutdown();
+        try {
+            this.compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            this.closed = true;
+            this.closeRuns();
+        }
+    }
+
+    private void closeRuns() {
+        for (SortedRun<K, V> run : this.runs) {
+            try {
+                run.close();
+            } catch (IOException ignored) {
+                // Read-only files, nothing is lost
+            }
+        }
+        this.runs.clear();
+    }
+
+    /**
+     * Receives the entries of a scan.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     */
+    @FunctionalInterface
+    public interface EntryVisitor<K, V> {
+
+        /**
+         * Visits one entry.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return true to continue the scan, false to stop it
+         */
+        boolean visit(K key, V value);
+    }
+}
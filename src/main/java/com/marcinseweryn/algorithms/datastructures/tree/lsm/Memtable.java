@@ -0,0 +1,93 @@
+package com.marcinseweryn.algorithms.datastructures.tree.lsm;
+
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
+import com.marcinseweryn.algorithms.datastructures.tree.binary.AVL;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The in-memory component of an {@link LsmStore}: an {@link AVL} tree of entries ordered by key.
+ * Updates and deletions replace the value of an existing entry in place, so the tree holds
+ * one entry per key, ready to be written out in order when the memtable is flushed.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class Memtable<K extends Comparable<K>, V> extends AVL<LsmEntry<K, V>> {
+
+    private static final int ENTRY_OVERHEAD = 64;  // Approximate heap cost of a node and an entry
+
+    private long bytes;  // Approximate memory used, compared with the flush threshold
+
+    /**
+     * Records the value of a key, or a tombstone if the value is null.
+     *
+     * @param key          the key
+     * @param value        the value, or null for a deletion
+     * @param encodedBytes the encoded size of the key and value, added to the memory estimate
+     */
+    void put(K key, V value, int encodedBytes) {
+        LsmEntry<K, V> entry = this.find(key);
+        if (entry != null) {
+            entry.value = value;
+        } else {
+            this.add(new LsmEntry<>(key, value));
+        }
+        this.bytes += encodedBytes + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * Finds the entry of a key by descending from the root.
+     *
+     * @param key the key
+     * @return the entry, possibly a tombstone, or null if the key is absent
+     */
+    LsmEntry<K, V> find(K key) {
+        BinaryNode<LsmEntry<K, V>> node = this.root;
+        while (node != null) {
+            int comparison = key.compareTo(node.element.key);
+            if (comparison == 0) {
+                return node.element;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Collects the entries with keys in the range {@code [low, high)}, in order,
+     * skipping the subtrees outside of the range.
+     *
+     * @param low  the lower bound, inclusive, or null for no bound
+     * @param high the upper bound, exclusive, or null for no bound
+     * @return the entries in the range, tombstones included
+     */
+    List<LsmEntry<K, V>> range(K low, K high) {
+        List<LsmEntry<K, V>> entries = new ArrayList<>();
+        this.range(this.root, low, high, entries);
+        return entries;
+    }
+
+    private void range(BinaryNode<LsmEntry<K, V>> node, K low, K high, List<LsmEntry<K, V>> entries) {
+        if (node == null) {
+            return;
+        }
+        K key = node.element.key;
+        boolean aboveLow = low == null || key.compareTo(low) >= 0;
+        boolean belowHigh = high == null || key.compareTo(high) < 0;
+        if (aboveLow) {
+            this.range(node.left, low, high, entries);
+        }
+        if (aboveLow && belowHigh) {
+            entries.add(node.element);
+        }
+        if (belowHigh) {
+            this.range(node.right, low, high, entries);
+        }
+    }
+
+    long bytes() {
+        return this.bytes;
+    }
+}
@@ -0,0 +1,112 @@
+package com.marcinseweryn.algorithms.datastructures.tree.lsm;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * A k-way merge of sorted sources of an {@link LsmStore}, ordered from the newest to the oldest.
+ *
+ * <p>The head of every source is kept in a {@link PriorityQueue}, ordered by key and then by age,
+ * so the newest entry of the smallest key is always on top. It is returned and the older entries
+ * of the same key, which it shadows, are skipped. Each step costs {@code O(log k)} for {@code k} sources.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class MergeIterator<K extends Comparable<K>, V> implements Iterator<LsmEntry<K, V>> {
+
+    private final PriorityQueue<Source<K, V>> heap;
+    private final boolean skipTombstones;
+    private final K high;  // Exclusive upper bound, or null for no bound
+    private LsmEntry<K, V> next;
+
+    /**
+     * Merges sorted sources.
+     *
+     * @param sources        the sources, from the newest to the oldest
+     * @param skipTombstones whether tombstones are dropped instead of returned
+     * @param high           the exclusive upper bound of the keys, or null for no bound
+     */
+    MergeIterator(List<Iterator<LsmEntry<K, V>>> sources, boolean skipTombstones, K high) {
+        this.heap = new PriorityQueue<>(Math.max(1, sources.size()));
+        this.skipTombstones = skipTombstones;
+        this.high = high;
+        for (int age = 0; age < sources.size(); age++) {
+            Source<K, V> source = new Source<>(sources.get(age), age);
+            if (source.head != null) {
+                this.heap.add(source);
+            }
+        }
+        this.next = this.advance();
+    }
+
+    private LsmEntry<K, V> advance() {
+        while (!this.heap.isEmpty()) {
+            Source<K, V> newest = this.heap.poll();
+            LsmEntry<K, V> entry = newest.head;
+            if (this.high != null && entry.key.compareTo(this.high) >= 0) {
+                this.heap.clear();  // Every remaining head is past the bound
+                return null;
+            }
+            this.requeue(newest);
+
+            // Older versions of the same key are shadowed
+            while (!this.heap.isEmpty() && this.heap.peek().head.key.compareTo(entry.key) == 0) {
+                this.requeue(this.heap.poll());
+            }
+            if (!this.skipTombstones || !entry.isTombstone()) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void requeue(Source<K, V> source) {
+        if (source.advance()) {
+            this.heap.add(source);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.next != null;
+    }
+
+    @Override
+    public LsmEntry<K, V> next() {
+        if (this.next == null) {
+            throw new NoSuchElementException("No more entries to merge");
+        }
+        LsmEntry<K, V> entry = this.next;
+        this.next = this.advance();
+        return entry;
+    }
+
+    /**
+     * A sorted source with its current head, ordered by head key and then by age.
+     */
+    private static final class Source<K extends Comparable<K>, V> implements Comparable<Source<K, V>> {
+        private final Iterator<LsmEntry<K, V>> entries;
+        private final int age;  // 0 for the newest source
+        private LsmEntry<K, V> head;
+
+        Source(Iterator<LsmEntry<K, V>> entries, int age) {
+            this.entries = entries;
+            this.age = age;
+            this.advance();
+        }
+
+        boolean advance() {
+            this.head = this.entries.hasNext() ? this.entries.next() : null;
+            return this.head != null;
+        }
+
+        @Override
+        public int compareTo(Source<K, V> other) {
+            int comparison = this.head.key.compareTo(other.head.key);
+            return comparison != 0 ? comparison : Integer.compare(this.age, other.age);
+        }
+    }
+}
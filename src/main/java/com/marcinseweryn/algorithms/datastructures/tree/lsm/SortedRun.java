@@ -0,0 +1,355 @@
+package com.marcinseweryn.algorithms.datastructures.tree.lsm;
+
+import com.marcinseweryn.algorithms.datastructures.hashing.Codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable file of entries sorted by key, written once by a flush or a compaction.
+ *
+ * <p>Layout:
+ * <pre>
+ *   [data blocks][sparse index][Bloom filter][footer]
+ *   entry:  [tombstone byte][key][value, absent for a tombstone]
+ *   index:  [blocks int] { [offset long][length int][first key] } * blocks
+ *   footer: [magic int][version int][tier int][entries long][first sequence long]
+ *           [index offset long][index length int][filter offset long][filter length int]
+ * </pre>
+ * Entries are grouped in blocks of about 4 KiB. Only the first key of each block is indexed, and the index
+ * and the filter are loaded in memory when the run is opened, so a point lookup reads at most one block:
+ * the filter rejects most absent keys, then a binary search over the index picks the only block that can
+ * hold the key.
+ *
+ * <p>The sequence number of a run orders it among the other runs, newer runs having greater numbers.
+ * A compaction output takes the sequence number of its newest input and records the first sequence
+ * number it covers, so runs left behind by an interrupted compaction can be recognized as obsolete.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class SortedRun<K extends Comparable<K>, V> implements Closeable {
+
+    static final int BLOCK_SIZE = 4096;
+    private static final int MAGIC = 0x4C534D52;  // "LSMR"
+    private static final int VERSION = 1;
+    private static final int FOOTER_SIZE = 4 + 4 + 4 + 8 + 8 + 8 + 4 + 8 + 4;
+
+    final Path path;
+    final long sequence;
+    final long firstSequence;
+    final int tier;
+    final long entries;
+    final long fileSize;
+
+    private final FileChannel channel;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final Object[] firstKeys;  // First key of each block
+    private final long[] offsets;
+    private final int[] lengths;
+    private final BloomFilter filter;
+
+    private SortedRun(Path path, long sequence, FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        this.path = path;
+        this.sequence = sequence;
+        this.channel = channel;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.fileSize = channel.size();
+
+        if (this.fileSize < FOOTER_SIZE) {
+            throw new IOException("Truncated run: " + path);
+        }
+        ByteBuffer footer = this.read(this.fileSize - FOOTER_SIZE, FOOTER_SIZE);
+        if (footer.getInt() != MAGIC || footer.getInt() != VERSION) {
+            throw new IOException("Not a sorted run: " + path);
+        }
+        this.tier = footer.getInt();
+        this.entries = footer.getLong();
+        this.firstSequence = footer.getLong();
+        long indexOffset = footer.getLong();
+        int indexLength = footer.getInt();
+        long filterOffset = footer.getLong();
+        int filterLength = footer.getInt();
+
+        ByteBuffer index = this.read(indexOffset, indexLength);
+        int blocks = index.getInt();
+        this.firstKeys = new Object[blocks];
+        this.offsets = new long[blocks];
+        this.lengths = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            this.offsets[i] = index.getLong();
+            this.lengths[i] = index.getInt();
+            this.firstKeys[i] = keyCodec.decode(index);
+        }
+        this.filter = BloomFilter.decode(this.read(filterOffset, filterLength));
+    }
+
+    /**
+     * Opens an existing run.
+     *
+     * @param path       the run file
+     * @param sequence   the sequence number of the run
+     * @param keyCodec   the codec of keys
+     * @param valueCodec the codec of values
+     * @return the opened run
+     * @throws IOException if an I/O error occurs or the file is not a run
+     */
+    static <K extends Comparable<K>, V> SortedRun<K, V> open(Path path, long sequence, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new SortedRun<>(path, sequence, channel, keyCodec, valueCodec);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes entries sorted by key into a new run file and forces it to disk.
+     *
+     * @param path            the file to create
+     * @param entries         the entries, sorted by key without duplicates
+     * @param expectedEntries an upper bound of the number of entries, used to size the Bloom filter
+     * @param tier            the compaction tier of the run
+     * @param firstSequence   the first sequence number covered by the run
+     * @return the number of bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    static <K extends Comparable<K>, V> long write(Path path, Iterator<LsmEntry<K, V>> entries, long expectedEntries,
+                                                   int tier, long firstSequence, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            BloomFilter filter = new BloomFilter(expectedEntries);
+            ByteBuffer block = ByteBuffer.allocate(2 * BLOCK_SIZE);
+            ByteBuffer index = ByteBuffer.allocate(BLOCK_SIZE).putInt(0);
+            long position = 0;
+            long count = 0;
+            int blocks = 0;
+
+            while (entries.hasNext()) {
+                LsmEntry<K, V> entry = entries.next();
+                int keySize = keyCodec.encodedSize(entry.key);
+                int size = 1 + keySize + (entry.isTombstone() ? 0 : valueCodec.encodedSize(entry.value));
+
+                if (block.position() > 0 && block.position() + size > BLOCK_SIZE) {
+                    position += writeFully(channel, block.flip(), position);
+                    block.clear();
+                }
+                if (block.position() == 0) {
+                    // Index the first key of the block, its length is patched once the next offset is known
+                    index = ensureRemaining(index, 12 + keySize);
+                    index.putLong(position).putInt(0);
+                    keyCodec.encode(entry.key, index);
+                    blocks++;
+                }
+                block = ensureRemaining(block, size);
+
+                block.put(entry.isTombstone() ? (byte) 1 : (byte) 0);
+                int keyStart = block.position();
+                keyCodec.encode(entry.key, block);
+                filter.add(Arrays.copyOfRange(block.array(), keyStart, keyStart + keySize));
+                if (!entry.isTombstone()) {
+                    valueCodec.encode(entry.value, block);
+                }
+                count++;
+            }
+            if (block.position() > 0) {
+                position += writeFully(channel, block.flip(), position);
+            }
+
+            // Patch the block lengths now that all offsets are known
+            index.flip();
+            index.putInt(0, blocks);
+            patchLengths(index, keyCodec, position);
+
+            long indexOffset = position;
+            int indexLength = index.limit();
+            position += writeFully(channel, index.position(0), position);
+
+            ByteBuffer filterBytes = ByteBuffer.allocate(filter.encodedSize());
+            filter.encode(filterBytes);
+            long filterOffset = position;
+            position += writeFully(channel, filterBytes.flip(), position);
+
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            footer.putInt(MAGIC).putInt(VERSION).putInt(tier).putLong(count).putLong(firstSequence)
+                    .putLong(indexOffset).putInt(indexLength).putLong(filterOffset).putInt(filterBytes.limit());
+            position += writeFully(channel, footer.flip(), position);
+
+            channel.force(true);
+            return position;
+        }
+    }
+
+    /**
+     * Sets the length of each indexed block from the offset of the next one.
+     */
+    private static <K> void patchLengths(ByteBuffer index, Codec<K> keyCodec, long dataEnd) {
+        int blocks = index.getInt(0);
+        index.position(4);
+        int previousLengthAt = -1;
+        long previousOffset = 0;
+        for (int i = 0; i < blocks; i++) {
+            long offset = index.getLong();
+            if (previousLengthAt >= 0) {
+                index.putInt(previousLengthAt, (int) (offset - previousOffset));
+            }
+            previousLengthAt = index.position();
+            previousOffset = offset;
+            index.getInt();
+            keyCodec.decode(index);
+        }
+        if (previousLengthAt >= 0) {
+            index.putInt(previousLengthAt, (int) (dataEnd - previousOffset));
+        }
+    }
+
+    private static ByteBuffer ensureRemaining(ByteBuffer buffer, int needed) {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        return grown.put(buffer.flip());
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + length - buffer.remaining());
+        }
+        return length;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of run: " + this.path);
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @param key the key
+     * @return the entry of the key, possibly a tombstone, or null if the run does not hold the key
+     * @throws IOException if an I/O error occurs
+     */
+    LsmEntry<K, V> get(K key) throws IOException {
+        ByteBuffer encoded = ByteBuffer.allocate(this.keyCodec.encodedSize(key));
+        this.keyCodec.encode(key, encoded);
+        if (!this.filter.mightContain(encoded.array())) {
+            return null;
+        }
+
+        int block = this.blockFor(key);
+        if (block < 0) {
+            return null;
+        }
+        ByteBuffer buffer = this.read(this.offsets[block], this.lengths[block]);
+        while (buffer.hasRemaining()) {
+            LsmEntry<K, V> entry = this.decode(buffer);
+            int comparison = entry.key.compareTo(key);
+            if (comparison == 0) {
+                return entry;
+            }
+            if (comparison > 0) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the last block whose first key is less than or equal to the key.
+     *
+     * @return the index of the block, or -1 if the key is smaller than every key of the run
+     */
+    @SuppressWarnings("unchecked")
+    private int blockFor(K key) {
+        int low = 0;
+        int high = this.firstKeys.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (((K) this.firstKeys[middle]).compareTo(key) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    private LsmEntry<K, V> decode(ByteBuffer buffer) {
+        boolean tombstone = buffer.get() == 1;
+        K key = this.keyCodec.decode(buffer);
+        return new LsmEntry<>(key, tombstone ? null : this.valueCodec.decode(buffer));
+    }
+
+    /**
+     * Returns an iterator over the entries with keys greater than or equal to {@code from},
+     * reading one block at a time.
+     *
+     * @param from the lower bound, inclusive, or null to start from the first entry
+     * @return an iterator over the entries, tombstones included
+     */
+    Iterator<LsmEntry<K, V>> iterator(K from) {
+        return new Iterator<>() {
+            private int block = from == null ? 0 : Math.max(0, blockFor(from));
+            private ByteBuffer buffer;
+            private LsmEntry<K, V> next = this.advance();
+
+            private LsmEntry<K, V> advance() {
+                try {
+                    while (true) {
+                        while (this.buffer == null || !this.buffer.hasRemaining()) {
+                            if (this.block >= offsets.length) {
+                                return null;
+                            }
+                            this.buffer = read(offsets[this.block], lengths[this.block]);
+                            this.block++;
+                        }
+                        LsmEntry<K, V> entry = decode(this.buffer);
+                        if (from == null || entry.key.compareTo(from) >= 0) {
+                            return entry;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public LsmEntry<K, V> next() {
+                if (this.next == null) {
+                    throw new NoSuchElementException("No more entries in the run");
+                }
+                LsmEntry<K, V> entry = this.next;
+                this.next = this.advance();
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -6,6 +6,8 @@ import com.marcinseweryn.algorithms.datastructures.tree.binary.BinaryTreeIterato
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * A generic binary heap implementation that can function as either a min-heap or a max-heap,
@@ -288,4 +290,15 @@ public class BinaryHeap<T extends Comparable<T>> implements PriorityQueue<T> {
     public Iterator<T> preOrderIterator() {
         return BinaryTreeIteratorFactory.preOrderIterator(Arrays.copyOf(heap, size));
     }
+
+    /**
+     * Returns a spliterator over the elements in the order of the heap array, splitting on index ranges.
+     * The order of the array carries no meaning, so the spliterator is not ordered.
+     *
+     * @return a spliterator over the elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.heap, 0, this.size, Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
 }
@@ -387,4 +387,15 @@ public class BinaryHeapFastRemove<T extends Comparable<T>> implements PriorityQu
     public Iterator<T> preOrderIterator() {
         return BinaryTreeIteratorFactory.preOrderIterator(Arrays.copyOf(heap, size));
     }
+
+    /**
+     * Returns a spliterator over the elements in the order of the heap array, splitting on index ranges.
+     * The order of the array carries no meaning, so the spliterator is not ordered.
+     *
+     * @return a spliterator over the elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.heap, 0, this.size, 0);
+    }
 }
@@ -6,6 +6,8 @@ import com.marcinseweryn.algorithms.datastructures.tree.binary.BinaryTreeIterato
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * A priority queue implemented as a recursive binary heap.
@@ -256,4 +258,15 @@ public class RecursiveBinaryHeap<T extends Comparable<T>> implements PriorityQue
     public Iterator<T> preOrderIterator() {
         return BinaryTreeIteratorFactory.preOrderIterator(this.heap);
     }
+
+    /**
+     * Returns a spliterator over the elements in the order of the heap array, splitting on index ranges.
+     * The order of the array carries no meaning, so the spliterator is not ordered.
+     *
+     * @return a spliterator over the elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this.heap, 0, this.size, Spliterator.DISTINCT);
+    }
 }
@@ -0,0 +1,141 @@
+package com.marcinseweryn.algorithms.datastructures.tree.segment;
+
+import java.util.Objects;
+
+/**
+ * Fenwick tree (binary indexed tree) implementation.
+ * A Fenwick tree keeps the prefix sums of a {@code long} array so that both changing a value and
+ * summing a prefix take O(log n), where recomputing a sum by scanning takes O(n).
+ *
+ * <p>The tree is a single 1-based {@code long[]}: slot {@code i} holds the sum of the
+ * {@code i & -i} values ending at index {@code i}. Clearing the lowest set bit of an index moves to
+ * the slot covering the preceding values, and adding it moves to the next slot covering the index,
+ * so both walks take at most log2 n steps and never box a value.
+ */
+public class FenwickTree {
+
+    private final long[] tree;  // 1-based partial sums, slot 0 unused
+
+    /**
+     * Creates a tree of the given number of values, all zero.
+     *
+     * @param size the number of values
+     */
+    public FenwickTree(int size) {
+        this.tree = new long[size + 1];
+    }
+
+    /**
+     * Creates a tree over a copy of the given values, in O(n).
+     *
+     * @param values the initial values
+     */
+    public FenwickTree(long[] values) {
+        this.tree = new long[values.length + 1];
+        System.arraycopy(values, 0, this.tree, 1, values.length);
+        for (int i = 1; i < this.tree.length; i++) {
+            // Push each partial sum into the next slot covering it
+            int parent = i + (i & -i);
+            if (parent < this.tree.length) {
+                this.tree[parent] += this.tree[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return this.tree.length - 1;
+    }
+
+    /**
+     * Adds an amount to the value at an index.
+     *
+     * @param index the 0-based index of the value
+     * @param delta the amount to add
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void add(int index, long delta) {
+        Objects.checkIndex(index, this.size());
+        for (int i = index + 1; i < this.tree.length; i += i & -i) {
+            this.tree[i] += delta;
+        }
+    }
+
+    /**
+     * Replaces the value at an index.
+     *
+     * @param index the 0-based index of the value
+     * @param value the new value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void set(int index, long value) {
+        this.add(index, value - this.get(index));
+    }
+
+    /**
+     * Returns the value at an index.
+     *
+     * @param index the 0-based index of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long get(int index) {
+        return this.sum(index, index + 1);
+    }
+
+    /**
+     * Returns the sum of the values in {@code [0, to)}.
+     *
+     * @param to the end of the prefix, exclusive
+     * @return the sum of the prefix
+     * @throws IndexOutOfBoundsException if the end is out of range
+     */
+    public long prefixSum(int to) {
+        Objects.checkIndex(to, this.tree.length);
+        long sum = 0;
+        for (int i = to; i > 0; i -= i & -i) {
+            sum += this.tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the values in {@code [from, to)}.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the sum of the range
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public long sum(int from, int to) {
+        Objects.checkFromToIndex(from, to, this.size());
+        return this.prefixSum(to) - this.prefixSum(from);
+    }
+
+    /**
+     * Finds the shortest prefix whose sum reaches a target, for non-negative values, in O(log n)
+     * by descending the implicit tree from its largest power of two.
+     *
+     * @param target the sum to reach
+     * @return the smallest {@code to} such that {@code prefixSum(to) >= target}, or {@code size() + 1}
+     * if the whole array sums to less
+     */
+    public int lowerBound(long target) {
+        if (target <= 0) {
+            return 0;
+        }
+        int position = 0;
+        for (int step = Integer.highestOneBit(this.size()); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < this.tree.length && this.tree[next] < target) {
+                position = next;
+                target -= this.tree[next];
+            }
+        }
+        return position + 1;
+    }
+}
@@ -0,0 +1,95 @@
+package com.marcinseweryn.algorithms.datastructures.tree.segment;
+
+/**
+ * An associative operation on {@code long} values with an identity element, aggregated by a
+ * {@link SegmentTree}. Besides the monoid itself, it tells how an aggregate changes when the same
+ * amount is added to every value under it, which is what lets range additions be applied lazily.
+ */
+public interface LongMonoid {
+
+    /**
+     * Sum of the values. Adding {@code delta} to {@code count} values adds {@code delta * count}.
+     */
+    LongMonoid SUM = new LongMonoid() {
+        @Override
+        public long identity() {
+            return 0;
+        }
+
+        @Override
+        public long combine(long left, long right) {
+            return left + right;
+        }
+
+        @Override
+        public long add(long aggregate, long delta, int count) {
+            return aggregate + delta * count;
+        }
+    };
+
+    /**
+     * Minimum of the values, {@link Long#MAX_VALUE} over an empty range.
+     */
+    LongMonoid MIN = new LongMonoid() {
+        @Override
+        public long identity() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public long combine(long left, long right) {
+            return Math.min(left, right);
+        }
+
+        @Override
+        public long add(long aggregate, long delta, int count) {
+            return aggregate + delta;
+        }
+    };
+
+    /**
+     * Maximum of the values, {@link Long#MIN_VALUE} over an empty range.
+     */
+    LongMonoid MAX = new LongMonoid() {
+        @Override
+        public long identity() {
+            return Long.MIN_VALUE;
+        }
+
+        @Override
+        public long combine(long left, long right) {
+            return Math.max(left, right);
+        }
+
+        @Override
+        public long add(long aggregate, long delta, int count) {
+            return aggregate + delta;
+        }
+    };
+
+    /**
+     * Returns the identity element, the aggregate of an empty range.
+     *
+     * @return the value {@code e} such that {@code combine(e, x) == combine(x, e) == x}
+     */
+    long identity();
+
+    /**
+     * Combines two aggregates of adjacent ranges, the left one first.
+     *
+     * @param left  the aggregate of the left range
+     * @param right the aggregate of the right range
+     * @return the aggregate of both ranges
+     */
+    long combine(long left, long right);
+
+    /**
+     * Returns the aggregate of a range after {@code delta} is added to each of its values.
+     *
+     * @param aggregate the aggregate of the range before the addition
+     * @param delta     the amount added to every value
+     * @param count     the number of values in the range
+     * @return the aggregate after the addition
+     */
+    long add(long aggregate, long delta, int count);
+}
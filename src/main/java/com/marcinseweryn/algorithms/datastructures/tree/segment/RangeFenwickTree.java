@@ -0,0 +1,113 @@
+package com.marcinseweryn.algorithms.datastructures.tree.segment;
+
+import java.util.Objects;
+
+/**
+ * Fenwick tree variant supporting the addition of an amount to a whole range of values, as well as
+ * range sums, both in O(log n).
+ *
+ * <p>It keeps two {@link FenwickTree}s over the difference array {@code d}, where
+ * {@code d[i] = values[i] - values[i - 1]}: one of {@code d[i]} and one of {@code d[i] * i}. A range
+ * addition changes only two differences, and the sum of the prefix {@code [0, to)} is
+ * {@code to * (d[0] + ... + d[to - 1]) - (0 * d[0] + ... + (to - 1) * d[to - 1])}.
+ */
+public class RangeFenwickTree {
+
+    private final int size;
+    private final FenwickTree differences;  // d[i]
+    private final FenwickTree weightedDifferences;  // d[i] * i
+
+    /**
+     * Creates a tree of the given number of values, all zero.
+     *
+     * @param size the number of values
+     */
+    public RangeFenwickTree(int size) {
+        this.size = size;
+        // One more slot, for the difference just past the end of a range reaching the last value
+        this.differences = new FenwickTree(size + 1);
+        this.weightedDifferences = new FenwickTree(size + 1);
+    }
+
+    /**
+     * Creates a tree over a copy of the given values, in O(n).
+     *
+     * @param values the initial values
+     */
+    public RangeFenwickTree(long[] values) {
+        this.size = values.length;
+        long[] differences = new long[values.length + 1];
+        long[] weighted = new long[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+            differences[i] = values[i] - (i == 0 ? 0 : values[i - 1]);
+            weighted[i] = differences[i] * i;
+        }
+        this.differences = new FenwickTree(differences);
+        this.weightedDifferences = new FenwickTree(weighted);
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds an amount to every value in {@code [from, to)}.
+     *
+     * @param from  the start of the range, inclusive
+     * @param to    the end of the range, exclusive
+     * @param delta the amount to add
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public void add(int from, int to, long delta) {
+        Objects.checkFromToIndex(from, to, this.size);
+        if (from == to) {
+            return;
+        }
+        this.differences.add(from, delta);
+        this.differences.add(to, -delta);
+        this.weightedDifferences.add(from, delta * from);
+        this.weightedDifferences.add(to, -delta * to);
+    }
+
+    /**
+     * Returns the value at an index.
+     *
+     * @param index the 0-based index of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long get(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.differences.prefixSum(index + 1);
+    }
+
+    /**
+     * Returns the sum of the values in {@code [0, to)}.
+     *
+     * @param to the end of the prefix, exclusive
+     * @return the sum of the prefix
+     * @throws IndexOutOfBoundsException if the end is out of range
+     */
+    public long prefixSum(int to) {
+        Objects.checkIndex(to, this.size + 1);
+        return to * this.differences.prefixSum(to) - this.weightedDifferences.prefixSum(to);
+    }
+
+    /**
+     * Returns the sum of the values in {@code [from, to)}.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the sum of the range
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public long sum(int from, int to) {
+        Objects.checkFromToIndex(from, to, this.size);
+        return this.prefixSum(to) - this.prefixSum(from);
+    }
+}
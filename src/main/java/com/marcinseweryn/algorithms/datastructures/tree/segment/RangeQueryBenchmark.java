@@ -0,0 +1,194 @@
+package com.marcinseweryn.algorithms.datastructures.tree.segment;
+
+import java.util.SplittableRandom;
+
+import static java.lang.System.out;
+
+/**
+ * Compares range sums and minimums over a sliding window of a large {@code long[]}, computed by rescanning
+ * the window and by {@link FenwickTree} and {@link SegmentTree}, with one point update every ten queries.
+ * Then compares range additions followed by range sums on {@link RangeFenwickTree} and {@link SegmentTree}.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.segment.RangeQueryBenchmark"
+ * </pre>
+ */
+public class RangeQueryBenchmark {
+
+    private static final int SIZE = 1 << 22;
+    private static final int[] WINDOWS = {64, 4096, 262_144};
+    private static final int OPERATIONS = 1_000_000;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private RangeQueryBenchmark() {
+        // No instantiate
+    }
+
+    /**
+     * A range aggregate under test, updated in place.
+     */
+    private interface Target {
+        void set(int index, long value);
+
+        long query(int from, int to);
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(1);
+        long[] values = new long[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = random.nextInt(1_000_000);
+        }
+
+        long[] sumArray = values.clone();
+        long[] minArray = values.clone();
+        FenwickTree fenwick = new FenwickTree(values);
+        SegmentTree sumTree = new SegmentTree(values, LongMonoid.SUM);
+        SegmentTree minTree = new SegmentTree(values, LongMonoid.MIN);
+        String[] names = {"scan sum", "fenwick sum", "segment sum", "scan min", "segment min"};
+        Target[] targets = {
+                new Target() {
+                    @Override
+                    public void set(int index, long value) {
+                        sumArray[index] = value;
+                    }
+
+                    @Override
+                    public long query(int from, int to) {
+                        long sum = 0;
+                        for (int i = from; i < to; i++) {
+                            sum += sumArray[i];
+                        }
+                        return sum;
+                    }
+                },
+                new Target() {
+                    @Override
+                    public void set(int index, long value) {
+                        fenwick.set(index, value);
+                    }
+
+                    @Override
+                    public long query(int from, int to) {
+                        return fenwick.sum(from, to);
+                    }
+                },
+                new Target() {
+                    @Override
+                    public void set(int index, long value) {
+                        sumTree.set(index, value);
+                    }
+
+                    @Override
+                    public long query(int from, int to) {
+                        return sumTree.query(from, to);
+                    }
+                },
+                new Target() {
+                    @Override
+                    public void set(int index, long value) {
+                        minArray[index] = value;
+                    }
+
+                    @Override
+                    public long query(int from, int to) {
+                        long min = Long.MAX_VALUE;
+                        for (int i = from; i < to; i++) {
+                            min = Math.min(min, minArray[i]);
+                        }
+                        return min;
+                    }
+                },
+                new Target() {
+                    @Override
+                    public void set(int index, long value) {
+                        minTree.set(index, value);
+                    }
+
+                    @Override
+                    public long query(int from, int to) {
+                        return minTree.query(from, to);
+                    }
+                }
+        };
+
+        // Warm up every target first
+        for (Target target : targets) {
+            run(target, WINDOWS[0], OPERATIONS / 10);
+        }
+
+        out.printf("%d values, %d operations with 10%% point updates, ns per operation%n", SIZE, OPERATIONS);
+        out.printf("%-14s", "window");
+        for (int window : WINDOWS) {
+            out.printf(" %10d", window);
+        }
+        out.println();
+        for (int i = 0; i < targets.length; i++) {
+            out.printf("%-14s", names[i]);
+            for (int window : WINDOWS) {
+                // Scanning large windows is slow, so fewer operations are run there
+                int operations = names[i].startsWith("scan") ? Math.max(1000, OPERATIONS / (window / 64)) : OPERATIONS;
+                out.printf(" %10.0f", run(targets[i], window, operations));
+            }
+            out.println();
+        }
+
+        // Range additions of random ranges, each followed by a range sum
+        RangeFenwickTree rangeFenwick = new RangeFenwickTree(values);
+        out.printf("%-14s %10.0f%n", "fenwick add", rangeAdditions(rangeFenwick::add, rangeFenwick::sum));
+        out.printf("%-14s %10.0f%n", "segment add", rangeAdditions(sumTree::add, sumTree::query));
+    }
+
+    /**
+     * Slides a window over the array, updating a random value every ten queries.
+     *
+     * @return the nanoseconds per operation
+     */
+    private static double run(Target target, int window, int operations) {
+        SplittableRandom random = new SplittableRandom(3);
+        long result = 0;
+        long start = System.nanoTime();
+        int from = 0;
+        for (int i = 0; i < operations; i++) {
+            if (i % 10 == 0) {
+                target.set(random.nextInt(SIZE), random.nextInt(1_000_000));
+            } else {
+                result += target.query(from, from + window);
+                from = from + 1 + window == SIZE ? 0 : from + 1;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = result;
+        return (double) elapsed / operations;
+    }
+
+    private interface RangeAdd {
+        void add(int from, int to, long delta);
+    }
+
+    private interface RangeSum {
+        long sum(int from, int to);
+    }
+
+    /**
+     * @return the nanoseconds per addition and sum
+     */
+    private static double rangeAdditions(RangeAdd add, RangeSum sum) {
+        SplittableRandom random = new SplittableRandom(5);
+        long result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            int from = random.nextInt(SIZE);
+            int to = from + random.nextInt(SIZE - from + 1);
+            add.add(from, to, random.nextInt(100));
+            from = random.nextInt(SIZE);
+            to = from + random.nextInt(SIZE - from + 1);
+            result += sum.sum(from, to);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = result;
+        return (double) elapsed / OPERATIONS;
+    }
+}
@@ -0,0 +1,223 @@
+package com.marcinseweryn.algorithms.datastructures.tree.segment;
+
+import java.util.Objects;
+
+/**
+ * Segment tree implementation.
+ * A segment tree aggregates a {@code long} array with a {@link LongMonoid} (sum, minimum, maximum, ...)
+ * so that the aggregate of any range, the change of a value and the addition of an amount to a whole
+ * range all take O(log n).
+ *
+ * <p>The tree is a complete binary tree stored in a {@code long[]} with the index arithmetic of
+ * {@code BinaryTreeArray}: node {@code k} has children {@code 2k} and {@code 2k + 1}, and the leaves
+ * are the slots {@code [capacity, 2 * capacity)}, padded with the identity up to a power of two.
+ * Operations run bottom-up in loops, without recursion. A range addition updates the O(log n) nodes
+ * covering the range and records the amount in a lazy array for their descendants, which is pushed down
+ * only when a later operation needs to look below those nodes.
+ */
+public class SegmentTree {
+
+    private final LongMonoid monoid;
+    private final int size;  // Number of values
+    private final int capacity;  // Number of leaves, the smallest power of two holding the values
+    private final int levels;  // log2 of the capacity
+    private final long[] tree;  // tree[k] aggregates the leaves under node k, including pending additions
+    private final long[] lazy;  // lazy[k] is an addition applied to node k but not yet to its children
+
+    /**
+     * Creates a tree over a copy of the given values, in O(n).
+     *
+     * @param values the initial values
+     * @param monoid the aggregate to maintain
+     */
+    public SegmentTree(long[] values, LongMonoid monoid) {
+        this.monoid = monoid;
+        this.size = values.length;
+        this.levels = values.length <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(values.length - 1);
+        this.capacity = 1 << this.levels;
+        this.tree = new long[2 * this.capacity];
+        this.lazy = new long[this.capacity];
+
+        // Fill the leaves, then every parent from the last one up
+        System.arraycopy(values, 0, this.tree, this.capacity, values.length);
+        for (int i = this.capacity + values.length; i < 2 * this.capacity; i++) {
+            this.tree[i] = monoid.identity();
+        }
+        for (int k = this.capacity - 1; k > 0; k--) {
+            this.pull(k);
+        }
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the value at an index.
+     *
+     * @param index the 0-based index of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long get(int index) {
+        Objects.checkIndex(index, this.size);
+        int leaf = index + this.capacity;
+        this.pushPath(leaf);
+        return this.tree[leaf];
+    }
+
+    /**
+     * Replaces the value at an index.
+     *
+     * @param index the 0-based index of the value
+     * @param value the new value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void set(int index, long value) {
+        Objects.checkIndex(index, this.size);
+        int leaf = index + this.capacity;
+        this.pushPath(leaf);
+        this.tree[leaf] = value;
+        for (int k = leaf >> 1; k > 0; k >>= 1) {
+            this.pull(k);
+        }
+    }
+
+    /**
+     * Returns the aggregate of the values in {@code [from, to)}.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the aggregate of the range, or the identity if it is empty
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public long query(int from, int to) {
+        Objects.checkFromToIndex(from, to, this.size);
+        if (from == to) {
+            return this.monoid.identity();
+        }
+        int left = from + this.capacity;
+        int right = to + this.capacity;
+        this.pushBoundaries(left, right);
+
+        // Climb both boundaries, combining the nodes just inside them, left and right parts kept apart
+        long leftAggregate = this.monoid.identity();
+        long rightAggregate = this.monoid.identity();
+        while (left < right) {
+            if ((left & 1) == 1) {
+                leftAggregate = this.monoid.combine(leftAggregate, this.tree[left++]);
+            }
+            if ((right & 1) == 1) {
+                rightAggregate = this.monoid.combine(this.tree[--right], rightAggregate);
+            }
+            left >>= 1;
+            right >>= 1;
+        }
+        return this.monoid.combine(leftAggregate, rightAggregate);
+    }
+
+    /**
+     * Returns the aggregate of all the values, in O(1).
+     *
+     * @return the aggregate of all the values
+     */
+    public long queryAll() {
+        return this.tree[1];
+    }
+
+    /**
+     * Adds an amount to every value in {@code [from, to)}.
+     *
+     * @param from  the start of the range, inclusive
+     * @param to    the end of the range, exclusive
+     * @param delta the amount to add
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public void add(int from, int to, long delta) {
+        Objects.checkFromToIndex(from, to, this.size);
+        if (from == to) {
+            return;
+        }
+        int left = from + this.capacity;
+        int right = to + this.capacity;
+        this.pushBoundaries(left, right);
+
+        // Apply the addition to the nodes covering the range
+        for (int l = left, r = right; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                this.apply(l++, delta);
+            }
+            if ((r & 1) == 1) {
+                this.apply(--r, delta);
+            }
+        }
+        // Recompute the ancestors of the boundaries, which cover the range only partially
+        for (int level = 1; level <= this.levels; level++) {
+            if (((left >> level) << level) != left) {
+                this.pull(left >> level);
+            }
+            if (((right >> level) << level) != right) {
+                this.pull((right - 1) >> level);
+            }
+        }
+    }
+
+    /**
+     * Pushes the pending additions down the paths to both boundaries of a range, top-down, so that
+     * the nodes just inside the boundaries are up to date. Ancestors whose whole subtree lies inside
+     * the range are skipped, as their pending additions apply to the entire subtree anyway.
+     */
+    private void pushBoundaries(int left, int right) {
+        for (int level = this.levels; level > 0; level--) {
+            if (((left >> level) << level) != left) {
+                this.push(left >> level);
+            }
+            if (((right >> level) << level) != right) {
+                this.push((right - 1) >> level);
+            }
+        }
+    }
+
+    /**
+     * Pushes the pending additions down the path from the root to a leaf.
+     */
+    private void pushPath(int leaf) {
+        for (int level = this.levels; level > 0; level--) {
+            this.push(leaf >> level);
+        }
+    }
+
+    /**
+     * Applies an addition to a node and records it for the node's children.
+     */
+    private void apply(int node, long delta) {
+        int count = this.capacity >> (31 - Integer.numberOfLeadingZeros(node));  // Leaves under the node
+        this.tree[node] = this.monoid.add(this.tree[node], delta, count);
+        if (node < this.capacity) {
+            this.lazy[node] += delta;
+        }
+    }
+
+    /**
+     * Moves the pending addition of an inner node to its children.
+     */
+    private void push(int node) {
+        if (this.lazy[node] != 0) {
+            this.apply(2 * node, this.lazy[node]);
+            this.apply(2 * node + 1, this.lazy[node]);
+            this.lazy[node] = 0;
+        }
+    }
+
+    /**
+     * Recomputes an inner node from its children.
+     */
+    private void pull(int node) {
+        this.tree[node] = this.monoid.combine(this.tree[2 * node], this.tree[2 * node + 1]);
+    }
+}
@@ -0,0 +1,503 @@
+package com.marcinseweryn.algorithms.datastructures.tree.skiplist;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free concurrent skip list, an ordered set that any number of threads may use without locking.
+ *
+ * <p>A skip list keeps its elements in a sorted linked list (level 0) and in a hierarchy of sparser
+ * lists above it; every node is promoted to the next level with probability 1/2, so searches skip over
+ * O(log n) nodes per level on average. Links are updated with compare-and-set, and a link replaced by a
+ * {@link Marked} wrapper flags the node holding it as deleted (the Harris-Michael scheme): a removal marks
+ * the links of a node from its top level down, marking level 0 being the point where the element leaves
+ * the set, and the node is then unlinked physically by whichever thread next passes over it. Wrapping the
+ * link instead of pairing every link with a mark keeps a search step at one array read per node. Additions link a node at level 0 with a
+ * single compare-and-set, which is the point where the element joins the set, and then at the levels above.
+ * Every operation makes progress unless another thread's operation succeeded, so no thread can block others.
+ *
+ * <p>Iterators are weakly consistent: they never throw {@link java.util.ConcurrentModificationException},
+ * return every element present for the whole iteration once, in order, and may or may not return elements
+ * added or removed meanwhile. {@link #size()} is exact only when no writer is running.
+ *
+ * @param <T> the type of elements maintained by this skip list, which must be comparable
+ */
+public class ConcurrentSkipList<T extends Comparable<T>> implements OrderedBinaryTree<T> {
+
+    private static final int MAX_LEVEL = 32;
+    private static final VarHandle LINK = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Node<T> head = new Node<>(null, MAX_LEVEL - 1);  // Sentinel smaller than every element
+    private final LongAdder size = new LongAdder();
+    private final AtomicInteger levels = new AtomicInteger(1);  // Number of levels in use, never decreases
+
+    /**
+     * Node of the skip list, linked into levels 0 to {@code topLevel}.
+     * Each link holds the next node, null, or a {@link Marked} wrapper of either once the node is deleted.
+     */
+    private static final class Node<T> {
+        final T element;
+        final Object[] next;
+        final int topLevel;
+
+        Node(T element, int topLevel) {
+            this.element = element;
+            this.topLevel = topLevel;
+            this.next = new Object[topLevel + 1];
+        }
+
+        Object link(int level) {
+            return LINK.getVolatile(this.next, level);
+        }
+
+        boolean casLink(int level, Object expected, Object link) {
+            return LINK.compareAndSet(this.next, level, expected, link);
+        }
+    }
+
+    /**
+     * Link of a deleted node, wrapping the successor it had when it was marked.
+     */
+    private static final class Marked {
+        final Node<?> node;
+
+        Marked(Node<?> node) {
+            this.node = node;
+        }
+    }
+
+    /**
+     * Returns the node a link points to, marked or not.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T> target(Object link) {
+        return (Node<T>) (link instanceof Marked marked ? marked.node : link);
+    }
+
+    /**
+     * Checks if the skip list is empty.
+     *
+     * @return {@code true} if the skip list holds no element
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.successor(this.head) == null;
+    }
+
+    /**
+     * Returns the number of elements. Concurrent additions and removals may or may not be counted.
+     *
+     * @return the number of elements
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, this.size.sum()));
+    }
+
+    /**
+     * Adds an element.
+     *
+     * @param element the element to add
+     * @return {@code true} if the element was added, {@code false} if it was already present
+     * @throws IllegalArgumentException if the element is null
+     */
+    @Override
+    public boolean add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        int topLevel = randomLevel();
+        this.levels.accumulateAndGet(topLevel + 1, Math::max);  // Searches must reach the new levels
+        @SuppressWarnings("unchecked") Node<T>[] preds = new Node[MAX_LEVEL];
+        @SuppressWarnings("unchecked") Node<T>[] succs = new Node[MAX_LEVEL];
+
+        while (true) {
+            if (this.find(element, preds, succs)) {
+                return false;
+            }
+            Node<T> node = new Node<>(element, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                node.next[level] = succs[level];  // Published by the compare-and-set below
+            }
+            // Linking at level 0 adds the element to the set
+            if (!preds[0].casLink(0, succs[0], node)) {
+                continue;  // The neighbourhood changed, search again
+            }
+            this.size.increment();
+
+            // Link the levels above, which only speed up searches
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    Node<T> successor = succs[level];
+                    Object current = node.link(level);
+                    if (current instanceof Marked || current != successor && !node.casLink(level, current, successor)) {
+                        return true;  // Marked by a concurrent removal, stop linking
+                    }
+                    if (preds[level].casLink(level, successor, node)) {
+                        break;
+                    }
+                    this.find(element, preds, succs);
+                    if (succs[0] != node) {
+                        return true;  // Already removed
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param element the element to remove
+     * @return {@code true} if the element was removed, {@code false} if it was not found
+     */
+    @Override
+    public boolean remove(T element) {
+        if (element == null) {
+            return false;
+        }
+        @SuppressWarnings("unchecked") Node<T>[] preds = new Node[MAX_LEVEL];
+        @SuppressWarnings("unchecked") Node<T>[] succs = new Node[MAX_LEVEL];
+        if (!this.find(element, preds, succs)) {
+            return false;
+        }
+        Node<T> victim = succs[0];
+
+        // Mark the levels above level 0, so no node gets linked after the victim there
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Object link = victim.link(level);
+            while (!(link instanceof Marked) && !victim.casLink(level, link, new Marked(target(link)))) {
+                link = victim.link(level);
+            }
+        }
+
+        // Marking level 0 removes the element from the set, only one thread can succeed
+        Object link = victim.link(0);
+        while (!(link instanceof Marked)) {
+            if (victim.casLink(0, link, new Marked(target(link)))) {
+                this.size.decrement();
+                this.find(element, preds, succs);  // Unlinks the victim
+                return true;
+            }
+            link = victim.link(0);
+        }
+        return false;  // Removed by another thread first
+    }
+
+    /**
+     * Locates the neighbours of an element on every level, unlinking the deleted nodes passed on the way.
+     *
+     * @param element the element to search for
+     * @param preds   receives the last node before the element on each level
+     * @param succs   receives the first node at or after the element on each level, or null
+     * @return {@code true} if the element is present
+     */
+    private boolean find(T element, Node<T>[] preds, Node<T>[] succs) {
+        retry:
+        while (true) {
+            Node<T> pred = this.head;
+            Node<T> current = null;
+            for (int level = this.levels.get() - 1; level >= 0; level--) {
+                current = target(pred.link(level));
+                while (current != null) {
+                    Object link = current.link(level);
+                    if (link instanceof Marked) {
+                        // The current node is deleted, unlink it at this level
+                        Node<T> successor = target(link);
+                        if (!pred.casLink(level, current, successor)) {
+                            continue retry;  // The predecessor changed or got deleted
+                        }
+                        current = successor;
+                    } else if (current.element.compareTo(element) < 0) {
+                        pred = current;
+                        current = target(link);
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = current;
+            }
+            return current != null && current.element.compareTo(element) == 0;
+        }
+    }
+
+    /**
+     * Checks if the skip list contains an element, without writing to shared memory.
+     *
+     * @param element the element to check for
+     * @return {@code true} if the element is found, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        if (element == null) {
+            return false;
+        }
+        Node<T> candidate = this.successor(this.last(element, false));
+        return candidate != null && candidate.element.compareTo(element) == 0;
+    }
+
+    /**
+     * Retrieves the minimum element.
+     *
+     * @return the minimum element, or {@code null} if the skip list is empty
+     */
+    @Override
+    public T min() {
+        Node<T> first = this.successor(this.head);
+        return first == null ? null : first.element;
+    }
+
+    /**
+     * Retrieves the maximum element.
+     *
+     * @return the maximum element, or {@code null} if the skip list is empty
+     */
+    @Override
+    public T max() {
+        return this.element(this.last(null, true));
+    }
+
+    /**
+     * Returns the greatest element less than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the floor element, or {@code null} if there is none
+     */
+    public T floor(T element) {
+        return this.element(this.last(element, true));
+    }
+
+    /**
+     * Returns the greatest element strictly less than the given one.
+     *
+     * @param element the element to search for
+     * @return the lower element, or {@code null} if there is none
+     */
+    public T lower(T element) {
+        return this.element(this.last(element, false));
+    }
+
+    /**
+     * Returns the smallest element greater than or equal to the given one.
+     *
+     * @param element the element to search for
+     * @return the ceiling element, or {@code null} if there is none
+     */
+    public T ceiling(T element) {
+        Node<T> node = this.successor(this.last(element, false));
+        return node == null ? null : node.element;
+    }
+
+    /**
+     * Returns the smallest element strictly greater than the given one.
+     *
+     * @param element the element to search for
+     * @return the higher element, or {@code null} if there is none
+     */
+    public T higher(T element) {
+        Node<T> node = this.successor(this.last(element, true));
+        return node == null ? null : node.element;
+    }
+
+    /**
+     * Finds the last live node before a bound, descending from the top level without unlinking anything.
+     *
+     * @param element   the bound, or null for no bound
+     * @param inclusive whether a node equal to the bound counts as before it
+     * @return the last node before the bound, or the head if there is none
+     */
+    private Node<T> last(T element, boolean inclusive) {
+        Node<T> pred = this.head;
+        for (int level = this.levels.get() - 1; level >= 0; level--) {
+            Node<T> current = target(pred.link(level));
+            while (current != null) {
+                Object link = current.link(level);
+                if (link instanceof Marked) {
+                    current = target(link);  // Skip deleted nodes
+                    continue;
+                }
+                int comparison = element == null ? -1 : current.element.compareTo(element);
+                if (comparison < 0 || comparison == 0 && inclusive) {
+                    pred = current;
+                    current = target(link);
+                } else {
+                    break;
+                }
+            }
+        }
+        return pred;
+    }
+
+    /**
+     * Returns the first live node after a node on level 0.
+     *
+     * @param node the node to start from
+     * @return the next live node, or null if there is none
+     */
+    private Node<T> successor(Node<T> node) {
+        Node<T> current = target(node.link(0));
+        while (current != null) {
+            Object link = current.link(0);
+            if (!(link instanceof Marked)) {
+                return current;
+            }
+            current = target(link);
+        }
+        return null;
+    }
+
+    private T element(Node<T> node) {
+        return node == this.head ? null : node.element;
+    }
+
+    /**
+     * Removes every element. Not atomic: elements added concurrently may remain.
+     */
+    @Override
+    public void clear() {
+        for (Node<T> node = this.successor(this.head); node != null; node = this.successor(this.head)) {
+            this.remove(node.element);
+        }
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in the range {@code [low, high)} in ascending order.
+     *
+     * @param low  the lower bound, inclusive, or {@code null} for no bound
+     * @param high the upper bound, exclusive, or {@code null} for no bound
+     * @return an iterator over the range
+     */
+    public Iterator<T> subIterator(T low, T high) {
+        Node<T> start = low == null ? this.head : this.last(low, false);
+        return new AscendingIterator(this.successor(start), high);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in descending order.
+     * Level 0 is only linked forwards, so each step searches for the predecessor in O(log n).
+     *
+     * @return an iterator for descending traversal
+     */
+    public Iterator<T> descendingIterator() {
+        return new Iterator<>() {
+            private T next = ConcurrentSkipList.this.max();
+
+            @Override
+            public boolean hasNext() {
+                return this.next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException("No more elements to iterate.");
+                }
+                T result = this.next;
+                this.next = ConcurrentSkipList.this.lower(result);
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the elements in level order.
+     * Every element is stored on level 0, which level order visits from left to right, in ascending order.
+     *
+     * @return an iterator for level-order traversal
+     */
+    @Override
+    public Iterator<T> levelOrderIterator() {
+        return this.inOrderIterator();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in ascending order.
+     *
+     * @return an iterator for in-order traversal
+     */
+    @Override
+    public Iterator<T> inOrderIterator() {
+        return new AscendingIterator(this.successor(this.head), null);
+    }
+
+    /**
+     * Returns an iterator over the elements in post-order.
+     * A skip list has no subtrees, so post-order visits level 0 from left to right.
+     *
+     * @return an iterator for post-order traversal
+     */
+    @Override
+    public Iterator<T> postOrderIterator() {
+        return this.inOrderIterator();
+    }
+
+    /**
+     * Returns an iterator over the elements in pre-order.
+     * A skip list has no subtrees, so pre-order visits level 0 from left to right.
+     *
+     * @return an iterator for pre-order traversal
+     */
+    @Override
+    public Iterator<T> preOrderIterator() {
+        return this.inOrderIterator();
+    }
+
+    /**
+     * Picks the top level of a new node: level k with probability 2^-(k+1).
+     */
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | 1 << (MAX_LEVEL - 1));
+    }
+
+    /**
+     * Weakly consistent iterator walking level 0, skipping deleted nodes.
+     */
+    private final class AscendingIterator implements Iterator<T> {
+
+        private final T high;
+        private Node<T> next;
+
+        AscendingIterator(Node<T> first, T high) {
+            this.high = high;
+            this.next = first;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null && (this.high == null || this.next.element.compareTo(this.high) < 0);
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No more elements to iterate.");
+            }
+            Node<T> current = this.next;
+            this.next = ConcurrentSkipList.this.successor(current);
+            return current.element;
+        }
+    }
+
+    /**
+     * Returns a weakly consistent spliterator over the elements in ascending order. The size changes under
+     * concurrent updates, so the spliterator is not sized.
+     *
+     * @return a spliterator for in-order traversal
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this.inOrderIterator(), Spliterator.ORDERED | Spliterator.SORTED
+                | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+}
@@ -0,0 +1,124 @@
+package com.marcinseweryn.algorithms.datastructures.tree.skiplist;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTree;
+import com.marcinseweryn.algorithms.datastructures.tree.binary.AVL;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static java.lang.System.out;
+
+/**
+ * Compares the throughput of a {@link ConcurrentSkipList} with an {@link AVL} tree guarded by one lock,
+ * from 1 to 64 threads, on a read-mostly and on a write-heavy mix of lookups, additions and removals.
+ *
+ * <p>Every thread draws random elements from a fixed range, so the size of the set stays around its
+ * initial size. The number of cores limits the scaling that can be observed: threads beyond it only
+ * add contention.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.skiplist.ConcurrentSkipListBenchmark"
+ * </pre>
+ */
+public class ConcurrentSkipListBenchmark {
+
+    private static final int SIZE = 1 << 16;
+    private static final int KEY_RANGE = 2 * SIZE;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int[] WRITE_PERCENTS = {10, 50};
+    private static final long DURATION_MILLIS = 1000;
+
+    private static volatile long sink;  // Keeps the lookups from being optimized away
+
+    private ConcurrentSkipListBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        out.printf("%d elements, %d cores, operations per second%n", SIZE, Runtime.getRuntime().availableProcessors());
+        // Warm up both structures so the first measurements are not taken in the interpreter
+        run(SynchronizedTree::new, 2, 50);
+        run(ConcurrentSkipList::new, 2, 50);
+        for (int writePercent : WRITE_PERCENTS) {
+            out.printf("%n%d%% writes%n", writePercent);
+            out.printf("%-8s %16s %16s%n", "threads", "locked AVL", "skip list");
+            for (int threads : THREADS) {
+                double locked = run(SynchronizedTree::new, threads, writePercent);
+                double skipList = run(ConcurrentSkipList::new, threads, writePercent);
+                out.printf("%-8d %16.0f %16.0f%n", threads, locked, skipList);
+            }
+        }
+    }
+
+    private static double run(Supplier<OrderedBinaryTree<Integer>> factory, int threads, int writePercent)
+            throws InterruptedException {
+        OrderedBinaryTree<Integer> tree = factory.get();
+        SplittableRandom seed = new SplittableRandom(42);
+        while (tree.size() < SIZE) {
+            tree.add(seed.nextInt(KEY_RANGE));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        LongAdder found = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = seed.split();
+            new Thread(() -> {
+                long count = 0;
+                long hits = 0;
+                while (running.get()) {
+                    Integer element = random.nextInt(KEY_RANGE);
+                    int operation = random.nextInt(100);
+                    if (operation < writePercent / 2) {
+                        tree.add(element);
+                    } else if (operation < writePercent) {
+                        tree.remove(element);
+                    } else if (tree.contains(element)) {
+                        hits++;
+                    }
+                    count++;
+                }
+                operations.add(count);
+                found.add(hits);
+                done.countDown();
+            }).start();
+        }
+
+        Thread.sleep(DURATION_MILLIS);
+        running.set(false);
+        done.await();
+        sink = found.sum();
+        return operations.sum() * 1000.0 / DURATION_MILLIS;
+    }
+
+    /**
+     * An {@link AVL} tree whose operations all hold one lock.
+     */
+    private static final class SynchronizedTree extends AVL<Integer> {
+
+        @Override
+        public synchronized boolean add(Integer element) {
+            return super.add(element);
+        }
+
+        @Override
+        public synchronized boolean remove(Integer element) {
+            return super.remove(element);
+        }
+
+        @Override
+        public synchronized boolean contains(Integer element) {
+            return super.contains(element);
+        }
+
+        @Override
+        public synchronized int size() {
+            return super.size();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.marcinseweryn.algorithms.datastructures.tree.spatial;
+
+/**
+ * Ball tree implementation.
+ * A ball tree bounds the points of every node by a ball, the centroid of the points and the distance to
+ * the farthest of them. A search skips a node when the query is farther from its ball than the best
+ * candidates found so far. Unlike the axis-aligned planes of a {@link KdTree}, the balls keep some
+ * pruning power as the number of dimensions grows, which suits feature vectors better than coordinates.
+ *
+ * <p>The layout follows the {@link KdTree}: the points are copied into a packed {@code double[]} and
+ * reordered so that every node covers a contiguous range, split at the median of its widest dimension
+ * with quickselect. The nodes live in arrays indexed like a binary heap, node {@code k} having children
+ * {@code 2k} and {@code 2k + 1}; the median splits keep the tree complete enough for that to waste little.
+ *
+ * <p>Points are identified by their position in the array given to the constructor. Distances are
+ * Euclidean.
+ */
+public class BallTree {
+
+    static final int LEAF_SIZE = 8;
+
+    private final int dimensions;
+    private final int size;
+    private final double[] coordinates;  // Points in tree order, packed row by row
+    private final int[] ids;  // ids[i] is the original position of the point at row i
+    private final int[] starts;  // First row of each node
+    private final int[] ends;  // Row after the last of each node
+    private final double[] centers;  // Centroid of each node, packed row by row
+    private final double[] radii;  // Distance from the centroid to the farthest point of each node
+
+    /**
+     * Builds the tree.
+     *
+     * @param points     the coordinates of the points, packed row by row
+     * @param dimensions the number of coordinates of a point
+     * @throws IllegalArgumentException if the dimensions are not positive or do not divide the coordinates
+     */
+    public BallTree(double[] points, int dimensions) {
+        this.size = PointArrays.count(points, dimensions);
+        this.dimensions = dimensions;
+        this.coordinates = points.clone();
+        this.ids = PointArrays.identifiers(this.size);
+
+        // The deepest leaves hold the largest halves, so their depth bounds the node indices
+        int depth = 0;
+        for (int count = this.size; count > LEAF_SIZE; count = (count + 1) / 2) {
+            depth++;
+        }
+        int nodes = 2 << depth;
+        this.starts = new int[nodes];
+        this.ends = new int[nodes];
+        this.centers = new double[nodes * dimensions];
+        this.radii = new double[nodes];
+        this.build(1, 0, this.size);
+    }
+
+    /**
+     * Returns the number of points.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return this.size;
+    }
+
+    private void build(int node, int from, int to) {
+        this.starts[node] = from;
+        this.ends[node] = to;
+        int center = node * this.dimensions;
+        for (int row = from; row < to; row++) {
+            for (int i = 0; i < this.dimensions; i++) {
+                this.centers[center + i] += this.coordinates[row * this.dimensions + i];
+            }
+        }
+        for (int i = 0; i < this.dimensions && to > from; i++) {
+            this.centers[center + i] /= to - from;
+        }
+        double radius = 0;
+        for (int row = from; row < to; row++) {
+            radius = Math.max(radius, this.distanceSquaredToCenter(row, node));
+        }
+        this.radii[node] = Math.sqrt(radius);
+
+        if (to - from > LEAF_SIZE) {
+            int middle = (from + to) >>> 1;
+            int dimension = PointArrays.widestDimension(this.coordinates, this.dimensions, from, to);
+            PointArrays.select(this.coordinates, this.ids, this.dimensions, dimension, from, to, middle);
+            this.build(2 * node, from, middle);
+            this.build(2 * node + 1, middle, to);
+        }
+    }
+
+    private double distanceSquaredToCenter(int row, int node) {
+        double sum = 0;
+        for (int i = 0; i < this.dimensions; i++) {
+            double difference = this.coordinates[row * this.dimensions + i] - this.centers[node * this.dimensions + i];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the smallest possible distance from a query to a point of a node, 0 inside its ball.
+     */
+    private double lowerBound(double[] query, int node) {
+        double distance = Math.sqrt(PointArrays.distanceSquared(this.centers, node, this.dimensions, query));
+        return Math.max(0, distance - this.radii[node]);
+    }
+
+    private boolean isLeaf(int node) {
+        return this.ends[node] - this.starts[node] <= LEAF_SIZE;
+    }
+
+    /**
+     * Finds the point nearest to a query.
+     *
+     * @param query the coordinates of the query
+     * @return the identifier of the nearest point, or -1 if the tree is empty
+     * @throws IllegalArgumentException if the query has the wrong number of coordinates
+     */
+    public int nearest(double[] query) {
+        int[] nearest = this.kNearest(query, 1);
+        return nearest.length == 0 ? -1 : nearest[0];
+    }
+
+    /**
+     * Finds the k points nearest to a query.
+     *
+     * @param query the coordinates of the query
+     * @param k     the number of neighbours
+     * @return the identifiers of the min(k, size) nearest points, nearest first
+     * @throws IllegalArgumentException if k is not positive or the query has the wrong number of coordinates
+     */
+    public int[] kNearest(double[] query, int k) {
+        PointArrays.checkQuery(query, this.dimensions);
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        NeighbourHeap heap = new NeighbourHeap(Math.min(k, this.size));
+        if (this.size > 0) {
+            this.nearest(query, 1, this.lowerBound(query, 1), heap);
+        }
+        return heap.drainSorted();
+    }
+
+    private void nearest(double[] query, int node, double bound, NeighbourHeap heap) {
+        if (bound * bound >= heap.bound()) {
+            return;
+        }
+        if (this.isLeaf(node)) {
+            for (int row = this.starts[node]; row < this.ends[node]; row++) {
+                heap.offer(this.ids[row], PointArrays.distanceSquared(this.coordinates, row, this.dimensions, query));
+            }
+            return;
+        }
+        // Visit the nearer ball first, so the farther one is more likely to be pruned
+        double left = this.lowerBound(query, 2 * node);
+        double right = this.lowerBound(query, 2 * node + 1);
+        if (left <= right) {
+            this.nearest(query, 2 * node, left, heap);
+            this.nearest(query, 2 * node + 1, right, heap);
+        } else {
+            this.nearest(query, 2 * node + 1, right, heap);
+            this.nearest(query, 2 * node, left, heap);
+        }
+    }
+
+    /**
+     * Finds the points within a distance of a query.
+     *
+     * @param query  the coordinates of the query
+     * @param radius the maximum distance, inclusive
+     * @return the identifiers of the points within the radius, in no particular order
+     * @throws IllegalArgumentException if the radius is negative or the query has the wrong number of coordinates
+     */
+    public int[] radiusSearch(double[] query, double radius) {
+        PointArrays.checkQuery(query, this.dimensions);
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+        PointArrays.IdBuffer result = new PointArrays.IdBuffer();
+        if (this.size > 0) {
+            this.radiusSearch(query, radius, 1, result);
+        }
+        return result.toArray();
+    }
+
+    private void radiusSearch(double[] query, double radius, int node, PointArrays.IdBuffer result) {
+        if (this.lowerBound(query, node) > radius) {
+            return;
+        }
+        if (this.isLeaf(node)) {
+            double radiusSquared = radius * radius;
+            for (int row = this.starts[node]; row < this.ends[node]; row++) {
+                if (PointArrays.distanceSquared(this.coordinates, row, this.dimensions, query) <= radiusSquared) {
+                    result.add(this.ids[row]);
+                }
+            }
+            return;
+        }
+        this.radiusSearch(query, radius, 2 * node, result);
+        this.radiusSearch(query, radius, 2 * node + 1, result);
+    }
+}
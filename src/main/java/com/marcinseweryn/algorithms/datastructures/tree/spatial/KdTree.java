@@ -0,0 +1,232 @@
+package com.marcinseweryn.algorithms.datastructures.tree.spatial;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * k-d tree implementation.
+ * A k-d tree is a binary space partition of points in k dimensions: every node splits its points at
+ * the median along one dimension, here the one of widest spread, so a nearest-neighbour search can skip
+ * every subtree lying farther from the query than the best candidates found so far. On low-dimensional
+ * data a query visits O(log n) nodes on average instead of the n points of a brute-force scan.
+ *
+ * <p>The tree is static and implicit. The points are copied into a packed {@code double[]} and reordered
+ * in place while building, so that every subtree is a contiguous range whose middle point is its root:
+ * there are no node objects and a search walks the coordinates sequentially. Medians are found with
+ * quickselect in O(n) rather than by sorting, for an O(n log n) build, and ranges of at most
+ * {@value #LEAF_SIZE} points are left unsplit and scanned. The build can also run as fork-join tasks.
+ *
+ * <p>Points are identified by their position in the array given to the constructor. Distances are
+ * Euclidean.
+ */
+public class KdTree {
+
+    static final int LEAF_SIZE = 8;
+    private static final int PARALLEL_THRESHOLD = 1 << 15;  // Below this many points a subtree is built sequentially
+
+    private final int dimensions;
+    private final int size;
+    private final double[] coordinates;  // Points in tree order, packed row by row
+    private final int[] ids;  // ids[i] is the original position of the point at row i
+    private final int[] splitDimensions;  // Dimension split by the node rooted at each row
+
+    /**
+     * Builds the tree sequentially.
+     *
+     * @param points     the coordinates of the points, packed row by row
+     * @param dimensions the number of coordinates of a point
+     * @throws IllegalArgumentException if the dimensions are not positive or do not divide the coordinates
+     */
+    public KdTree(double[] points, int dimensions) {
+        this(points, dimensions, false);
+    }
+
+    /**
+     * Builds the tree, splitting the subtrees into fork-join tasks when parallel. The tasks run in the pool
+     * of the calling thread if it is a fork-join worker, and in the common pool otherwise.
+     *
+     * @param points     the coordinates of the points, packed row by row
+     * @param dimensions the number of coordinates of a point
+     * @param parallel   whether to build the subtrees in parallel
+     * @throws IllegalArgumentException if the dimensions are not positive or do not divide the coordinates
+     */
+    public KdTree(double[] points, int dimensions, boolean parallel) {
+        this.size = PointArrays.count(points, dimensions);
+        this.dimensions = dimensions;
+        this.coordinates = points.clone();
+        this.ids = PointArrays.identifiers(this.size);
+        this.splitDimensions = new int[this.size];
+        if (parallel) {
+            new BuildTask(0, this.size).invoke();
+        } else {
+            this.build(0, this.size);
+        }
+    }
+
+    /**
+     * Returns the number of points.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of coordinates of a point.
+     *
+     * @return the number of dimensions
+     */
+    public int dimensions() {
+        return this.dimensions;
+    }
+
+    /**
+     * Splits the range at its median along its widest dimension, then builds both halves.
+     */
+    private void build(int from, int to) {
+        while (to - from > LEAF_SIZE) {
+            int middle = this.split(from, to);
+            this.build(from, middle);
+            from = middle + 1;  // Loop on the right half
+        }
+    }
+
+    /**
+     * Moves the median of the range along its widest dimension to the middle row.
+     *
+     * @return the middle row
+     */
+    private int split(int from, int to) {
+        int middle = (from + to) >>> 1;
+        int dimension = PointArrays.widestDimension(this.coordinates, this.dimensions, from, to);
+        PointArrays.select(this.coordinates, this.ids, this.dimensions, dimension, from, to, middle);
+        this.splitDimensions[middle] = dimension;
+        return middle;
+    }
+
+    /**
+     * Builds a subtree, forking the left half while the range is large.
+     */
+    private final class BuildTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        BuildTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from < PARALLEL_THRESHOLD) {
+                KdTree.this.build(this.from, this.to);
+                return;
+            }
+            int middle = KdTree.this.split(this.from, this.to);
+            ForkJoinTask.invokeAll(new BuildTask(this.from, middle), new BuildTask(middle + 1, this.to));
+        }
+    }
+
+    /**
+     * Finds the point nearest to a query.
+     *
+     * @param query the coordinates of the query
+     * @return the identifier of the nearest point, or -1 if the tree is empty
+     * @throws IllegalArgumentException if the query has the wrong number of coordinates
+     */
+    public int nearest(double[] query) {
+        int[] nearest = this.kNearest(query, 1);
+        return nearest.length == 0 ? -1 : nearest[0];
+    }
+
+    /**
+     * Finds the k points nearest to a query.
+     *
+     * @param query the coordinates of the query
+     * @param k     the number of neighbours
+     * @return the identifiers of the min(k, size) nearest points, nearest first
+     * @throws IllegalArgumentException if k is not positive or the query has the wrong number of coordinates
+     */
+    public int[] kNearest(double[] query, int k) {
+        PointArrays.checkQuery(query, this.dimensions);
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        NeighbourHeap heap = new NeighbourHeap(Math.min(k, this.size));
+        if (this.size > 0) {
+            this.nearest(query, 0, this.size, heap);
+        }
+        return heap.drainSorted();
+    }
+
+    private void nearest(double[] query, int from, int to, NeighbourHeap heap) {
+        if (to - from <= LEAF_SIZE) {
+            for (int row = from; row < to; row++) {
+                heap.offer(this.ids[row], PointArrays.distanceSquared(this.coordinates, row, this.dimensions, query));
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        heap.offer(this.ids[middle], PointArrays.distanceSquared(this.coordinates, middle, this.dimensions, query));
+
+        int dimension = this.splitDimensions[middle];
+        double difference = query[dimension] - this.coordinates[middle * this.dimensions + dimension];
+        // Search the side of the query first, then the other side if the splitting plane is near enough
+        if (difference < 0) {
+            this.nearest(query, from, middle, heap);
+            if (difference * difference < heap.bound()) {
+                this.nearest(query, middle + 1, to, heap);
+            }
+        } else {
+            this.nearest(query, middle + 1, to, heap);
+            if (difference * difference < heap.bound()) {
+                this.nearest(query, from, middle, heap);
+            }
+        }
+    }
+
+    /**
+     * Finds the points within a distance of a query.
+     *
+     * @param query  the coordinates of the query
+     * @param radius the maximum distance, inclusive
+     * @return the identifiers of the points within the radius, in no particular order
+     * @throws IllegalArgumentException if the radius is negative or the query has the wrong number of coordinates
+     */
+    public int[] radiusSearch(double[] query, double radius) {
+        PointArrays.checkQuery(query, this.dimensions);
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+        PointArrays.IdBuffer result = new PointArrays.IdBuffer();
+        this.radiusSearch(query, radius * radius, 0, this.size, result);
+        return result.toArray();
+    }
+
+    private void radiusSearch(double[] query, double radiusSquared, int from, int to, PointArrays.IdBuffer result) {
+        if (to - from <= LEAF_SIZE) {
+            for (int row = from; row < to; row++) {
+                if (PointArrays.distanceSquared(this.coordinates, row, this.dimensions, query) <= radiusSquared) {
+                    result.add(this.ids[row]);
+                }
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        if (PointArrays.distanceSquared(this.coordinates, middle, this.dimensions, query) <= radiusSquared) {
+            result.add(this.ids[middle]);
+        }
+        int dimension = this.splitDimensions[middle];
+        double difference = query[dimension] - this.coordinates[middle * this.dimensions + dimension];
+        // A side is searched unless the splitting plane is out of reach from the other side
+        if (difference <= 0 || difference * difference <= radiusSquared) {
+            this.radiusSearch(query, radiusSquared, from, middle, result);
+        }
+        if (difference >= 0 || difference * difference <= radiusSquared) {
+            this.radiusSearch(query, radiusSquared, middle + 1, to, result);
+        }
+    }
+}
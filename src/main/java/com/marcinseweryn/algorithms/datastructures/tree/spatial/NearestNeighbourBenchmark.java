@@ -0,0 +1,122 @@
+package com.marcinseweryn.algorithms.datastructures.tree.spatial;
+
+import java.util.SplittableRandom;
+
+import static java.lang.System.out;
+
+/**
+ * Compares nearest-neighbour queries on {@link KdTree} and {@link BallTree} with a brute-force scan, on
+ * 10M uniform points in two dimensions (geospatial lookups) and 1M clustered points in 16 dimensions
+ * (feature vectors), and the sequential build of the k-d tree with the parallel one.
+ *
+ * <p>Run with:
+ * <pre>
+ *   ./mvnw exec:java -Dexec.mainClass="com.marcinseweryn.algorithms.datastructures.tree.spatial.NearestNeighbourBenchmark"
+ * </pre>
+ */
+public class NearestNeighbourBenchmark {
+
+    private static final int QUERIES = 20_000;
+    private static final int SCAN_QUERIES = 5;
+    private static final int K = 10;
+
+    private static volatile long sink;  // Keeps the results from being optimized away
+
+    private NearestNeighbourBenchmark() {
+        // No instantiate
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(17);
+        out.printf("%d cores%n", Runtime.getRuntime().availableProcessors());
+
+        double[] geo = new double[2 * 10_000_000];
+        for (int i = 0; i < geo.length; i++) {
+            geo[i] = random.nextDouble(-180, 180);
+        }
+        run("10M points, 2 dimensions", geo, 2, random, false);
+        geo = null;
+
+        int dimensions = 16;
+        double[] features = new double[dimensions * 1_000_000];
+        double[][] clusters = new double[100][dimensions];
+        for (double[] cluster : clusters) {
+            for (int j = 0; j < dimensions; j++) {
+                cluster[j] = random.nextDouble(-50, 50);
+            }
+        }
+        for (int i = 0; i < features.length / dimensions; i++) {
+            double[] cluster = clusters[random.nextInt(clusters.length)];
+            for (int j = 0; j < dimensions; j++) {
+                features[i * dimensions + j] = cluster[j] + random.nextGaussian() * 3;
+            }
+        }
+        run("1M points, 16 dimensions", features, dimensions, random, true);
+    }
+
+    private static void run(String name, double[] points, int dimensions, SplittableRandom random, boolean ballTree) {
+        out.println(name);
+        long start = System.nanoTime();
+        KdTree tree = new KdTree(points, dimensions);
+        out.printf("  %-22s %12.0f ms%n", "k-d build", (System.nanoTime() - start) / 1e6);
+        start = System.nanoTime();
+        KdTree parallel = new KdTree(points, dimensions, true);
+        out.printf("  %-22s %12.0f ms%n", "k-d parallel build", (System.nanoTime() - start) / 1e6);
+        sink = parallel.size();
+        BallTree balls = null;
+        if (ballTree) {
+            start = System.nanoTime();
+            balls = new BallTree(points, dimensions);
+            out.printf("  %-22s %12.0f ms%n", "ball build", (System.nanoTime() - start) / 1e6);
+        }
+
+        // Queries are drawn near stored points, as real lookups are
+        double[][] queries = new double[QUERIES][dimensions];
+        for (double[] query : queries) {
+            int id = random.nextInt(points.length / dimensions);
+            for (int j = 0; j < dimensions; j++) {
+                query[j] = points[id * dimensions + j] + random.nextGaussian();
+            }
+        }
+
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up
+            double kd = time(queries, QUERIES, tree::kNearest);
+            double ball = balls == null ? 0 : time(queries, QUERIES, balls::kNearest);
+            double scan = time(queries, SCAN_QUERIES, (query, k) -> scan(points, dimensions, query, k));
+            if (round == 1) {
+                out.printf("  %-22s %12.1f us%n", "k-d " + K + "-NN", kd / 1e3);
+                if (balls != null) {
+                    out.printf("  %-22s %12.1f us%n", "ball " + K + "-NN", ball / 1e3);
+                }
+                out.printf("  %-22s %12.1f us%n", "scan " + K + "-NN", scan / 1e3);
+            }
+        }
+    }
+
+    private interface Search {
+        int[] kNearest(double[] query, int k);
+    }
+
+    /**
+     * @return the nanoseconds per query
+     */
+    private static double time(double[][] queries, int count, Search search) {
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            found += search.kNearest(queries[i], K)[0];
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = found;
+        return (double) elapsed / count;
+    }
+
+    private static int[] scan(double[] points, int dimensions, double[] query, int k) {
+        NeighbourHeap heap = new NeighbourHeap(k);
+        for (int row = 0; row < points.length / dimensions; row++) {
+            heap.offer(row, PointArrays.distanceSquared(points, row, dimensions, query));
+        }
+        return heap.drainSorted();
+    }
+}
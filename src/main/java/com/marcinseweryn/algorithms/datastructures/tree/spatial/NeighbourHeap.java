@@ -0,0 +1,79 @@
+package com.marcinseweryn.algorithms.datastructures.tree.spatial;
+
+/**
+ * Bounded max-heap of the k nearest candidates found so far, keyed by squared distance, on primitive
+ * arrays. Its top is the farthest of them, the distance a subtree must beat to be worth searching.
+ */
+final class NeighbourHeap {
+
+    private final double[] distances;
+    private final int[] ids;
+    private int size;
+
+    NeighbourHeap(int capacity) {
+        this.distances = new double[capacity];
+        this.ids = new int[capacity];
+    }
+
+    /**
+     * Returns the squared distance a candidate must be under to enter the heap, infinite until it is full.
+     */
+    double bound() {
+        return this.size < this.distances.length ? Double.POSITIVE_INFINITY : this.distances[0];
+    }
+
+    /**
+     * Offers a candidate, which replaces the farthest one if the heap is full and it is nearer.
+     */
+    void offer(int id, double distance) {
+        if (this.size < this.distances.length) {
+            // Sift the new candidate up from the end
+            int child = this.size++;
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (this.distances[parent] >= distance) break;
+                this.distances[child] = this.distances[parent];
+                this.ids[child] = this.ids[parent];
+                child = parent;
+            }
+            this.distances[child] = distance;
+            this.ids[child] = id;
+        } else if (distance < this.distances[0]) {
+            this.siftDown(id, distance);
+        }
+    }
+
+    /**
+     * Places a candidate at the top and sifts it down to its position.
+     */
+    private void siftDown(int id, double distance) {
+        int parent = 0;
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= this.size) break;
+            if (child + 1 < this.size && this.distances[child + 1] > this.distances[child]) child++;
+            if (this.distances[child] <= distance) break;
+            this.distances[parent] = this.distances[child];
+            this.ids[parent] = this.ids[child];
+            parent = child;
+        }
+        this.distances[parent] = distance;
+        this.ids[parent] = id;
+    }
+
+    /**
+     * Empties the heap, returning the identifiers of the candidates nearest first.
+     */
+    int[] drainSorted() {
+        int[] sorted = new int[this.size];
+        // Remove the farthest candidate repeatedly, filling the result from its end
+        while (this.size > 0) {
+            sorted[this.size - 1] = this.ids[0];
+            this.size--;
+            if (this.size > 0) {
+                this.siftDown(this.ids[this.size], this.distances[this.size]);
+            }
+        }
+        return sorted;
+    }
+}
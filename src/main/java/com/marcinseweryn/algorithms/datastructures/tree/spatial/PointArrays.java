@@ -0,0 +1,159 @@
+package com.marcinseweryn.algorithms.datastructures.tree.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Operations on points packed row by row in a {@code double[]}, point {@code i} of a {@code d}-dimensional
+ * set occupying {@code [i * d, (i + 1) * d)}, shared by {@link KdTree} and {@link BallTree}. Points move
+ * together with their identifiers in a parallel {@code int[]}.
+ */
+final class PointArrays {
+
+    private PointArrays() {
+        // No instantiate
+    }
+
+    /**
+     * Checks the packed coordinates and returns the number of points.
+     *
+     * @throws IllegalArgumentException if the dimensions are not positive or do not divide the coordinates
+     */
+    static int count(double[] points, int dimensions) {
+        if (dimensions < 1) {
+            throw new IllegalArgumentException("Dimensions must be at least 1");
+        }
+        if (points.length % dimensions != 0) {
+            throw new IllegalArgumentException("Coordinates must be a multiple of the dimensions");
+        }
+        return points.length / dimensions;
+    }
+
+    /**
+     * Checks that a query point has the right number of coordinates.
+     *
+     * @throws IllegalArgumentException if it does not
+     */
+    static void checkQuery(double[] query, int dimensions) {
+        if (query.length != dimensions) {
+            throw new IllegalArgumentException("Query must have " + dimensions + " coordinates");
+        }
+    }
+
+    /**
+     * Returns the identity permutation of the given size, the initial identifiers of the points.
+     */
+    static int[] identifiers(int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the squared Euclidean distance between a stored point and a query.
+     */
+    static double distanceSquared(double[] coordinates, int row, int dimensions, double[] query) {
+        double sum = 0;
+        int offset = row * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            double difference = coordinates[offset + i] - query[i];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the dimension along which the points of {@code [from, to)} are spread the widest.
+     */
+    static int widestDimension(double[] coordinates, int dimensions, int from, int to) {
+        int widest = 0;
+        double widestSpread = -1;
+        for (int dimension = 0; dimension < dimensions; dimension++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double value = coordinates[i * dimensions + dimension];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestSpread) {
+                widestSpread = max - min;
+                widest = dimension;
+            }
+        }
+        return widest;
+    }
+
+    /**
+     * Quickselect: reorders the points of {@code [from, to)} so that the point at {@code nth} is the one
+     * that would be there if they were sorted along a dimension, the points before it being no greater
+     * and those after it no smaller. Takes O(n) expected time, where sorting takes O(n log n).
+     */
+    static void select(double[] coordinates, int[] ids, int dimensions, int dimension, int from, int to, int nth) {
+        int low = from;
+        int high = to - 1;
+        while (low < high) {
+            // Median of three as the pivot, which avoids the quadratic case on sorted input
+            int middle = (low + high) >>> 1;
+            double a = coordinates[low * dimensions + dimension];
+            double b = coordinates[middle * dimensions + dimension];
+            double c = coordinates[high * dimensions + dimension];
+            double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+            // Hoare partition around the pivot value
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (coordinates[i * dimensions + dimension] < pivot) i++;
+                while (coordinates[j * dimensions + dimension] > pivot) j--;
+                if (i <= j) {
+                    swap(coordinates, ids, dimensions, i++, j--);
+                }
+            }
+            // Continue in the part holding the nth position
+            if (nth <= j) {
+                high = j;
+            } else if (nth >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Swaps two points and their identifiers.
+     */
+    static void swap(double[] coordinates, int[] ids, int dimensions, int a, int b) {
+        int offsetA = a * dimensions;
+        int offsetB = b * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            double coordinate = coordinates[offsetA + i];
+            coordinates[offsetA + i] = coordinates[offsetB + i];
+            coordinates[offsetB + i] = coordinate;
+        }
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+
+    /**
+     * Growable buffer of identifiers, collecting the results of a radius search.
+     */
+    static final class IdBuffer {
+        private int[] ids = new int[16];
+        private int size;
+
+        void add(int id) {
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, 2 * this.size);
+            }
+            this.ids[this.size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(this.ids, this.size);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashTableSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenLinearProbingTable_whenWrittenAndRead_thenAllEntriesShouldBeRestored() throws IOException {
+        LinearProbing<Integer, String> table = new LinearProbing<>();
+        for (int i = 0; i < 1000; i++) {
+            table.put(i, "value" + i);
+        }
+        Path file = directory.resolve("linear.snap");
+
+        HashTableSnapshot.write(table, file, Codec.INT, Codec.STRING);
+        LinearProbing<Integer, String> restored = HashTableSnapshot.read(file, LinearProbing::new, Codec.INT, Codec.STRING);
+
+        assertEquals(1000, restored.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value" + i, restored.get(i));
+        }
+    }
+
+    @Test
+    void givenEveryTableImplementation_whenRoundTripped_thenShouldRestoreSameEntries() throws IOException {
+        assertRoundTrip(new LinearProbing<>(), new LinearProbing<>());
+        assertRoundTrip(new QuadraticProbing<>(), new QuadraticProbing<>());
+        assertRoundTrip(new DoubleHashing<>(), new DoubleHashing<>());
+        assertRoundTrip(new SeparateChaining<>(), new SeparateChaining<>());
+    }
+
+    @Test
+    void givenSnapshotOfOneImplementation_whenReadIntoAnother_thenShouldFallBackToPut() throws IOException {
+        assertRoundTrip(new SeparateChaining<>(), new LinearProbing<>());
+        assertRoundTrip(new LinearProbing<>(), new SeparateChaining<>());
+    }
+
+    @Test
+    void givenRestoredTable_whenModified_thenShouldBehaveLikeRegularTable() throws IOException {
+        LinearProbing<String, Long> table = new LinearProbing<>();
+        for (long i = 0; i < 100; i++) {
+            table.put("key" + i, i);
+        }
+        Path file = directory.resolve("modify.snap");
+        HashTableSnapshot.write(table, file, Codec.STRING, Codec.LONG);
+
+        LinearProbing<String, Long> restored = HashTableSnapshot.read(file, LinearProbing::new, Codec.STRING, Codec.LONG);
+        assertEquals(42L, restored.remove("key42"));
+        assertNull(restored.get("key42"));
+        for (long i = 100; i < 500; i++) {
+            restored.put("key" + i, i);
+        }
+
+        assertEquals(499, restored.size());
+        assertEquals(7L, restored.get("key7"));
+        assertEquals(450L, restored.get("key450"));
+    }
+
+    @Test
+    void givenCollidingKeys_whenRoundTripped_thenProbeChainsShouldBePreserved() throws IOException {
+        Codec<CollidingKey> keyCodec = new Codec<>() {
+            @Override
+            public int encodedSize(CollidingKey value) {
+                return Codec.STRING.encodedSize(value.toString());
+            }
+
+            @Override
+            public void encode(CollidingKey value, ByteBuffer buffer) {
+                Codec.STRING.encode(value.toString(), buffer);
+            }
+
+            @Override
+            public CollidingKey decode(ByteBuffer buffer) {
+                return new CollidingKey(Codec.STRING.decode(buffer), 1);
+            }
+        };
+        LinearProbing<CollidingKey, Integer> table = new LinearProbing<>();
+        for (int i = 0; i < 10; i++) {
+            table.put(new CollidingKey("key" + i, 1), i);
+        }
+        Path file = directory.resolve("colliding.snap");
+
+        HashTableSnapshot.write(table, file, keyCodec, Codec.INT);
+        LinearProbing<CollidingKey, Integer> restored = HashTableSnapshot.read(file, LinearProbing::new, keyCodec, Codec.INT);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, restored.get(new CollidingKey("key" + i, 1)));
+        }
+        restored.remove(new CollidingKey("key3", 1));
+        assertEquals(9, restored.get(new CollidingKey("key9", 1)));
+    }
+
+    @Test
+    void givenKeysHashedDifferentlyOnReload_whenRead_thenShouldFallBackToPut() throws IOException {
+        // Simulates keys whose hashCode() changes between JVMs, such as enums, under the same hasher id
+        Codec<CollidingKey> keyCodec = new Codec<>() {
+            @Override
+            public int encodedSize(CollidingKey value) {
+                return Codec.STRING.encodedSize(value.toString());
+            }
+
+            @Override
+            public void encode(CollidingKey value, ByteBuffer buffer) {
+                Codec.STRING.encode(value.toString(), buffer);
+            }
+
+            @Override
+            public CollidingKey decode(ByteBuffer buffer) {
+                String key = Codec.STRING.decode(buffer);
+                return new CollidingKey(key, key.hashCode());
+            }
+        };
+        LinearProbing<CollidingKey, Integer> table = new LinearProbing<>();
+        SeparateChaining<CollidingKey, Integer> chained = new SeparateChaining<>();
+        for (int i = 0; i < 200; i++) {
+            table.put(new CollidingKey("key" + i, i), i);
+            chained.put(new CollidingKey("key" + i, i), i);
+        }
+        Path file = directory.resolve("rehashed.snap");
+        Path chainedFile = directory.resolve("rehashed-chained.snap");
+        HashTableSnapshot.write(table, file, keyCodec, Codec.INT);
+        HashTableSnapshot.write(chained, chainedFile, keyCodec, Codec.INT);
+
+        LinearProbing<CollidingKey, Integer> restored = HashTableSnapshot.read(file, LinearProbing::new, keyCodec, Codec.INT);
+        SeparateChaining<CollidingKey, Integer> restoredChained =
+                HashTableSnapshot.read(chainedFile, SeparateChaining::new, keyCodec, Codec.INT);
+        assertEquals(200, restored.size());
+        assertEquals(200, restoredChained.size());
+        for (int i = 0; i < 200; i++) {
+            CollidingKey key = new CollidingKey("key" + i, ("key" + i).hashCode());
+            assertEquals(i, restored.get(key));
+            assertEquals(i, restoredChained.get(key));
+        }
+    }
+
+    @Test
+    void givenSnapshotWithDuplicatedSlot_whenRead_thenShouldKeepEveryEntry() throws IOException {
+        for (HashTable<Integer, Integer> source : List.<HashTable<Integer, Integer>>of(
+                new LinearProbing<>(), new QuadraticProbing<>(), new DoubleHashing<>())) {
+            for (int i = 0; i < 100; i++) {
+                source.put(i, i);
+            }
+            Path file = Files.createTempFile(directory, "duplicated", ".snap");
+            HashTableSnapshot.write(source, file, Codec.INT, Codec.INT);
+
+            // Every record takes 20 bytes: slot, hash, length, key and value
+            byte[] bytes = Files.readAllBytes(file);
+            int records = bytes.length - 100 * 20;
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            buffer.putInt(records + 20, buffer.getInt(records));  // The second record claims the first slot
+            Files.write(file, bytes);
+
+            HashTable<Integer, Integer> restored = HashTableSnapshot.read(file, source.getClass() == LinearProbing.class
+                    ? LinearProbing::new : source.getClass() == QuadraticProbing.class
+                    ? QuadraticProbing::new : DoubleHashing::new, Codec.INT, Codec.INT);
+            assertEquals(100, restored.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, restored.get(i));
+            }
+        }
+    }
+
+    @Test
+    void givenRecordsLargerThanBuffer_whenRoundTripped_thenShouldStreamCorrectly() throws IOException {
+        SeparateChaining<String, String> table = new SeparateChaining<>();
+        String large = "x".repeat(300);
+        for (int i = 0; i < 200; i++) {
+            table.put("key-é-😀-" + i, large + i);
+        }
+        Path file = directory.resolve("large.snap");
+
+        HashTableSnapshot.write(table, file, Codec.STRING, Codec.STRING, 64);
+        SeparateChaining<String, String> restored = HashTableSnapshot.read(file, SeparateChaining::new, Codec.STRING, Codec.STRING, 64);
+
+        assertEquals(200, restored.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(large + i, restored.get("key-é-😀-" + i));
+        }
+    }
+
+    @Test
+    void givenEmptyTable_whenRoundTripped_thenShouldRestoreEmptyTable() throws IOException {
+        Path file = directory.resolve("empty.snap");
+        HashTableSnapshot.write(new DoubleHashing<Integer, Integer>(), file, Codec.INT, Codec.INT);
+        DoubleHashing<Integer, Integer> restored = HashTableSnapshot.read(file, DoubleHashing::new, Codec.INT, Codec.INT);
+        assertTrue(restored.isEmpty());
+    }
+
+    @Test
+    void givenFileWithoutMagic_whenRead_thenShouldThrowIOException() throws IOException {
+        Path file = directory.resolve("garbage.snap");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+        assertThrows(IOException.class, () -> HashTableSnapshot.read(file, LinearProbing::new, Codec.INT, Codec.INT));
+    }
+
+    @Test
+    void givenTruncatedSnapshot_whenRead_thenShouldThrowIOException() throws IOException {
+        LinearProbing<Integer, Integer> table = new LinearProbing<>();
+        for (int i = 0; i < 100; i++) {
+            table.put(i, i);
+        }
+        Path file = directory.resolve("truncated.snap");
+        HashTableSnapshot.write(table, file, Codec.INT, Codec.INT);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        assertThrows(IOException.class, () -> HashTableSnapshot.read(file, LinearProbing::new, Codec.INT, Codec.INT));
+    }
+
+    private void assertRoundTrip(HashTable<Integer, Integer> source, HashTable<Integer, Integer> target) throws IOException {
+        for (int i = 0; i < 500; i++) {
+            source.put(i * 31, i);
+        }
+        Path file = Files.createTempFile(directory, "table", ".snap");
+
+        HashTableSnapshot.write(source, file, Codec.INT, Codec.INT);
+        HashTable<Integer, Integer> restored = HashTableSnapshot.read(file, () -> target, Codec.INT, Codec.INT);
+
+        assertSame(target, restored);
+        assertEquals(500, restored.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, restored.get(i * 31));
+        }
+        int counted = 0;
+        for (Entry<Integer, Integer> ignored : restored) {
+            counted++;
+        }
+        assertEquals(500, counted);
+    }
+}
@@ -0,0 +1,179 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeededHasherTest {
+
+    private static final int BUCKETS = 1024;
+    private static final int KEYS = BUCKETS * 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenSameSeed_whenHashingEqualKeys_thenShouldReturnSameHash() {
+        SeededHasher<Object> first = new SeededHasher<>(42);
+        SeededHasher<Object> second = new SeededHasher<>(42);
+        assertEquals(first.hash("hello world"), second.hash(new String("hello world")));
+        assertEquals(first.hash(123456789L), second.hash(123456789L));
+        assertEquals(first.hash(new byte[]{1, 2, 3}), second.hash(new byte[]{1, 2, 3}));
+        assertEquals(first.id(), second.id());
+    }
+
+    @Test
+    void givenDifferentSeeds_whenHashingSameKey_thenShouldReturnDifferentHashes() {
+        SeededHasher<Object> first = new SeededHasher<>(1);
+        SeededHasher<Object> second = new SeededHasher<>(2);
+        assertNotEquals(first.hash64("hello world"), second.hash64("hello world"));
+        assertNotEquals(first.hash64(7L), second.hash64(7L));
+        assertNotEquals(first.id(), second.id());
+    }
+
+    @Test
+    void givenRandomlySeededHashers_whenCreated_thenShouldUseDistinctSeeds() {
+        assertNotEquals(new SeededHasher<>().seed(), new SeededHasher<>().seed());
+    }
+
+    @Test
+    void givenStringsOfEveryTailLength_whenHashed_thenShouldDependOnEveryCharacter() {
+        SeededHasher<Object> hasher = new SeededHasher<>(7);
+        for (int length = 1; length <= 40; length++) {
+            char[] chars = "a".repeat(length).toCharArray();
+            long base = hasher.hash64(new String(chars));
+            for (int i = 0; i < length; i++) {
+                chars[i] = 'b';
+                assertNotEquals(base, hasher.hash64(new String(chars)), "length " + length + ", index " + i);
+                chars[i] = 'a';
+            }
+        }
+    }
+
+    @Test
+    void givenByteArraysOfEveryTailLength_whenHashed_thenShouldDependOnEveryByte() {
+        for (int length = 0; length <= 40; length++) {
+            byte[] bytes = new byte[length];
+            long base = SeededHasher.hashBytes(bytes, 7);
+            for (int i = 0; i < length; i++) {
+                bytes[i] = 1;
+                assertNotEquals(base, SeededHasher.hashBytes(bytes, 7), "length " + length + ", index " + i);
+                bytes[i] = 0;
+            }
+        }
+        assertNotEquals(SeededHasher.hashBytes(new byte[0], 7), SeededHasher.hashBytes(new byte[1], 7));
+    }
+
+    @Test
+    void givenSequentialLongs_whenBucketed_thenShouldBeUniformlyDistributed() {
+        assertUniform(i -> (long) i);
+    }
+
+    @Test
+    void givenLongsWithRepeatedHalves_whenBucketed_thenShouldBeUniformlyDistributed() {
+        assertUniform(i -> i * 0x10001L);
+    }
+
+    @Test
+    void givenStructuredStrings_whenBucketed_thenShouldBeUniformlyDistributed() {
+        assertUniform(i -> "user:" + (i / 100) + ":session:" + (i % 100));
+    }
+
+    @Test
+    void givenSequentialByteArrays_whenBucketed_thenShouldBeUniformlyDistributed() {
+        assertUniform(i -> ("key" + i).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenSingleBitFlip_whenHashingLongs_thenAboutHalfOfOutputBitsShouldChange() {
+        SeededHasher<Object> hasher = new SeededHasher<>(99);
+        long flipped = 0;
+        int samples = 0;
+        for (long value = 0; value < 1000; value++) {
+            long base = hasher.hash64(value);
+            for (int bit = 0; bit < 64; bit++) {
+                flipped += Long.bitCount(base ^ hasher.hash64(value ^ (1L << bit)));
+                samples++;
+            }
+        }
+        double average = (double) flipped / samples;
+        assertEquals(32.0, average, 1.0);
+    }
+
+    @Test
+    void givenTablesWithSeededHasher_whenUsed_thenShouldStoreAndRemoveEntries() {
+        assertTableWorks(new LinearProbing<>(Hasher.seeded()));
+        assertTableWorks(new SeparateChaining<>(Hasher.seeded()));
+    }
+
+    @Test
+    void givenDoubleHashingWithSeededHasher_whenFilled_thenShouldFindEveryEntry() {
+        DoubleHashing<Long, Long> table = new DoubleHashing<>(Hasher.seeded());
+        for (long i = 0; i < 2000; i++) {
+            table.put(i << 32, i);
+        }
+        assertEquals(2000, table.size());
+        for (long i = 0; i < 2000; i++) {
+            assertEquals(i, table.get(i << 32));
+        }
+    }
+
+    @Test
+    void givenSeededTable_whenSnapshotReadWithSameSeed_thenShouldRestoreEntries() throws IOException {
+        LinearProbing<Long, Long> table = new LinearProbing<>(Hasher.seeded(5));
+        for (long i = 0; i < 1000; i++) {
+            table.put(i, i * i);
+        }
+        Path file = directory.resolve("seeded.snap");
+        HashTableSnapshot.write(table, file, Codec.LONG, Codec.LONG);
+
+        LinearProbing<Long, Long> sameSeed = HashTableSnapshot.read(file,
+                () -> new LinearProbing<>(Hasher.seeded(5)), Codec.LONG, Codec.LONG);
+        LinearProbing<Long, Long> otherSeed = HashTableSnapshot.read(file,
+                () -> new LinearProbing<>(Hasher.seeded(6)), Codec.LONG, Codec.LONG);
+
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(i * i, sameSeed.get(i));
+            assertEquals(i * i, otherSeed.get(i));
+        }
+    }
+
+    private void assertTableWorks(HashTable<Long, Long> table) {
+        for (long i = 0; i < 2000; i++) {
+            table.put(i << 32, i);
+        }
+        for (long i = 0; i < 2000; i += 2) {
+            assertEquals(i, table.remove(i << 32));
+        }
+        assertEquals(1000, table.size());
+        for (long i = 0; i < 2000; i++) {
+            assertEquals(i % 2 == 0 ? null : i, table.get(i << 32));
+        }
+    }
+
+    /**
+     * Buckets the keys by the low bits of their hash and checks the chi-square statistic
+     * stays well below the value expected for a clustered distribution.
+     */
+    private void assertUniform(IntFunction<Object> keys) {
+        SeededHasher<Object> hasher = new SeededHasher<>(12345);
+        int[] counts = new int[BUCKETS];
+        for (int i = 0; i < KEYS; i++) {
+            counts[hasher.hash(keys.apply(i)) & (BUCKETS - 1)]++;
+        }
+
+        double expected = (double) KEYS / BUCKETS;
+        double chiSquare = 0;
+        for (int count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        // With 1023 degrees of freedom the statistic has mean 1023 and standard deviation ~45
+        assertTrue(chiSquare < 1023 + 6 * 45, "chi-square " + chiSquare);
+    }
+}
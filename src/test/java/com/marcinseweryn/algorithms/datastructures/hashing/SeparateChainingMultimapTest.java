@@ -0,0 +1,202 @@
+package com.marcinseweryn.algorithms.datastructures.hashing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeparateChainingMultimapTest {
+
+    @Test
+    void givenEmptyMultimap_whenCreated_thenShouldBeEmpty() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        assertTrue(multimap.isEmpty());
+        assertEquals(0, multimap.size());
+        assertEquals(0, multimap.keyCount());
+        assertTrue(multimap.getAll("missing").isEmpty());
+    }
+
+    @Test
+    void givenSingleValue_whenPutMultiCalled_thenShouldBeReturnedByGetAll() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        multimap.putMulti("user", 1);
+
+        SeparateChainingMultimap.Group<String, Integer> values = multimap.getAll("user");
+        assertEquals("user", values.key());
+        assertEquals(1, values.size());
+        assertEquals(1, values.get(0));
+        assertEquals(1, multimap.size());
+        assertEquals(1, multimap.keyCount());
+    }
+
+    @Test
+    void givenManyValuesForKey_whenPutMultiCalled_thenShouldKeepInsertionOrderAndDuplicates() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        for (int i = 0; i < 100; i++) {
+            multimap.putMulti("user", i);
+        }
+        multimap.putMulti("user", 5);
+
+        SeparateChainingMultimap.Group<String, Integer> values = multimap.getAll("user");
+        assertEquals(101, values.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, values.get(i));
+        }
+        assertEquals(5, values.get(100));
+        assertEquals(101, multimap.size());
+        assertEquals(1, multimap.keyCount());
+    }
+
+    @Test
+    void givenGroupView_whenMultimapModified_thenViewShouldReflectChanges() {
+        SeparateChainingMultimap<String, String> multimap = new SeparateChainingMultimap<>();
+        multimap.putMulti("user", "s1");
+        SeparateChainingMultimap.Group<String, String> view = multimap.getAll("user");
+
+        multimap.putMulti("user", "s2");
+        multimap.putMulti("user", "s3");
+
+        assertSame(view, multimap.getAll("user"));
+        assertEquals(3, view.size());
+        assertTrue(view.contains("s3"));
+    }
+
+    @Test
+    void givenValues_whenRemoveValueCalled_thenShouldRemoveFirstOccurrenceOnly() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        multimap.putMulti("user", 1);
+        multimap.putMulti("user", 2);
+        multimap.putMulti("user", 1);
+
+        assertTrue(multimap.removeValue("user", 1));
+
+        SeparateChainingMultimap.Group<String, Integer> values = multimap.getAll("user");
+        assertEquals(2, values.size());
+        assertEquals(2, values.get(0));
+        assertEquals(1, values.get(1));
+        assertEquals(2, multimap.size());
+    }
+
+    @Test
+    void givenLastValue_whenRemoveValueCalled_thenKeyShouldBeRemoved() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        multimap.putMulti("user", 1);
+
+        assertTrue(multimap.removeValue("user", 1));
+
+        assertFalse(multimap.containsKey("user"));
+        assertTrue(multimap.isEmpty());
+        assertEquals(0, multimap.keyCount());
+    }
+
+    @Test
+    void givenMissingPair_whenRemoveValueCalled_thenShouldReturnFalse() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        multimap.putMulti("user", 1);
+        assertFalse(multimap.removeValue("user", 2));
+        assertFalse(multimap.removeValue("other", 1));
+        assertFalse(multimap.removeValue(null, 1));
+        assertEquals(1, multimap.size());
+    }
+
+    @Test
+    void givenKeyWithValues_whenRemoveAllCalled_thenShouldRemoveEveryValue() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        multimap.putMulti("a", 1);
+        multimap.putMulti("a", 2);
+        multimap.putMulti("b", 3);
+
+        assertEquals(2, multimap.removeAll("a"));
+        assertEquals(0, multimap.removeAll("a"));
+        assertEquals(1, multimap.size());
+        assertEquals(1, multimap.keyCount());
+        assertTrue(multimap.containsEntry("b", 3));
+    }
+
+    @Test
+    void givenNullKey_whenPutMultiCalled_thenShouldThrowException() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        assertThrows(IllegalArgumentException.class, () -> multimap.putMulti(null, 1));
+    }
+
+    @Test
+    void givenGroupView_whenGetOutOfRange_thenShouldThrowException() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        multimap.putMulti("user", 1);
+        assertThrows(IndexOutOfBoundsException.class, () -> multimap.getAll("user").get(1));
+    }
+
+    @Test
+    void givenCollidingKeys_whenValuesAddedAndRemoved_thenChainsShouldStayIntact() {
+        SeparateChainingMultimap<CollidingKey, Integer> multimap = new SeparateChainingMultimap<>();
+        CollidingKey key1 = new CollidingKey("key1", 1);
+        CollidingKey key2 = new CollidingKey("key2", 1);
+        CollidingKey key3 = new CollidingKey("key3", 1);
+        multimap.putMulti(key1, 10);
+        multimap.putMulti(key2, 20);
+        multimap.putMulti(key3, 30);
+        multimap.putMulti(key2, 21);
+
+        assertTrue(multimap.removeValue(key2, 20));
+        assertTrue(multimap.removeValue(key2, 21));
+
+        assertEquals(10, multimap.getAll(key1).get(0));
+        assertFalse(multimap.containsKey(key2));
+        assertEquals(30, multimap.getAll(key3).get(0));
+        assertEquals(2, multimap.keyCount());
+    }
+
+    @Test
+    void givenManyKeys_whenResizeTriggered_thenEveryGroupShouldBeIteratedOnce() {
+        SeparateChainingMultimap<Integer, Integer> multimap = new SeparateChainingMultimap<>(Hasher.seeded());
+        for (int key = 0; key < 1000; key++) {
+            for (int value = 0; value <= key % 5; value++) {
+                multimap.putMulti(key, value);
+            }
+        }
+
+        Map<Integer, List<Integer>> seen = new HashMap<>();
+        for (SeparateChainingMultimap.Group<Integer, Integer> group : multimap) {
+            List<Integer> values = new ArrayList<>();
+            group.forEach(values::add);
+            assertNull(seen.put(group.key(), values));
+        }
+
+        assertEquals(1000, seen.size());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(key % 5 + 1, seen.get(key).size());
+            assertEquals(key % 5, seen.get(key).get(key % 5));
+        }
+        assertEquals(1000, multimap.keyCount());
+    }
+
+    @Test
+    void givenMultimap_whenForEachGroupCalled_thenShouldVisitAllValues() {
+        SeparateChainingMultimap<String, Integer> multimap = new SeparateChainingMultimap<>();
+        multimap.putMulti("a", 1);
+        multimap.putMulti("a", 2);
+        multimap.putMulti("b", 3);
+
+        int[] total = new int[1];
+        multimap.forEachGroup((key, values) -> {
+            for (int i = 0; i < values.size(); i++) {
+                total[0] += values.get(i);
+            }
+        });
+
+        assertEquals(6, total[0]);
+    }
+
+    @Test
+    void givenEmptyMultimap_whenIteratorNextCalled_thenShouldThrowException() {
+        Iterator<SeparateChainingMultimap.Group<String, Integer>> iterator = new SeparateChainingMultimap<String, Integer>().iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
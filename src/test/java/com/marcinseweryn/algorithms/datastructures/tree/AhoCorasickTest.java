@@ -0,0 +1,151 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickTest {
+
+    /**
+     * Collects the matches as "pattern@start".
+     */
+    private static List<String> matches(AhoCorasick automaton, CharSequence text) {
+        List<String> matches = new ArrayList<>();
+        automaton.search(text, (pattern, end) ->
+                matches.add(automaton.pattern(pattern) + "@" + (end - automaton.pattern(pattern).length())));
+        return matches;
+    }
+
+    private static List<String> naive(List<String> patterns, String text) {
+        List<String> matches = new ArrayList<>();
+        for (int end = 1; end <= text.length(); end++) {
+            // Longest first among the patterns ending together
+            List<Integer> ids = new ArrayList<>();
+            for (int id = 0; id < patterns.size(); id++) {
+                String pattern = patterns.get(id);
+                if (pattern.length() <= end && text.startsWith(pattern, end - pattern.length())) {
+                    ids.add(id);
+                }
+            }
+            ids.sort((first, second) -> patterns.get(second).length() - patterns.get(first).length());
+            for (int id : ids) {
+                matches.add(patterns.get(id) + "@" + (end - patterns.get(id).length()));
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    void givenClassicPatterns_whenSearched_thenShouldReportOverlappingMatches() {
+        AhoCorasick automaton = new AhoCorasick(List.of("he", "she", "his", "hers"));
+        assertEquals(List.of("she@1", "he@2", "hers@2"), matches(automaton, "ushers"));
+        assertEquals(List.of("his@0"), matches(automaton, "his"));
+        assertEquals(List.of(), matches(automaton, "xyz"));
+    }
+
+    @Test
+    void givenNestedPatterns_whenSearched_thenShouldReportEveryOccurrence() {
+        AhoCorasick automaton = new AhoCorasick(List.of("a", "aa", "aaa"));
+        assertEquals(List.of("a@0", "aa@0", "a@1", "aaa@0", "aa@1", "a@2"), matches(automaton, "aaa"));
+    }
+
+    @Test
+    void givenDuplicatePatterns_whenSearched_thenShouldReportEachIdentifier() {
+        AhoCorasick automaton = new AhoCorasick(List.of("ab", "ab"));
+        List<Integer> ids = new ArrayList<>();
+        automaton.search("xab", (pattern, end) -> {
+            ids.add(pattern);
+            assertEquals(3, end);
+        });
+        Collections.sort(ids);
+        assertEquals(List.of(0, 1), ids);
+    }
+
+    @Test
+    void givenEmptyOrNullPattern_whenBuilt_thenShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasick(List.of("a", "")));
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasick(Arrays.asList("a", null)));
+    }
+
+    @Test
+    void givenPatternsTooLargeForOneTable_whenBuilt_thenShouldThrow() {
+        // 47,001 states times 47,001 character classes overflow an int
+        StringBuilder pattern = new StringBuilder();
+        for (int i = 0; i < 47_000; i++) {
+            pattern.append((char) (0x100 + i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasick(List.of(pattern.toString())));
+    }
+
+    @Test
+    void givenStreamInChunks_whenFed_thenShouldFindMatchesSpanningChunks() {
+        AhoCorasick automaton = new AhoCorasick(List.of("error", "timeout"));
+        List<Long> ends = new ArrayList<>();
+        AhoCorasick.Matcher matcher = automaton.matcher((pattern, end) -> ends.add(end));
+        matcher.feed("an err");
+        matcher.feed("or then a time");
+        matcher.feed(ByteBuffer.wrap("out".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(List.of(8L, 23L), ends);
+        assertEquals(23, matcher.position());
+
+        matcher.reset();
+        ends.clear();
+        matcher.feed("or");
+        assertEquals(List.of(), ends);
+    }
+
+    @Test
+    void givenByteBuffers_whenFed_thenShouldMatchLikeCharacters() {
+        AhoCorasick automaton = new AhoCorasick(List.of("GET /", "404", "café"));
+        String text = "GET /index 404 GET /café";
+        List<Long> fromChars = new ArrayList<>();
+        automaton.search(text, (pattern, end) -> fromChars.add(end * 10 + pattern));
+
+        byte[] latin1 = text.getBytes(StandardCharsets.ISO_8859_1);
+        List<Long> fromHeap = new ArrayList<>();
+        ByteBuffer heap = ByteBuffer.wrap(latin1, 2, latin1.length - 2).slice();
+        AhoCorasick.Matcher matcher = automaton.matcher((pattern, end) -> fromHeap.add((end + 2) * 10 + pattern));
+        matcher.feed(heap);
+        assertFalse(heap.hasRemaining());
+
+        List<Long> fromDirect = new ArrayList<>();
+        ByteBuffer direct = ByteBuffer.allocateDirect(latin1.length);
+        direct.put(latin1).flip();
+        automaton.matcher((pattern, end) -> fromDirect.add(end * 10 + pattern)).feed(direct);
+
+        assertEquals(List.of(50L, 141L, 200L, 242L), fromChars);
+        assertEquals(List.of(141L, 200L, 242L), fromHeap);
+        assertEquals(fromChars, fromDirect);
+    }
+
+    @Test
+    void givenRandomPatterns_whenSearched_thenShouldMatchNaiveSearch() {
+        Random random = new Random(8);
+        for (int round = 0; round < 20; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(30); i++) {
+                StringBuilder pattern = new StringBuilder();
+                for (int j = 0; j < 1 + random.nextInt(5); j++) {
+                    pattern.append((char) ('a' + random.nextInt(3)));
+                }
+                patterns.add(pattern.toString());
+            }
+            patterns = new ArrayList<>(new LinkedHashSet<>(patterns));
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 300; i++) {
+                text.append((char) ('a' + random.nextInt(4)));
+            }
+            AhoCorasick automaton = new AhoCorasick(patterns);
+            assertEquals(naive(patterns, text.toString()), matches(automaton, text));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactTrieTest {
+
+    @Test
+    void givenNewTrie_whenCreated_thenShouldBeEmpty() {
+        CompactTrie trie = new CompactTrie();
+        assertFalse(trie.search("test"));
+        assertFalse(trie.search(""));
+    }
+
+    @Test
+    void givenEmptyTrie_whenInsertCalled_thenWordShouldBeSearchable() {
+        CompactTrie trie = new CompactTrie();
+        trie.insert("test");
+        assertTrue(trie.search("test"));
+        assertFalse(trie.search("tes"));
+        assertFalse(trie.search("tests"));
+    }
+
+    @Test
+    void givenTrieWithWords_whenDeleteCalled_thenShouldRemoveOnlyThatWord() {
+        CompactTrie trie = new CompactTrie();
+        trie.insert("hello");
+        trie.insert("hell");
+        trie.insert("heaven");
+        assertTrue(trie.delete("hell"));
+        assertFalse(trie.search("hell"));
+        assertTrue(trie.search("hello"));
+        assertTrue(trie.search("heaven"));
+    }
+
+    @Test
+    void givenTrieWithWord_whenDeleteCalledForNonExistentWord_thenShouldReturnFalse() {
+        CompactTrie trie = new CompactTrie();
+        trie.insert("hello");
+        assertFalse(trie.delete("world"));
+        assertFalse(trie.delete("hell"));
+        assertTrue(trie.search("hello"));
+    }
+
+    @Test
+    void givenTrieWithPrefixWord_whenLongerWordDeleted_thenPrefixShouldRemain() {
+        CompactTrie trie = new CompactTrie();
+        trie.insert("car");
+        trie.insert("cart");
+        assertTrue(trie.delete("cart"));
+        assertTrue(trie.search("car"));
+        assertFalse(trie.search("cart"));
+    }
+
+    @Test
+    void givenEmptyString_whenInsertedAndDeleted_thenShouldBeFoundOnlyInBetween() {
+        CompactTrie trie = new CompactTrie();
+        trie.insert("");
+        trie.insert("a");
+        assertTrue(trie.search(""));
+        assertTrue(trie.delete(""));
+        assertFalse(trie.search(""));
+        assertTrue(trie.search("a"));
+        assertFalse(trie.delete(""));
+    }
+
+    @Test
+    void givenAllWordsDeleted_whenInsertingAgain_thenTrieShouldStillWork() {
+        CompactTrie trie = new CompactTrie();
+        trie.insert("abc");
+        assertTrue(trie.delete("abc"));
+        assertFalse(trie.search("abc"));
+        trie.insert("abd");
+        assertTrue(trie.search("abd"));
+    }
+
+    @Test
+    void givenWideFanOut_whenGrownAndShrunk_thenNodesShouldChangeLayoutAndKeepWords() {
+        CompactTrie trie = new CompactTrie();
+        // 256 children under the prefix "x" take the node through every layout and back
+        for (int c = 0; c < 256; c++) {
+            trie.insert("x" + (char) c);
+        }
+        for (int c = 0; c < 256; c++) {
+            assertTrue(trie.search("x" + (char) c));
+        }
+        for (int c = 255; c >= 0; c--) {
+            assertTrue(trie.delete("x" + (char) c));
+            assertFalse(trie.search("x" + (char) c));
+            for (int other = 0; other < c; other += 17) {
+                assertTrue(trie.search("x" + (char) other));
+            }
+        }
+        assertFalse(trie.search("x"));
+    }
+
+    @Test
+    void givenDenseNode_whenWideCharacterAdded_thenWordsShouldRemainSearchable() {
+        CompactTrie trie = new CompactTrie();
+        for (char c = 'a'; c <= 'z'; c++) {
+            trie.insert(String.valueOf(c));
+            trie.insert(String.valueOf(Character.toUpperCase(c)));
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            trie.insert(String.valueOf(c));
+        }
+        trie.insert("ą");  // Polish a with ogonek, outside of Latin-1
+        trie.insert("中");
+        for (char c = 'a'; c <= 'z'; c++) {
+            assertTrue(trie.search(String.valueOf(c)));
+            assertTrue(trie.search(String.valueOf(Character.toUpperCase(c))));
+        }
+        assertTrue(trie.search("ą"));
+        assertTrue(trie.search("中"));
+        assertFalse(trie.search("Ć"));
+
+        assertTrue(trie.delete("ą"));
+        assertTrue(trie.delete("中"));
+        assertFalse(trie.search("中"));
+        assertTrue(trie.search("q"));
+    }
+
+    @Test
+    void givenRandomOperations_whenComparedWithHashSet_thenShouldAgree() {
+        Random random = new Random(11);
+        CompactTrie trie = new CompactTrie();
+        Set<String> expected = new HashSet<>();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                // Mostly a wide alphabet of Latin-1, sometimes characters beyond it
+                word.append(random.nextInt(20) == 0 ? (char) (256 + random.nextInt(64)) : (char) random.nextInt(256));
+            }
+            words.add(word.toString());
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(word), trie.delete(word));
+            } else {
+                expected.add(word);
+                trie.insert(word);
+            }
+            String probe = words.get(random.nextInt(words.size()));
+            assertEquals(expected.contains(probe), trie.search(probe));
+        }
+        for (String word : words) {
+            assertEquals(expected.contains(word), trie.search(word));
+        }
+    }
+}
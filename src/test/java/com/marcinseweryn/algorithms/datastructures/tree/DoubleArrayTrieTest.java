@@ -0,0 +1,108 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleArrayTrieTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenEmptyTrie_whenCompiled_thenShouldContainNothing() {
+        DoubleArrayTrie compiled = DoubleArrayTrie.compile(new Trie());
+        assertEquals(0, compiled.size());
+        assertFalse(compiled.contains(""));
+        assertFalse(compiled.contains("a"));
+    }
+
+    @Test
+    void givenWeightedWords_whenCompiled_thenShouldReturnWeightsAsValues() {
+        Trie trie = new Trie();
+        trie.insert("car", 3);
+        trie.insert("card", 4);
+        trie.insert("care", -5);
+        trie.insert("zebra", Long.MAX_VALUE);
+        trie.insert("żółw");
+        DoubleArrayTrie compiled = DoubleArrayTrie.compile(trie);
+
+        assertEquals(5, compiled.size());
+        assertEquals(3, compiled.get("car", -1));
+        assertEquals(4, compiled.get("card", -1));
+        assertEquals(-5, compiled.get("care", -1));
+        assertEquals(Long.MAX_VALUE, compiled.get("zebra", -1));
+        assertEquals(0, compiled.get("żółw", -1));
+        assertEquals(-1, compiled.get("ca", -1));
+        assertEquals(-1, compiled.get("cards", -1));
+        assertEquals(-1, compiled.get("cat", -1));
+        assertEquals(-1, compiled.get("", -1));
+        assertFalse(compiled.contains("zeb"));
+    }
+
+    @Test
+    void givenEmptyWord_whenCompiled_thenShouldBeContained() {
+        Trie trie = new Trie();
+        trie.insert("", 7);
+        trie.insert("a", 8);
+        DoubleArrayTrie compiled = DoubleArrayTrie.compile(trie);
+        assertEquals(7, compiled.get("", -1));
+        assertEquals(8, compiled.get("a", -1));
+    }
+
+    @Test
+    void givenCompiledTrie_whenWrittenAndMapped_thenShouldAnswerTheSame() throws IOException {
+        Random random = new Random(4);
+        Trie trie = new Trie();
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(10);
+            for (int j = 0; j < length; j++) {
+                word.append(random.nextInt(50) == 0 ? (char) (0x100 + random.nextInt(500)) : (char) ('a' + random.nextInt(26)));
+            }
+            long weight = random.nextLong();
+            trie.insert(word.toString(), weight);
+            expected.put(word.toString(), weight);
+        }
+        DoubleArrayTrie compiled = DoubleArrayTrie.compile(trie);
+        Path file = this.directory.resolve("words.dat");
+        compiled.write(file);
+        assertEquals(compiled.byteSize(), Files.size(file));
+
+        DoubleArrayTrie mapped = DoubleArrayTrie.load(file);
+        assertEquals(expected.size(), mapped.size());
+        for (Map.Entry<String, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), mapped.get(entry.getKey(), 0));
+            assertEquals(entry.getValue(), compiled.get(entry.getKey(), 0));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String word = Integer.toString(random.nextInt(), 36);
+            assertEquals(expected.containsKey(word), mapped.contains(word));
+        }
+    }
+
+    @Test
+    void givenInvalidFile_whenLoaded_thenShouldThrow() throws IOException {
+        Path garbage = this.directory.resolve("garbage.dat");
+        Files.write(garbage, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> DoubleArrayTrie.load(garbage));
+
+        Path truncated = this.directory.resolve("truncated.dat");
+        Trie trie = new Trie();
+        trie.insert("word", 1);
+        DoubleArrayTrie.compile(trie).write(truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IOException.class, () -> DoubleArrayTrie.load(truncated));
+    }
+}
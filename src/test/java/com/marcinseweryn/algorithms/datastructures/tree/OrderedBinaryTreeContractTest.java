@@ -0,0 +1,129 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The behaviour every {@link OrderedBinaryTree} shares. A test class of an implementation extends this one,
+ * provides its trees and structural checks, and keeps only the tests specific to its structure.
+ *
+ * @param <T> the type of the tree under test
+ */
+public abstract class OrderedBinaryTreeContractTest<T extends OrderedBinaryTree<Integer>> {
+
+    /**
+     * @return a new, empty tree
+     */
+    protected abstract T newTree();
+
+    /**
+     * Checks the structural invariants of the tree, such as its balance. Called after batches of updates;
+     * does nothing by default.
+     */
+    protected void checkInvariants(T tree) {
+    }
+
+    @Test
+    public void givenNewTree_whenCreated_thenShouldBeEmpty() {
+        T tree = newTree();
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertNull(tree.min());
+        assertNull(tree.max());
+        assertFalse(tree.contains(1));
+        assertFalse(tree.remove(1));
+        assertFalse(tree.inOrderIterator().hasNext());
+    }
+
+    @Test
+    public void givenDuplicateElement_whenAdded_thenShouldNotAdd() {
+        T tree = newTree();
+        assertTrue(tree.add(10));
+        assertFalse(tree.add(10));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    public void givenTreeWithElements_whenRemoved_thenShouldKeepOtherElements() {
+        T tree = newTree();
+        for (int el : new int[]{50, 20, 80, 10, 30, 70, 90}) {
+            tree.add(el);
+        }
+        assertTrue(tree.remove(50));  // The root of a balanced tree, with two children
+        assertTrue(tree.remove(10));  // A leaf
+        assertFalse(tree.remove(50));
+        checkInvariants(tree);
+        assertEquals(List.of(20, 30, 70, 80, 90), toList(tree.inOrderIterator()));
+        assertEquals(20, tree.min());
+        assertEquals(90, tree.max());
+    }
+
+    @Test
+    public void givenSortedInsertions_whenAddedAndRemoved_thenShouldKeepOrder() {
+        T tree = newTree();
+        for (int i = 0; i < 1 << 14; i++) {
+            tree.add(i);
+        }
+        checkInvariants(tree);
+        for (int i = 0; i < 1 << 14; i += 2) {
+            tree.remove(i);
+        }
+        checkInvariants(tree);
+        assertEquals(1 << 13, tree.size());
+        List<Integer> elements = toList(tree.inOrderIterator());
+        for (int i = 0; i < elements.size(); i++) {
+            assertEquals(2 * i + 1, elements.get(i));
+        }
+    }
+
+    @Test
+    public void givenRandomOperations_whenApplied_thenShouldMatchTreeSet() {
+        T tree = newTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 20_000; i++) {
+            int element = random.nextInt(1000);
+            int operation = random.nextInt(4);
+            if (operation == 0) {
+                assertEquals(expected.remove(element), tree.remove(element));
+            } else if (operation == 1) {
+                assertEquals(expected.contains(element), tree.contains(element));
+            } else {
+                assertEquals(expected.add(element), tree.add(element));
+            }
+            if (i % 1000 == 0) {
+                checkInvariants(tree);
+            }
+        }
+
+        checkInvariants(tree);
+        assertEquals(expected.size(), tree.size());
+        assertEquals(new ArrayList<>(expected), toList(tree.inOrderIterator()));
+        assertEquals(expected.size(), toList(tree.preOrderIterator()).size());
+        assertEquals(expected.size(), toList(tree.postOrderIterator()).size());
+        assertEquals(expected.size(), toList(tree.levelOrderIterator()).size());
+        assertEquals(expected.first(), tree.min());
+        assertEquals(expected.last(), tree.max());
+        for (int element = 0; element < 1000; element++) {
+            assertEquals(expected.contains(element), tree.contains(element));
+        }
+    }
+
+    @Test
+    public void givenTree_whenCleared_thenShouldBeEmpty() {
+        T tree = newTree();
+        tree.add(1);
+        tree.add(2);
+        tree.clear();
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertFalse(tree.inOrderIterator().hasNext());
+    }
+}
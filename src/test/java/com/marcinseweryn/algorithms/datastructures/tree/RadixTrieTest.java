@@ -0,0 +1,169 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixTrieTest {
+
+    @Test
+    void givenNewTrie_whenCreated_thenShouldBeEmpty() {
+        RadixTrie trie = new RadixTrie();
+        assertEquals(0, trie.size());
+        assertFalse(trie.search("test"));
+        assertFalse(trie.search(""));
+        assertFalse(trie.iterator().hasNext());
+    }
+
+    @Test
+    void givenWordsSharingPrefixes_whenInserted_thenOnlyTheWordsShouldBeSearchable() {
+        RadixTrie trie = new RadixTrie();
+        trie.insert("romane");
+        trie.insert("romanus");
+        trie.insert("romulus");
+        trie.insert("rubens");
+        trie.insert("rom");
+        assertEquals(5, trie.size());
+        assertTrue(trie.search("romane"));
+        assertTrue(trie.search("romanus"));
+        assertTrue(trie.search("romulus"));
+        assertTrue(trie.search("rubens"));
+        assertTrue(trie.search("rom"));
+        assertFalse(trie.search("roman"));
+        assertFalse(trie.search("r"));
+        assertFalse(trie.search("rubensx"));
+        assertFalse(trie.search("rub"));
+    }
+
+    @Test
+    void givenDuplicateWord_whenInserted_thenSizeShouldNotChange() {
+        RadixTrie trie = new RadixTrie();
+        trie.insert("abc");
+        trie.insert("abc");
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void givenTrieWithWords_whenDeleteCalled_thenShouldRemoveOnlyThatWord() {
+        RadixTrie trie = new RadixTrie();
+        trie.insert("hello");
+        trie.insert("hell");
+        trie.insert("heaven");
+        assertTrue(trie.delete("hell"));
+        assertFalse(trie.search("hell"));
+        assertTrue(trie.search("hello"));
+        assertTrue(trie.search("heaven"));
+        assertFalse(trie.delete("hell"));
+        assertFalse(trie.delete("he"));
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void givenSplitEdges_whenBranchDeleted_thenEdgesShouldMergeAndKeepWords() {
+        RadixTrie trie = new RadixTrie();
+        trie.insert("test");
+        trie.insert("team");
+        trie.insert("toast");
+        assertTrue(trie.delete("team"));
+        assertTrue(trie.delete("toast"));
+        assertTrue(trie.search("test"));
+        assertFalse(trie.search("te"));
+        trie.insert("tea");
+        assertTrue(trie.search("tea"));
+        assertTrue(trie.search("test"));
+        assertEquals(List.of("tea", "test"), toList(trie.iterator()));
+    }
+
+    @Test
+    void givenEmptyString_whenInserted_thenShouldBeAWord() {
+        RadixTrie trie = new RadixTrie();
+        trie.insert("");
+        trie.insert("a");
+        assertTrue(trie.search(""));
+        assertEquals("", trie.longestPrefixOf("xyz"));
+        assertEquals(List.of("", "a"), toList(trie.iterator()));
+        assertTrue(trie.delete(""));
+        assertFalse(trie.search(""));
+        assertNull(trie.longestPrefixOf("xyz"));
+    }
+
+    @Test
+    void givenWords_whenKeysWithPrefix_thenShouldReturnMatchingWordsInOrder() {
+        RadixTrie trie = new RadixTrie();
+        for (String word : new String[]{"https://a.com/x", "https://a.com/", "https://b.org", "http://a.com", "ftp://c"}) {
+            trie.insert(word);
+        }
+        assertEquals(List.of("https://a.com/", "https://a.com/x", "https://b.org"), toList(trie.keysWithPrefix("https")));
+        // The prefix ends in the middle of an edge
+        assertEquals(List.of("http://a.com", "https://a.com/", "https://a.com/x", "https://b.org"),
+                toList(trie.keysWithPrefix("htt")));
+        assertEquals(List.of("https://a.com/", "https://a.com/x"), toList(trie.keysWithPrefix("https://a.com/")));
+        assertEquals(List.of(), toList(trie.keysWithPrefix("https://c")));
+        assertEquals(List.of(), toList(trie.keysWithPrefix("gopher")));
+        assertEquals(List.of(), toList(trie.keysWithPrefix("https://b.org/long")));
+        assertEquals(5, toList(trie.keysWithPrefix("")).size());
+    }
+
+    @Test
+    void givenExhaustedIterator_whenNextCalled_thenShouldThrow() {
+        RadixTrie trie = new RadixTrie();
+        trie.insert("a");
+        Iterator<String> iterator = trie.iterator();
+        assertEquals("a", iterator.next());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void givenRoutingPrefixes_whenLongestPrefixOf_thenShouldReturnMostSpecificRoute() {
+        RadixTrie trie = new RadixTrie();
+        trie.insert("1100");
+        trie.insert("110000001010");
+        trie.insert("11000000101010001");
+        assertEquals("110000001010", trie.longestPrefixOf("11000000101011111"));
+        assertEquals("11000000101010001", trie.longestPrefixOf("110000001010100011"));
+        assertEquals("1100", trie.longestPrefixOf("11001"));
+        assertEquals("1100", trie.longestPrefixOf("1100"));
+        assertNull(trie.longestPrefixOf("110"));
+        assertNull(trie.longestPrefixOf("0"));
+    }
+
+    @Test
+    void givenRandomOperations_whenComparedWithTreeSet_thenShouldAgree() {
+        Random random = new Random(5);
+        RadixTrie trie = new RadixTrie();
+        TreeSet<String> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(3)));
+            }
+            String key = word.toString();
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), trie.delete(key));
+            } else {
+                expected.add(key);
+                trie.insert(key);
+            }
+            assertEquals(expected.size(), trie.size());
+        }
+        assertEquals(new ArrayList<>(expected), toList(trie.iterator()));
+        for (String prefix : new String[]{"a", "ab", "cba", "bbbb"}) {
+            List<String> withPrefix = new ArrayList<>();
+            for (String key : expected) {
+                if (key.startsWith(prefix)) {
+                    withPrefix.add(key);
+                }
+            }
+            assertEquals(withPrefix, toList(trie.keysWithPrefix(prefix)));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.marcinseweryn.algorithms.datastructures.tree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Helpers shared by the tree tests.
+ */
+public final class TreeTestUtils {
+
+    private TreeTestUtils() {
+        // No instantiate
+    }
+
+    /**
+     * Drains an iterator into a list, in iteration order.
+     */
+    public static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> elements = new ArrayList<>();
+        iterator.forEachRemaining(elements::add);
+        return elements;
+    }
+}
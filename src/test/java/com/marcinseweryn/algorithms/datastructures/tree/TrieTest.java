@@ -3,6 +3,13 @@ package com.marcinseweryn.algorithms.datastructures.tree;
 import com.marcinseweryn.algorithms.datastructures.hashing.LinearProbing;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TrieTest {
@@ -132,4 +139,100 @@ class TrieTest {
         assertTrue(trie.search("test"));
     }
 
+    @Test
+    void givenWordBranchingBelow_whenDeleteCalled_thenShouldKeepLongerWords() {
+        Trie trie = new Trie();
+        trie.insert("ab");
+        trie.insert("abc");
+        trie.insert("abd");
+        assertTrue(trie.delete("ab"));
+        assertFalse(trie.search("ab"));
+        assertTrue(trie.search("abc"));
+        assertTrue(trie.search("abd"));
+    }
+
+    @Test
+    void givenWeightedWords_whenTopKCalled_thenShouldReturnHeaviestCompletionsFirst() {
+        Trie trie = new Trie();
+        trie.insert("car", 50);
+        trie.insert("card", 10);
+        trie.insert("care", 80);
+        trie.insert("cart", 10);
+        trie.insert("cat", 100);
+        trie.insert("dog", 500);
+        assertEquals(List.of("care", "car", "card"), trie.topK("car", 3));
+        assertEquals(List.of("cat", "care", "car", "card", "cart"), trie.topK("c", 10));
+        assertEquals(List.of("dog", "cat"), trie.topK("", 2));
+        assertEquals(List.of(), trie.topK("x", 3));
+        assertEquals(List.of(), trie.topK("cars", 3));
+        assertThrows(IllegalArgumentException.class, () -> trie.topK("c", 0));
+    }
+
+    @Test
+    void givenWordsOfMinimumWeight_whenTopKCalled_thenShouldStillReturnThem() {
+        Trie trie = new Trie();
+        trie.insert("zero", Long.MIN_VALUE);
+        trie.insert("zeal", Long.MIN_VALUE);
+        assertEquals(List.of("zeal", "zero"), trie.topK("ze", 5));
+        trie.insert("zest", -1);
+        assertEquals(List.of("zest", "zeal", "zero"), trie.topK("", 5));
+        trie.delete("zest");
+        trie.delete("zeal");
+        assertEquals(List.of("zero"), trie.topK("z", 5));
+        trie.delete("zero");
+        assertEquals(List.of(), trie.topK("", 5));
+    }
+
+    @Test
+    void givenWeightChanges_whenTopKCalled_thenShouldReflectNewWeights() {
+        Trie trie = new Trie();
+        trie.insert("alpha", 5);
+        trie.insert("alps", 7);
+        trie.insert("altitude", 3);
+        assertEquals(List.of("alps"), trie.topK("al", 1));
+        trie.insert("alps", 1);
+        assertEquals(List.of("alpha", "altitude"), trie.topK("al", 2));
+        trie.delete("alpha");
+        assertEquals(List.of("altitude", "alps"), trie.topK("al", 3));
+        trie.insert("alps");
+        assertEquals(1, trie.weight("alps"));
+        trie.insert("also");
+        assertEquals(0, trie.weight("also"));
+        assertThrows(IllegalArgumentException.class, () -> trie.weight("alpha"));
+    }
+
+    @Test
+    void givenRandomWeightedWords_whenTopKCalled_thenShouldMatchSortedWords() {
+        Random random = new Random(3);
+        Trie trie = new Trie();
+        Map<String, Long> weights = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(4)));
+            }
+            String key = word.toString();
+            if (random.nextInt(4) == 0) {
+                assertEquals(weights.remove(key) != null, trie.delete(key));
+            } else {
+                long weight = random.nextInt(1000);
+                weights.put(key, weight);
+                trie.insert(key, weight);
+            }
+        }
+        Comparator<String> heaviestFirst = Comparator.<String>comparingLong(weights::get).reversed()
+                .thenComparing(Comparator.naturalOrder());
+        for (String prefix : new String[]{"", "a", "bc", "dda", "abcd"}) {
+            List<String> expected = new ArrayList<>();
+            for (String word : weights.keySet()) {
+                if (word.startsWith(prefix)) {
+                    expected.add(word);
+                }
+            }
+            expected.sort(heaviestFirst);
+            assertEquals(expected.subList(0, Math.min(7, expected.size())), trie.topK(prefix, 7));
+        }
+    }
+
 }
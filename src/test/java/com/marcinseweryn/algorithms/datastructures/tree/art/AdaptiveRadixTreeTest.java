@@ -0,0 +1,205 @@
+package com.marcinseweryn.algorithms.datastructures.tree.art;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveRadixTreeTest {
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private static List<Long> longKeys(Iterator<Map.Entry<byte[], Long>> iterator) {
+        List<Long> keys = new ArrayList<>();
+        iterator.forEachRemaining(entry -> keys.add(ArtKeys.decodeLong(entry.getKey())));
+        return keys;
+    }
+
+    @Test
+    void givenNewTree_whenCreated_thenShouldBeEmpty() {
+        AdaptiveRadixTree<String> tree = new AdaptiveRadixTree<>();
+        assertTrue(tree.isEmpty());
+        assertNull(tree.get(bytes(1)));
+        assertNull(tree.remove(bytes(1)));
+        assertFalse(tree.iterator().hasNext());
+    }
+
+    @Test
+    void givenNullKeyOrValue_whenPut_thenShouldThrow() {
+        AdaptiveRadixTree<String> tree = new AdaptiveRadixTree<>();
+        assertThrows(IllegalArgumentException.class, () -> tree.put(null, "a"));
+        assertThrows(IllegalArgumentException.class, () -> tree.put(bytes(1), null));
+        assertThrows(IllegalArgumentException.class, () -> tree.get(null));
+    }
+
+    @Test
+    void givenKeys_whenPutAndReplaced_thenShouldReturnPreviousValues() {
+        AdaptiveRadixTree<String> tree = new AdaptiveRadixTree<>();
+        assertNull(tree.put(ArtKeys.encode("apple"), "a"));
+        assertNull(tree.put(ArtKeys.encode("apricot"), "b"));
+        assertEquals("a", tree.put(ArtKeys.encode("apple"), "c"));
+        assertEquals(2, tree.size());
+        assertEquals("c", tree.get(ArtKeys.encode("apple")));
+        assertEquals("b", tree.get(ArtKeys.encode("apricot")));
+        assertNull(tree.get(ArtKeys.encode("ap")));
+        assertNull(tree.get(ArtKeys.encode("apples")));
+        assertNull(tree.get(ArtKeys.encode("apxle")));
+    }
+
+    @Test
+    void givenKeysPrefixingOthers_whenPutAndRemoved_thenShouldBeFoundUntilRemoved() {
+        AdaptiveRadixTree<Integer> tree = new AdaptiveRadixTree<>();
+        tree.put(bytes(), 0);
+        tree.put(bytes(1), 1);
+        tree.put(bytes(1, 2), 2);
+        tree.put(bytes(1, 2, 3, 4), 4);
+        assertEquals(0, tree.get(bytes()));
+        assertEquals(1, tree.get(bytes(1)));
+        assertEquals(2, tree.get(bytes(1, 2)));
+        assertNull(tree.get(bytes(1, 2, 3)));
+        assertEquals(4, tree.get(bytes(1, 2, 3, 4)));
+
+        assertEquals(2, tree.remove(bytes(1, 2)));
+        assertNull(tree.remove(bytes(1, 2)));
+        assertEquals(4, tree.get(bytes(1, 2, 3, 4)));
+        assertEquals(1, tree.remove(bytes(1)));
+        assertEquals(0, tree.remove(bytes()));
+        assertEquals(1, tree.size());
+        assertEquals(4, tree.get(bytes(1, 2, 3, 4)));
+    }
+
+    @Test
+    void givenKeysAboveSignedByteRange_whenIterated_thenShouldBeInUnsignedOrder() {
+        AdaptiveRadixTree<Integer> tree = new AdaptiveRadixTree<>();
+        tree.put(bytes(0xFF), 3);
+        tree.put(bytes(0x80), 2);
+        tree.put(bytes(0x7F), 1);
+        tree.put(bytes(0x00), 0);
+        List<Integer> values = new ArrayList<>();
+        tree.forEach(entry -> values.add(entry.getValue()));
+        assertEquals(List.of(0, 1, 2, 3), values);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 5, 17, 49, 256})
+    void givenFanOut_whenChildrenAddedAndRemoved_thenNodeShouldGrowAndShrinkKeepingKeys(int fanOut) {
+        AdaptiveRadixTree<Integer> tree = new AdaptiveRadixTree<>();
+        for (int b = 0; b < fanOut; b++) {
+            tree.put(bytes(7, b, 1), b);
+        }
+        for (int b = 0; b < fanOut; b++) {
+            assertEquals(b, tree.get(bytes(7, b, 1)));
+        }
+        for (int b = 0; b < fanOut; b += 2) {
+            assertEquals(b, tree.remove(bytes(7, b, 1)));
+        }
+        for (int b = 0; b < fanOut; b++) {
+            assertEquals(b % 2 == 0 ? null : b, tree.get(bytes(7, b, 1)));
+        }
+        List<Integer> values = new ArrayList<>();
+        tree.forEach(entry -> values.add(entry.getValue()));
+        assertEquals(fanOut / 2, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(2 * i + 1, values.get(i));
+        }
+    }
+
+    @Test
+    void givenLongKeys_whenRangeScanned_thenShouldReturnKeysInRangeInOrder() {
+        AdaptiveRadixTree<Long> tree = new AdaptiveRadixTree<>();
+        for (long key = -500; key <= 500; key += 5) {
+            tree.put(ArtKeys.encode(key), key);
+        }
+        assertEquals(List.of(-10L, -5L, 0L, 5L), longKeys(tree.range(ArtKeys.encode(-12L), ArtKeys.encode(10L))));
+        assertEquals(List.of(490L, 495L, 500L), longKeys(tree.range(ArtKeys.encode(490L), null)));
+        assertEquals(List.of(-500L, -495L), longKeys(tree.range(null, ArtKeys.encode(-494L))));
+        assertEquals(List.of(), longKeys(tree.range(ArtKeys.encode(501L), null)));
+        assertEquals(List.of(), longKeys(tree.range(ArtKeys.encode(1L), ArtKeys.encode(4L))));
+        assertEquals(201, longKeys(tree.iterator()).size());
+    }
+
+    @Test
+    void givenStringKeys_whenRangeBoundIsPrefix_thenShouldIncludeLongerKeys() {
+        AdaptiveRadixTree<String> tree = new AdaptiveRadixTree<>();
+        for (String key : new String[]{"car", "card", "care", "cart", "cat", "dog", "ca"}) {
+            tree.put(ArtKeys.encode(key), key);
+        }
+        List<String> keys = new ArrayList<>();
+        tree.range(ArtKeys.encode("car"), ArtKeys.encode("cat")).forEachRemaining(entry -> keys.add(entry.getValue()));
+        assertEquals(List.of("car", "card", "care", "cart"), keys);
+        keys.clear();
+        tree.range(ArtKeys.encode("cara"), ArtKeys.encode("d")).forEachRemaining(entry -> keys.add(entry.getValue()));
+        assertEquals(List.of("card", "care", "cart", "cat"), keys);
+    }
+
+    @Test
+    void givenExhaustedIterator_whenNextCalled_thenShouldThrow() {
+        AdaptiveRadixTree<String> tree = new AdaptiveRadixTree<>();
+        tree.put(bytes(1), "a");
+        Iterator<Map.Entry<byte[], String>> iterator = tree.iterator();
+        assertEquals("a", iterator.next().getValue());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void givenEncodedKeys_whenDecoded_thenShouldRoundTripAndKeepOrder() {
+        long[] longs = {Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE};
+        for (int i = 0; i < longs.length; i++) {
+            assertEquals(longs[i], ArtKeys.decodeLong(ArtKeys.encode(longs[i])));
+            if (i > 0) {
+                assertTrue(AdaptiveRadixTree.compare(ArtKeys.encode(longs[i - 1]), ArtKeys.encode(longs[i])) < 0);
+            }
+        }
+        int[] ints = {Integer.MIN_VALUE, -256, 0, 255, Integer.MAX_VALUE};
+        for (int i = 0; i < ints.length; i++) {
+            assertEquals(ints[i], ArtKeys.decodeInt(ArtKeys.encode(ints[i])));
+            if (i > 0) {
+                assertTrue(AdaptiveRadixTree.compare(ArtKeys.encode(ints[i - 1]), ArtKeys.encode(ints[i])) < 0);
+            }
+        }
+        assertEquals("zażółć", ArtKeys.decodeString(ArtKeys.encode("zażółć")));
+        assertThrows(IllegalArgumentException.class, () -> ArtKeys.decodeLong(new byte[3]));
+    }
+
+    @Test
+    void givenRandomOperations_whenComparedWithTreeMap_thenShouldAgree() {
+        Random random = new Random(21);
+        AdaptiveRadixTree<Long> tree = new AdaptiveRadixTree<>();
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            // Keys clustered in a few regions, so nodes of every layout appear
+            long key = random.nextInt(4) * 1_000_000L + random.nextInt(i % 2 == 0 ? 300 : 70_000) - 1_000_000L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), tree.remove(ArtKeys.encode(key)));
+            } else {
+                assertEquals(expected.put(key, (long) i), tree.put(ArtKeys.encode(key), (long) i));
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), tree.get(ArtKeys.encode(entry.getKey())));
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), longKeys(tree.iterator()));
+        for (int i = 0; i < 100; i++) {
+            long from = random.nextInt(4_000_000) - 1_100_000L;
+            long to = from + random.nextInt(100_000);
+            assertEquals(new ArrayList<>(expected.subMap(from, to).keySet()),
+                    longKeys(tree.range(ArtKeys.encode(from), ArtKeys.encode(to))));
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.marcinseweryn.algorithms.datastructures.tree.binary;
 
+import com.marcinseweryn.algorithms.datastructures.tree.BinaryNode;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
 import static org.junit.jupiter.api.Assertions.*;
 
 class AVLTest {
@@ -320,4 +329,367 @@ class AVLTest {
         assertTrue(tree.contains(25));
         assertTrue(tree.contains(30));
     }
+
+    @Test
+    void givenAVLTree_whenRotated_thenSubtreeSizesShouldBeMaintained() {
+        AVL<Integer> tree = new AVL<>();
+        for (int el : new int[]{10, 20, 30, 40, 50, 25}) {
+            tree.add(el);
+        }
+        assertEquals(6, tree.root.size);
+        assertEquals(tree.root.size, 1 + tree.root.left.size + tree.root.right.size);
+
+        tree.remove(30);
+        assertEquals(5, tree.root.size);
+    }
+
+    @Test
+    void givenAVLTree_whenRankAndSelectCalled_thenShouldMatchSortedOrder() {
+        AVL<Integer> tree = new AVL<>();
+        for (int i = 0; i < 100; i++) {
+            tree.add(i * 2);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * 2, tree.select(i));
+            assertEquals(i, tree.rank(i * 2));
+            assertEquals(i + 1, tree.rank(i * 2 + 1));
+        }
+        assertEquals(0, tree.rank(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(100));
+    }
+
+    @Test
+    void givenAVLTree_whenRangeSizesQueried_thenShouldCountElements() {
+        AVL<Integer> tree = new AVL<>();
+        for (int i = 0; i < 10; i++) {
+            tree.add(i * 10);  // 0, 10, ..., 90
+        }
+
+        assertEquals(3, tree.countInRange(10, 40));
+        assertEquals(4, tree.countInRange(5, 41));
+        assertEquals(0, tree.countInRange(40, 10));
+        assertEquals(3, tree.headSetSize(30, false));
+        assertEquals(4, tree.headSetSize(30, true));
+        assertEquals(7, tree.tailSetSize(30, true));
+        assertEquals(6, tree.tailSetSize(30, false));
+        assertEquals(10, tree.tailSetSize(-1, false));
+    }
+
+    @Test
+    void givenRandomOperations_whenApplied_thenOrderStatisticsShouldMatchTreeSet() {
+        AVL<Integer> tree = new AVL<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 5000; i++) {
+            int element = random.nextInt(1000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(element), tree.remove(element));
+            } else {
+                assertEquals(expected.add(element), tree.add(element));
+            }
+        }
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(sorted.get(i), tree.select(i));
+        }
+        for (int element = -1; element <= 1000; element += 7) {
+            assertEquals(expected.headSet(element).size(), tree.rank(element));
+            assertEquals(expected.subSet(element, element + 100).size(), tree.countInRange(element, element + 100));
+            assertEquals(expected.tailSet(element, false).size(), tree.tailSetSize(element, false));
+        }
+    }
+
+    @Test
+    void givenTree_whenNavigationMethodsCalled_thenShouldReturnNeighbours() {
+        AVL<Integer> tree = new AVL<>();
+        for (int el : new int[]{50, 20, 80, 10, 30, 70, 90}) {
+            tree.add(el);
+        }
+
+        assertEquals(30, tree.floor(30));
+        assertEquals(30, tree.floor(35));
+        assertNull(tree.floor(5));
+        assertEquals(20, tree.lower(30));
+        assertNull(tree.lower(10));
+        assertEquals(70, tree.ceiling(70));
+        assertEquals(70, tree.ceiling(55));
+        assertNull(tree.ceiling(95));
+        assertEquals(80, tree.higher(70));
+        assertNull(tree.higher(90));
+    }
+
+    @Test
+    void givenEmptyTree_whenNavigationMethodsCalled_thenShouldReturnNull() {
+        AVL<Integer> tree = new AVL<>();
+        assertNull(tree.floor(1));
+        assertNull(tree.ceiling(1));
+        assertNull(tree.lower(1));
+        assertNull(tree.higher(1));
+        assertFalse(tree.subIterator(null, null).hasNext());
+        assertFalse(tree.descendingIterator().hasNext());
+    }
+
+    @Test
+    void givenTree_whenSubIteratorCalled_thenShouldReturnRangeInOrder() {
+        AVL<Integer> tree = new AVL<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            int element = random.nextInt(2000);
+            tree.add(element);
+            expected.add(element);
+        }
+
+        for (int low = -10; low < 2010; low += 97) {
+            int high = low + random.nextInt(300);
+            assertEquals(new ArrayList<>(expected.subSet(low, high)), toList(tree.subIterator(low, high)));
+        }
+        assertEquals(new ArrayList<>(expected.headSet(100)), toList(tree.subIterator(null, 100)));
+        assertEquals(new ArrayList<>(expected.tailSet(1900)), toList(tree.subIterator(1900, null)));
+        assertEquals(new ArrayList<>(expected), toList(tree.subIterator(null, null)));
+        assertEquals(List.of(), toList(tree.subIterator(500, 400)));
+        assertThrows(NoSuchElementException.class, () -> tree.subIterator(3000, null).next());
+    }
+
+    @Test
+    void givenTree_whenDescendingIteratorCalled_thenShouldReturnElementsInReverseOrder() {
+        AVL<Integer> tree = new AVL<>();
+        for (int el : new int[]{50, 20, 80, 10, 30, 70, 90}) {
+            tree.add(el);
+        }
+        assertEquals(List.of(90, 80, 70, 50, 30, 20, 10), toList(tree.descendingIterator()));
+    }
+
+    @Test
+    void givenSortedElements_whenBulkLoaded_thenShouldBuildBalancedTree() {
+        Integer[] sorted = new Integer[1000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = 2 * i;
+        }
+        AVL<Integer> tree = AVL.bulkLoad(sorted);
+        assertEquals(1000, tree.size());
+        assertEquals(10, checkBalanced(tree.root));
+        assertEquals(List.of(sorted), toList(tree.inOrderIterator()));
+        assertEquals(400, tree.select(200));
+
+        // The loaded tree keeps working as a regular AVL tree
+        assertTrue(tree.add(1));
+        assertTrue(tree.remove(0));
+        checkBalanced(tree.root);
+        assertTrue(AVL.bulkLoad(new Integer[0]).isEmpty());
+    }
+
+    @Test
+    void givenUnsortedElements_whenBulkLoaded_thenShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> AVL.bulkLoad(new Integer[]{1, 3, 2}));
+        assertThrows(IllegalArgumentException.class, () -> AVL.bulkLoad(new Integer[]{1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> AVL.bulkLoad(new Integer[]{1, null}));
+    }
+
+    @Test
+    void givenTree_whenSplit_thenShouldPartitionElements() {
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            AVL<Integer> tree = new AVL<>();
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < 500; i++) {
+                int element = random.nextInt(2000);
+                tree.add(element);
+                expected.add(element);
+            }
+            int key = random.nextInt(2200) - 100;
+
+            AVL<Integer> upper = tree.split(key);
+            assertEquals(new ArrayList<>(expected.headSet(key)), toList(tree.inOrderIterator()));
+            assertEquals(new ArrayList<>(expected.tailSet(key)), toList(upper.inOrderIterator()));
+            assertEquals(expected.headSet(key).size(), tree.size());
+            assertEquals(expected.tailSet(key).size(), upper.size());
+            checkBalanced(tree.root);
+            checkBalanced(upper.root);
+        }
+    }
+
+    @Test
+    void givenTreesOfDifferentHeights_whenJoined_thenShouldStayBalanced() {
+        for (int leftSize : new int[]{0, 1, 5, 100, 3000}) {
+            for (int rightSize : new int[]{0, 2, 70, 5000}) {
+                AVL<Integer> left = new AVL<>();
+                AVL<Integer> right = new AVL<>();
+                for (int i = 0; i < leftSize; i++) {
+                    left.add(i);
+                }
+                for (int i = 0; i < rightSize; i++) {
+                    right.add(leftSize + 1 + i);
+                }
+
+                AVL<Integer> joined = AVL.join(left, leftSize, right);
+                assertTrue(left.isEmpty());
+                assertTrue(right.isEmpty());
+                assertEquals(leftSize + rightSize + 1, joined.size());
+                checkBalanced(joined.root);
+                List<Integer> elements = toList(joined.inOrderIterator());
+                for (int i = 0; i < elements.size(); i++) {
+                    assertEquals(i, elements.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void givenOverlappingTrees_whenJoined_thenShouldThrow() {
+        AVL<Integer> left = AVL.bulkLoad(new Integer[]{1, 2, 3});
+        AVL<Integer> right = AVL.bulkLoad(new Integer[]{5, 6});
+        assertThrows(IllegalArgumentException.class, () -> AVL.join(left, 3, right));
+        assertThrows(IllegalArgumentException.class, () -> AVL.join(left, 6, right));
+        assertThrows(IllegalArgumentException.class, () -> AVL.join(left, null, right));
+        assertEquals(3, left.size());
+    }
+
+    /**
+     * Counts the nodes refreshed through its hook.
+     */
+    private static final class CountingAVL extends AVL<Integer> {
+        private final AtomicInteger updates = new AtomicInteger();
+
+        @Override
+        protected AVL<Integer> newTree() {
+            return new CountingAVL();
+        }
+
+        @Override
+        protected void updateNode(BinaryNode<Integer> node) {
+            super.updateNode(node);
+            this.updates.incrementAndGet();
+        }
+    }
+
+    @Test
+    void givenSubclass_whenSplitJoinedAndCombined_thenShouldUseItsHooks() {
+        CountingAVL first = new CountingAVL();
+        CountingAVL second = new CountingAVL();
+        for (int i = 0; i < 100; i++) {
+            first.add(2 * i);
+            second.add(3 * i);
+        }
+        first.updates.set(0);
+        AVL<Integer> union = AVL.union(first, second);
+        assertInstanceOf(CountingAVL.class, union);
+        assertTrue(first.updates.get() > 0);
+
+        CountingAVL counting = (CountingAVL) union;
+        AVL<Integer> upper = counting.split(99);
+        assertInstanceOf(CountingAVL.class, upper);
+        AVL<Integer> joined = AVL.join(counting, 99, new CountingAVL());
+        assertInstanceOf(CountingAVL.class, joined);
+        assertEquals(List.of(99, 98), toList(joined.descendingIterator()).subList(0, 2));
+
+        assertThrows(IllegalArgumentException.class, () -> AVL.union(new CountingAVL(), new AVL<>()));
+        assertThrows(IllegalArgumentException.class, () -> AVL.join(new AVL<>(), 1, new CountingAVL()));
+    }
+
+    @Test
+    void givenRandomTrees_whenCombined_thenShouldMatchTreeSetOperations() {
+        Random random = new Random(11);
+        for (int[] sizes : new int[][]{{0, 10}, {10, 0}, {50, 50}, {20_000, 300}, {300, 20_000}, {30_000, 30_000}}) {
+            TreeSet<Integer> first = new TreeSet<>();
+            TreeSet<Integer> second = new TreeSet<>();
+            for (int i = 0; i < sizes[0]; i++) {
+                first.add(random.nextInt(4 * sizes[0] + 1));
+            }
+            for (int i = 0; i < sizes[1]; i++) {
+                second.add(random.nextInt(4 * sizes[1] + 1));
+            }
+
+            TreeSet<Integer> union = new TreeSet<>(first);
+            union.addAll(second);
+            TreeSet<Integer> intersection = new TreeSet<>(first);
+            intersection.retainAll(second);
+            TreeSet<Integer> difference = new TreeSet<>(first);
+            difference.removeAll(second);
+
+            AVL<Integer> result = AVL.union(toTree(first), toTree(second));
+            assertEquals(new ArrayList<>(union), toList(result.inOrderIterator()));
+            assertEquals(union.size(), result.size());
+            checkBalanced(result.root);
+
+            result = AVL.intersection(toTree(first), toTree(second));
+            assertEquals(new ArrayList<>(intersection), toList(result.inOrderIterator()));
+            assertEquals(intersection.size(), result.size());
+            checkBalanced(result.root);
+
+            result = AVL.difference(toTree(first), toTree(second));
+            assertEquals(new ArrayList<>(difference), toList(result.inOrderIterator()));
+            assertEquals(difference.size(), result.size());
+            checkBalanced(result.root);
+        }
+    }
+
+    @Test
+    void givenCustomPool_whenUnionComputedInIt_thenShouldMatchSequentialResult() throws Exception {
+        AVL<Integer> first = new AVL<>();
+        AVL<Integer> second = new AVL<>();
+        for (int i = 0; i < 50_000; i++) {
+            first.add(3 * i);
+            second.add(5 * i);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AVL<Integer> union = pool.submit(() -> AVL.union(first, second)).get();
+            assertTrue(first.isEmpty());
+            assertTrue(second.isEmpty());
+            // The multiples of 15 below 150 000 are in both trees
+            assertEquals(50_000 + 50_000 - 10_000, union.size());
+            checkBalanced(union.root);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void givenSameTree_whenCombinedWithItself_thenShouldNotCorruptIt() {
+        AVL<Integer> tree = AVL.bulkLoad(new Integer[]{1, 2, 3, 4});
+        assertEquals(List.of(1, 2, 3, 4), toList(AVL.union(tree, tree).inOrderIterator()));
+        tree = AVL.bulkLoad(new Integer[]{1, 2, 3, 4});
+        assertTrue(AVL.difference(tree, tree).isEmpty());
+    }
+
+    @Test
+    void givenLargeTree_whenReducedInParallel_thenShouldMatchSequentialStream() {
+        Integer[] elements = new Integer[100_000];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = i * 2;
+        }
+        AVL<Integer> tree = AVL.bulkLoad(elements);
+
+        long expected = (long) (elements.length - 1) * elements.length;
+        assertEquals(expected, tree.stream().mapToLong(Integer::longValue).sum());
+        assertEquals(expected, tree.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(toList(tree.inOrderIterator()), tree.parallelStream().toList());
+        assertEquals(2000, tree.parallelStream().filter(element -> element % 100 == 0).count());
+        assertEquals(0, new AVL<Integer>().parallelStream().count());
+    }
+
+    private static AVL<Integer> toTree(TreeSet<Integer> elements) {
+        return AVL.bulkLoad(elements.toArray(new Integer[0]));
+    }
+
+    /**
+     * Checks the AVL invariants and the cached heights and sizes of a subtree.
+     *
+     * @return the height of the subtree
+     */
+    private static int checkBalanced(BinaryNode<Integer> node) {
+        if (node == null) {
+            return 0;
+        }
+        int left = checkBalanced(node.left);
+        int right = checkBalanced(node.right);
+        assertTrue(Math.abs(left - right) <= 1, "unbalanced at " + node.element);
+        assertEquals(1 + Math.max(left, right), node.height);
+        assertEquals(1 + (node.left == null ? 0 : node.left.size) + (node.right == null ? 0 : node.right.size), node.size);
+        return node.height;
+    }
 }
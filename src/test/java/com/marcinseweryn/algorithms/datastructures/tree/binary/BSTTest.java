@@ -2,8 +2,14 @@ package com.marcinseweryn.algorithms.datastructures.tree.binary;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
 
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
 import static org.junit.jupiter.api.Assertions.*;
 
 class BSTTest {
@@ -196,4 +202,65 @@ class BSTTest {
         assertTrue(tree.isEmpty());
         assertEquals(0, tree.size());
     }
+
+    @Test
+    void givenTree_whenNavigationMethodsCalled_thenShouldReturnNeighbours() {
+        BST<Integer> tree = new BST<>();
+        for (int el : new int[]{50, 20, 80, 10, 30, 70, 90}) {
+            tree.add(el);
+        }
+
+        assertEquals(30, tree.floor(30));
+        assertEquals(30, tree.floor(35));
+        assertNull(tree.floor(5));
+        assertEquals(20, tree.lower(30));
+        assertNull(tree.lower(10));
+        assertEquals(70, tree.ceiling(70));
+        assertEquals(70, tree.ceiling(55));
+        assertNull(tree.ceiling(95));
+        assertEquals(80, tree.higher(70));
+        assertNull(tree.higher(90));
+    }
+
+    @Test
+    void givenEmptyTree_whenNavigationMethodsCalled_thenShouldReturnNull() {
+        BST<Integer> tree = new BST<>();
+        assertNull(tree.floor(1));
+        assertNull(tree.ceiling(1));
+        assertNull(tree.lower(1));
+        assertNull(tree.higher(1));
+        assertFalse(tree.subIterator(null, null).hasNext());
+        assertFalse(tree.descendingIterator().hasNext());
+    }
+
+    @Test
+    void givenTree_whenSubIteratorCalled_thenShouldReturnRangeInOrder() {
+        BST<Integer> tree = new BST<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            int element = random.nextInt(2000);
+            tree.add(element);
+            expected.add(element);
+        }
+
+        for (int low = -10; low < 2010; low += 97) {
+            int high = low + random.nextInt(300);
+            assertEquals(new ArrayList<>(expected.subSet(low, high)), toList(tree.subIterator(low, high)));
+        }
+        assertEquals(new ArrayList<>(expected.headSet(100)), toList(tree.subIterator(null, 100)));
+        assertEquals(new ArrayList<>(expected.tailSet(1900)), toList(tree.subIterator(1900, null)));
+        assertEquals(new ArrayList<>(expected), toList(tree.subIterator(null, null)));
+        assertEquals(List.of(), toList(tree.subIterator(500, 400)));
+        assertThrows(NoSuchElementException.class, () -> tree.subIterator(3000, null).next());
+    }
+
+    @Test
+    void givenTree_whenDescendingIteratorCalled_thenShouldReturnElementsInReverseOrder() {
+        BST<Integer> tree = new BST<>();
+        for (int el : new int[]{50, 20, 80, 10, 30, 70, 90}) {
+            tree.add(el);
+        }
+        assertEquals(List.of(90, 80, 70, 50, 30, 20, 10), toList(tree.descendingIterator()));
+    }
 }
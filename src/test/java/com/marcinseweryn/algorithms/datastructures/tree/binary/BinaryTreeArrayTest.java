@@ -3,6 +3,8 @@ package com.marcinseweryn.algorithms.datastructures.tree.binary;
 import org.junit.jupiter.api.Test;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -196,4 +198,24 @@ class BinaryTreeArrayTest {
         assertTrue(tree.isEmpty());
         assertEquals(0, tree.size());
     }
+
+    @Test
+    void givenTree_whenStreamed_thenShouldSplitOnIndexRangesInLevelOrder() {
+        BinaryTreeArray<Integer> tree = new BinaryTreeArray<>(4);
+        for (int i = 1; i <= 1000; i++) {
+            tree.add(i);
+        }
+        Spliterator<Integer> spliterator = tree.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(500, prefix.getExactSizeIfKnown());
+        assertEquals(500, spliterator.getExactSizeIfKnown());
+
+        assertEquals(500500, tree.parallelStream().mapToLong(Integer::longValue).sum());
+        List<Integer> levelOrder = tree.parallelStream().toList();
+        assertEquals(1000, levelOrder.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i + 1, levelOrder.get(i));
+        }
+    }
 }
@@ -0,0 +1,204 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryTreeIteratorFactoryTest {
+
+    /**
+     * Collects the nodes of an array-based tree recursively, a missing node hiding its subtree.
+     *
+     * @param order 0 for pre-order, 1 for in-order, 2 for post-order
+     */
+    private static void traverse(Integer[] tree, int index, int order, List<Integer> out) {
+        if (index >= tree.length || tree[index] == null) {
+            return;
+        }
+        if (order == 0) {
+            out.add(tree[index]);
+        }
+        traverse(tree, index * 2 + 1, order, out);
+        if (order == 1) {
+            out.add(tree[index]);
+        }
+        traverse(tree, index * 2 + 2, order, out);
+        if (order == 2) {
+            out.add(tree[index]);
+        }
+    }
+
+    private static List<Integer> expected(Integer[] tree, int order) {
+        List<Integer> list = new ArrayList<>();
+        traverse(tree, 0, order, list);
+        return list;
+    }
+
+    @Test
+    void givenArrayTreesWithGaps_whenIterated_thenShouldMatchRecursiveTraversals() {
+        Random random = new Random(3);
+        for (int round = 0; round < 200; round++) {
+            Integer[] tree = new Integer[random.nextInt(40)];
+            for (int i = 0; i < tree.length; i++) {
+                tree[i] = random.nextInt(5) == 0 ? null : i;
+            }
+            assertEquals(expected(tree, 0), toList(BinaryTreeIteratorFactory.preOrderIterator(tree)));
+            assertEquals(expected(tree, 1), toList(BinaryTreeIteratorFactory.inOrderIterator(tree)));
+            assertEquals(expected(tree, 2), toList(BinaryTreeIteratorFactory.postOrderIterator(tree)));
+        }
+    }
+
+    @Test
+    void givenCompleteArrayTree_whenIterated_thenShouldVisitInEachOrder() {
+        Integer[] tree = {1, 2, 3, 4, 5, 6};
+        assertEquals(List.of(1, 2, 4, 5, 3, 6), toList(BinaryTreeIteratorFactory.preOrderIterator(tree)));
+        assertEquals(List.of(4, 2, 5, 1, 6, 3), toList(BinaryTreeIteratorFactory.inOrderIterator(tree)));
+        assertEquals(List.of(4, 5, 2, 6, 3, 1), toList(BinaryTreeIteratorFactory.postOrderIterator(tree)));
+
+        Iterator<Integer> empty = BinaryTreeIteratorFactory.inOrderIterator(new Integer[4]);
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @Test
+    void givenRandomBST_whenIteratedByMorris_thenShouldMatchStackIteratorAndRestoreTree() {
+        Random random = new Random(5);
+        BST<Integer> tree = new BST<>();
+        for (int i = 0; i < 2000; i++) {
+            tree.add(random.nextInt(10_000));
+        }
+        List<Integer> inOrder = toList(tree.inOrderIterator());
+        List<Integer> preOrder = toList(tree.preOrderIterator());
+
+        assertEquals(inOrder, toList(tree.morrisInOrderIterator()));
+        assertEquals(preOrder, toList(tree.preOrderIterator()));
+        assertEquals(inOrder, toList(tree.morrisInOrderIterator()));
+    }
+
+    @Test
+    void givenMorrisIteratorStoppedEarly_whenClosed_thenShouldRestoreTree() {
+        AVL<Integer> tree = new AVL<>();
+        for (int i = 0; i < 1000; i++) {
+            tree.add(i * 7 % 1000);
+        }
+        List<Integer> preOrder = toList(tree.preOrderIterator());
+
+        try (BinaryTreeIteratorFactory.MorrisInOrderIterator<Integer> iterator = tree.morrisInOrderIterator()) {
+            for (int i = 0; i < 300; i++) {
+                assertEquals(i, iterator.next());
+            }
+        }
+        assertEquals(preOrder, toList(tree.preOrderIterator()));
+        assertTrue(tree.contains(999));
+    }
+
+    @Test
+    void givenVisitor_whenStoppingEarlyOrThrowing_thenShouldRestoreTree() {
+        AVL<Integer> tree = new AVL<>();
+        for (int i = 0; i < 500; i++) {
+            tree.add(i);
+        }
+        List<Integer> preOrder = toList(tree.preOrderIterator());
+
+        List<Integer> visited = new ArrayList<>();
+        assertFalse(tree.forEachInOrder(element -> {
+            visited.add(element);
+            return element < 41;
+        }));
+        assertEquals(42, visited.size());
+        assertEquals(41, visited.get(41));
+        assertEquals(preOrder, toList(tree.preOrderIterator()));
+
+        assertThrows(IllegalStateException.class, () -> tree.forEachInOrder(element -> {
+            if (element == 250) {
+                throw new IllegalStateException();
+            }
+            return true;
+        }));
+        assertEquals(preOrder, toList(tree.preOrderIterator()));
+
+        long[] sum = new long[1];
+        assertTrue(tree.forEachInOrder(element -> {
+            sum[0] += element;
+            return true;
+        }));
+        assertEquals(499 * 500 / 2, sum[0]);
+        assertTrue(new BST<Integer>().forEachInOrder(element -> false));
+    }
+
+    /**
+     * Splits a spliterator recursively, collecting the elements of the parts in encounter order and checking
+     * that every sized part reports its exact size.
+     */
+    private static void splitAll(Spliterator<Integer> spliterator, int depth, List<Integer> out) {
+        if (depth > 0) {
+            Spliterator<Integer> prefix = spliterator.trySplit();
+            if (prefix != null) {
+                splitAll(prefix, depth - 1, out);
+            }
+        }
+        long size = spliterator.getExactSizeIfKnown();
+        int before = out.size();
+        if (depth % 2 == 0) {
+            spliterator.forEachRemaining(out::add);
+        } else if (spliterator.tryAdvance(out::add)) {
+            // Split again after the traversal started
+            splitAll(spliterator, depth - 1, out);
+        }
+        if (size >= 0 && depth % 2 == 0) {
+            assertEquals(size, out.size() - before);
+        }
+    }
+
+    @Test
+    void givenAVL_whenSplitOnSubtrees_thenShouldKeepOrderAndExactSizes() {
+        AVL<Integer> tree = new AVL<>();
+        for (int i = 0; i < 1000; i++) {
+            tree.add(i * 17 % 1000);
+        }
+        Spliterator<Integer> spliterator = tree.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED
+                | Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL));
+        assertNull(spliterator.getComparator());
+
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(1000, prefix.estimateSize() + spliterator.estimateSize());
+        assertTrue(prefix.estimateSize() > 300 && spliterator.estimateSize() > 300);
+
+        for (int depth = 0; depth < 12; depth++) {
+            List<Integer> elements = new ArrayList<>();
+            splitAll(tree.spliterator(), depth, elements);
+            assertEquals(toList(tree.inOrderIterator()), elements);
+        }
+    }
+
+    @Test
+    void givenBST_whenSplit_thenShouldOnlyEstimateSizes() {
+        Random random = new Random(9);
+        BST<Integer> tree = new BST<>();
+        for (int i = 0; i < 500; i++) {
+            tree.add(random.nextInt(2000));
+        }
+        Spliterator<Integer> spliterator = tree.spliterator();
+        assertEquals(tree.size(), spliterator.getExactSizeIfKnown());
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertFalse(prefix.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(prefix.hasCharacteristics(Spliterator.SORTED));
+
+        for (int depth = 0; depth < 12; depth++) {
+            List<Integer> elements = new ArrayList<>();
+            splitAll(tree.spliterator(), depth, elements);
+            assertEquals(toList(tree.inOrderIterator()), elements);
+        }
+        assertNull(new BST<Integer>().spliterator().trySplit());
+    }
+}
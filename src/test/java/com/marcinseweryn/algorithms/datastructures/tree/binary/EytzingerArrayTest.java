@@ -0,0 +1,106 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EytzingerArrayTest {
+
+    private static Integer[] evens(int count) {
+        Integer[] sorted = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = i * 2;
+        }
+        return sorted;
+    }
+
+    @Test
+    void givenEmptyInput_whenCreated_thenShouldBeEmpty() {
+        EytzingerArray<Integer> set = new EytzingerArray<>(new Integer[0]);
+        assertTrue(set.isEmpty());
+        assertEquals(0, set.size());
+        assertFalse(set.contains(1));
+        assertNull(set.floor(1));
+        assertNull(set.ceiling(1));
+        assertNull(set.min());
+        assertNull(set.max());
+        assertEquals(0, set.rank(1));
+    }
+
+    @Test
+    void givenSortedInputOfEverySize_whenSearched_thenShouldFindEveryElement() {
+        for (int size = 1; size <= 70; size++) {
+            EytzingerArray<Integer> set = new EytzingerArray<>(evens(size));
+            assertEquals(size, set.size());
+            for (int value = -1; value <= 2 * size; value++) {
+                assertEquals(value >= 0 && value % 2 == 0 && value < 2 * size, set.contains(value),
+                        "size " + size + ", value " + value);
+            }
+        }
+    }
+
+    @Test
+    void givenSortedInput_whenFloorAndCeilingCalled_thenShouldReturnNeighbours() {
+        EytzingerArray<Integer> set = new EytzingerArray<>(evens(100));
+        assertNull(set.floor(-1));
+        assertEquals(0, set.floor(0));
+        assertEquals(4, set.floor(5));
+        assertEquals(198, set.floor(1000));
+        assertEquals(0, set.ceiling(-5));
+        assertEquals(6, set.ceiling(5));
+        assertEquals(198, set.ceiling(198));
+        assertNull(set.ceiling(199));
+    }
+
+    @Test
+    void givenSortedInput_whenRankAndSelectCalled_thenShouldMatchSortedPositions() {
+        Integer[] sorted = evens(100);
+        EytzingerArray<Integer> set = new EytzingerArray<>(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(sorted[i], set.select(i));
+            assertEquals(i, set.rank(sorted[i]));
+            assertEquals(i + 1, set.rank(sorted[i] + 1));
+        }
+        assertEquals(100, set.rank(1000));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.select(-1));
+    }
+
+    @Test
+    void givenSortedInput_whenMinAndMaxCalled_thenShouldReturnExtremes() {
+        EytzingerArray<Integer> set = new EytzingerArray<>(evens(37));
+        assertEquals(0, set.min());
+        assertEquals(72, set.max());
+    }
+
+    @Test
+    void givenSortedInput_whenIteratedInOrder_thenShouldReturnSortedElements() {
+        Integer[] sorted = evens(50);
+        EytzingerArray<Integer> set = new EytzingerArray<>(sorted);
+        List<Integer> visited = new ArrayList<>();
+        Iterator<Integer> iterator = set.inOrderIterator();
+        while (iterator.hasNext()) {
+            visited.add(iterator.next());
+        }
+        assertEquals(List.of(sorted), visited);
+    }
+
+    @Test
+    void givenUnsortedOrDuplicatedInput_whenCreated_thenShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerArray<>(new Integer[]{1, 3, 2}));
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerArray<>(new Integer[]{1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerArray<>(new Integer[]{1, null}));
+    }
+
+    @Test
+    void givenSet_whenModified_thenShouldThrowException() {
+        EytzingerArray<Integer> set = new EytzingerArray<>(evens(3));
+        assertThrows(UnsupportedOperationException.class, () -> set.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove(0));
+        assertThrows(UnsupportedOperationException.class, set::clear);
+    }
+}
@@ -0,0 +1,61 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EytzingerLongArrayTest {
+
+    @Test
+    void givenEmptyInput_whenSearched_thenShouldFindNothing() {
+        EytzingerLongArray set = new EytzingerLongArray(new long[0]);
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+        assertEquals(0, set.rank(0));
+        assertThrows(NoSuchElementException.class, () -> set.floor(0));
+        assertThrows(NoSuchElementException.class, () -> set.ceiling(0));
+    }
+
+    @Test
+    void givenRandomKeys_whenSearched_thenShouldAgreeWithBinarySearch() {
+        Random random = new Random(42);
+        for (int size = 1; size <= 5000; size = size * 3 + 1) {
+            long[] sorted = random.longs(size).sorted().distinct().toArray();
+            EytzingerLongArray set = new EytzingerLongArray(sorted);
+            for (int i = 0; i < 1000; i++) {
+                long key = i % 2 == 0 ? sorted[random.nextInt(sorted.length)] : random.nextLong();
+                int index = Arrays.binarySearch(sorted, key);
+                int rank = index >= 0 ? index : -index - 1;
+                assertEquals(index >= 0, set.contains(key));
+                assertEquals(rank, set.rank(key));
+                if (rank < sorted.length) {
+                    assertEquals(sorted[rank], set.ceiling(key));
+                }
+                int floor = index >= 0 ? index : rank - 1;
+                if (floor >= 0) {
+                    assertEquals(sorted[floor], set.floor(key));
+                }
+            }
+        }
+    }
+
+    @Test
+    void givenExtremeKeys_whenSearched_thenShouldHandleBounds() {
+        EytzingerLongArray set = new EytzingerLongArray(new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE});
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertTrue(set.contains(Long.MAX_VALUE));
+        assertEquals(Long.MIN_VALUE, set.floor(-1));
+        assertEquals(Long.MAX_VALUE, set.ceiling(1));
+        assertEquals(Long.MAX_VALUE, set.select(2));
+    }
+
+    @Test
+    void givenUnsortedInput_whenCreated_thenShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerLongArray(new long[]{2, 1}));
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerLongArray(new long[]{1, 1}));
+    }
+}
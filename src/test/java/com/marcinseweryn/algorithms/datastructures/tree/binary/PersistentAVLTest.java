@@ -0,0 +1,165 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentAVLTest {
+
+    @Test
+    void givenEmptyTree_whenCreated_thenShouldBeEmpty() {
+        PersistentAVL<Integer> tree = PersistentAVL.empty();
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertNull(tree.min());
+        assertNull(tree.max());
+        assertFalse(tree.contains(1));
+    }
+
+    @Test
+    void givenTree_whenElementAdded_thenOldVersionShouldBeUnchanged() {
+        PersistentAVL<Integer> first = PersistentAVL.<Integer>empty().add(10).add(20);
+        PersistentAVL<Integer> second = first.add(30);
+
+        assertEquals(List.of(10, 20), toList(first.inOrderIterator()));
+        assertEquals(List.of(10, 20, 30), toList(second.inOrderIterator()));
+        assertFalse(first.contains(30));
+        assertTrue(second.contains(30));
+    }
+
+    @Test
+    void givenTree_whenElementRemoved_thenOldVersionShouldBeUnchanged() {
+        PersistentAVL<Integer> first = PersistentAVL.<Integer>empty().add(10).add(20).add(30);
+        PersistentAVL<Integer> second = first.remove(20);
+
+        assertEquals(List.of(10, 20, 30), toList(first.inOrderIterator()));
+        assertEquals(List.of(10, 30), toList(second.inOrderIterator()));
+    }
+
+    @Test
+    void givenNoChange_whenAddingOrRemoving_thenShouldReturnSameVersion() {
+        PersistentAVL<Integer> tree = PersistentAVL.<Integer>empty().add(10);
+        assertSame(tree, tree.add(10));
+        assertSame(tree, tree.remove(20));
+        assertThrows(IllegalArgumentException.class, () -> tree.add(null));
+    }
+
+    @Test
+    void givenSortedInsertions_whenAdded_thenTreeShouldStayBalanced() {
+        PersistentAVL<Integer> tree = PersistentAVL.empty();
+        for (int i = 0; i < 1023; i++) {
+            tree = tree.add(i);
+        }
+        assertEquals(1023, tree.size());
+        assertEquals(10, tree.height());
+        assertEquals(0, tree.min());
+        assertEquals(1022, tree.max());
+    }
+
+    @Test
+    void givenRandomOperations_whenApplied_thenEveryVersionShouldMatchTreeSet() {
+        Random random = new Random(9);
+        List<PersistentAVL<Integer>> versions = new ArrayList<>();
+        List<TreeSet<Integer>> expected = new ArrayList<>();
+        PersistentAVL<Integer> tree = PersistentAVL.empty();
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < 3000; i++) {
+            int element = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                tree = tree.remove(element);
+                set.remove(element);
+            } else {
+                tree = tree.add(element);
+                set.add(element);
+            }
+            if (i % 100 == 0) {
+                versions.add(tree);
+                expected.add(new TreeSet<>(set));
+            }
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            PersistentAVL<Integer> version = versions.get(i);
+            TreeSet<Integer> snapshot = expected.get(i);
+            assertEquals(new ArrayList<>(snapshot), toList(version.inOrderIterator()));
+            assertEquals(snapshot.size(), version.size());
+            for (int element = -1; element <= 500; element += 13) {
+                assertEquals(snapshot.floor(element), version.floor(element));
+                assertEquals(snapshot.ceiling(element), version.ceiling(element));
+                assertEquals(snapshot.headSet(element).size(), version.rank(element));
+                assertEquals(new ArrayList<>(snapshot.subSet(element, element + 50)),
+                        toList(version.subIterator(element, element + 50)));
+            }
+            assertTrue(version.height() <= 1.45 * Math.log(version.size() + 2) / Math.log(2));
+        }
+    }
+
+    @Test
+    void givenVersionedTree_whenSnapshotTaken_thenLaterWritesShouldNotAffectIt() {
+        VersionedAVL<Integer> tree = new VersionedAVL<>();
+        assertTrue(tree.add(1));
+        assertTrue(tree.add(2));
+        assertFalse(tree.add(2));
+        PersistentAVL<Integer> snapshot = tree.snapshot();
+
+        assertTrue(tree.remove(1));
+        assertFalse(tree.remove(1));
+        tree.add(3);
+        assertEquals(List.of(1, 2), toList(snapshot.inOrderIterator()));
+        assertEquals(List.of(2, 3), toList(tree.inOrderIterator()));
+        assertEquals(2, tree.min());
+        assertEquals(3, tree.max());
+
+        tree.clear();
+        assertTrue(tree.isEmpty());
+        assertEquals(2, snapshot.size());
+    }
+
+    @Test
+    void givenConcurrentWriter_whenReadingSnapshots_thenEachSnapshotShouldBeConsistent() throws InterruptedException {
+        VersionedAVL<Integer> tree = new VersionedAVL<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        // The writer always adds and removes pairs (i, -i), so every consistent view is symmetric
+        Thread writer = new Thread(() -> {
+            for (int i = 1; running.get(); i = i % 1000 + 1) {
+                if (tree.contains(i)) {
+                    tree.remove(i);
+                    tree.remove(-i);
+                } else {
+                    tree.add(-i);
+                    tree.add(i);
+                }
+            }
+        });
+        writer.start();
+
+        try {
+            for (int read = 0; read < 2000 && failure.get() == null; read++) {
+                PersistentAVL<Integer> snapshot = tree.snapshot();
+                List<Integer> elements = toList(snapshot.inOrderIterator());
+                if (elements.size() != snapshot.size()) {
+                    failure.set("size " + snapshot.size() + " but iterated " + elements.size());
+                }
+                for (int element : elements) {
+                    if (element > 0 && !snapshot.contains(-element)) {
+                        failure.set("missing " + -element);
+                    }
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        assertNull(failure.get());
+    }
+}
@@ -0,0 +1,33 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTreeContractTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedBlackTreeTest extends OrderedBinaryTreeContractTest<RedBlackTree<Integer>> {
+
+    @Override
+    protected RedBlackTree<Integer> newTree() {
+        return new RedBlackTree<>();
+    }
+
+    @Override
+    protected void checkInvariants(RedBlackTree<Integer> tree) {
+        tree.checkInvariants();
+    }
+
+    @Test
+    void givenSortedInsertions_whenAdded_thenTreeShouldStayShallow() {
+        // A red-black tree is at most 2 log2(n + 1) high
+        RedBlackTree<Integer> tree = newTree();
+        for (int i = 0; i < 1 << 14; i++) {
+            tree.add(i);
+        }
+        assertTrue(tree.height() <= 2 * 15, "height " + tree.height());
+        for (int i = 0; i < 1 << 14; i += 2) {
+            tree.remove(i);
+        }
+        assertTrue(tree.height() <= 2 * 14, "height " + tree.height());
+    }
+}
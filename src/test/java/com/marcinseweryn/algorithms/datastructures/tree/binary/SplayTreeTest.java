@@ -0,0 +1,71 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTreeContractTest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplayTreeTest extends OrderedBinaryTreeContractTest<SplayTree<Integer>> {
+
+    @Override
+    protected SplayTree<Integer> newTree() {
+        return new SplayTree<>();
+    }
+
+    @Nested
+    class WithSplayInterval extends OrderedBinaryTreeContractTest<SplayTree<Integer>> {
+
+        @Override
+        protected SplayTree<Integer> newTree() {
+            return new SplayTree<>(4);
+        }
+    }
+
+    @Test
+    void givenInvalidInterval_whenCreated_thenShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SplayTree<Integer>(0));
+    }
+
+    @Test
+    void givenTree_whenElementAccessed_thenShouldBecomeRoot() {
+        SplayTree<Integer> tree = newTree();
+        for (int el : new int[]{50, 20, 80, 10, 30, 70, 90}) {
+            tree.add(el);
+            assertEquals(el, tree.rootElement());
+        }
+        assertTrue(tree.contains(30));
+        assertEquals(30, tree.rootElement());
+        assertFalse(tree.contains(75));  // The last node on the search path is splayed
+        assertTrue(tree.rootElement() == 70 || tree.rootElement() == 80);
+        assertEquals(List.of(10, 20, 30, 50, 70, 80, 90), toList(tree.inOrderIterator()));
+    }
+
+    @Test
+    void givenSplayInterval_whenLookupNotDue_thenShouldNotRestructure() {
+        SplayTree<Integer> tree = new SplayTree<>(3);
+        for (int el : new int[]{50, 20, 80, 10, 30, 70, 90}) {
+            tree.add(el);
+        }
+        assertTrue(tree.contains(10));
+        assertTrue(tree.contains(20));
+        assertEquals(90, tree.rootElement());
+        assertTrue(tree.contains(30));  // Third lookup splays
+        assertEquals(30, tree.rootElement());
+    }
+
+    @Test
+    void givenSortedInsertions_whenAccessed_thenShouldRebalance() {
+        SplayTree<Integer> tree = newTree();
+        for (int i = 0; i < 1 << 12; i++) {
+            tree.add(i);
+        }
+        // Ascending insertions build a path, which accessing its deepest node roughly halves
+        assertEquals(1 << 12, tree.height());
+        assertTrue(tree.contains(0));
+        assertTrue(tree.height() <= (1 << 11) + 2, "height " + tree.height());
+    }
+}
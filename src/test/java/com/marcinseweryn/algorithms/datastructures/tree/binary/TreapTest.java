@@ -0,0 +1,33 @@
+package com.marcinseweryn.algorithms.datastructures.tree.binary;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTreeContractTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreapTest extends OrderedBinaryTreeContractTest<Treap<Integer>> {
+
+    @Override
+    protected Treap<Integer> newTree() {
+        return new Treap<>(1);
+    }
+
+    @Override
+    protected void checkInvariants(Treap<Integer> tree) {
+        assertTrue(tree.isHeapOrdered());
+    }
+
+    @Test
+    void givenSortedInsertions_whenAdded_thenTreeShouldStayShallow() {
+        // The expected height of a random binary search tree is about 3 log2 n
+        Treap<Integer> tree = newTree();
+        for (int i = 0; i < 1 << 14; i++) {
+            tree.add(i);
+        }
+        assertTrue(tree.height() <= 3 * 15, "height " + tree.height());
+        for (int i = 0; i < 1 << 14; i += 2) {
+            tree.remove(i);
+        }
+        assertTrue(tree.height() <= 3 * 14, "height " + tree.height());
+    }
+}
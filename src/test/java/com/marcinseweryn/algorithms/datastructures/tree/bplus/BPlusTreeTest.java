@@ -0,0 +1,180 @@
+package com.marcinseweryn.algorithms.datastructures.tree.bplus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BPlusTreeTest {
+
+    private static Integer[] range(int from, int to) {
+        Integer[] elements = new Integer[to - from];
+        for (int i = from; i < to; i++) {
+            elements[i - from] = i;
+        }
+        return elements;
+    }
+
+    @Test
+    void givenNewTree_whenCreated_thenShouldBeEmpty() {
+        BPlusTree<Integer> tree = new BPlusTree<>();
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertNull(tree.min());
+        assertNull(tree.max());
+        assertNull(tree.floor(1));
+        assertNull(tree.ceiling(1));
+        assertFalse(tree.inOrderIterator().hasNext());
+    }
+
+    @Test
+    void givenSingleElement_whenAdded_thenShouldBePresentInTree() {
+        BPlusTree<Integer> tree = new BPlusTree<>();
+        assertTrue(tree.add(10));
+        assertEquals(1, tree.size());
+        assertTrue(tree.contains(10));
+        assertFalse(tree.contains(11));
+    }
+
+    @Test
+    void givenDuplicateElement_whenAdded_thenShouldNotAdd() {
+        BPlusTree<Integer> tree = new BPlusTree<>(4);
+        for (int i = 0; i < 100; i++) {
+            tree.add(i);
+        }
+        assertFalse(tree.add(50));
+        assertEquals(100, tree.size());
+    }
+
+    @Test
+    void givenNullElement_whenAdded_thenShouldThrowException() {
+        BPlusTree<Integer> tree = new BPlusTree<>();
+        assertThrows(IllegalArgumentException.class, () -> tree.add(null));
+        assertFalse(tree.contains(null));
+        assertFalse(tree.remove(null));
+    }
+
+    @Test
+    void givenTooSmallFanout_whenCreated_thenShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new BPlusTree<Integer>(3));
+    }
+
+    @Test
+    void givenRandomOperations_whenAppliedWithSmallFanouts_thenShouldMatchTreeSet() {
+        for (int fanout : new int[]{4, 5, 7, 32}) {
+            Random random = new Random(fanout);
+            BPlusTree<Integer> tree = new BPlusTree<>(fanout);
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < 20_000; i++) {
+                int value = random.nextInt(2000);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(value), tree.remove(value), "fanout " + fanout);
+                } else {
+                    assertEquals(expected.add(value), tree.add(value), "fanout " + fanout);
+                }
+            }
+
+            assertEquals(expected.size(), tree.size());
+            assertEquals(new ArrayList<>(expected), toList(tree.inOrderIterator()));
+            assertEquals(expected.first(), tree.min());
+            assertEquals(expected.last(), tree.max());
+            for (int value = -1; value <= 2001; value++) {
+                assertEquals(expected.contains(value), tree.contains(value));
+                assertEquals(expected.floor(value), tree.floor(value));
+                assertEquals(expected.ceiling(value), tree.ceiling(value));
+            }
+        }
+    }
+
+    @Test
+    void givenAllElementsRemoved_whenQueried_thenShouldBeEmptyAndReusable() {
+        BPlusTree<Integer> tree = new BPlusTree<>(4);
+        for (int i = 0; i < 1000; i++) {
+            tree.add(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(tree.remove(i));
+        }
+        assertTrue(tree.isEmpty());
+        assertNull(tree.min());
+        assertFalse(tree.inOrderIterator().hasNext());
+
+        tree.add(5);
+        assertEquals(List.of(5), toList(tree.inOrderIterator()));
+    }
+
+    @Test
+    void givenSortedInput_whenBulkLoaded_thenShouldContainEveryElement() {
+        for (int size : new int[]{0, 1, 4, 5, 17, 1000, 4097}) {
+            BPlusTree<Integer> tree = BPlusTree.bulkLoad(range(0, size), 4);
+            assertEquals(size, tree.size());
+            assertEquals(List.of(range(0, size)), toList(tree.inOrderIterator()));
+            for (int i = 0; i < size; i++) {
+                assertTrue(tree.contains(i));
+            }
+        }
+    }
+
+    @Test
+    void givenBulkLoadedTree_whenModified_thenShouldStayConsistent() {
+        BPlusTree<Integer> tree = BPlusTree.bulkLoad(range(0, 1000), 8);
+        TreeSet<Integer> expected = new TreeSet<>(List.of(range(0, 1000)));
+        Random random = new Random(1);
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(1500);
+            if (random.nextBoolean()) {
+                assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                assertEquals(expected.add(value), tree.add(value));
+            }
+        }
+        assertEquals(new ArrayList<>(expected), toList(tree.inOrderIterator()));
+    }
+
+    @Test
+    void givenUnsortedInput_whenBulkLoaded_thenShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> BPlusTree.bulkLoad(new Integer[]{2, 1}, 4));
+        assertThrows(IllegalArgumentException.class, () -> BPlusTree.bulkLoad(new Integer[]{1, 1}, 4));
+        assertThrows(IllegalArgumentException.class, () -> BPlusTree.bulkLoad(new Integer[]{1, null}, 4));
+    }
+
+    @Test
+    void givenRange_whenRangeIteratorCalled_thenShouldReturnElementsFromLowInclusiveToHighExclusive() {
+        BPlusTree<Integer> tree = new BPlusTree<>(4);
+        for (int i = 0; i < 200; i += 2) {
+            tree.add(i);
+        }
+        assertEquals(List.of(10, 12, 14), toList(tree.rangeIterator(10, 16)));
+        assertEquals(List.of(12, 14), toList(tree.rangeIterator(11, 15)));
+        assertEquals(List.of(0, 2), toList(tree.rangeIterator(-10, 3)));
+        assertEquals(List.of(196, 198), toList(tree.rangeIterator(195, 1000)));
+        assertEquals(List.of(), toList(tree.rangeIterator(5, 5)));
+        assertEquals(List.of(), toList(tree.rangeIterator(300, 400)));
+    }
+
+    @Test
+    void givenExhaustedRangeIterator_whenNextCalled_thenShouldThrowException() {
+        BPlusTree<Integer> tree = new BPlusTree<>();
+        tree.add(1);
+        Iterator<Integer> iterator = tree.rangeIterator(0, 1);
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(IllegalArgumentException.class, () -> tree.rangeIterator(null, 1));
+    }
+
+    @Test
+    void givenTree_whenCleared_thenShouldBeEmpty() {
+        BPlusTree<Integer> tree = BPlusTree.bulkLoad(range(0, 100), 4);
+        tree.clear();
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.contains(5));
+        assertFalse(tree.levelOrderIterator().hasNext());
+    }
+}
@@ -0,0 +1,310 @@
+package com.marcinseweryn.algorithms.datastructures.tree.bplus;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedBPlusTreeTest {
+
+    private static final int PAGE_SIZE = 128;  // Seven entries per page, to exercise splits
+    private static final int POOL_PAGES = PagedBPlusTree.minPoolPages(PAGE_SIZE);  // Smallest pool, to exercise eviction
+
+    @TempDir
+    Path directory;
+
+    private PagedBPlusTree open(Path file) throws IOException {
+        return PagedBPlusTree.open(file, PAGE_SIZE, POOL_PAGES);
+    }
+
+    private static List<Long> scanKeys(PagedBPlusTree tree, long low, long high) throws IOException {
+        List<Long> keys = new ArrayList<>();
+        tree.scan(low, high, (key, value) -> keys.add(key));
+        return keys;
+    }
+
+    /**
+     * Copies the data file and the log, as a crash would leave them at this point.
+     */
+    private Path copyAsCrashed(Path file, String name) throws IOException {
+        Path copy = this.directory.resolve(name);
+        Files.copy(file, copy);
+        Files.copy(file.resolveSibling(file.getFileName() + ".wal"), copy.resolveSibling(name + ".wal"));
+        return copy;
+    }
+
+    @Test
+    void givenNewIndex_whenOpened_thenShouldBeEmpty() throws IOException {
+        try (PagedBPlusTree tree = open(this.directory.resolve("index"))) {
+            assertTrue(tree.isEmpty());
+            assertNull(tree.get(1));
+            assertEquals(List.of(), scanKeys(tree, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void givenExistingKey_whenPutCalled_thenShouldReplaceValue() throws IOException {
+        try (PagedBPlusTree tree = open(this.directory.resolve("index"))) {
+            assertTrue(tree.put(1, 10));
+            assertFalse(tree.put(1, 11));
+            assertEquals(11L, tree.get(1));
+            assertEquals(1, tree.size());
+        }
+    }
+
+    @Test
+    void givenRandomOperations_whenAppliedThroughSmallPool_thenShouldMatchTreeMap() throws IOException {
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        Random random = new Random(7);
+        try (PagedBPlusTree tree = open(this.directory.resolve("index"))) {
+            for (int i = 0; i < 20_000; i++) {
+                long key = random.nextInt(5000) - 2500;
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.remove(key) != null, tree.remove(key));
+                } else {
+                    assertEquals(expected.put(key, (long) i) == null, tree.put(key, i));
+                }
+            }
+
+            assertEquals(expected.size(), tree.size());
+            for (long key = -2501; key <= 2500; key++) {
+                assertEquals(expected.get(key), tree.get(key));
+            }
+            assertEquals(new ArrayList<>(expected.keySet()), scanKeys(tree, Long.MIN_VALUE, Long.MAX_VALUE));
+            assertEquals(new ArrayList<>(expected.subMap(-100L, 100L).keySet()), scanKeys(tree, -100, 100));
+            assertTrue(tree.pageWriteBacks() > 0);
+            assertTrue(tree.bufferPoolMisses() > 0);
+        }
+    }
+
+    @Test
+    void givenSmallestPagesAndPool_whenManyRandomKeysPut_thenShouldKeepEveryKey() throws IOException {
+        Path file = this.directory.resolve("index");
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        Random random = new Random(31);
+        try (PagedBPlusTree tree = PagedBPlusTree.open(file, 64, PagedBPlusTree.minPoolPages(64))) {
+            for (int i = 0; i < 20_000; i++) {
+                long key = random.nextLong();
+                assertEquals(expected.put(key, (long) i) == null, tree.put(key, i));
+            }
+            assertEquals(new ArrayList<>(expected.keySet()), scanKeys(tree, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+
+        try (PagedBPlusTree tree = PagedBPlusTree.open(file, 64, PagedBPlusTree.minPoolPages(64))) {
+            assertEquals(expected.size(), tree.size());
+            for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), tree.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test
+    void givenOperationFailedBeforeLogging_whenDiscarded_thenShouldNotWriteItsPagesBack() throws IOException {
+        Path file = this.directory.resolve("pages");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+             WriteAheadLog log = new WriteAheadLog(this.directory.resolve("pages.wal"), PAGE_SIZE)) {
+            BufferPool pool = new BufferPool(channel, log, PAGE_SIZE, 4);
+            int logged = pool.pin(1);
+            pool.markDirty(logged);
+            pool.buffer(logged).putLong(0, 1);
+            pool.commit(1, 3, 0);  // Still dirty, only logged
+
+            pool.markDirty(logged);
+            pool.buffer(logged).putLong(0, 2);
+            int written = pool.pin(2);
+            pool.markDirty(written);
+            pool.buffer(written).putLong(0, 2);
+            pool.discardPending();
+            pool.unpin(logged);
+            pool.unpin(written);
+
+            assertEquals(1, pool.buffer(pool.pin(1)).getLong(0));
+            assertEquals(0, pool.buffer(pool.pin(2)).getLong(0));
+            pool.flushAll();
+            ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE * 3);
+            WriteAheadLog.readFully(channel, page, 0);
+            assertEquals(1, page.getLong(PAGE_SIZE));
+            assertEquals(0, page.getLong(PAGE_SIZE * 2));
+        }
+    }
+
+    @Test
+    void givenClosedIndex_whenReopened_thenShouldKeepEntries() throws IOException {
+        Path file = this.directory.resolve("index");
+        try (PagedBPlusTree tree = open(file)) {
+            for (long key = 0; key < 1000; key++) {
+                tree.put(key, key * 2);
+            }
+            tree.remove(500);
+        }
+
+        try (PagedBPlusTree tree = open(file)) {
+            assertEquals(999, tree.size());
+            assertNull(tree.get(500));
+            for (long key = 0; key < 1000; key++) {
+                if (key != 500) {
+                    assertEquals(key * 2, tree.get(key));
+                }
+            }
+        }
+    }
+
+    @Test
+    void givenSyncedOperations_whenCrashedBeforeCheckpoint_thenRecoveryShouldRestoreThem() throws IOException {
+        Path file = this.directory.resolve("index");
+        try (PagedBPlusTree tree = open(file)) {
+            for (long key = 0; key < 3000; key++) {
+                tree.put(key * 7 % 3000, key);
+            }
+            for (long key = 0; key < 3000; key += 3) {
+                tree.remove(key);
+            }
+            tree.sync();
+            Path crashed = copyAsCrashed(file, "crashed");
+
+            try (PagedBPlusTree recovered = open(crashed)) {
+                assertEquals(2000, recovered.size());
+                for (long key = 0; key < 3000; key++) {
+                    assertEquals(key % 3 != 0, recovered.contains(key), "key " + key);
+                }
+                assertEquals(2000, scanKeys(recovered, Long.MIN_VALUE, Long.MAX_VALUE).size());
+            }
+        }
+    }
+
+    @Test
+    void givenTornLogRecord_whenRecovered_thenShouldIgnoreIt() throws IOException {
+        Path file = this.directory.resolve("index");
+        try (PagedBPlusTree tree = open(file)) {
+            for (long key = 0; key < 100; key++) {
+                tree.put(key, key);
+            }
+            tree.sync();
+            Path crashed = copyAsCrashed(file, "torn");
+            // A partially written record: plausible length, missing body
+            Files.write(crashed.resolveSibling("torn.wal"), new byte[]{0, 0, 1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+                    13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34, 35, 36, 37, 38,
+                    39, 40, 41, 42, 43}, StandardOpenOption.APPEND);
+
+            try (PagedBPlusTree recovered = open(crashed)) {
+                assertEquals(100, recovered.size());
+                assertEquals(99L, recovered.get(99));
+            }
+        }
+    }
+
+    @Test
+    void givenRecoveredIndex_whenReopenedAgain_thenShouldNotReplayTwice() throws IOException {
+        Path file = this.directory.resolve("index");
+        try (PagedBPlusTree tree = open(file)) {
+            for (long key = 0; key < 500; key++) {
+                tree.put(key, key);
+            }
+            tree.sync();
+            Path crashed = copyAsCrashed(file, "crashed");
+            open(crashed).close();
+
+            try (PagedBPlusTree recovered = open(crashed)) {
+                assertEquals(500, recovered.size());
+                assertEquals(0, Files.size(crashed.resolveSibling("crashed.wal")));
+            }
+        }
+    }
+
+    @Test
+    void givenSortedEntries_whenBulkLoaded_thenShouldSupportLookupsScansAndUpdates() throws IOException {
+        Path file = this.directory.resolve("index");
+        long[] keys = new long[10_000];
+        long[] values = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 10L;
+            values[i] = i;
+        }
+
+        try (PagedBPlusTree tree = open(file)) {
+            tree.bulkLoad(keys, values);
+            assertEquals(keys.length, tree.size());
+            assertEquals(List.of(100L, 110L, 120L), scanKeys(tree, 95, 121));
+            tree.put(105, -1);
+            assertEquals(List.of(100L, 105L, 110L, 120L), scanKeys(tree, 95, 121));
+        }
+
+        try (PagedBPlusTree tree = open(file)) {
+            assertEquals(keys.length + 1, tree.size());
+            for (int i = 0; i < keys.length; i++) {
+                assertEquals(i, tree.get(keys[i]));
+            }
+            assertEquals(-1L, tree.get(105));
+        }
+    }
+
+    @Test
+    void givenNonEmptyIndex_whenBulkLoaded_thenShouldThrowException() throws IOException {
+        try (PagedBPlusTree tree = open(this.directory.resolve("index"))) {
+            tree.put(1, 1);
+            assertThrows(IllegalStateException.class, () -> tree.bulkLoad(new long[]{2}, new long[]{2}));
+            tree.remove(1);
+            assertThrows(IllegalArgumentException.class, () -> tree.bulkLoad(new long[]{2, 1}, new long[]{0, 0}));
+        }
+    }
+
+    @Test
+    void givenVisitorReturningFalse_whenScanning_thenShouldStop() throws IOException {
+        try (PagedBPlusTree tree = open(this.directory.resolve("index"))) {
+            for (long key = 0; key < 100; key++) {
+                tree.put(key, key);
+            }
+            List<Long> visited = new ArrayList<>();
+            tree.scan(10, 100, (key, value) -> visited.add(key) && visited.size() < 5);
+            assertEquals(List.of(10L, 11L, 12L, 13L, 14L), visited);
+        }
+    }
+
+    @Test
+    void givenInvalidConfiguration_whenOpened_thenShouldThrowException() throws IOException {
+        Path file = this.directory.resolve("index");
+        assertThrows(IllegalArgumentException.class, () -> PagedBPlusTree.open(file, 100, POOL_PAGES));
+        assertThrows(IllegalArgumentException.class, () -> PagedBPlusTree.open(file, PAGE_SIZE, 4));
+
+        open(file).close();
+        assertThrows(IOException.class, () -> PagedBPlusTree.open(file, 256, POOL_PAGES));
+
+        Path other = this.directory.resolve("other");
+        Files.write(other, new byte[PAGE_SIZE]);
+        assertThrows(IOException.class, () -> open(other));
+    }
+
+    @Test
+    void givenDescendingInsertions_whenScanned_thenShouldVisitInAscendingOrder() throws IOException {
+        Map<Long, Long> seen = new TreeMap<>();
+        try (PagedBPlusTree tree = open(this.directory.resolve("index"))) {
+            for (long key = 100; key > 0; key--) {
+                tree.put(key, -key);
+            }
+            List<Long> keys = new ArrayList<>();
+            tree.scan(Long.MIN_VALUE, Long.MAX_VALUE, (key, value) -> {
+                keys.add(key);
+                seen.put(key, value);
+                return true;
+            });
+            assertEquals(100, keys.size());
+            for (int i = 1; i < keys.size(); i++) {
+                assertTrue(keys.get(i - 1) < keys.get(i));
+            }
+            assertEquals(-50L, seen.get(50L));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.marcinseweryn.algorithms.datastructures.tree.interval;
+
+import com.marcinseweryn.algorithms.datastructures.tree.binary.AVL;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    private static List<Interval<Integer>> scan(TreeSet<Interval<Integer>> intervals, int low, int high) {
+        List<Interval<Integer>> overlapping = new ArrayList<>();
+        for (Interval<Integer> interval : intervals) {
+            if (interval.overlaps(low, high)) {
+                overlapping.add(interval);
+            }
+        }
+        return overlapping;
+    }
+
+    @Test
+    void givenInvalidBounds_whenIntervalCreated_thenShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new Interval<>(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> new Interval<>(null, 4));
+        assertEquals(new Interval<>(1, 2), new Interval<>(1, 2));
+        assertEquals("[1, 2]", new Interval<>(1, 2).toString());
+    }
+
+    @Test
+    void givenEmptyTree_whenQueried_thenShouldFindNothing() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.stab(1).hasNext());
+        assertFalse(tree.overlapsAny(0, 10));
+        assertThrows(NoSuchElementException.class, () -> tree.overlapping(0, 10).next());
+    }
+
+    @Test
+    void givenIntervals_whenStabbed_thenShouldReturnContainingIntervals() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        assertTrue(tree.add(15, 20));
+        assertTrue(tree.add(10, 30));
+        assertTrue(tree.add(17, 19));
+        assertTrue(tree.add(5, 20));
+        assertTrue(tree.add(12, 15));
+        assertTrue(tree.add(30, 40));
+
+        assertEquals(List.of(new Interval<>(5, 20), new Interval<>(10, 30), new Interval<>(12, 15),
+                new Interval<>(15, 20)), toList(tree.stab(15)));
+        // Closed intervals share their end points
+        assertEquals(List.of(new Interval<>(10, 30), new Interval<>(30, 40)), toList(tree.stab(30)));
+        assertEquals(List.of(), toList(tree.stab(41)));
+        assertEquals(List.of(new Interval<>(5, 20), new Interval<>(10, 30), new Interval<>(15, 20),
+                new Interval<>(17, 19)), toList(tree.overlapping(19, 21)));
+    }
+
+    @Test
+    void givenIntervals_whenRemoved_thenShouldNoLongerBeFound() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        for (int i = 0; i < 100; i++) {
+            tree.add(i, i + 50);
+        }
+        assertTrue(tree.remove(0, 50));
+        assertFalse(tree.remove(0, 50));
+        assertEquals(99, tree.size());
+        assertEquals(List.of(new Interval<>(1, 51)), toList(tree.stab(1)));
+        assertTrue(tree.overlapsAny(149, 200));
+        assertTrue(tree.remove(99, 149));
+        assertFalse(tree.overlapsAny(149, 200));
+    }
+
+    @Test
+    void givenSortedIntervals_whenBulkLoaded_thenShouldAnswerStabbingQueries() {
+        @SuppressWarnings("unchecked")
+        Interval<Integer>[] sorted = new Interval[1000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = new Interval<>(i * 10, i * 10 + (i % 7) * 30);
+        }
+        IntervalTree<Integer> tree = IntervalTree.bulkLoad(sorted);
+        assertEquals(1000, tree.size());
+        assertEquals(List.of(sorted), toList(tree.inOrderIterator()));
+
+        TreeSet<Interval<Integer>> expected = new TreeSet<>(List.of(sorted));
+        for (int point = -5; point < 10_300; point += 37) {
+            assertEquals(scan(expected, point, point), toList(tree.stab(point)));
+        }
+
+        @SuppressWarnings("unchecked")
+        Interval<Integer>[] unsorted = new Interval[]{new Interval<>(2, 3), new Interval<>(1, 5)};
+        assertThrows(IllegalArgumentException.class, () -> IntervalTree.bulkLoad(unsorted));
+    }
+
+    @Test
+    void givenRandomOperations_whenQueried_thenShouldMatchLinearScan() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        TreeSet<Interval<Integer>> expected = new TreeSet<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 5000; i++) {
+            int low = random.nextInt(10_000);
+            Interval<Integer> interval = new Interval<>(low, low + random.nextInt(random.nextBoolean() ? 20 : 2000));
+            if (random.nextInt(4) == 0 && !expected.isEmpty()) {
+                Interval<Integer> victim = expected.ceiling(interval);
+                if (victim != null) {
+                    assertTrue(tree.remove(victim));
+                    expected.remove(victim);
+                }
+            } else {
+                assertEquals(expected.add(interval), tree.add(interval));
+            }
+
+            if (i % 50 == 0) {
+                int queryLow = random.nextInt(11_000) - 500;
+                int queryHigh = queryLow + random.nextInt(300);
+                List<Interval<Integer>> overlapping = scan(expected, queryLow, queryHigh);
+                assertEquals(overlapping, toList(tree.overlapping(queryLow, queryHigh)));
+                assertEquals(!overlapping.isEmpty(), tree.overlapsAny(queryLow, queryHigh));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        assertEquals(new ArrayList<>(expected), toList(tree.inOrderIterator()));
+    }
+
+    @Test
+    void givenDuplicateRanges_whenAddedAndRemoved_thenShouldKeepEveryCopy() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        assertTrue(tree.add(10, 20));
+        assertTrue(tree.add(10, 20));
+        assertTrue(tree.add(5, 30));
+        assertTrue(tree.add(10, 20));
+        assertEquals(4, tree.size());
+        assertEquals(List.of(new Interval<>(5, 30), new Interval<>(10, 20, 0), new Interval<>(10, 20, 1),
+                new Interval<>(10, 20, 2)), toList(tree.stab(15)));
+        assertFalse(tree.add(new Interval<>(10, 20, 1)));
+
+        assertTrue(tree.remove(10, 20));  // The oldest copy goes first
+        assertEquals(List.of(new Interval<>(5, 30), new Interval<>(10, 20, 1), new Interval<>(10, 20, 2)),
+                toList(tree.overlapping(20, 25)));
+        assertTrue(tree.remove(10, 20));
+        assertTrue(tree.remove(10, 20));
+        assertFalse(tree.remove(10, 20));
+        assertEquals(List.of(new Interval<>(5, 30)), toList(tree.stab(15)));
+    }
+
+    @Test
+    void givenTrees_whenSplitAndCombined_thenShouldKeepFindingOverlaps() {
+        IntervalTree<Integer> first = new IntervalTree<>();
+        IntervalTree<Integer> second = new IntervalTree<>();
+        TreeSet<Interval<Integer>> expected = new TreeSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            int low = random.nextInt(10_000);
+            Interval<Integer> interval = new Interval<>(low, low + random.nextInt(random.nextBoolean() ? 20 : 2000));
+            (random.nextBoolean() ? first : second).add(interval);
+            expected.add(interval);
+        }
+
+        AVL<Interval<Integer>> union = AVL.union(first, second);
+        IntervalTree<Integer> tree = assertInstanceOf(IntervalTree.class, union);
+        for (int low = -500; low < 12_000; low += 97) {
+            assertEquals(scan(expected, low, low + 50), toList(tree.overlapping(low, low + 50)));
+        }
+
+        IntervalTree<Integer> upper = assertInstanceOf(IntervalTree.class, tree.split(new Interval<>(5000, 5000)));
+        for (int low = -500; low < 12_000; low += 97) {
+            List<Interval<Integer>> overlapping = scan(expected, low, low + 50);
+            List<Interval<Integer>> found = toList(tree.overlapping(low, low + 50));
+            found.addAll(toList(upper.overlapping(low, low + 50)));
+            assertEquals(overlapping, found);
+            assertEquals(!overlapping.isEmpty(), tree.overlapsAny(low, low + 50) || upper.overlapsAny(low, low + 50));
+        }
+    }
+}
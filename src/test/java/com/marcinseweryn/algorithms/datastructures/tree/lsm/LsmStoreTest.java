@@ -0,0 +1,258 @@
+package com.marcinseweryn.algorithms.datastructures.tree.lsm;
+
+import com.marcinseweryn.algorithms.datastructures.hashing.Codec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LsmStoreTest {
+
+    private static final long MEMTABLE_BYTES = 4096;  // Small memtable, to exercise flushes and compactions
+    private static final int TIER_FANOUT = 4;
+
+    @TempDir
+    Path directory;
+
+    private LsmStore<Integer, String> open() throws IOException {
+        return LsmStore.open(this.directory, Codec.INT, Codec.STRING, MEMTABLE_BYTES, TIER_FANOUT);
+    }
+
+    private static Map<Integer, String> scan(LsmStore<Integer, String> store, Integer low, Integer high) throws IOException {
+        Map<Integer, String> entries = new TreeMap<>();
+        List<Integer> order = new ArrayList<>();
+        store.scan(low, high, (key, value) -> {
+            order.add(key);
+            entries.put(key, value);
+            return true;
+        });
+        assertEquals(new ArrayList<>(entries.keySet()), order, "scan must be in ascending key order");
+        return entries;
+    }
+
+    private long files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).count();
+        }
+    }
+
+    @Test
+    void givenNewStore_whenOpened_thenShouldBeEmpty() throws IOException {
+        try (LsmStore<Integer, String> store = open()) {
+            assertNull(store.get(1));
+            assertEquals(Map.of(), scan(store, null, null));
+            assertEquals(0, store.runCount());
+            assertEquals(0, store.writeAmplification());
+        }
+    }
+
+    @Test
+    void givenExistingKey_whenPutCalled_thenShouldReplaceValue() throws IOException {
+        try (LsmStore<Integer, String> store = open()) {
+            store.put(1, "a");
+            store.flush();
+            store.put(1, "b");
+            assertEquals("b", store.get(1));
+            store.flush();
+            assertEquals("b", store.get(1));
+            assertEquals(Map.of(1, "b"), scan(store, null, null));
+        }
+    }
+
+    @Test
+    void givenFlushedKey_whenDeleted_thenTombstoneShouldShadowIt() throws IOException {
+        try (LsmStore<Integer, String> store = open()) {
+            store.put(1, "a");
+            store.put(2, "b");
+            store.flush();
+            store.delete(1);
+            assertNull(store.get(1));
+            store.flush();
+            assertNull(store.get(1));
+            assertEquals(Map.of(2, "b"), scan(store, null, null));
+        }
+    }
+
+    @Test
+    void givenNullArguments_whenWriting_thenShouldThrowException() throws IOException {
+        try (LsmStore<Integer, String> store = open()) {
+            assertThrows(IllegalArgumentException.class, () -> store.put(null, "a"));
+            assertThrows(IllegalArgumentException.class, () -> store.put(1, null));
+            assertThrows(IllegalArgumentException.class, () -> store.delete(null));
+        }
+    }
+
+    @Test
+    void givenInvalidConfiguration_whenOpened_thenShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LsmStore.open(this.directory, Codec.INT, Codec.STRING, 0, TIER_FANOUT));
+        assertThrows(IllegalArgumentException.class,
+                () -> LsmStore.open(this.directory, Codec.INT, Codec.STRING, MEMTABLE_BYTES, 1));
+    }
+
+    @Test
+    void givenRandomOperations_whenApplied_thenShouldMatchTreeMap() throws IOException {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(11);
+        try (LsmStore<Integer, String> store = open()) {
+            for (int i = 0; i < 30_000; i++) {
+                int key = random.nextInt(3000);
+                if (random.nextInt(4) == 0) {
+                    expected.remove(key);
+                    store.delete(key);
+                } else {
+                    expected.put(key, "v" + i);
+                    store.put(key, "v" + i);
+                }
+            }
+
+            assertTrue(store.flushedBytes() > 0);
+            for (int key = -1; key <= 3000; key++) {
+                assertEquals(expected.get(key), store.get(key));
+            }
+            assertEquals(expected, scan(store, null, null));
+            assertEquals(expected.subMap(500, 1500), scan(store, 500, 1500));
+            assertEquals(expected.headMap(100), scan(store, null, 100));
+            assertEquals(expected.tailMap(2900), scan(store, 2900, null));
+        }
+    }
+
+    @Test
+    void givenVisitorReturningFalse_whenScanning_thenShouldStop() throws IOException {
+        try (LsmStore<Integer, String> store = open()) {
+            for (int i = 0; i < 100; i++) {
+                store.put(i, "v" + i);
+            }
+            store.flush();
+            List<Integer> keys = new ArrayList<>();
+            store.scan(10, null, (key, value) -> keys.add(key) && keys.size() < 5);
+            assertEquals(List.of(10, 11, 12, 13, 14), keys);
+        }
+    }
+
+    @Test
+    void givenClosedStore_whenReopened_thenShouldKeepEntries() throws IOException {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        try (LsmStore<Integer, String> store = open()) {
+            for (int i = 0; i < 5000; i++) {
+                store.put(i, "v" + i);
+                expected.put(i, "v" + i);
+            }
+            for (int i = 0; i < 5000; i += 3) {
+                store.delete(i);
+                expected.remove(i);
+            }
+        }
+
+        try (LsmStore<Integer, String> store = open()) {
+            assertEquals(expected, scan(store, null, null));
+            assertEquals("v1", store.get(1));
+            assertNull(store.get(3));
+            store.put(3, "again");
+            assertEquals("again", store.get(3));
+        }
+        assertEquals(0, files(".tmp"));
+    }
+
+    @Test
+    void givenManyFlushes_whenClosed_thenTiersShouldBeCompacted() throws IOException {
+        try (LsmStore<Integer, String> store = open()) {
+            for (int i = 0; i < 20; i++) {
+                for (int j = 0; j < 10; j++) {
+                    store.put(i * 10 + j, "v" + i);
+                }
+                store.flush();
+            }
+            store.close();  // Waits for the background compactions
+
+            assertTrue(store.compactions() > 0);
+            assertTrue(store.compactedBytes() > 0);
+            assertTrue(store.writeAmplification() > 1);
+        }
+
+        // 20 flushed runs leave fewer than TIER_FANOUT runs in each tier
+        assertTrue(files(".run") < 2 * TIER_FANOUT, "runs: " + files(".run"));
+        try (LsmStore<Integer, String> store = open()) {
+            Map<Integer, String> entries = scan(store, null, null);
+            assertEquals(200, entries.size());
+            assertEquals("v19", store.get(199));
+        }
+    }
+
+    @Test
+    void givenDeletedKeys_whenCompacted_thenShouldLeaveOneRunWithoutTombstones() throws IOException {
+        try (LsmStore<Integer, String> store = open()) {
+            for (int i = 0; i < 1000; i++) {
+                store.put(i, "v" + i);
+            }
+            store.flush();
+            for (int i = 0; i < 1000; i++) {
+                store.delete(i);
+            }
+            store.put(7, "kept");
+            store.compact();
+
+            assertEquals(1, store.runCount());
+            assertEquals(Map.of(7, "kept"), scan(store, null, null));
+            assertNull(store.get(8));
+        }
+        assertEquals(1, files(".run"));
+        // A single live entry, far smaller than the 1000 deleted entries and their tombstones
+        try (Stream<Path> runs = Files.list(this.directory)) {
+            assertTrue(runs.mapToLong(file -> file.toFile().length()).sum() < SortedRun.BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    void givenSingleRunWithTombstones_whenCompacted_thenShouldDropThem() throws IOException {
+        try (LsmStore<Integer, String> store = LsmStore.open(this.directory, Codec.INT, Codec.STRING, 1 << 20, TIER_FANOUT)) {
+            store.put(7, "kept");
+            for (int i = 0; i < 100; i++) {
+                store.delete(1000 + i);
+            }
+            store.flush();
+            assertEquals(1, store.runCount());
+            long before = store.compactedBytes();
+            store.compact();
+
+            assertEquals(1, store.runCount());
+            assertTrue(store.compactedBytes() > before);
+            assertEquals(Map.of(7, "kept"), scan(store, null, null));
+            assertNull(store.get(1000));
+        }
+        try (Stream<Path> runs = Files.list(this.directory)) {
+            assertTrue(runs.mapToLong(file -> file.toFile().length()).sum() < SortedRun.BLOCK_SIZE);
+        }
+    }
+
+    @Test
+    void givenWrites_whenMetricsRead_thenShouldCountUserBytes() throws IOException {
+        try (LsmStore<Integer, String> store = open()) {
+            store.put(1, "abc");
+            store.delete(2);
+            assertEquals(Codec.INT.encodedSize(1) + Codec.STRING.encodedSize("abc") + Codec.INT.encodedSize(2),
+                    store.userBytes());
+            assertEquals(0, store.flushedBytes());
+            store.flush();
+            assertTrue(store.writeAmplification() > 0);
+        }
+    }
+
+    @Test
+    void givenClosedStore_whenUsed_thenShouldThrowException() throws IOException {
+        LsmStore<Integer, String> store = open();
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.put(1, "a"));
+        assertThrows(IllegalStateException.class, () -> store.get(1));
+    }
+}
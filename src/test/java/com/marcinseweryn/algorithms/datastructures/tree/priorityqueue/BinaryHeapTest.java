@@ -2,6 +2,7 @@ package com.marcinseweryn.algorithms.datastructures.tree.priorityqueue;
 
 import org.junit.jupiter.api.Test;
 import java.util.Iterator;
+import java.util.Spliterator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -303,4 +304,19 @@ class BinaryHeapTest {
         assertTrue(maxHeap.contains(20));
         assertFalse(maxHeap.contains(5));
     }
+
+    @Test
+    void givenHeap_whenStreamedInParallel_thenShouldVisitEveryElementOnce() {
+        BinaryHeap<Integer> heap = BinaryHeap.createMinHeap(16);
+        for (int i = 0; i < 2000; i++) {
+            heap.add((i * 7919) % 2000);
+        }
+        Spliterator<Integer> spliterator = heap.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL));
+        assertFalse(spliterator.hasCharacteristics(Spliterator.ORDERED));
+
+        assertEquals(2000, heap.parallelStream().distinct().count());
+        assertEquals(1999 * 2000 / 2, heap.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, heap.stream().mapToInt(Integer::intValue).min().getAsInt());
+    }
 }
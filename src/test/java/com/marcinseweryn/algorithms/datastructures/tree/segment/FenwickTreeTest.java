@@ -0,0 +1,84 @@
+package com.marcinseweryn.algorithms.datastructures.tree.segment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FenwickTreeTest {
+
+    @Test
+    void givenValues_whenCreated_thenPrefixSumsShouldMatch() {
+        long[] values = {3, -1, 4, 1, 5, 9, 2, 6};
+        FenwickTree tree = new FenwickTree(values);
+        assertEquals(8, tree.size());
+        long sum = 0;
+        for (int i = 0; i <= values.length; i++) {
+            assertEquals(sum, tree.prefixSum(i));
+            if (i < values.length) {
+                assertEquals(values[i], tree.get(i));
+                sum += values[i];
+            }
+        }
+        assertEquals(4 + 1 + 5, tree.sum(2, 5));
+        assertEquals(0, tree.sum(3, 3));
+    }
+
+    @Test
+    void givenEmptyTree_whenQueried_thenShouldReturnZero() {
+        FenwickTree tree = new FenwickTree(0);
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.prefixSum(0));
+        assertEquals(1, tree.lowerBound(5));
+    }
+
+    @Test
+    void givenIndexOutOfRange_whenAccessed_thenShouldThrow() {
+        FenwickTree tree = new FenwickTree(4);
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.add(4, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.prefixSum(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.sum(3, 2));
+    }
+
+    @Test
+    void givenNonNegativeValues_whenLowerBoundSearched_thenShouldReturnShortestPrefix() {
+        FenwickTree tree = new FenwickTree(new long[]{2, 0, 3, 1, 0, 4});
+        assertEquals(0, tree.lowerBound(0));
+        assertEquals(1, tree.lowerBound(1));
+        assertEquals(1, tree.lowerBound(2));
+        assertEquals(3, tree.lowerBound(3));
+        assertEquals(3, tree.lowerBound(5));
+        assertEquals(4, tree.lowerBound(6));
+        assertEquals(6, tree.lowerBound(7));
+        assertEquals(6, tree.lowerBound(10));
+        assertEquals(7, tree.lowerBound(11));
+    }
+
+    @Test
+    void givenRandomUpdates_whenApplied_thenShouldMatchArray() {
+        Random random = new Random(7);
+        long[] values = new long[1000];
+        FenwickTree tree = new FenwickTree(values.length);
+        for (int i = 0; i < 10_000; i++) {
+            int index = random.nextInt(values.length);
+            if (random.nextBoolean()) {
+                long delta = random.nextInt(2001) - 1000;
+                values[index] += delta;
+                tree.add(index, delta);
+            } else {
+                values[index] = random.nextLong();
+                tree.set(index, values[index]);
+            }
+
+            int from = random.nextInt(values.length + 1);
+            int to = from + random.nextInt(values.length + 1 - from);
+            long expected = 0;
+            for (int j = from; j < to; j++) {
+                expected += values[j];
+            }
+            assertEquals(expected, tree.sum(from, to));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.marcinseweryn.algorithms.datastructures.tree.segment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeFenwickTreeTest {
+
+    @Test
+    void givenValues_whenRangeAdded_thenValuesAndSumsShouldChange() {
+        RangeFenwickTree tree = new RangeFenwickTree(new long[]{1, 2, 3, 4, 5});
+        assertEquals(15, tree.sum(0, 5));
+        tree.add(1, 4, 10);
+        assertEquals(1, tree.get(0));
+        assertEquals(12, tree.get(1));
+        assertEquals(14, tree.get(3));
+        assertEquals(5, tree.get(4));
+        assertEquals(45, tree.prefixSum(5));
+        assertEquals(12 + 13, tree.sum(1, 3));
+        tree.add(2, 2, 100);
+        assertEquals(45, tree.sum(0, 5));
+    }
+
+    @Test
+    void givenRangeReachingEnd_whenAdded_thenShouldUpdateLastValue() {
+        RangeFenwickTree tree = new RangeFenwickTree(3);
+        tree.add(0, 3, 2);
+        assertEquals(6, tree.sum(0, 3));
+        assertEquals(2, tree.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.add(0, 4, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(3));
+    }
+
+    @Test
+    void givenRandomRangeUpdates_whenApplied_thenShouldMatchArray() {
+        Random random = new Random(9);
+        long[] values = new long[500];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(1000);
+        }
+        RangeFenwickTree tree = new RangeFenwickTree(values);
+        for (int i = 0; i < 5000; i++) {
+            int from = random.nextInt(values.length + 1);
+            int to = from + random.nextInt(values.length + 1 - from);
+            long delta = random.nextInt(2001) - 1000;
+            tree.add(from, to, delta);
+            for (int j = from; j < to; j++) {
+                values[j] += delta;
+            }
+
+            from = random.nextInt(values.length + 1);
+            to = from + random.nextInt(values.length + 1 - from);
+            long expected = 0;
+            for (int j = from; j < to; j++) {
+                expected += values[j];
+            }
+            assertEquals(expected, tree.sum(from, to));
+        }
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], tree.get(i));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.marcinseweryn.algorithms.datastructures.tree.segment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentTreeTest {
+
+    private static long scan(long[] values, int from, int to, LongMonoid monoid) {
+        long aggregate = monoid.identity();
+        for (int i = from; i < to; i++) {
+            aggregate = monoid.combine(aggregate, values[i]);
+        }
+        return aggregate;
+    }
+
+    @Test
+    void givenValues_whenQueried_thenShouldAggregateRanges() {
+        long[] values = {5, 3, 8, 1, 9, 2};
+        SegmentTree sum = new SegmentTree(values, LongMonoid.SUM);
+        SegmentTree min = new SegmentTree(values, LongMonoid.MIN);
+        SegmentTree max = new SegmentTree(values, LongMonoid.MAX);
+        assertEquals(6, sum.size());
+        assertEquals(28, sum.queryAll());
+        assertEquals(3 + 8 + 1, sum.query(1, 4));
+        assertEquals(1, min.query(1, 4));
+        assertEquals(8, max.query(1, 4));
+        assertEquals(2, min.query(5, 6));
+        assertEquals(Long.MAX_VALUE, min.query(2, 2));
+        assertEquals(9, max.queryAll());
+        assertEquals(Long.MIN_VALUE, max.query(3, 3));
+    }
+
+    @Test
+    void givenRangeAddition_whenApplied_thenAggregatesShouldShift() {
+        long[] values = {5, 3, 8, 1, 9, 2};
+        SegmentTree sum = new SegmentTree(values, LongMonoid.SUM);
+        SegmentTree min = new SegmentTree(values, LongMonoid.MIN);
+        sum.add(1, 5, 10);
+        min.add(1, 5, 10);
+        assertEquals(68, sum.queryAll());
+        assertEquals(13 + 18, sum.query(1, 3));
+        assertEquals(2, min.queryAll());
+        assertEquals(11, min.query(1, 5));
+        assertEquals(18, min.get(2));
+        min.set(2, -4);
+        assertEquals(-4, min.queryAll());
+        assertEquals(5, min.query(0, 2));
+    }
+
+    @Test
+    void givenEmptyOrSingleValue_whenQueried_thenShouldHandleEdges() {
+        SegmentTree empty = new SegmentTree(new long[0], LongMonoid.SUM);
+        assertEquals(0, empty.queryAll());
+        assertEquals(0, empty.query(0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.get(0));
+
+        SegmentTree single = new SegmentTree(new long[]{7}, LongMonoid.MAX);
+        single.add(0, 1, 3);
+        assertEquals(10, single.query(0, 1));
+        assertEquals(10, single.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> single.query(0, 2));
+    }
+
+    @Test
+    void givenCustomMonoid_whenQueried_thenShouldUseIt() {
+        // Bitwise or over flags, where additions are not meaningful
+        LongMonoid or = new LongMonoid() {
+            @Override
+            public long identity() {
+                return 0;
+            }
+
+            @Override
+            public long combine(long left, long right) {
+                return left | right;
+            }
+
+            @Override
+            public long add(long aggregate, long delta, int count) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        SegmentTree tree = new SegmentTree(new long[]{1, 2, 4, 8}, or);
+        assertEquals(6, tree.query(1, 3));
+        tree.set(2, 16);
+        assertEquals(26, tree.query(1, 4));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"SUM", "MIN", "MAX"})
+    void givenRandomOperations_whenApplied_thenShouldMatchScan(String name) {
+        LongMonoid monoid = name.equals("SUM") ? LongMonoid.SUM : name.equals("MIN") ? LongMonoid.MIN : LongMonoid.MAX;
+        Random random = new Random(name.hashCode());
+        // A size that is not a power of two, so the padding leaves are exercised
+        long[] values = new long[777];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(10_000) - 5000;
+        }
+        SegmentTree tree = new SegmentTree(values, monoid);
+        for (int i = 0; i < 5000; i++) {
+            int from = random.nextInt(values.length + 1);
+            int to = from + random.nextInt(values.length + 1 - from);
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                long delta = random.nextInt(2001) - 1000;
+                tree.add(from, to, delta);
+                for (int j = from; j < to; j++) {
+                    values[j] += delta;
+                }
+            } else if (operation == 1 && from < values.length) {
+                values[from] = random.nextInt(10_000) - 5000;
+                tree.set(from, values[from]);
+            } else {
+                assertEquals(scan(values, from, to, monoid), tree.query(from, to));
+            }
+        }
+        assertEquals(scan(values, 0, values.length, monoid), tree.queryAll());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], tree.get(i));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.marcinseweryn.algorithms.datastructures.tree.skiplist;
+
+import com.marcinseweryn.algorithms.datastructures.tree.OrderedBinaryTreeContractTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.marcinseweryn.algorithms.datastructures.tree.TreeTestUtils.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentSkipListTest extends OrderedBinaryTreeContractTest<ConcurrentSkipList<Integer>> {
+
+    @Override
+    protected ConcurrentSkipList<Integer> newTree() {
+        return new ConcurrentSkipList<>();
+    }
+
+    @Test
+    void givenNullElement_whenAddedOrRemoved_thenShouldBeRejected() {
+        ConcurrentSkipList<Integer> list = newTree();
+        assertThrows(IllegalArgumentException.class, () -> list.add(null));
+        assertFalse(list.remove(null));
+        assertFalse(list.descendingIterator().hasNext());
+    }
+
+    @Test
+    void givenElements_whenNavigationMethodsCalled_thenShouldReturnNeighbours() {
+        ConcurrentSkipList<Integer> list = newTree();
+        for (int el : new int[]{50, 20, 80, 10, 30, 70, 90}) {
+            list.add(el);
+        }
+
+        assertEquals(10, list.min());
+        assertEquals(90, list.max());
+        assertEquals(30, list.floor(30));
+        assertEquals(30, list.floor(35));
+        assertNull(list.floor(5));
+        assertEquals(20, list.lower(30));
+        assertNull(list.lower(10));
+        assertEquals(70, list.ceiling(70));
+        assertEquals(70, list.ceiling(55));
+        assertNull(list.ceiling(95));
+        assertEquals(80, list.higher(70));
+        assertNull(list.higher(90));
+        assertEquals(List.of(90, 80, 70, 50, 30, 20, 10), toList(list.descendingIterator()));
+    }
+
+    @Test
+    void givenRandomElements_whenRangesAndNeighboursQueried_thenShouldMatchTreeSet() {
+        ConcurrentSkipList<Integer> list = newTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(13);
+        for (int i = 0; i < 20_000; i++) {
+            int element = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(element), list.remove(element));
+            } else {
+                assertEquals(expected.add(element), list.add(element));
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        assertEquals(new ArrayList<>(expected), toList(list.inOrderIterator()));
+        for (int low = -10; low < 2010; low += 37) {
+            assertEquals(new ArrayList<>(expected.subSet(low, low + 100)), toList(list.subIterator(low, low + 100)));
+            assertEquals(expected.floor(low), list.floor(low));
+            assertEquals(expected.higher(low), list.higher(low));
+        }
+        assertThrows(NoSuchElementException.class, () -> list.subIterator(3000, null).next());
+    }
+
+    @Test
+    void givenConcurrentThreads_whenAddingAndRemoving_thenShouldKeepEveryElementOnce() throws InterruptedException {
+        ConcurrentSkipList<Integer> list = newTree();
+        int threads = 8;
+        int range = 1000;
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger removed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        ConcurrentHashMap<Throwable, Boolean> failures = new ConcurrentHashMap<>();
+
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 20_000; i++) {
+                        int element = random.nextInt(range);
+                        if (random.nextBoolean()) {
+                            if (list.add(element)) added.incrementAndGet();
+                        } else {
+                            if (list.remove(element)) removed.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.put(e, true);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+
+        assertTrue(failures.isEmpty(), failures.keySet().toString());
+        List<Integer> elements = toList(list.inOrderIterator());
+        assertEquals(added.get() - removed.get(), elements.size());
+        assertEquals(elements.size(), list.size());
+        for (int i = 1; i < elements.size(); i++) {
+            assertTrue(elements.get(i - 1) < elements.get(i));
+        }
+        for (int element = 0; element < range; element++) {
+            assertEquals(elements.contains(element), list.contains(element));
+        }
+    }
+
+    @Test
+    void givenConcurrentWriters_whenIterating_thenShouldReturnStableElementsInOrder() throws InterruptedException {
+        ConcurrentSkipList<Integer> list = newTree();
+        for (int i = 0; i < 2000; i += 2) {
+            list.add(i);  // Even elements are never removed
+        }
+        Thread writer = new Thread(() -> {
+            Random random = new Random(1);
+            for (int i = 0; i < 50_000; i++) {
+                int odd = 2 * random.nextInt(1000) + 1;
+                if (!list.add(odd)) {
+                    list.remove(odd);
+                }
+            }
+        });
+        writer.start();
+
+        try {
+            for (int pass = 0; pass < 50; pass++) {
+                List<Integer> elements = toList(list.inOrderIterator());
+                for (int i = 1; i < elements.size(); i++) {
+                    assertTrue(elements.get(i - 1) < elements.get(i));
+                }
+                assertEquals(1000, elements.stream().filter(element -> element % 2 == 0).count());
+            }
+        } finally {
+            writer.join();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.marcinseweryn.algorithms.datastructures.tree.spatial;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BallTreeTest {
+
+    private static double distanceSquared(double[] points, int id, double[] query) {
+        double sum = 0;
+        for (int i = 0; i < query.length; i++) {
+            double difference = points[id * query.length + i] - query[i];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    private static double[] kNearestDistances(double[] points, double[] query, int k) {
+        return IntStream.range(0, points.length / query.length)
+                .mapToDouble(id -> distanceSquared(points, id, query)).sorted().limit(k).toArray();
+    }
+
+    private static double[] distances(double[] points, int[] ids, double[] query) {
+        return Arrays.stream(ids).mapToDouble(id -> distanceSquared(points, id, query)).toArray();
+    }
+
+    @Test
+    void givenEmptyTree_whenSearched_thenShouldFindNothing() {
+        BallTree tree = new BallTree(new double[0], 4);
+        assertEquals(-1, tree.nearest(new double[4]));
+        assertEquals(0, tree.radiusSearch(new double[4], 1).length);
+        assertThrows(IllegalArgumentException.class, () -> tree.kNearest(new double[3], 1));
+    }
+
+    @Test
+    void givenSmallPointSet_whenSearched_thenShouldReturnOriginalIdentifiers() {
+        double[] points = {0, 0, 10, 10, 5, 5, 9, 1, 1, 9};
+        BallTree tree = new BallTree(points, 2);
+        assertEquals(5, tree.size());
+        assertEquals(2, tree.nearest(new double[]{4, 6}));
+        assertArrayEquals(new int[]{1, 2}, tree.kNearest(new double[]{8, 8}, 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 16, 64})
+    void givenRandomPoints_whenSearched_thenShouldMatchBruteForce(int dimensions) {
+        Random random = new Random(dimensions);
+        // Clustered points, where balls prune well in high dimensions
+        double[] points = new double[3000 * dimensions];
+        for (int i = 0; i < 3000; i++) {
+            int cluster = i % 10;
+            for (int j = 0; j < dimensions; j++) {
+                points[i * dimensions + j] = cluster * 10 + random.nextGaussian();
+            }
+        }
+        BallTree tree = new BallTree(points, dimensions);
+        for (int q = 0; q < 50; q++) {
+            double[] query = new double[dimensions];
+            int cluster = random.nextInt(10);
+            for (int j = 0; j < dimensions; j++) {
+                query[j] = cluster * 10 + random.nextGaussian();
+            }
+            assertArrayEquals(kNearestDistances(points, query, 10), distances(points, tree.kNearest(query, 10), query));
+
+            double radius = 1.5 * Math.sqrt(dimensions);
+            int[] expected = IntStream.range(0, 3000)
+                    .filter(id -> distanceSquared(points, id, query) <= radius * radius).toArray();
+            int[] within = tree.radiusSearch(query, radius);
+            Arrays.sort(within);
+            assertArrayEquals(expected, within);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.marcinseweryn.algorithms.datastructures.tree.spatial;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KdTreeTest {
+
+    private static double distanceSquared(double[] points, int id, double[] query) {
+        double sum = 0;
+        for (int i = 0; i < query.length; i++) {
+            double difference = points[id * query.length + i] - query[i];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    /**
+     * Brute force: the distances of the k nearest points, nearest first.
+     */
+    private static double[] kNearestDistances(double[] points, double[] query, int k) {
+        return IntStream.range(0, points.length / query.length)
+                .mapToDouble(id -> distanceSquared(points, id, query)).sorted().limit(k).toArray();
+    }
+
+    private static double[] distances(double[] points, int[] ids, double[] query) {
+        return Arrays.stream(ids).mapToDouble(id -> distanceSquared(points, id, query)).toArray();
+    }
+
+    private static double[] randomPoints(Random random, int count, int dimensions) {
+        double[] points = new double[count * dimensions];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextDouble() * 100;
+        }
+        return points;
+    }
+
+    @Test
+    void givenInvalidInput_whenBuilt_thenShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new KdTree(new double[3], 2));
+        assertThrows(IllegalArgumentException.class, () -> new KdTree(new double[4], 0));
+        KdTree tree = new KdTree(new double[4], 2);
+        assertThrows(IllegalArgumentException.class, () -> tree.nearest(new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> tree.kNearest(new double[2], 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.radiusSearch(new double[2], -1));
+    }
+
+    @Test
+    void givenEmptyTree_whenSearched_thenShouldFindNothing() {
+        KdTree tree = new KdTree(new double[0], 3);
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.nearest(new double[3]));
+        assertEquals(0, tree.kNearest(new double[3], 5).length);
+        assertEquals(0, tree.radiusSearch(new double[3], 10).length);
+    }
+
+    @Test
+    void givenSmallPointSet_whenSearched_thenShouldReturnOriginalIdentifiers() {
+        double[] points = {0, 0, 10, 10, 5, 5, 9, 1, 1, 9};
+        KdTree tree = new KdTree(points, 2);
+        assertEquals(2, tree.nearest(new double[]{4, 6}));
+        assertArrayEquals(new int[]{1, 2}, tree.kNearest(new double[]{8, 8}, 2));
+        assertEquals(5, tree.kNearest(new double[]{8, 8}, 10).length);
+        int[] within = tree.radiusSearch(new double[]{0, 0}, Math.sqrt(82));
+        Arrays.sort(within);
+        assertArrayEquals(new int[]{0, 2, 3, 4}, within);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 8})
+    void givenRandomPoints_whenSearched_thenShouldMatchBruteForce(int dimensions) {
+        Random random = new Random(dimensions);
+        double[] points = randomPoints(random, 5000, dimensions);
+        KdTree tree = new KdTree(points, dimensions);
+        for (int q = 0; q < 100; q++) {
+            double[] query = randomPoints(random, 1, dimensions);
+            assertEquals(kNearestDistances(points, query, 1)[0], distanceSquared(points, tree.nearest(query), query));
+            assertArrayEquals(kNearestDistances(points, query, 10), distances(points, tree.kNearest(query, 10), query));
+
+            double radius = 5 * dimensions;
+            int[] expected = IntStream.range(0, 5000)
+                    .filter(id -> distanceSquared(points, id, query) <= radius * radius).toArray();
+            int[] within = tree.radiusSearch(query, radius);
+            Arrays.sort(within);
+            assertArrayEquals(expected, within);
+        }
+    }
+
+    @Test
+    void givenDuplicateAndSortedPoints_whenSearched_thenShouldMatchBruteForce() {
+        // Many equal coordinates exercise the partition around equal pivots
+        double[] points = new double[2 * 3000];
+        for (int i = 0; i < 3000; i++) {
+            points[2 * i] = i / 100;
+            points[2 * i + 1] = i % 3;
+        }
+        KdTree tree = new KdTree(points, 2);
+        for (double[] query : new double[][]{{0, 0}, {15.2, 1.4}, {29, 2}, {-5, 7}}) {
+            assertArrayEquals(kNearestDistances(points, query, 25), distances(points, tree.kNearest(query, 25), query));
+        }
+    }
+
+    @Test
+    void givenLargePointSet_whenBuiltInParallel_thenShouldAnswerLikeSequentialBuild() {
+        Random random = new Random(21);
+        double[] points = randomPoints(random, 200_000, 2);
+        KdTree sequential = new KdTree(points, 2);
+        KdTree parallel = new KdTree(points, 2, true);
+        for (int q = 0; q < 200; q++) {
+            double[] query = randomPoints(random, 1, 2);
+            int[] expected = sequential.kNearest(query, 5);
+            assertArrayEquals(distances(points, expected, query), distances(points, parallel.kNearest(query, 5), query));
+        }
+        // The input array is left untouched
+        assertTrue(IntStream.range(0, 1000).allMatch(i -> points[i] >= 0 && points[i] < 100));
+        assertEquals(200_000, parallel.size());
+    }
+}